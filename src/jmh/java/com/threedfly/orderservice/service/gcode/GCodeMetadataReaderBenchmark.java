@@ -0,0 +1,90 @@
+package com.threedfly.orderservice.service.gcode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the G-code metadata reader on generated files of 5 MB and 500 MB.
+ *
+ * With the summary in the footer (PrusaSlicer layout) the cost should not grow with
+ * the file size; with the summary in the header (Bambu layout, forward fallback) it
+ * grows linearly but memory does not. Run with
+ * {@code ./gradlew jmh -Pjmh.includes=GCodeMetadataReaderBenchmark -Pjmh.profilers=gc}
+ * and compare {@code gc.alloc.rate.norm} across the two sizes: it stays constant.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx256m"})
+public class GCodeMetadataReaderBenchmark {
+
+    @Param({"5", "500"})
+    private int sizeMb;
+
+    @Param({"footer", "header"})
+    private String layout;
+
+    private Path gcodeFile;
+    private final GCodeMetadataReader reader = new GCodeMetadataReader();
+
+    @Setup(Level.Trial)
+    public void writeGCode() throws IOException {
+        gcodeFile = Files.createTempFile("gcode-benchmark-", ".gcode");
+        long targetBytes = sizeMb * 1024L * 1024L;
+
+        try (BufferedWriter out = Files.newBufferedWriter(gcodeFile)) {
+            if (layout.equals("header")) {
+                out.write("; HEADER_BLOCK_START\n");
+                out.write("; model printing time: 20m 7s; total estimated time: 26m 53s\n");
+                out.write("; total filament weight [g] : 5.23\n");
+                out.write("; HEADER_BLOCK_END\n");
+            }
+
+            long written = 0;
+            for (int i = 0; written < targetBytes; i++) {
+                String move = "G1 X" + (i % 200) + ".123 Y" + (i % 150) + ".456 E0.04512\n";
+                out.write(move);
+                written += move.length();
+            }
+
+            if (layout.equals("footer")) {
+                out.write("; total filament used [g] = 15.28\n");
+                out.write("; estimated printing time (normal mode) = 1h 23m 45s\n");
+                out.write("; prusaslicer_config = begin\n");
+                for (int i = 0; i < 300; i++) {
+                    out.write("; setting_" + i + " = value\n");
+                }
+                out.write("; prusaslicer_config = end\n");
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteGCode() throws IOException {
+        Files.deleteIfExists(gcodeFile);
+    }
+
+    @Benchmark
+    public GCodeMetadata readMetadata() throws IOException {
+        return reader.read(gcodeFile);
+    }
+}
@@ -0,0 +1,94 @@
+package com.threedfly.orderservice.service.mesh;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the memory-mapped binary STL reader with a naive parser that loads the
+ * whole file with {@code Files.readAllBytes}. Run with {@code ./gradlew jmh}; add
+ * {@code -Pjmh.profilers=gc} to compare allocation rates as well.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StlReaderBenchmark {
+
+    @Param({"100000", "4000000"})
+    private int triangles;
+
+    private Path stlFile;
+    private final StlMeshReader mappedReader = new StlMeshReader();
+
+    @Setup(Level.Trial)
+    public void writeModel() throws IOException {
+        stlFile = Files.createTempFile("stl-benchmark-", ".stl");
+        Random random = new Random(42);
+        ByteBuffer record = ByteBuffer.allocate(StlMeshReader.RECORD_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        ByteBuffer header = ByteBuffer.allocate(StlMeshReader.HEADER_SIZE + 4).order(ByteOrder.LITTLE_ENDIAN);
+        header.position(StlMeshReader.HEADER_SIZE);
+        header.putInt(triangles);
+
+        try (OutputStream out = new java.io.BufferedOutputStream(Files.newOutputStream(stlFile), 1 << 20)) {
+            out.write(header.array());
+            for (int i = 0; i < triangles; i++) {
+                record.clear();
+                for (int f = 0; f < 12; f++) {
+                    record.putFloat(random.nextFloat() * 200);
+                }
+                record.putShort((short) 0);
+                out.write(record.array());
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteModel() throws IOException {
+        Files.deleteIfExists(stlFile);
+    }
+
+    @Benchmark
+    public double mappedReader() throws IOException {
+        MeshStatistics stats = new MeshStatistics();
+        mappedReader.read(stlFile, stats);
+        return stats.getVolumeMm3();
+    }
+
+    @Benchmark
+    public double readAllBytes() throws IOException {
+        MeshStatistics stats = new MeshStatistics();
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(stlFile)).order(ByteOrder.LITTLE_ENDIAN);
+        int count = buffer.getInt(StlMeshReader.HEADER_SIZE);
+        buffer.position(StlMeshReader.HEADER_SIZE + 4);
+        for (int i = 0; i < count; i++) {
+            buffer.position(buffer.position() + 12);
+            stats.triangle(buffer.getFloat(), buffer.getFloat(), buffer.getFloat(),
+                    buffer.getFloat(), buffer.getFloat(), buffer.getFloat(),
+                    buffer.getFloat(), buffer.getFloat(), buffer.getFloat());
+            buffer.position(buffer.position() + 2);
+        }
+        return stats.getVolumeMm3();
+    }
+}
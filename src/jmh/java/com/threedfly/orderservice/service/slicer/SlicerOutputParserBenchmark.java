@@ -0,0 +1,97 @@
+package com.threedfly.orderservice.service.slicer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Compares the hand-rolled slicer output parsers with the regex-per-line parsing they
+ * replaced, on the sample console logs in {@code src/jmh/resources/slicer-logs}.
+ * Run with {@code ./gradlew jmh -Pjmh.includes=SlicerOutputParserBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SlicerOutputParserBenchmark {
+
+    @Param({"prusaslicer", "bambustudio"})
+    private String log;
+
+    private String output;
+    private SlicerOutputParser parser;
+
+    @Setup(Level.Trial)
+    public void loadLog() throws IOException {
+        try (InputStream in = getClass().getResourceAsStream("/slicer-logs/" + log + ".log")) {
+            if (in == null) {
+                throw new IllegalStateException("Missing slicer log: " + log);
+            }
+            output = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        parser = log.startsWith("prusa") ? new PrusaSlicerOutputParser() : new BambuSlicerOutputParser();
+        if (!parser.parse(output).isComplete()) {
+            throw new IllegalStateException("Parser does not find the summary in " + log);
+        }
+    }
+
+    @Benchmark
+    public SlicerOutputSummary handRolledParser() {
+        return parser.parse(output);
+    }
+
+    /**
+     * The previous implementation: patterns compiled per call, output split into an
+     * array and every line run through all matchers.
+     */
+    @Benchmark
+    public double regexPerLine() {
+        Pattern weightPattern = Pattern.compile(".*total filament used.*\\[g\\]\\s*=\\s*([0-9.]+).*", Pattern.CASE_INSENSITIVE);
+        Pattern weightPatternLegacy = Pattern.compile(".*filament used\\s*=\\s*([0-9.]+)\\s*g.*", Pattern.CASE_INSENSITIVE);
+        Pattern timePattern = Pattern.compile(".*estimated printing time.*\\(normal mode\\).*=\\s*([0-9]+)m\\s*([0-9]+)s.*", Pattern.CASE_INSENSITIVE);
+        Pattern timeHoursMinutesPattern = Pattern.compile(".*estimated printing time.*\\(normal mode\\).*=\\s*([0-9]+)h\\s*([0-9]+)m.*", Pattern.CASE_INSENSITIVE);
+
+        double weightGrams = 0.0;
+        int timeMinutes = 0;
+        for (String line : output.split("\n")) {
+            Matcher weightMatcher = weightPattern.matcher(line);
+            if (weightMatcher.matches()) {
+                weightGrams = Double.parseDouble(weightMatcher.group(1));
+            }
+            if (weightGrams == 0.0) {
+                Matcher legacy = weightPatternLegacy.matcher(line);
+                if (legacy.matches()) {
+                    weightGrams = Double.parseDouble(legacy.group(1));
+                }
+            }
+            Matcher hours = timeHoursMinutesPattern.matcher(line);
+            if (hours.matches()) {
+                timeMinutes = Integer.parseInt(hours.group(1)) * 60 + Integer.parseInt(hours.group(2));
+                continue;
+            }
+            Matcher minutes = timePattern.matcher(line);
+            if (minutes.matches()) {
+                timeMinutes = Integer.parseInt(minutes.group(1));
+            }
+        }
+        return weightGrams + timeMinutes;
+    }
+}
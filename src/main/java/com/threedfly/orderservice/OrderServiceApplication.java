@@ -1,14 +1,17 @@
 package com.threedfly.orderservice;
 
+import com.threedfly.orderservice.config.PrinterMotionConfig;
 import com.threedfly.orderservice.config.PrintingPricingConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableConfigurationProperties(PrintingPricingConfig.class)
+@EnableConfigurationProperties({PrintingPricingConfig.class, PrinterMotionConfig.class})
+@EnableScheduling
 public class OrderServiceApplication {
 
 	private static final Logger logger = LoggerFactory.getLogger(OrderServiceApplication.class);
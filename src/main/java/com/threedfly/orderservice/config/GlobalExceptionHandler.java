@@ -3,9 +3,12 @@ package com.threedfly.orderservice.config;
 import com.threedfly.orderservice.exception.FileParseException;
 import com.threedfly.orderservice.exception.InvalidFileTypeException;
 import com.threedfly.orderservice.exception.InvalidParameterCombinationException;
+import com.threedfly.orderservice.exception.SlicerBusyException;
+import com.threedfly.orderservice.exception.UploadTooLargeException;
 import com.threedfly.orderservice.exception.ValidationException;
 import jakarta.validation.ConstraintViolation;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -214,6 +217,36 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(errorResponse);
     }
 
+    @ExceptionHandler(SlicerBusyException.class)
+    public ResponseEntity<Map<String, Object>> handleSlicerBusy(SlicerBusyException ex) {
+        log.warn("Slicer busy: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        errorResponse.put("error", "Too Many Requests");
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("retryAfterSeconds", ex.getRetryAfterSeconds());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(errorResponse);
+    }
+
+    @ExceptionHandler(UploadTooLargeException.class)
+    public ResponseEntity<Map<String, Object>> handleUploadTooLarge(UploadTooLargeException ex) {
+        log.warn("Upload too large: {}", ex.getMessage());
+
+        Map<String, Object> errorResponse = new HashMap<>();
+        errorResponse.put("timestamp", LocalDateTime.now());
+        errorResponse.put("status", HttpStatus.PAYLOAD_TOO_LARGE.value());
+        errorResponse.put("error", "Payload Too Large");
+        errorResponse.put("message", ex.getMessage());
+        errorResponse.put("maxBytes", ex.getMaxBytes());
+
+        return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(errorResponse);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         log.error("Unexpected exception occurred: {}", ex.getMessage(), ex);
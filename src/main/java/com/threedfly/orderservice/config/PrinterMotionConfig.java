@@ -0,0 +1,52 @@
+package com.threedfly.orderservice.config;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMin;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Motion limits of the printers a sliced G-code file is re-timed for, keyed by printer name.
+ */
+@ConfigurationProperties(prefix = "printing.motion")
+@Data
+@Validated
+public class PrinterMotionConfig {
+
+    @Valid
+    private Map<String, PrinterProfile> printer = new LinkedHashMap<>();
+
+    @Data
+    public static class PrinterProfile {
+        @DecimalMin("1.0")
+        private double maxFeedrateXy = 200; // mm/s, per axis
+
+        @DecimalMin("0.1")
+        private double maxFeedrateZ = 12; // mm/s
+
+        @DecimalMin("1.0")
+        private double maxFeedrateE = 80; // mm/s
+
+        @DecimalMin("1.0")
+        private double printAcceleration = 1000; // mm/s²
+
+        @DecimalMin("1.0")
+        private double travelAcceleration = 1500; // mm/s²
+
+        @DecimalMin("1.0")
+        private double retractAcceleration = 1500; // mm/s²
+
+        @DecimalMin("0.0")
+        private double jerkXy = 8; // mm/s, instantaneous speed change allowed per axis
+
+        @DecimalMin("0.0")
+        private double jerkZ = 0.4; // mm/s
+
+        @DecimalMin("0.0")
+        private double jerkE = 4.5; // mm/s
+    }
+}
@@ -3,6 +3,10 @@ package com.threedfly.orderservice.controller;
 import com.threedfly.orderservice.dto.*;
 import com.threedfly.orderservice.entity.OrderStatus;
 import com.threedfly.orderservice.service.OrderService;
+import com.threedfly.orderservice.service.artifact.ArtifactResponseWriter;
+import com.threedfly.orderservice.service.artifact.StoredArtifact;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -10,6 +14,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -19,6 +24,7 @@ import java.util.List;
 public class OrderController {
 
     private final OrderService orderService;
+    private final ArtifactResponseWriter artifactResponseWriter;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@Valid @RequestBody CreateOrderRequest request) {
@@ -59,6 +65,14 @@ public class OrderController {
         }
     }
 
+    @GetMapping("/{id}/gcode")
+    public void downloadOrderGCode(@PathVariable Long id, HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        log.info("📥 GET /orders/{}/gcode - Downloading sliced G-code", id);
+        StoredArtifact artifact = orderService.getOrderGCode(id);
+        artifactResponseWriter.write(artifact, "order-" + id + ".gcode", request, response);
+    }
+
     @GetMapping("/customer/{customerId}")
     public ResponseEntity<List<OrderResponse>> getOrdersByCustomer(@PathVariable Long customerId) {
         log.info("👤 GET /orders/customer/{} - Retrieving orders by customer", customerId);
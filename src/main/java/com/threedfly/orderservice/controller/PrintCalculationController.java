@@ -1,20 +1,36 @@
 package com.threedfly.orderservice.controller;
 
+import com.threedfly.orderservice.dto.InfillQuoteResponse;
 import com.threedfly.orderservice.dto.PrintCalculationRequest;
 import com.threedfly.orderservice.dto.PrintCalculationResponse;
+import com.threedfly.orderservice.dto.QuantityQuoteResponse;
+import com.threedfly.orderservice.dto.QuoteJobResponse;
+import com.threedfly.orderservice.dto.VariantQuoteResponse;
 import com.threedfly.orderservice.exception.FileParseException;
 import com.threedfly.orderservice.exception.InvalidFileTypeException;
 import com.threedfly.orderservice.exception.InvalidParameterCombinationException;
 import com.threedfly.orderservice.exception.ValidationException;
 import com.threedfly.orderservice.service.PrintCalculationService;
+import com.threedfly.orderservice.service.QuoteProgressListener;
+import com.threedfly.orderservice.service.UploadedModel;
+import com.threedfly.orderservice.service.artifact.ArtifactResponseWriter;
+import com.threedfly.orderservice.service.artifact.StoredArtifact;
+import com.threedfly.orderservice.service.quote.QuoteJobService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.ConstraintViolation;
 import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
 import java.util.Set;
 
 @RestController
@@ -23,37 +39,32 @@ import java.util.Set;
 @Slf4j
 public class PrintCalculationController {
 
+    private static final int MIN_INFILL = 5;
+
     private final PrintCalculationService calculationService;
+    private final QuoteJobService quoteJobService;
     private final Validator validator;
+    private final ArtifactResponseWriter artifactResponseWriter;
 
+    /**
+     * Slices the model and prices it. With compareMaterials=true the response also prices
+     * the same slice in every other compatible material, without slicing again.
+     */
     @PostMapping("/calculate")
     public ResponseEntity<PrintCalculationResponse> calculatePrice(
             @RequestPart("file") MultipartFile file,
-            @ModelAttribute PrintCalculationRequest request) {
+            @ModelAttribute PrintCalculationRequest request,
+            @RequestParam(value = "compareMaterials", defaultValue = "false") boolean compareMaterials) {
 
         String tech = (request != null) ? request.getTechnology() : "extracted from file";
         String material = (request != null) ? request.getMaterial() : "extracted from file";
         log.info("💰 POST /api/print/calculate - file: {}, tech: {}, material: {}",
                 file.getOriginalFilename(), tech, material);
 
-        // Determine file type from extension
-        String fileName = file.getOriginalFilename();
-        String fileExtension = fileName != null ? fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase() : "";
-
-        // For STL/OBJ files, always validate request parameters (they require manual input)
-        // For 3MF files, skip validation only if request is completely empty (parameters will be extracted)
-        boolean requiresManualParameters = fileExtension.equals("stl") || fileExtension.equals("obj");
-        boolean shouldValidate = requiresManualParameters || (request != null && isRequestPopulated(request));
-
-        if (shouldValidate && request != null) {
-            Set<ConstraintViolation<PrintCalculationRequest>> violations = validator.validate(request);
-            if (!violations.isEmpty()) {
-                throw new ValidationException("Request validation failed", violations);
-            }
-        }
+        validateRequestIfNeeded(file, request);
 
         try {
-            PrintCalculationResponse response = calculationService.calculatePrice(file, request);
+            PrintCalculationResponse response = calculationService.calculatePrice(file, request, compareMaterials);
             log.info("✅ Calculation completed successfully: ${}", response.getEstimatedPrice());
             return ResponseEntity.ok(response);
         } catch (InvalidFileTypeException | InvalidParameterCombinationException e) {
@@ -68,6 +79,162 @@ public class PrintCalculationController {
         }
     }
 
+    /**
+     * Same as /calculate, but the model is sent as the raw request body and streamed straight
+     * to disk, so large uploads never go through multipart buffering. Print parameters are
+     * passed as query parameters.
+     */
+    @PostMapping(value = "/calculate/stream", consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<PrintCalculationResponse> calculatePriceStreaming(
+            @RequestParam("filename") String filename,
+            @ModelAttribute PrintCalculationRequest request,
+            @RequestParam(value = "compareMaterials", defaultValue = "false") boolean compareMaterials,
+            HttpServletRequest httpRequest) throws IOException {
+        log.info("💰 POST /api/print/calculate/stream - file: {}, size: {}", filename, httpRequest.getContentLengthLong());
+
+        validateRequestIfNeeded(filename, request);
+
+        UploadedModel model = calculationService.storeUpload(
+                httpRequest.getInputStream(), filename, httpRequest.getContentLengthLong());
+        PrintCalculationResponse response = calculationService.calculatePrice(
+                model, request, QuoteProgressListener.NONE, compareMaterials);
+        log.info("✅ Calculation completed successfully: ${}", response.getEstimatedPrice());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/estimate")
+    public ResponseEntity<PrintCalculationResponse> estimatePrice(
+            @RequestPart("file") MultipartFile file,
+            @ModelAttribute PrintCalculationRequest request) {
+        log.info("📐 POST /api/print/estimate - file: {}", file.getOriginalFilename());
+
+        validateRequestIfNeeded(file, request);
+
+        PrintCalculationResponse response = calculationService.estimatePrice(file, request);
+        log.info("✅ Estimate completed: ${}", response.getEstimatedPrice());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/calculate/variants")
+    public ResponseEntity<VariantQuoteResponse> calculateVariants(
+            @RequestPart("file") MultipartFile file,
+            @RequestPart("variants") List<PrintCalculationRequest> variants) {
+        log.info("💰 POST /api/print/calculate/variants - file: {}, variants: {}",
+                file.getOriginalFilename(), variants.size());
+
+        for (PrintCalculationRequest variant : variants) {
+            validateRequestIfNeeded(file, variant);
+        }
+
+        UploadedModel model = calculationService.storeUpload(file);
+        VariantQuoteResponse response = calculationService.calculateVariants(model, variants);
+        log.info("✅ Variant calculation completed: {}/{} succeeded", response.getSucceeded(), response.getVariantCount());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Quotes the whole infill range from a few anchor slices. The infill parameter is what
+     * varies, so it may be left out.
+     */
+    @PostMapping("/calculate/infill")
+    public ResponseEntity<InfillQuoteResponse> calculateInfillRange(
+            @RequestPart("file") MultipartFile file,
+            @ModelAttribute PrintCalculationRequest request) {
+        log.info("🎚️ POST /api/print/calculate/infill - file: {}", file.getOriginalFilename());
+
+        if (request != null && request.getInfill() == null && isRequestPopulated(request)) {
+            // Any valid value, each anchor sets its own
+            request.setInfill(MIN_INFILL);
+        }
+        validateRequestIfNeeded(file, request);
+
+        UploadedModel model = calculationService.storeUpload(file);
+        InfillQuoteResponse response = calculationService.calculateInfillRange(model, request);
+        log.info("✅ Infill range quoted: {} values, {} anchors cached",
+                response.getQuotes().size(), response.getCachedAnchors());
+        return ResponseEntity.ok(response);
+    }
+
+    /**
+     * Quotes a number of copies from packed plates, slicing at most a full and a remainder plate.
+     */
+    @PostMapping("/calculate/quantity")
+    public ResponseEntity<QuantityQuoteResponse> calculateQuantity(
+            @RequestPart("file") MultipartFile file,
+            @ModelAttribute PrintCalculationRequest request,
+            @RequestParam("quantity") int quantity) {
+        log.info("🧩 POST /api/print/calculate/quantity - file: {}, quantity: {}", file.getOriginalFilename(), quantity);
+
+        validateRequestIfNeeded(file, request);
+
+        UploadedModel model = calculationService.storeUpload(file);
+        QuantityQuoteResponse response = calculationService.calculateQuantity(model, request, quantity);
+        log.info("✅ {} copies quoted on {} plate(s): ${}",
+                response.getQuantity(), response.getPlateCount(), response.getTotalPrice());
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<QuoteJobResponse> submitQuoteJob(
+            @RequestPart("file") MultipartFile file,
+            @ModelAttribute PrintCalculationRequest request) {
+        log.info("🧾 POST /api/print/jobs - file: {}", file.getOriginalFilename());
+
+        validateRequestIfNeeded(file, request);
+
+        QuoteJobResponse job = quoteJobService.submit(file, request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/print/jobs/" + job.getJobId()))
+                .body(job);
+    }
+
+    /**
+     * Downloads the G-code sliced for a quote. Stored gzip-compressed and sent as-is to
+     * clients that accept gzip.
+     */
+    @GetMapping("/quotes/{quoteId}/gcode")
+    public void downloadQuoteGCode(@PathVariable String quoteId, HttpServletRequest request,
+                                   HttpServletResponse response) throws IOException {
+        log.info("📥 GET /api/print/quotes/{}/gcode", quoteId);
+        StoredArtifact artifact = calculationService.getGCode(quoteId);
+        artifactResponseWriter.write(artifact, quoteId + ".gcode", request, response);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<QuoteJobResponse> getQuoteJob(@PathVariable String jobId) {
+        log.debug("🔍 GET /api/print/jobs/{}", jobId);
+        return ResponseEntity.ok(quoteJobService.getJob(jobId));
+    }
+
+    @GetMapping(value = "/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamQuoteJob(@PathVariable String jobId) {
+        log.debug("📡 GET /api/print/jobs/{}/events", jobId);
+        return quoteJobService.subscribe(jobId);
+    }
+
+    /**
+     * Validates manual parameters. STL/OBJ files always require them; for 3MF files
+     * validation is skipped when the request is completely empty (parameters are extracted).
+     */
+    private void validateRequestIfNeeded(MultipartFile file, PrintCalculationRequest request) {
+        validateRequestIfNeeded(file.getOriginalFilename(), request);
+    }
+
+    private void validateRequestIfNeeded(String fileName, PrintCalculationRequest request) {
+        // Determine file type from extension
+        String fileExtension = fileName != null ? fileName.substring(fileName.lastIndexOf('.') + 1).toLowerCase() : "";
+
+        boolean requiresManualParameters = fileExtension.equals("stl") || fileExtension.equals("obj");
+        boolean shouldValidate = requiresManualParameters || (request != null && isRequestPopulated(request));
+
+        if (shouldValidate && request != null) {
+            Set<ConstraintViolation<PrintCalculationRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                throw new ValidationException("Request validation failed", violations);
+            }
+        }
+    }
+
     /**
      * Checks if the request has any populated fields (indicating STL/OBJ file).
      * For 3MF files, Spring creates an empty object with all null fields.
@@ -33,4 +33,7 @@ public class CreateOrderRequest {
     @NotNull(message = "Shipping address is required")
     @Valid
     private ShippingAddress shippingAddress;
+    
+    // Optional quote id from /api/print/calculate, the order takes over its price and G-code
+    private String quoteId;
 }
\ No newline at end of file
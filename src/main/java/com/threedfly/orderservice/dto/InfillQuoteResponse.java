@@ -0,0 +1,24 @@
+package com.threedfly.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InfillQuoteResponse {
+    private String fileName;
+
+    // Infill densities that were sliced (or found in the slicing cache)
+    private List<Integer> anchorInfills;
+    private Integer cachedAnchors;
+    private Long totalDurationMillis;
+
+    // One quote per whole infill percentage between the lowest and highest anchor
+    private List<InfillQuoteResult> quotes;
+}
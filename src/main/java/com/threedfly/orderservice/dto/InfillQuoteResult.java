@@ -0,0 +1,25 @@
+package com.threedfly.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InfillQuoteResult {
+    private Integer infill;
+
+    // False for anchors, whose quote is a real slicer result
+    private boolean interpolated;
+    private PrintCalculationResponse quote;
+
+    // Worst-case deviation of the quote from slicing at this infill, 0 for anchors
+    private Double weightErrorGrams;
+    private Double timeErrorMinutes;
+    private BigDecimal priceError;
+}
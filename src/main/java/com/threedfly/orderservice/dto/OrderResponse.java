@@ -5,6 +5,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -21,5 +22,8 @@ public class OrderResponse {
     private ShippingAddress shippingAddress;
     private LocalDateTime orderDate;
     private OrderStatus status;
+    private String quoteId;
+    private BigDecimal quotedPrice;
+    private String currency;
     private SellerResponse seller;
 }
\ No newline at end of file
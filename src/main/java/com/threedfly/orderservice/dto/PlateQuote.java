@@ -0,0 +1,21 @@
+package com.threedfly.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlateQuote {
+    // Copies on the plate, and how many times the plate is printed
+    private Integer copies;
+    private Integer count;
+
+    private boolean cached;
+
+    // Quote for printing the plate once
+    private PrintCalculationResponse quote;
+}
@@ -11,7 +11,7 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @ValidMaterialCombination
@@ -70,8 +70,7 @@ public class PrintCalculationRequest {
      * Auto-orient the model for optimal printing.
      * When enabled, the system will analyze the model geometry and rotate it
      * to the optimal orientation (largest flat surface on build plate, minimized height).
-     * This is done via pre-processing before slicing, using mesh analysis algorithms.
-     * Requires Python 3 with trimesh library installed.
+     * This is done in-process before slicing, using mesh analysis algorithms.
      */
     @Builder.Default
     private Boolean autoOrient = true;
@@ -9,14 +9,19 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class PrintCalculationResponse {
+    // Id of the persisted quote (and its stored G-code), null for estimates
+    private String quoteId;
     private String fileName;
     private Double materialUsedGrams;
+    // Extruded filament volume in mm³, null when the slicer did not report it
+    private Double materialUsedMm3;
     private Integer printingTimeMinutes;
     private String technology;
     private String material;
@@ -27,6 +32,10 @@ public class PrintCalculationResponse {
     private BigDecimal estimatedPrice;
     private String currency;
 
+    // True when the quote is not a slicer result for these parameters: a geometry-based
+    // estimate, or derived from a slice in another material
+    private Boolean estimated;
+
     // Price breakdown
     private BigDecimal pricePerGram;
     private BigDecimal pricePerMinute;
@@ -42,4 +51,11 @@ public class PrintCalculationResponse {
     private SeamPosition seam;
     private Boolean autoOrient;
     private String colorChange;
+
+    // With compareMaterials: the same slice priced in every compatible material
+    private List<PrintCalculationResponse> materialComparison;
+
+    // The same G-code re-timed for every configured printer, null when not available
+    // (e.g. for quotes restored from storage)
+    private List<PrinterQuote> printerQuotes;
 }
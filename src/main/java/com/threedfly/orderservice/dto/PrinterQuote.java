@@ -0,0 +1,27 @@
+package com.threedfly.orderservice.dto;
+
+import com.threedfly.orderservice.service.gcode.FeatureBreakdown;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PrinterQuote {
+    // Printer profile name from printing.motion.printer.*
+    private String printer;
+
+    // Print time simulated from the G-code for this printer, priced like the slicer's own
+    private Integer printingTimeMinutes;
+    private BigDecimal timeCost;
+    private BigDecimal estimatedPrice;
+
+    // Time and filament per feature type (perimeters, infill, ...)
+    private List<FeatureBreakdown> features;
+}
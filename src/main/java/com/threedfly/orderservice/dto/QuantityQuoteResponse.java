@@ -0,0 +1,32 @@
+package com.threedfly.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuantityQuoteResponse {
+    private String fileName;
+    private Integer quantity;
+
+    // Copies that fit on one plate, and plates needed for the quantity
+    private Integer copiesPerPlate;
+    private Integer plateCount;
+
+    // Totals over all plates
+    private Double totalMaterialUsedGrams;
+    private Integer totalPrintingTimeMinutes;
+    private BigDecimal totalPrice;
+    private BigDecimal unitPrice;
+    private String currency;
+
+    // The full plate and/or the remainder plate, each sliced once
+    private List<PlateQuote> plates;
+}
@@ -0,0 +1,26 @@
+package com.threedfly.orderservice.dto;
+
+import com.threedfly.orderservice.enums.QuoteJobStatus;
+import com.threedfly.orderservice.enums.QuoteStage;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class QuoteJobResponse {
+    private String jobId;
+    private QuoteJobStatus status;
+    private QuoteStage stage;
+    private Integer progressPercent;
+    private String fileName;
+    private PrintCalculationResponse result;
+    private String errorMessage;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -1,12 +1,15 @@
 package com.threedfly.orderservice.dto;
 
+import com.threedfly.orderservice.service.gcode.PrinterTimeEstimate;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.List;
+
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class SlicingResult {
@@ -15,7 +18,15 @@ public class SlicingResult {
     private int estimatedPrintTimeMinutes;
     private String filamentType;
     private double filamentLengthMm;
+    // Extruded filament volume in mm³, 0 if the slicer did not report it
+    private double filamentVolumeMm3;
     private int layerCount;
     private boolean success;
     private String errorMessage;
+
+    // Id of the quote this slicer run belongs to, also the id of its stored G-code
+    private String quoteId;
+
+    // Print time of the G-code re-estimated per configured printer, empty if not available
+    private List<PrinterTimeEstimate> printerEstimates;
 } 
\ No newline at end of file
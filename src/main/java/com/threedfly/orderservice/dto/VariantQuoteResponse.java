@@ -0,0 +1,21 @@
+package com.threedfly.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VariantQuoteResponse {
+    private String fileName;
+    private Integer variantCount;
+    private Integer succeeded;
+    private Integer failed;
+    private Long totalDurationMillis;
+    private List<VariantQuoteResult> variants;
+}
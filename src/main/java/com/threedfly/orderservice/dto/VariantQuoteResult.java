@@ -0,0 +1,23 @@
+package com.threedfly.orderservice.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VariantQuoteResult {
+    private Integer index;
+    private boolean success;
+    private PrintCalculationResponse quote;
+    private String errorMessage;
+
+    // Whether the slicing result came from the cache instead of a slicer run
+    private boolean cached;
+
+    // Time from preparing this variant until its slicing result was available
+    private Long durationMillis;
+}
@@ -35,4 +35,8 @@ public class Order {
     @ManyToOne
     @JoinColumn(name = "seller_id")
     private Seller seller;
+    
+    @ManyToOne
+    @JoinColumn(name = "quote_id")
+    private Quote quote; // Quote the order was placed against, optional
 }
\ No newline at end of file
@@ -0,0 +1,52 @@
+package com.threedfly.orderservice.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "quotes", indexes = {
+    @Index(name = "idx_quotes_fingerprint", columnList = "modelHash, parametersHash"),
+    @Index(name = "idx_quotes_expires_at", columnList = "expiresAt")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Quote {
+    @Id
+    @Column(length = 64)
+    private String id; // Also the id of the stored G-code artifact
+    
+    // Slicing fingerprint, see SlicingCacheKey
+    @Column(nullable = false, length = 64)
+    private String modelHash;
+    
+    @Column(nullable = false, length = 64)
+    private String parametersHash;
+    
+    private String fileName;
+    private String technology;
+    private String material;
+    
+    @Column(columnDefinition = "TEXT")
+    private String parameters; // JSON string of the effective PrintCalculationRequest
+    
+    // Slicing result
+    private double filamentWeightGrams;
+    private int printTimeMinutes;
+    
+    @Column(nullable = false)
+    private BigDecimal estimatedPrice;
+    
+    private String currency;
+    
+    @Column(nullable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+}
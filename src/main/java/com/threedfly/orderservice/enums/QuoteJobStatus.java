@@ -0,0 +1,9 @@
+package com.threedfly.orderservice.enums;
+
+public enum QuoteJobStatus {
+    PENDING, RUNNING, COMPLETED, FAILED;
+
+    public boolean isTerminal() {
+        return this == COMPLETED || this == FAILED;
+    }
+}
@@ -0,0 +1,25 @@
+package com.threedfly.orderservice.enums;
+
+/**
+ * Processing stages of a quote calculation, in execution order.
+ * Each stage carries a rough completion percentage for progress reporting.
+ */
+public enum QuoteStage {
+    QUEUED(0),
+    EXTRACTING_PARAMETERS(10),
+    PREPARING_CONFIGURATION(20),
+    ORIENTING_MODEL(30),
+    SLICING(40),
+    PRICING(90),
+    COMPLETED(100);
+
+    private final int progressPercent;
+
+    QuoteStage(int progressPercent) {
+        this.progressPercent = progressPercent;
+    }
+
+    public int getProgressPercent() {
+        return progressPercent;
+    }
+}
@@ -0,0 +1,18 @@
+package com.threedfly.orderservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when the slicer worker pool and its wait queue are full.
+ * Carries a hint for the Retry-After response header.
+ */
+@Getter
+public class SlicerBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public SlicerBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
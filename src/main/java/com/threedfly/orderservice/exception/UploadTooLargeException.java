@@ -0,0 +1,17 @@
+package com.threedfly.orderservice.exception;
+
+import lombok.Getter;
+
+/**
+ * Exception thrown when an uploaded model exceeds the configured size limit.
+ */
+@Getter
+public class UploadTooLargeException extends RuntimeException {
+
+    private final long maxBytes;
+
+    public UploadTooLargeException(String message, long maxBytes) {
+        super(message);
+        this.maxBytes = maxBytes;
+    }
+}
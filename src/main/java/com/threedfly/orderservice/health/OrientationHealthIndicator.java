@@ -0,0 +1,37 @@
+package com.threedfly.orderservice.health;
+
+import com.threedfly.orderservice.service.ModelOrientationService;
+import com.threedfly.orderservice.service.OrientationStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports the cached auto-orientation self-test result under /actuator/health (component
+ * "orientation"). Orientation is optional, so a failed probe is reported as degraded
+ * rather than DOWN and does not take the service out of rotation.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrientationHealthIndicator implements HealthIndicator {
+
+    static final String DEGRADED = "DEGRADED";
+
+    private final ModelOrientationService orientationService;
+
+    @Override
+    public Health health() {
+        if (!orientationService.isEnabled()) {
+            return Health.unknown().withDetail("detail", "Auto-orientation disabled by configuration").build();
+        }
+
+        OrientationStatus status = orientationService.getStatus();
+        Health.Builder builder = status.available() ? Health.up() : Health.status(DEGRADED);
+        return builder
+                .withDetail("detail", status.detail())
+                .withDetail("checkedAt", status.checkedAt().toString())
+                .withDetail("probeMillis", status.probeMillis())
+                .build();
+    }
+}
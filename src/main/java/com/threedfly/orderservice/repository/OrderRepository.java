@@ -8,7 +8,9 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Set;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
@@ -34,4 +36,8 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     
     // Find orders by supplier ID
     List<Order> findBySupplierId(Long supplierId);
+
+    // Find which of the given quotes orders were placed against
+    @Query("SELECT DISTINCT o.quote.id FROM Order o WHERE o.quote.id IN :quoteIds")
+    Set<String> findQuoteIdsWithOrders(@Param("quoteIds") Collection<String> quoteIds);
 }
\ No newline at end of file
@@ -0,0 +1,26 @@
+package com.threedfly.orderservice.repository;
+
+import com.threedfly.orderservice.entity.Quote;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface QuoteRepository extends JpaRepository<Quote, String> {
+    
+    Optional<Quote> findFirstByModelHashAndParametersHashAndExpiresAtAfterOrderByCreatedAtDesc(
+            String modelHash, String parametersHash, LocalDateTime now);
+    
+    @Modifying
+    @Query("UPDATE Quote q SET q.expiresAt = :expiresAt WHERE q.id = :id AND q.expiresAt < :expiresAt")
+    int extendExpiry(@Param("id") String id, @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM Quote q WHERE q.expiresAt < :cutoff AND NOT EXISTS (SELECT o FROM Order o WHERE o.quote = q)")
+    int deleteExpiredUnordered(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -4,18 +4,15 @@ import com.threedfly.orderservice.dto.PrintCalculationRequest;
 import com.threedfly.orderservice.enums.BrimType;
 import com.threedfly.orderservice.enums.InfillPattern;
 import com.threedfly.orderservice.enums.SeamPosition;
+import com.threedfly.orderservice.service.ini.DynamicIniStore;
+import com.threedfly.orderservice.service.ini.IniProfile;
+import com.threedfly.orderservice.service.ini.IniProfileRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
-import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.LinkedHashMap;
 import java.util.Map;
 
@@ -25,64 +22,37 @@ import java.util.Map;
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class DynamicIniGenerator {
 
-    @Value("${printing.temp.directory}")
-    private String tempDirectory;
+    private final IniProfileRegistry profileRegistry;
+    private final DynamicIniStore dynamicIniStore;
 
     /**
-     * Generates a dynamic INI file by loading a base configuration and overriding
-     * parameters based on the request.
+     * Generates a dynamic INI file by copying a pre-parsed base profile and overriding
+     * parameters based on the request. The base profile comes from IniProfileRegistry,
+     * so no configuration file is read on the request path.
      *
-     * @param baseIniPath Path to the base INI configuration file
+     * @param baseIniFile File name of the base INI profile (see IniConfigurationMapper)
      * @param request     The quotation request containing custom parameters
-     * @return Path to the generated dynamic INI file
-     * @throws IOException if file operations fail
+     * @return Path to the generated dynamic INI file, to be released with {@link #cleanupDynamicIni(Path)}
+     * @throws IOException if the profile is unknown or the file cannot be written
      */
-    public Path generateDynamicIni(Path baseIniPath, PrintCalculationRequest request) throws IOException {
-        log.info("🔧 Generating dynamic INI from base: {}", baseIniPath);
+    public Path generateDynamicIni(String baseIniFile, PrintCalculationRequest request) throws IOException {
+        IniProfile profile = profileRegistry.get(baseIniFile);
+        log.info("🔧 Generating dynamic INI from base: {}", profile);
 
-        // Read base INI file
-        Map<String, String> iniConfig = loadBaseIni(baseIniPath);
-
-        // Override with request parameters
+        // Overlay request parameters on a copy of the base profile
+        Map<String, String> iniConfig = new LinkedHashMap<>(profile.getEntries());
         applyRequestParameters(iniConfig, request);
 
-        // Write to temporary file
-        Path dynamicIniPath = writeDynamicIni(iniConfig);
+        // Reuse the file of an identical configuration, or write it once
+        Path dynamicIniPath = dynamicIniStore.acquire(renderDynamicIni(iniConfig));
 
         log.info("✅ Generated dynamic INI: {}", dynamicIniPath);
         return dynamicIniPath;
     }
 
-    /**
-     * Loads the base INI file into a map preserving order.
-     */
-    private Map<String, String> loadBaseIni(Path baseIniPath) throws IOException {
-        Map<String, String> config = new LinkedHashMap<>();
-
-        try (BufferedReader reader = Files.newBufferedReader(baseIniPath)) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                // Store comments and empty lines with generated keys to preserve them
-                if (line.trim().isEmpty()) {
-                    config.put("_empty_" + config.size(), "");
-                } else if (line.trim().startsWith("#")) {
-                    config.put("_comment_" + config.size(), line);
-                } else if (line.contains("=")) {
-                    // Parse key-value pairs
-                    int equalsIndex = line.indexOf("=");
-                    String key = line.substring(0, equalsIndex).trim();
-                    String value = line.substring(equalsIndex + 1).trim();
-                    config.put(key, value);
-                }
-            }
-        }
-
-        log.debug("📄 Loaded {} configuration entries from base INI", config.size());
-        return config;
-    }
-
     /**
      * Applies parameters from PrintCalculationRequest to the INI configuration.
      */
@@ -181,55 +151,33 @@ public class DynamicIniGenerator {
     }
 
     /**
-     * Writes the dynamic INI configuration to a temporary file.
+     * Renders the INI configuration. The output depends only on the entries, so equal
+     * configurations produce byte-identical files that the store can share.
      */
-    private Path writeDynamicIni(Map<String, String> config) throws IOException {
-        // Create temp directory if it doesn't exist
-        Path tempDir = Paths.get(tempDirectory);
-        if (!Files.exists(tempDir)) {
-            Files.createDirectories(tempDir);
-        }
-
-        // Generate unique filename with timestamp
-        String timestamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss_SSS"));
-        String filename = "dynamic_config_" + timestamp + ".ini";
-        Path iniPath = tempDir.resolve(filename);
-
-        // Write INI file
-        try (BufferedWriter writer = Files.newBufferedWriter(iniPath)) {
-            writer.write("# Dynamic INI configuration generated by 3DFly Order Service\n");
-            writer.write("# Generated at: " + LocalDateTime.now() + "\n\n");
-
-            for (Map.Entry<String, String> entry : config.entrySet()) {
-                String key = entry.getKey();
-                String value = entry.getValue();
-
-                if (key.startsWith("_empty_")) {
-                    writer.write("\n");
-                } else if (key.startsWith("_comment_")) {
-                    writer.write(value + "\n");
-                } else {
-                    writer.write(key + " = " + value + "\n");
-                }
+    private String renderDynamicIni(Map<String, String> config) {
+        StringBuilder ini = new StringBuilder(config.size() * 32);
+        ini.append("# Dynamic INI configuration generated by 3DFly Order Service\n\n");
+
+        for (Map.Entry<String, String> entry : config.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+
+            if (key.startsWith(IniProfile.EMPTY_PREFIX)) {
+                ini.append('\n');
+            } else if (key.startsWith(IniProfile.COMMENT_PREFIX)) {
+                ini.append(value).append('\n');
+            } else {
+                ini.append(key).append(" = ").append(value).append('\n');
             }
         }
-
-        log.debug("💾 Wrote dynamic INI file: {}", iniPath);
-        return iniPath;
+        return ini.toString();
     }
 
     /**
-     * Cleans up a dynamically generated INI file.
+     * Releases a dynamically generated INI file. The file is shared with other requests
+     * using the same configuration and is deleted by the store once evicted.
      */
     public void cleanupDynamicIni(Path iniPath) {
-        try {
-            if (iniPath != null && Files.exists(iniPath) &&
-                    iniPath.getFileName().toString().startsWith("dynamic_config_")) {
-                Files.deleteIfExists(iniPath);
-                log.debug("🧹 Cleaned up dynamic INI: {}", iniPath);
-            }
-        } catch (IOException e) {
-            log.warn("⚠️ Could not delete dynamic INI file: {}", iniPath, e);
-        }
+        dynamicIniStore.release(iniPath);
     }
 }
@@ -1,17 +1,22 @@
 package com.threedfly.orderservice.service;
 
+import com.threedfly.orderservice.service.ini.IniProfile;
+import com.threedfly.orderservice.service.ini.IniProfileRegistry;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class IniConfigurationMapper {
 
+    private final IniProfileRegistry profileRegistry;
+
     @Value("${printing.slicer.config.directory:slicer-configs}")
     private String configDirectory;
 
@@ -69,10 +74,19 @@ public class IniConfigurationMapper {
         return "bambu_a1.ini";
     }
 
+    /**
+     * Returns the base profile name plus its content fingerprint, so results derived
+     * from a profile can be told apart after the profile is edited and reloaded.
+     */
+    public String getVersionedConfigurationName(String filename) {
+        return profileRegistry.find(filename)
+                .map(IniProfile::getVersionedName)
+                .orElse(filename);
+    }
+
     private boolean configFileExists(String filename) {
-        Path configPath = Paths.get(configDirectory, filename);
-        boolean exists = Files.exists(configPath);
-        log.debug("Checking config file: {} - exists: {}", configPath, exists);
+        boolean exists = profileRegistry.contains(filename);
+        log.debug("Checking config profile: {} - loaded: {}", filename, exists);
         return exists;
     }
 
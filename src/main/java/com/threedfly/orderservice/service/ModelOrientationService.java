@@ -1,43 +1,54 @@
 package com.threedfly.orderservice.service;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threedfly.orderservice.entity.ModelFileType;
+import com.threedfly.orderservice.service.mesh.MeshOrientationEngine;
+import com.threedfly.orderservice.service.mesh.OrientationResult;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.Map;
-import java.util.concurrent.TimeUnit;
+import java.time.Instant;
 
 /**
  * Service for automatically orienting 3D models for optimal printing.
- * Uses Python/trimesh for geometry analysis and orientation.
+ * Uses the in-process {@link MeshOrientationEngine} for geometry analysis and rotation.
+ *
+ * Availability is established by a self-test at startup that orients a small built-in mesh,
+ * repeated in the background every printing.orientation.probe-interval-ms. While the last
+ * probe failed, requests are sliced in their original orientation.
  */
 @Service
 @Slf4j
+@RequiredArgsConstructor
 public class ModelOrientationService {
 
-    @Value("${printing.orientation.script.path:scripts/auto_orient_model.py}")
-    private String orientationScriptPath;
+    private final MeshOrientationEngine orientationEngine;
 
     @Value("${printing.orientation.enabled:true}")
     private boolean orientationEnabled;
 
-    @Value("${printing.orientation.timeout:60000}")
-    private long orientationTimeout;
+    @Value("${printing.temp.directory}")
+    private String tempDirectory;
 
-    private final ObjectMapper objectMapper = new ObjectMapper();
+    private volatile OrientationStatus status;
 
     /**
      * Automatically orients a 3D model for optimal printing if autoOrient is enabled.
      *
+     * 3MF projects are left untouched: they carry the arrangement chosen in the slicer,
+     * and flattening their objects into one mesh would lose it.
+     *
      * @param inputPath   Path to the original model file
      * @param autoOrient  Whether to apply auto-orientation
-     * @return Path to the oriented model (same as input if orientation disabled or failed)
+     * @return Path to the oriented model (same as input if orientation disabled, not needed or failed)
      * @throws IOException if orientation fails critically
      */
     public Path orientModelIfNeeded(Path inputPath, Boolean autoOrient) throws IOException {
@@ -48,74 +59,39 @@ public class ModelOrientationService {
             return inputPath;
         }
 
+        if (!isAvailable()) {
+            log.warn("⚠️ Auto-orientation unavailable ({}), using original model", getStatus().detail());
+            return inputPath;
+        }
+
+        ModelFileType fileType = ModelFileType.fromFilename(inputPath.getFileName().toString());
+        if (fileType == ModelFileType.THREE_MF) {
+            log.debug("Auto-orientation skipped for 3MF project: {}", inputPath.getFileName());
+            return inputPath;
+        }
+
         log.info("🔄 Auto-orienting model: {}", inputPath.getFileName());
 
-        // Generate output path
+        // Generate output path; the engine always writes binary STL
         String originalFilename = inputPath.getFileName().toString();
         String orientedFilename = originalFilename.replaceFirst(
-            "(\\.[^.]+)$", "_oriented$1"
+            "(\\.[^.]+)$", "_oriented.stl"
         );
         Path outputPath = inputPath.getParent().resolve(orientedFilename);
 
         try {
-            // Build command to run Python orientation script
-            ProcessBuilder processBuilder = new ProcessBuilder(
-                "python3",
-                orientationScriptPath,
-                inputPath.toAbsolutePath().toString(),
-                outputPath.toAbsolutePath().toString()
-            );
-
-            processBuilder.redirectErrorStream(true);
-            log.debug("Executing orientation command: {}", String.join(" ", processBuilder.command()));
-
-            // Execute the script
-            Process process = processBuilder.start();
-
-            // Capture output
-            StringBuilder output = new StringBuilder();
-            try (BufferedReader reader = new BufferedReader(
-                    new InputStreamReader(process.getInputStream()))) {
-                String line;
-                while ((line = reader.readLine()) != null) {
-                    output.append(line).append("\n");
-                    log.debug("Orientation: {}", line);
-                }
-            }
-
-            // Wait for completion with timeout
-            boolean finished = process.waitFor(orientationTimeout, TimeUnit.MILLISECONDS);
-
-            if (!finished) {
-                process.destroyForcibly();
-                log.warn("⚠️ Auto-orientation timed out, using original model");
+            OrientationResult result = orientationEngine.orient(inputPath, fileType, outputPath);
+            if (!result.isRotated()) {
+                log.info("✅ Original orientation is already optimal");
                 return inputPath;
             }
 
-            int exitCode = process.exitValue();
-
-            if (exitCode == 0 && Files.exists(outputPath)) {
-                log.info("✅ Model auto-oriented successfully");
+            log.info("✅ Model auto-oriented successfully ({}, height {} -> {}mm)", result.candidate(),
+                    Math.round(result.originalHeight() * 100) / 100.0,
+                    Math.round(result.finalHeight() * 100) / 100.0);
+            return result.outputPath();
 
-                // Parse output for statistics if available
-                String outputStr = output.toString();
-                if (outputStr.contains("Height reduction:")) {
-                    log.info("   Orientation stats: {}",
-                            outputStr.substring(outputStr.indexOf("Original height:")));
-                }
-
-                return outputPath;
-            } else {
-                log.warn("⚠️ Auto-orientation failed (exit code: {}), using original model", exitCode);
-                log.warn("   Output: {}", output);
-                return inputPath;
-            }
-
-        } catch (InterruptedException e) {
-            Thread.currentThread().interrupt();
-            log.warn("⚠️ Auto-orientation interrupted, using original model", e);
-            return inputPath;
-        } catch (IOException e) {
+        } catch (IOException | RuntimeException e) {
             log.warn("⚠️ Auto-orientation failed: {}, using original model", e.getMessage());
             return inputPath;
         }
@@ -140,37 +116,108 @@ public class ModelOrientationService {
 
     /**
      * Checks if the orientation service is properly configured and available.
+     * Returns the cached result of the last probe; never does any work itself.
      *
      * @return true if the service can be used
      */
     public boolean isAvailable() {
+        return orientationEnabled && getStatus().available();
+    }
+
+    public boolean isEnabled() {
+        return orientationEnabled;
+    }
+
+    public OrientationStatus getStatus() {
+        OrientationStatus current = status;
+        if (current == null) {
+            return new OrientationStatus(false, "Not probed yet", Instant.now(), 0);
+        }
+        return current;
+    }
+
+    /**
+     * Runs the orientation self-test once at startup.
+     */
+    @PostConstruct
+    public void probeAtStartup() {
+        refreshStatus();
+    }
+
+    /**
+     * Re-runs the orientation self-test in the background.
+     */
+    @Scheduled(initialDelayString = "${printing.orientation.probe-interval-ms:300000}",
+               fixedDelayString = "${printing.orientation.probe-interval-ms:300000}")
+    public void refreshStatus() {
         if (!orientationEnabled) {
-            return false;
+            status = OrientationStatus.disabled();
+            return;
         }
 
+        long startedAt = System.nanoTime();
+        OrientationStatus previous = status;
+        OrientationStatus current;
         try {
-            // Check if Python 3 is available
-            ProcessBuilder pb = new ProcessBuilder("python3", "--version");
-            Process process = pb.start();
-            boolean finished = process.waitFor(5, TimeUnit.SECONDS);
-
-            if (!finished || process.exitValue() != 0) {
-                log.warn("Python 3 not available, auto-orientation disabled");
-                return false;
-            }
+            probe();
+            current = new OrientationStatus(true, "Self-test passed", Instant.now(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        } catch (Exception e) {
+            current = new OrientationStatus(false, "Self-test failed: " + e.getMessage(), Instant.now(),
+                    (System.nanoTime() - startedAt) / 1_000_000);
+        }
+        status = current;
 
-            // Check if script exists
-            Path scriptPath = Path.of(orientationScriptPath);
-            if (!Files.exists(scriptPath)) {
-                log.warn("Orientation script not found at: {}", scriptPath);
-                return false;
-            }
+        if (!current.available() && (previous == null || previous.available())) {
+            log.warn("⚠️ Auto-orientation disabled until the next probe: {}", current.detail());
+        } else if (current.available() && (previous == null || !previous.available())) {
+            log.info("✅ Auto-orientation available (self-test {}ms)", current.probeMillis());
+        }
+    }
 
-            return true;
+    /**
+     * Orients a standing 10x20x30mm box in the temp directory and checks it was laid flat.
+     * This exercises the same reader, engine, writer and temp volume that real requests use.
+     */
+    private void probe() throws IOException {
+        Path tempDir = Path.of(tempDirectory);
+        Files.createDirectories(tempDir);
+        Path input = Files.createTempFile(tempDir, "orientation_probe_", ".stl");
+        Path output = input.resolveSibling(input.getFileName().toString().replace(".stl", "_oriented.stl"));
+        try {
+            Files.write(input, probeBox());
+            OrientationResult result = orientationEngine.orient(input, ModelFileType.STL, output);
+            if (!result.isRotated() || Math.abs(result.finalHeight() - 10.0) > 0.01) {
+                throw new IOException("unexpected orientation " + result.candidate()
+                        + " with height " + result.finalHeight() + "mm");
+            }
+        } finally {
+            Files.deleteIfExists(input);
+            Files.deleteIfExists(output);
+        }
+    }
 
-        } catch (Exception e) {
-            log.warn("Auto-orientation service not available: {}", e.getMessage());
-            return false;
+    private static byte[] probeBox() {
+        float[][] triangles = {
+                {0, 0, 1, 1, 0, 1, 1, 1, 1}, {0, 0, 1, 1, 1, 1, 0, 1, 1},
+                {0, 0, 0, 1, 1, 0, 1, 0, 0}, {0, 0, 0, 0, 1, 0, 1, 1, 0},
+                {1, 0, 0, 1, 1, 0, 1, 1, 1}, {1, 0, 0, 1, 1, 1, 1, 0, 1},
+                {0, 0, 0, 0, 1, 1, 0, 1, 0}, {0, 0, 0, 0, 0, 1, 0, 1, 1},
+                {0, 1, 0, 0, 1, 1, 1, 1, 1}, {0, 1, 0, 1, 1, 1, 1, 1, 0},
+                {0, 0, 0, 1, 0, 0, 1, 0, 1}, {0, 0, 0, 1, 0, 1, 0, 0, 1}
+        };
+        float[] size = {10, 20, 30};
+
+        ByteBuffer buffer = ByteBuffer.allocate(84 + triangles.length * 50).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(80);
+        buffer.putInt(triangles.length);
+        for (float[] triangle : triangles) {
+            buffer.putFloat(0).putFloat(0).putFloat(0);
+            for (int i = 0; i < triangle.length; i++) {
+                buffer.putFloat(triangle[i] * size[i % 3]);
+            }
+            buffer.putShort((short) 0);
         }
+        return buffer.array();
     }
 }
@@ -0,0 +1,204 @@
+package com.threedfly.orderservice.service;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import com.threedfly.orderservice.exception.InvalidFileTypeException;
+import com.threedfly.orderservice.exception.UploadTooLargeException;
+import com.threedfly.orderservice.service.scratch.ScratchSpace;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Streams uploaded models into a fresh scratch directory in fixed-size chunks.
+ *
+ * The SHA-256 content hash is computed and the file type sniffed from its leading bytes
+ * in the same pass, and the upload is aborted as soon as it grows past the size limit,
+ * so no upload is ever held in memory or read twice.
+ */
+@Component
+@Slf4j
+public class ModelUploadWriter {
+
+    private static final int CHUNK_SIZE = 64 * 1024;
+    private static final int SNIFF_SIZE = 512;
+    private static final int BINARY_STL_HEADER_SIZE = 84;
+
+    private final ScratchSpace scratchSpace;
+    private final long maxBytes;
+
+    public ModelUploadWriter(
+            ScratchSpace scratchSpace,
+            @Value("${printing.upload.max-size-mb:200}") long maxSizeMb) {
+        this.scratchSpace = scratchSpace;
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+    }
+
+    /**
+     * Writes an upload to disk.
+     *
+     * @param in               Upload body; read to the end but not closed
+     * @param originalFilename Client-supplied filename, used for the extension
+     * @param declaredSize     Size announced by the client, or -1 if unknown
+     * @return The saved model with its content hash and size; release it with {@link #discard(UploadedModel)}
+     * @throws InvalidFileTypeException if the file is empty or its content does not match the extension
+     * @throws UploadTooLargeException  if the upload exceeds printing.upload.max-size-mb
+     */
+    public UploadedModel write(InputStream in, String originalFilename, long declaredSize) throws IOException {
+        if (originalFilename == null || originalFilename.isBlank()) {
+            throw new InvalidFileTypeException("Invalid filename");
+        }
+        ModelFileType fileType = ModelFileType.fromFilename(originalFilename);
+        if (declaredSize > maxBytes) {
+            throw tooLarge();
+        }
+
+        Path scratchDirectory = scratchSpace.create();
+        Path target = scratchDirectory.resolve(safeName(originalFilename));
+
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[CHUNK_SIZE];
+        long total = 0;
+        boolean completed = false;
+        try (OutputStream out = Files.newOutputStream(target)) {
+            // The first chunk is read in full so the sniffer sees enough leading bytes
+            int read = in.readNBytes(buffer, 0, SNIFF_SIZE);
+            if (read == 0) {
+                throw new InvalidFileTypeException("File is empty");
+            }
+            verifyContentType(fileType, buffer, read, originalFilename);
+
+            while (read > 0) {
+                total += read;
+                if (total > maxBytes) {
+                    throw tooLarge();
+                }
+                digest.update(buffer, 0, read);
+                out.write(buffer, 0, read);
+                read = in.read(buffer);
+            }
+            completed = true;
+        } finally {
+            if (!completed) {
+                scratchSpace.delete(scratchDirectory);
+            }
+        }
+
+        String contentHash = HexFormat.of().formatHex(digest.digest());
+        log.info("📄 Streamed upload {} to {} ({} bytes, sha256 {})", originalFilename, target, total, contentHash);
+        return new UploadedModel(target, originalFilename, fileType, contentHash, total, scratchDirectory);
+    }
+
+    /**
+     * Deletes a saved upload together with everything written next to it.
+     */
+    public void discard(UploadedModel model) {
+        model.closeArchive();
+        if (model.getScratchDirectory() != null) {
+            scratchSpace.delete(model.getScratchDirectory());
+            log.info("🧹 Cleaned up scratch directory: {}", model.getScratchDirectory());
+            return;
+        }
+        try {
+            Files.deleteIfExists(model.getPath());
+            log.info("🧹 Cleaned up temporary file: {}", model.getPath());
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete temporary file: {}", model.getPath(), e);
+        }
+    }
+
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * Rejects uploads whose leading bytes clearly belong to a different format than the
+     * extension claims. Inconclusive content is accepted and left to the parsers.
+     */
+    private void verifyContentType(ModelFileType declared, byte[] head, int length, String filename) {
+        ModelFileType sniffed = sniff(head, length);
+        if (sniffed != null && sniffed != declared) {
+            throw new InvalidFileTypeException(String.format(
+                    "File content of '%s' looks like %s, not %s", filename, sniffed, declared));
+        }
+    }
+
+    /**
+     * Guesses the model format from the first bytes of a file.
+     *
+     * @return The detected type, or null if the bytes are inconclusive
+     */
+    static ModelFileType sniff(byte[] head, int length) {
+        if (length >= 4 && head[0] == 'P' && head[1] == 'K' && head[2] == 3 && head[3] == 4) {
+            return ModelFileType.THREE_MF;
+        }
+
+        String text = new String(head, 0, length, StandardCharsets.ISO_8859_1);
+        String leading = text.stripLeading().toLowerCase(Locale.ROOT);
+        // Binary STL headers are free text and often start with "solid" too; both are STL
+        if (leading.startsWith("solid")) {
+            return ModelFileType.STL;
+        }
+        if (isText(head, length)) {
+            return looksLikeObj(leading) ? ModelFileType.OBJ : null;
+        }
+        return length >= BINARY_STL_HEADER_SIZE ? ModelFileType.STL : null;
+    }
+
+    private static boolean looksLikeObj(String text) {
+        for (String line : text.split("\n")) {
+            String trimmed = line.strip();
+            if (trimmed.isEmpty() || trimmed.startsWith("#")) {
+                continue;
+            }
+            String keyword = trimmed.split("\\s+", 2)[0];
+            return switch (keyword) {
+                case "v", "vt", "vn", "f", "o", "g", "s", "mtllib", "usemtl" -> true;
+                default -> false;
+            };
+        }
+        return false;
+    }
+
+    private static boolean isText(byte[] head, int length) {
+        for (int i = 0; i < length; i++) {
+            int b = head[i] & 0xFF;
+            if (b < 0x09 || (b > 0x0D && b < 0x20)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Strips any directory components a client may have put into the filename.
+     */
+    private static String safeName(String originalFilename) {
+        String name = Paths.get(originalFilename.replace('\\', '/')).getFileName().toString();
+        return name.replaceAll("[^A-Za-z0-9._-]", "_");
+    }
+
+    private UploadTooLargeException tooLarge() {
+        return new UploadTooLargeException(String.format(
+                "File exceeds the maximum upload size of %d MB", maxBytes / (1024 * 1024)), maxBytes);
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
@@ -4,9 +4,13 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.threedfly.orderservice.dto.*;
 import com.threedfly.orderservice.entity.Order;
 import com.threedfly.orderservice.entity.OrderStatus;
+import com.threedfly.orderservice.entity.Quote;
 import com.threedfly.orderservice.entity.Seller;
 import com.threedfly.orderservice.repository.OrderRepository;
 import com.threedfly.orderservice.repository.SellerRepository;
+import com.threedfly.orderservice.service.artifact.ArtifactStore;
+import com.threedfly.orderservice.service.artifact.StoredArtifact;
+import com.threedfly.orderservice.service.quote.QuoteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -25,6 +29,8 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final SellerRepository sellerRepository;
     private final ObjectMapper objectMapper;
+    private final ArtifactStore artifactStore;
+    private final QuoteService quoteService;
 
     public OrderResponse createOrder(CreateOrderRequest request) {
         log.info("Creating new order for customer: {}", request.getCustomerId());
@@ -44,6 +50,11 @@ public class OrderService {
         order.setStatus(OrderStatus.PENDING);
         order.setSeller(seller);
         
+        // Take price and G-code from the accepted quote instead of quoting again
+        if (request.getQuoteId() != null) {
+            order.setQuote(quoteService.getValidQuote(request.getQuoteId()));
+        }
+        
         // Convert ShippingAddress to JSON string
         try {
             String shippingAddressJson = objectMapper.writeValueAsString(request.getShippingAddress());
@@ -74,6 +85,18 @@ public class OrderService {
         return convertToOrderResponse(order);
     }
     
+    @Transactional(readOnly = true)
+    public StoredArtifact getOrderGCode(Long id) {
+        log.info("Retrieving G-code for order with ID: {}", id);
+        Order order = orderRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Order not found with ID: " + id));
+        if (order.getQuote() == null) {
+            throw new RuntimeException("G-code not found for order with ID: " + id);
+        }
+        return artifactStore.find(order.getQuote().getId())
+                .orElseThrow(() -> new RuntimeException("G-code not found for order with ID: " + id));
+    }
+    
     @Transactional(readOnly = true)
     public List<OrderResponse> getOrdersByCustomerId(Long customerId) {
         log.info("Retrieving orders for customer: {}", customerId);
@@ -157,6 +180,13 @@ public class OrderService {
         response.setOrderDate(order.getOrderDate());
         response.setStatus(order.getStatus());
         
+        Quote quote = order.getQuote();
+        if (quote != null) {
+            response.setQuoteId(quote.getId());
+            response.setQuotedPrice(quote.getEstimatedPrice());
+            response.setCurrency(quote.getCurrency());
+        }
+        
         // Convert JSON string back to ShippingAddress
         try {
             ShippingAddress shippingAddress = objectMapper.readValue(order.getShippingAddress(), ShippingAddress.class);
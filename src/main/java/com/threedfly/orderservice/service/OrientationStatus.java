@@ -0,0 +1,18 @@
+package com.threedfly.orderservice.service;
+
+import java.time.Instant;
+
+/**
+ * Last known result of the auto-orientation self-test.
+ *
+ * @param available   Whether the last probe succeeded
+ * @param detail      Human-readable outcome or failure reason
+ * @param checkedAt   When the probe ran
+ * @param probeMillis How long the probe took
+ */
+public record OrientationStatus(boolean available, String detail, Instant checkedAt, long probeMillis) {
+
+    static OrientationStatus disabled() {
+        return new OrientationStatus(false, "Auto-orientation disabled by configuration", Instant.now(), 0);
+    }
+}
@@ -20,6 +20,16 @@ public interface ParameterExtractor {
      */
     PrintCalculationRequest extractParameters(Path filePath, PrintCalculationRequest request);
 
+    /**
+     * Extracts or builds print calculation parameters for a saved upload. Implementations
+     * that read the file may reuse handles the upload already holds.
+     *
+     * @see #extractParameters(Path, PrintCalculationRequest)
+     */
+    default PrintCalculationRequest extractParameters(UploadedModel model, PrintCalculationRequest request) {
+        return extractParameters(model.getPath(), request);
+    }
+
     /**
      * Whether this extractor requires manual request parameters.
      *
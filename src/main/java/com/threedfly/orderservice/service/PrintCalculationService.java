@@ -1,34 +1,70 @@
 package com.threedfly.orderservice.service;
 
+import com.threedfly.orderservice.config.PrinterMotionConfig;
 import com.threedfly.orderservice.config.PrintingPricingConfig;
+import com.threedfly.orderservice.dto.InfillQuoteResponse;
+import com.threedfly.orderservice.dto.InfillQuoteResult;
+import com.threedfly.orderservice.dto.PlateQuote;
 import com.threedfly.orderservice.dto.PrintCalculationRequest;
 import com.threedfly.orderservice.dto.PrintCalculationResponse;
+import com.threedfly.orderservice.dto.PrinterQuote;
+import com.threedfly.orderservice.dto.QuantityQuoteResponse;
 import com.threedfly.orderservice.dto.SlicingResult;
+import com.threedfly.orderservice.dto.VariantQuoteResponse;
+import com.threedfly.orderservice.dto.VariantQuoteResult;
 import com.threedfly.orderservice.entity.ModelFileType;
+import com.threedfly.orderservice.enums.QuoteStage;
 import com.threedfly.orderservice.exception.FileParseException;
 import com.threedfly.orderservice.exception.InvalidFileTypeException;
+import com.threedfly.orderservice.exception.SlicerBusyException;
+import com.threedfly.orderservice.service.artifact.ArtifactStore;
+import com.threedfly.orderservice.service.artifact.StoredArtifact;
+import com.threedfly.orderservice.service.cache.SlicingCacheKey;
+import com.threedfly.orderservice.service.cache.SlicingResultCache;
+import com.threedfly.orderservice.service.gcode.GCodeMetadata;
+import com.threedfly.orderservice.service.gcode.GCodeMetadataReader;
+import com.threedfly.orderservice.service.gcode.GCodeMotionAnalysis;
+import com.threedfly.orderservice.service.gcode.GCodeMotionAnalyzer;
+import com.threedfly.orderservice.service.gcode.GCodeRetentionService;
+import com.threedfly.orderservice.service.gcode.PrinterTimeEstimate;
+import com.threedfly.orderservice.service.mesh.MeshAnalyzer;
+import com.threedfly.orderservice.service.mesh.MeshPrintEstimator;
+import com.threedfly.orderservice.service.mesh.MeshStatistics;
+import com.threedfly.orderservice.service.mesh.PlateLayout;
+import com.threedfly.orderservice.service.mesh.PlatePacker;
+import com.threedfly.orderservice.service.process.ProcessResult;
+import com.threedfly.orderservice.service.process.ProcessRunner;
+import com.threedfly.orderservice.service.quote.InfillCurve;
+import com.threedfly.orderservice.service.quote.QuoteService;
+import com.threedfly.orderservice.service.slicer.SlicerOutputParser;
+import com.threedfly.orderservice.service.slicer.SlicerOutputSummary;
 import com.threedfly.orderservice.service.slicer.SlicerService;
 import com.threedfly.orderservice.service.slicer.SlicerServiceFactory;
+import com.threedfly.orderservice.service.slicer.SlicingCoalescer;
 import com.threedfly.orderservice.validation.MaterialCombinationValidator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.TimeUnit;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 @Slf4j
@@ -42,34 +78,177 @@ public class PrintCalculationService {
     private final MaterialCombinationValidator materialValidator;
     private final SlicerServiceFactory slicerServiceFactory;
     private final ParameterExtractorFactory extractorFactory;
+    private final SlicingResultCache slicingResultCache;
+    private final SlicingCoalescer slicingCoalescer;
+    private final MeshAnalyzer meshAnalyzer;
+    private final MeshPrintEstimator meshPrintEstimator;
+    private final ModelUploadWriter uploadWriter;
+    private final ProcessRunner processRunner;
+    private final GCodeMetadataReader gcodeMetadataReader;
+    private final GCodeRetentionService gcodeRetentionService;
+    private final ArtifactStore artifactStore;
+    private final QuoteService quoteService;
+    private final PlatePacker platePacker;
+    private final GCodeMotionAnalyzer gcodeMotionAnalyzer;
+    private final PrinterMotionConfig printerMotionConfig;
 
     @Value("${printing.slicer.type}")
     private String slicerType;
 
-    @Value("${printing.temp.directory}")
-    private String tempDirectory;
+    @Value("${printing.slicer.deadline-seconds:300}")
+    private long slicerDeadlineSeconds;
+
+    @Value("${printing.quote.variants.max-count:12}")
+    private int maxVariantCount;
+
+    @Value("${printing.quote.infill.anchors:5,12,20}")
+    private List<Integer> infillAnchors;
+
+    @Value("${printing.quote.quantity.max:500}")
+    private int maxQuantity;
 
-    @Transactional(readOnly = true)
     public PrintCalculationResponse calculatePrice(MultipartFile file, PrintCalculationRequest request) {
+        return calculatePrice(file, request, false);
+    }
+
+    /**
+     * Calculates a quote for an uploaded model.
+     *
+     * @param compareMaterials Also price the slice in every other compatible material
+     */
+    public PrintCalculationResponse calculatePrice(MultipartFile file, PrintCalculationRequest request,
+                                                   boolean compareMaterials) {
         log.info("📐 Starting quotation calculation for file: {}", file.getOriginalFilename());
 
-        // 1. Validate file type
-        ModelFileType fileType = validateAndDetectFileType(file);
+        // 1-2. Validate file type and save file temporarily
+        UploadedModel model = storeUpload(file);
+        return calculatePrice(model, request, QuoteProgressListener.NONE, compareMaterials);
+    }
+
+    /**
+     * Returns an instant, geometry-based price estimate without running the slicer.
+     *
+     * Filament use and print time are derived from the mesh volume, surface area and
+     * bounds, so the result comes back in milliseconds but is only indicative. Use
+     * calculatePrice for the binding quote.
+     */
+    public PrintCalculationResponse estimatePrice(MultipartFile file, PrintCalculationRequest request) {
+        log.info("📐 Starting fast estimate for file: {}", file.getOriginalFilename());
+
+        UploadedModel model = storeUpload(file);
+        try {
+            ParameterExtractor extractor = extractorFactory.getExtractor(model.getFileType());
+            PrintCalculationRequest effectiveRequest = extractor.extractParameters(model, request);
+            materialValidator.validate(effectiveRequest.getTechnology(), effectiveRequest.getMaterial());
+
+            MeshStatistics mesh = model.getFileType() == ModelFileType.THREE_MF
+                    ? meshAnalyzer.analyze(model.openThreeMfArchive(), new MeshStatistics())
+                    : meshAnalyzer.analyze(model.getPath(), model.getFileType());
+            if (mesh.isEmpty()) {
+                throw new FileParseException("Model contains no triangles");
+            }
+
+            double density = pricingConfig.getMaterialConfig(effectiveRequest.getMaterial())
+                    .getDensity().doubleValue();
+            SlicingResult estimate = meshPrintEstimator.estimate(mesh, effectiveRequest, density);
+
+            PrintCalculationResponse response = calculatePricing(estimate, model.getOriginalFilename(), effectiveRequest);
+            response.setEstimated(true);
+            return response;
+        } catch (IOException e) {
+            throw new FileParseException("Failed to analyze model geometry: " + e.getMessage(), e);
+        } finally {
+            uploadWriter.discard(model);
+        }
+    }
+
+    /**
+     * Validates an upload and saves it to a scratch directory so that it outlives the HTTP request.
+     *
+     * @param file Uploaded model file
+     * @return The saved model; pass it to calculatePrice or discardUpload
+     */
+    public UploadedModel storeUpload(MultipartFile file) {
+        validateAndDetectFileType(file);
+        try (InputStream in = file.getInputStream()) {
+            return uploadWriter.write(in, file.getOriginalFilename(), file.getSize());
+        } catch (IOException e) {
+            throw new FileParseException("File processing failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Streams a raw request body to a scratch directory without multipart buffering.
+     *
+     * @param in           Request body
+     * @param filename     Client-supplied filename, used to detect the file type
+     * @param declaredSize Content-Length of the body, or -1 if unknown
+     * @return The saved model; pass it to calculatePrice or discardUpload
+     */
+    public UploadedModel storeUpload(InputStream in, String filename, long declaredSize) {
+        try {
+            return uploadWriter.write(in, filename, declaredSize);
+        } catch (IOException e) {
+            throw new FileParseException("File processing failed: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Deletes a saved upload that will not be calculated.
+     */
+    public void discardUpload(UploadedModel model) {
+        uploadWriter.discard(model);
+    }
 
-        // 2. Save file temporarily first (needed for both extraction and slicing)
+    /**
+     * Looks up the G-code stored for a quote.
+     */
+    public StoredArtifact getGCode(String quoteId) {
+        return artifactStore.find(quoteId)
+                .orElseThrow(() -> new RuntimeException("G-code not found with ID: " + quoteId));
+    }
+
+    /**
+     * Calculates a quote for an already saved model. The saved model file is deleted afterwards.
+     *
+     * @param model    Model saved by storeUpload
+     * @param request  Manual parameters (may be null for 3MF files)
+     * @param progress Listener notified as the calculation moves through its stages
+     */
+    public PrintCalculationResponse calculatePrice(UploadedModel model, PrintCalculationRequest request,
+                                                   QuoteProgressListener progress) {
+        return calculatePrice(model, request, progress, false);
+    }
+
+    /**
+     * Calculates a quote for an already saved model. The saved model file is deleted afterwards.
+     *
+     * With compareMaterials the response also lists the quote for every configured material
+     * compatible with the technology. They are derived from the one slice in the requested
+     * material, from its extruded volume and each material's density, without further
+     * slicer runs.
+     *
+     * @param model            Model saved by storeUpload
+     * @param request          Manual parameters (may be null for 3MF files)
+     * @param progress         Listener notified as the calculation moves through its stages
+     * @param compareMaterials Also price the slice in every other compatible material
+     */
+    public PrintCalculationResponse calculatePrice(UploadedModel model, PrintCalculationRequest request,
+                                                   QuoteProgressListener progress, boolean compareMaterials) {
+        ModelFileType fileType = model.getFileType();
+        Path tempFilePath = model.getPath();
         Path dynamicIniPath = null;
-        Path tempFilePath = null;
         Path orientedFilePath = null;
+        SlicingCoalescer.Flight<SlicingResult> flight = null;
         try {
-            tempFilePath = saveTemporaryFile(file);
-
             // 3. Extract parameters using appropriate extractor based on file type
+            progress.onStage(QuoteStage.EXTRACTING_PARAMETERS);
             ParameterExtractor extractor = extractorFactory.getExtractor(fileType);
             log.info("📄 {} file detected - using {} extractor",
                 fileType, extractor.getClass().getSimpleName());
 
             PrintCalculationRequest effectiveRequest =
-                extractor.extractParameters(tempFilePath, request);
+                extractor.extractParameters(model, request);
 
             log.info("✅ Parameters ready for processing");
 
@@ -77,53 +256,583 @@ public class PrintCalculationService {
             materialValidator.validate(effectiveRequest.getTechnology(), effectiveRequest.getMaterial());
 
             // 5. Get base INI configuration
-            String baseIniFile = iniConfigurationMapper.getConfigurationFile(
-                    effectiveRequest.getTechnology(),
-                    effectiveRequest.getMaterial(),
-                    effectiveRequest.getLayerHeight(),
-                    effectiveRequest.getSupporters()
-            );
-            Path baseIniPath = iniConfigurationMapper.getConfigurationPath(baseIniFile);
-
-            log.info("🔧 Using base INI configuration: {}", baseIniFile);
+            progress.onStage(QuoteStage.PREPARING_CONFIGURATION);
+            String baseIniFile = resolveBaseIniFile(effectiveRequest);
+
+            // 6. Return the stored result if this exact model and parameter set was sliced before
+            SlicingCacheKey cacheKey = SlicingCacheKey.of(contentHash(model), effectiveRequest,
+                    iniConfigurationMapper.getVersionedConfigurationName(baseIniFile), slicerType);
+            Optional<SlicingResult> cachedResult = findPreviousResult(cacheKey);
+            if (cachedResult.isPresent()) {
+                log.info("⚡ Reusing previous slicing result, slicer run skipped");
+                progress.onStage(QuoteStage.PRICING);
+                PrintCalculationResponse response = calculatePricing(cachedResult.get(), model.getOriginalFilename(), effectiveRequest);
+                if (compareMaterials) {
+                    response.setMaterialComparison(
+                            compareMaterials(cachedResult.get(), model.getOriginalFilename(), effectiveRequest));
+                }
+                return response;
+            }
 
-            // 6. Generate dynamic INI with custom parameters
-            dynamicIniPath = dynamicIniGenerator.generateDynamicIni(baseIniPath, effectiveRequest);
+            // 7. Generate dynamic INI with custom parameters
+            dynamicIniPath = dynamicIniGenerator.generateDynamicIni(baseIniFile, effectiveRequest);
             log.info("📝 Generated dynamic INI with custom parameters");
 
-            // 7. Auto-orient model if requested
+            // 8. Auto-orient model if requested
+            progress.onStage(QuoteStage.ORIENTING_MODEL);
             orientedFilePath = modelOrientationService.orientModelIfNeeded(
                     tempFilePath, effectiveRequest.getAutoOrient());
             Path modelToSlice = orientedFilePath != null ? orientedFilePath : tempFilePath;
 
-            // 8. Process with slicer using dynamic INI
-            SlicingResult slicingResult = processWithSlicer(
-                    modelToSlice,
-                    dynamicIniPath,
-                    effectiveRequest
-            );
+            // 9. Process with slicer using dynamic INI (on the bounded slicer pool), sharing
+            //    the run with identical requests already in flight
+            progress.onStage(QuoteStage.SLICING);
+            Path iniPath = dynamicIniPath;
+            flight = slice(cacheKey, modelToSlice, iniPath, effectiveRequest);
+            SlicingResult slicingResult = awaitSlicing(flight, modelToSlice);
 
             if (!slicingResult.isSuccess()) {
                 throw new FileParseException("Slicing failed: " + slicingResult.getErrorMessage());
             }
 
-            // 9. Calculate pricing
-            return calculatePricing(slicingResult, file.getOriginalFilename(), effectiveRequest);
+            // 10. Calculate pricing and keep the quote
+            progress.onStage(QuoteStage.PRICING);
+            PrintCalculationResponse response = calculatePricing(slicingResult, model.getOriginalFilename(), effectiveRequest);
+            recordQuote(cacheKey, effectiveRequest, response);
+            if (compareMaterials) {
+                response.setMaterialComparison(
+                        compareMaterials(slicingResult, model.getOriginalFilename(), effectiveRequest));
+            }
+            return response;
+
+        } catch (IOException e) {
+            throw new FileParseException("File processing failed: " + e.getMessage(), e);
+        } finally {
+            // Clean up the scratch directory with the upload, oriented model and slicer output
+            Path orientedModel = orientedFilePath;
+            List<Path> iniPaths = dynamicIniPath != null ? List.of(dynamicIniPath) : List.of();
+            cleanupWhenDone(flight != null ? List.of(flight) : List.of(),
+                    () -> cleanupCalculation(model, orientedModel, iniPaths));
+        }
+    }
+
+    /**
+     * Quotes several parameter variants of one model in a single call.
+     *
+     * The model is hashed, its embedded parameters extracted and (if any variant asks for it)
+     * auto-oriented only once. Variants that miss the slicing cache are then submitted to the
+     * slicer pool together and run concurrently under one shared deadline. A failing variant
+     * does not fail the others. The saved model file is deleted afterwards.
+     *
+     * For 3MF files the embedded parameters are the base for every variant, and a variant's
+     * technology, material, layer height, shells, infill and supporters override them.
+     *
+     * @param model    Model saved by storeUpload
+     * @param variants Parameter sets to quote
+     */
+    public VariantQuoteResponse calculateVariants(UploadedModel model, List<PrintCalculationRequest> variants) {
+        long batchStartedAt = System.nanoTime();
+        Path tempFilePath = model.getPath();
+        Path orientedFilePath = null;
+        List<VariantRun> runs = new ArrayList<>();
+        try {
+            if (variants == null || variants.isEmpty()) {
+                throw new IllegalArgumentException("At least one variant is required");
+            }
+            if (variants.size() > maxVariantCount) {
+                throw new IllegalArgumentException(
+                        String.format("At most %d variants can be quoted at once, got: %d", maxVariantCount, variants.size()));
+            }
+            log.info("📐 Starting {}-variant quotation for file: {}", variants.size(), model.getOriginalFilename());
+
+            String modelHash = contentHash(model);
+            ParameterExtractor extractor = extractorFactory.getExtractor(model.getFileType());
+            PrintCalculationRequest embeddedParameters = extractor.requiresManualParameters()
+                    ? null
+                    : extractor.extractParameters(model, null);
+
+            // 1. Resolve parameters, check the cache and prepare INIs for every variant
+            for (int i = 0; i < variants.size(); i++) {
+                VariantRun run = new VariantRun(i);
+                runs.add(run);
+                try {
+                    run.request = embeddedParameters != null
+                            ? overlayVariant(embeddedParameters, variants.get(i))
+                            : extractor.extractParameters(model, variants.get(i));
+                    materialValidator.validate(run.request.getTechnology(), run.request.getMaterial());
+
+                    String baseIniFile = resolveBaseIniFile(run.request);
+                    run.cacheKey = SlicingCacheKey.of(modelHash, run.request,
+                            iniConfigurationMapper.getVersionedConfigurationName(baseIniFile), slicerType);
+                    Optional<SlicingResult> cachedResult = findPreviousResult(run.cacheKey);
+                    if (cachedResult.isPresent()) {
+                        run.cached = true;
+                        run.complete(cachedResult.get());
+                    } else {
+                        run.dynamicIniPath = dynamicIniGenerator.generateDynamicIni(baseIniFile, run.request);
+                    }
+                } catch (RuntimeException | IOException e) {
+                    log.warn("⚠️ Variant {} could not be prepared: {}", i, e.getMessage());
+                    run.fail(e.getMessage());
+                }
+            }
+
+            // 2. Orient once, shared by all variants that request auto-orientation
+            boolean needsOrientation = runs.stream()
+                    .anyMatch(run -> run.isPending() && Boolean.TRUE.equals(run.request.getAutoOrient()));
+            if (needsOrientation) {
+                orientedFilePath = modelOrientationService.orientModelIfNeeded(tempFilePath, true);
+            }
+
+            // 3. Submit all remaining variants to the slicer pool (all or nothing when it is full)
+            try {
+                for (VariantRun run : runs) {
+                    if (!run.isPending()) {
+                        continue;
+                    }
+                    Path modelToSlice = Boolean.TRUE.equals(run.request.getAutoOrient()) && orientedFilePath != null
+                            ? orientedFilePath
+                            : tempFilePath;
+                    // Identical variants, here or in concurrent requests, share one run
+                    run.flight = slice(run.cacheKey, modelToSlice, run.dynamicIniPath, run.request);
+                    run.flight.whenDone(() -> run.finishedAt = System.nanoTime());
+                }
+            } catch (SlicerBusyException e) {
+                runs.stream().filter(run -> run.flight != null).forEach(run -> run.flight.leave());
+                throw e;
+            }
+
+            // 4. Wait for all of them against one shared deadline
+            long deadline = batchStartedAt + Duration.ofSeconds(slicerDeadlineSeconds).toNanos();
+            for (VariantRun run : runs) {
+                if (run.flight == null) {
+                    continue;
+                }
+                try {
+                    SlicingResult result = run.flight.await(Duration.ofNanos(deadline - System.nanoTime()));
+                    if (result.isSuccess()) {
+                        run.complete(result);
+                    } else {
+                        run.fail("Slicing failed: " + result.getErrorMessage());
+                    }
+                } catch (TimeoutException e) {
+                    run.fail("Slicing did not complete within " + slicerDeadlineSeconds + " seconds");
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    run.fail("Processing error: " + cause.getMessage());
+                }
+            }
+
+            // 5. Price every successful variant
+            List<VariantQuoteResult> results = new ArrayList<>();
+            for (VariantRun run : runs) {
+                results.add(toVariantResult(run, model.getOriginalFilename()));
+            }
+
+            int succeeded = (int) results.stream().filter(VariantQuoteResult::isSuccess).count();
+            log.info("🎯 Variant quotation completed - {} succeeded, {} failed", succeeded, results.size() - succeeded);
+
+            return VariantQuoteResponse.builder()
+                    .fileName(model.getOriginalFilename())
+                    .variantCount(results.size())
+                    .succeeded(succeeded)
+                    .failed(results.size() - succeeded)
+                    .totalDurationMillis(Duration.ofNanos(System.nanoTime() - batchStartedAt).toMillis())
+                    .variants(results)
+                    .build();
 
         } catch (IOException e) {
             throw new FileParseException("File processing failed: " + e.getMessage(), e);
         } finally {
-            // Clean up temporary files
-            if (tempFilePath != null) {
-                cleanupTemporaryFile(tempFilePath);
+            Path orientedModel = orientedFilePath;
+            List<Path> iniPaths = runs.stream().map(run -> run.dynamicIniPath).filter(Objects::nonNull).toList();
+            List<SlicingCoalescer.Flight<?>> flights = runs.stream()
+                    .<SlicingCoalescer.Flight<?>>map(run -> run.flight)
+                    .filter(Objects::nonNull)
+                    .toList();
+            cleanupWhenDone(flights, () -> cleanupCalculation(model, orientedModel, iniPaths));
+        }
+    }
+
+    /**
+     * Runs the cleanup once every run this request started has finished. A run the
+     * request started may outlive it when identical requests joined it and still wait,
+     * and it slices this request's files.
+     */
+    private void cleanupWhenDone(List<SlicingCoalescer.Flight<?>> flights, Runnable cleanup) {
+        List<SlicingCoalescer.Flight<?>> leading = flights.stream().filter(SlicingCoalescer.Flight::isLeader).toList();
+        if (leading.isEmpty()) {
+            cleanup.run();
+            return;
+        }
+        AtomicInteger pending = new AtomicInteger(leading.size());
+        for (SlicingCoalescer.Flight<?> flight : leading) {
+            flight.whenDone(() -> {
+                if (pending.decrementAndGet() == 0) {
+                    cleanup.run();
+                }
+            });
+        }
+    }
+
+    private void cleanupCalculation(UploadedModel model, Path orientedFilePath, List<Path> iniPaths) {
+        uploadWriter.discard(model);
+        if (orientedFilePath != null && !orientedFilePath.equals(model.getPath())) {
+            modelOrientationService.cleanupOrientedModel(orientedFilePath);
+        }
+        for (Path iniPath : iniPaths) {
+            dynamicIniGenerator.cleanupDynamicIni(iniPath);
+        }
+    }
+
+    private VariantQuoteResult toVariantResult(VariantRun run, String filename) {
+        VariantQuoteResult.VariantQuoteResultBuilder builder = VariantQuoteResult.builder()
+                .index(run.index)
+                .cached(run.cached)
+                .durationMillis(Duration.ofNanos(run.finishedAt - run.startedAt).toMillis());
+
+        if (run.result == null) {
+            return builder.success(false).errorMessage(run.errorMessage).build();
+        }
+        try {
+            PrintCalculationResponse quote = calculatePricing(run.result, filename, run.request);
+            if (!run.cached) {
+                recordQuote(run.cacheKey, run.request, quote);
             }
-            if (orientedFilePath != null && !orientedFilePath.equals(tempFilePath)) {
-                modelOrientationService.cleanupOrientedModel(orientedFilePath);
+            return builder.success(true).quote(quote).build();
+        } catch (RuntimeException e) {
+            return builder.success(false).errorMessage(e.getMessage()).build();
+        }
+    }
+
+    /**
+     * Quotes every whole infill percentage between the lowest and highest configured anchor
+     * infill while slicing only the anchors.
+     *
+     * The anchors are quoted as variants, so they come from the slicing cache or stored
+     * quotes whenever this model was quoted with the same parameters before; a UI slider
+     * re-requesting the range then gets it without a slicer run. Filament weight and print
+     * time are interpolated between the anchors (see {@link InfillCurve}); interpolated
+     * quotes carry an error bound and no quote id. The saved model file is deleted afterwards.
+     *
+     * @param model   Model saved by storeUpload
+     * @param request Parameters (may be null for 3MF files); its infill is ignored
+     */
+    public InfillQuoteResponse calculateInfillRange(UploadedModel model, PrintCalculationRequest request) {
+        long startedAt = System.nanoTime();
+        List<Integer> anchors = infillAnchors.stream().distinct().sorted().toList();
+        if (anchors.size() < 2) {
+            uploadWriter.discard(model);
+            throw new IllegalStateException("printing.quote.infill.anchors needs at least two infill values");
+        }
+
+        List<PrintCalculationRequest> variants = anchors.stream()
+                .map(infill -> (request != null ? request.toBuilder() : PrintCalculationRequest.builder())
+                        .infill(infill)
+                        .build())
+                .toList();
+        VariantQuoteResponse anchorQuotes = calculateVariants(model, variants);
+        for (VariantQuoteResult anchor : anchorQuotes.getVariants()) {
+            if (!anchor.isSuccess()) {
+                throw new FileParseException(String.format("Slicing failed at %d%% infill: %s",
+                        anchors.get(anchor.getIndex()), anchor.getErrorMessage()));
             }
-            if (dynamicIniPath != null) {
-                dynamicIniGenerator.cleanupDynamicIni(dynamicIniPath);
+        }
+        List<PrintCalculationResponse> anchorResponses = anchorQuotes.getVariants().stream()
+                .map(VariantQuoteResult::getQuote)
+                .toList();
+
+        double[] anchorInfills = anchors.stream().mapToDouble(Integer::doubleValue).toArray();
+        InfillCurve weight = InfillCurve.fit(anchorInfills,
+                anchorResponses.stream().mapToDouble(PrintCalculationResponse::getMaterialUsedGrams).toArray(), 0.01);
+        InfillCurve time = InfillCurve.fit(anchorInfills,
+                anchorResponses.stream().mapToDouble(quote -> quote.getPrintingTimeMinutes()).toArray(), 1.0);
+
+        List<InfillQuoteResult> quotes = new ArrayList<>();
+        for (int infill = anchors.get(0); infill <= anchors.get(anchors.size() - 1); infill++) {
+            int anchor = anchors.indexOf(infill);
+            if (anchor >= 0) {
+                quotes.add(InfillQuoteResult.builder()
+                        .infill(infill)
+                        .interpolated(false)
+                        .quote(anchorResponses.get(anchor))
+                        .weightErrorGrams(0.0)
+                        .timeErrorMinutes(0.0)
+                        .priceError(BigDecimal.ZERO)
+                        .build());
+            } else {
+                quotes.add(interpolateInfill(anchorResponses.get(0), infill, weight, time));
             }
         }
+
+        int cachedAnchors = (int) anchorQuotes.getVariants().stream().filter(VariantQuoteResult::isCached).count();
+        log.info("🎚️ Infill range {}-{}% quoted from {} anchors ({} cached)",
+                anchors.get(0), anchors.get(anchors.size() - 1), anchors.size(), cachedAnchors);
+
+        return InfillQuoteResponse.builder()
+                .fileName(model.getOriginalFilename())
+                .anchorInfills(anchors)
+                .cachedAnchors(cachedAnchors)
+                .totalDurationMillis(Duration.ofNanos(System.nanoTime() - startedAt).toMillis())
+                .quotes(quotes)
+                .build();
+    }
+
+    /**
+     * Prices an interpolated infill value on the terms of an anchor quote. Figures are
+     * rounded like the slicer's own (0.01 g, whole minutes), which adds half a unit to
+     * the error bounds.
+     */
+    private InfillQuoteResult interpolateInfill(PrintCalculationResponse anchor, int infill,
+                                                InfillCurve weight, InfillCurve time) {
+        double weightGrams = Math.round(weight.valueAt(infill) * 100) / 100.0;
+        int minutes = (int) Math.round(time.valueAt(infill));
+        double weightError = weight.errorBoundAt(infill) + 0.005;
+        double timeError = time.errorBoundAt(infill) + 0.5;
+
+        BigDecimal materialCost = cost(anchor.getPricePerGram(), weightGrams);
+        BigDecimal timeCost = cost(anchor.getPricePerMinute(), minutes);
+        PrintCalculationResponse quote = anchor.toBuilder()
+                // Not sliced, so there is no G-code to order against
+                .quoteId(null)
+                .infill(infill)
+                .materialUsedGrams(weightGrams)
+                .materialUsedMm3(null)
+                .printingTimeMinutes(minutes)
+                .materialCost(materialCost)
+                .timeCost(timeCost)
+                .estimatedPrice(materialCost.add(timeCost).setScale(2, RoundingMode.HALF_UP))
+                .estimated(true)
+                // Per-printer times belong to the anchor's G-code, not to this infill
+                .printerQuotes(null)
+                .build();
+
+        BigDecimal priceError = anchor.getPricePerGram().multiply(BigDecimal.valueOf(weightError))
+                .add(anchor.getPricePerMinute().multiply(BigDecimal.valueOf(timeError)))
+                .setScale(2, RoundingMode.UP);
+        return InfillQuoteResult.builder()
+                .infill(infill)
+                .interpolated(true)
+                .quote(quote)
+                .weightErrorGrams(Math.ceil(weightError * 100) / 100.0)
+                .timeErrorMinutes(Math.ceil(timeError * 10) / 10.0)
+                .priceError(priceError)
+                .build();
+    }
+
+    /**
+     * Quotes a number of copies of one model from packed plates instead of multiplying a
+     * single-copy quote.
+     *
+     * {@link PlatePacker} lays the copies out on the bed. At most two plates are sliced: a
+     * full one and, when the quantity does not fill the last plate, the remainder. They run
+     * concurrently under one shared deadline and go through the slicing cache like any other
+     * slice. Totals follow from how often each plate is printed, and every plate is recorded
+     * as a quote of its own. The saved model file is deleted afterwards.
+     *
+     * @param model    Model saved by storeUpload (STL or OBJ)
+     * @param request  Manual parameters
+     * @param quantity Copies to quote
+     */
+    public QuantityQuoteResponse calculateQuantity(UploadedModel model, PrintCalculationRequest request, int quantity) {
+        long startedAt = System.nanoTime();
+        Path tempFilePath = model.getPath();
+        Path orientedFilePath = null;
+        Path dynamicIniPath = null;
+        List<PlateRun> plates = new ArrayList<>();
+        try {
+            if (model.getFileType() == ModelFileType.THREE_MF) {
+                throw new IllegalArgumentException("Quantity quotes are supported for STL and OBJ files only");
+            }
+            if (quantity < 1 || quantity > maxQuantity) {
+                throw new IllegalArgumentException(
+                        String.format("Quantity must be between 1 and %d, got: %d", maxQuantity, quantity));
+            }
+            log.info("🧩 Starting quantity quotation of {} copies for file: {}", quantity, model.getOriginalFilename());
+
+            PrintCalculationRequest effectiveRequest = extractorFactory.getExtractor(model.getFileType())
+                    .extractParameters(model, request);
+            materialValidator.validate(effectiveRequest.getTechnology(), effectiveRequest.getMaterial());
+            String baseIniFile = resolveBaseIniFile(effectiveRequest);
+            SlicingCacheKey modelKey = SlicingCacheKey.of(contentHash(model), effectiveRequest,
+                    iniConfigurationMapper.getVersionedConfigurationName(baseIniFile), slicerType);
+
+            // 1. Lay the copies out as the model will be printed
+            orientedFilePath = modelOrientationService.orientModelIfNeeded(
+                    tempFilePath, effectiveRequest.getAutoOrient());
+            Path modelToPack = orientedFilePath != null ? orientedFilePath : tempFilePath;
+            ModelFileType packedType = orientedFilePath != null ? ModelFileType.STL : model.getFileType();
+            MeshStatistics bounds = meshAnalyzer.analyze(modelToPack, packedType);
+            if (bounds.isEmpty()) {
+                throw new FileParseException("Model contains no triangles");
+            }
+            PlateLayout layout = platePacker.layout(bounds, quantity);
+            if (layout.fullPlates() > 0) {
+                plates.add(new PlateRun(layout.perPlate(), layout.fullPlates()));
+            }
+            if (layout.remainder() > 0) {
+                plates.add(new PlateRun(layout.remainder(), 1));
+            }
+
+            // 2. Write the plates that were not sliced before
+            for (PlateRun plate : plates) {
+                plate.cacheKey = modelKey.forPlate(layout.describe(plate.copies));
+                Optional<SlicingResult> cachedResult = findPreviousResult(plate.cacheKey);
+                if (cachedResult.isPresent()) {
+                    plate.cached = true;
+                    plate.result = cachedResult.get();
+                    continue;
+                }
+                if (dynamicIniPath == null) {
+                    dynamicIniPath = dynamicIniGenerator.generateDynamicIni(baseIniFile, effectiveRequest);
+                }
+                plate.path = tempFilePath.resolveSibling(tempFilePath.getFileName().toString()
+                        .replaceAll("\\.(stl|obj)$", "") + "_plate" + plate.copies + ".stl");
+                platePacker.writePlate(modelToPack, packedType, bounds, layout, plate.copies, plate.path);
+            }
+
+            // 3. Slice them concurrently (all or nothing when the slicer pool is full)
+            try {
+                for (PlateRun plate : plates) {
+                    if (plate.path == null) {
+                        continue;
+                    }
+                    Path iniPath = dynamicIniPath;
+                    plate.flight = slice(plate.cacheKey, plate.path, iniPath, effectiveRequest);
+                }
+            } catch (SlicerBusyException e) {
+                plates.stream().filter(plate -> plate.flight != null).forEach(plate -> plate.flight.leave());
+                throw e;
+            }
+
+            long deadline = startedAt + Duration.ofSeconds(slicerDeadlineSeconds).toNanos();
+            for (PlateRun plate : plates) {
+                if (plate.flight == null) {
+                    continue;
+                }
+                try {
+                    plate.result = plate.flight.await(Duration.ofNanos(deadline - System.nanoTime()));
+                } catch (TimeoutException e) {
+                    throw new FileParseException("Slicing did not complete within " + slicerDeadlineSeconds + " seconds");
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    throw new FileParseException("Processing error: " + cause.getMessage(), cause);
+                }
+                if (!plate.result.isSuccess()) {
+                    throw new FileParseException(String.format("Slicing the plate of %d copies failed: %s",
+                            plate.copies, plate.result.getErrorMessage()));
+                }
+            }
+
+            // 4. Price each plate once and add up how often it is printed
+            List<PlateQuote> plateQuotes = new ArrayList<>();
+            double totalGrams = 0.0;
+            int totalMinutes = 0;
+            BigDecimal totalPrice = BigDecimal.ZERO;
+            for (PlateRun plate : plates) {
+                PrintCalculationResponse quote = calculatePricing(plate.result, model.getOriginalFilename(), effectiveRequest);
+                if (!plate.cached) {
+                    recordQuote(plate.cacheKey, effectiveRequest, quote);
+                }
+                plateQuotes.add(PlateQuote.builder()
+                        .copies(plate.copies)
+                        .count(plate.count)
+                        .cached(plate.cached)
+                        .quote(quote)
+                        .build());
+                totalGrams += quote.getMaterialUsedGrams() * plate.count;
+                totalMinutes += quote.getPrintingTimeMinutes() * plate.count;
+                totalPrice = totalPrice.add(quote.getEstimatedPrice().multiply(BigDecimal.valueOf(plate.count)));
+            }
+
+            log.info("🎯 {} copies quoted from {} plate(s) ({} sliced) - Total: ${}", quantity, layout.plateCount(),
+                    plates.stream().filter(plate -> !plate.cached).count(), totalPrice);
+
+            return QuantityQuoteResponse.builder()
+                    .fileName(model.getOriginalFilename())
+                    .quantity(quantity)
+                    .copiesPerPlate(layout.perPlate())
+                    .plateCount(layout.plateCount())
+                    .totalMaterialUsedGrams(Math.round(totalGrams * 100) / 100.0)
+                    .totalPrintingTimeMinutes(totalMinutes)
+                    .totalPrice(totalPrice)
+                    .unitPrice(totalPrice.divide(BigDecimal.valueOf(quantity), 2, RoundingMode.HALF_UP))
+                    .currency(plateQuotes.get(0).getQuote().getCurrency())
+                    .plates(plateQuotes)
+                    .build();
+
+        } catch (IOException e) {
+            throw new FileParseException("File processing failed: " + e.getMessage(), e);
+        } finally {
+            // Runs no longer awaited after a failure are cancelled unless others share them
+            plates.stream().filter(plate -> plate.flight != null).forEach(plate -> plate.flight.leave());
+            Path orientedModel = orientedFilePath;
+            List<Path> iniPaths = dynamicIniPath != null ? List.of(dynamicIniPath) : List.of();
+            List<Path> platePaths = plates.stream().map(plate -> plate.path).filter(Objects::nonNull).toList();
+            List<SlicingCoalescer.Flight<?>> flights = plates.stream()
+                    .<SlicingCoalescer.Flight<?>>map(plate -> plate.flight)
+                    .filter(Objects::nonNull)
+                    .toList();
+            cleanupWhenDone(flights, () -> {
+                cleanupCalculation(model, orientedModel, iniPaths);
+                platePaths.forEach(this::deletePlate);
+            });
+        }
+    }
+
+    private void deletePlate(Path platePath) {
+        try {
+            Files.deleteIfExists(platePath);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete plate file: {}", platePath, e);
+        }
+    }
+
+    /**
+     * Applies a variant's core parameters on top of parameters embedded in a 3MF file.
+     */
+    private PrintCalculationRequest overlayVariant(PrintCalculationRequest embedded, PrintCalculationRequest variant) {
+        PrintCalculationRequest merged = embedded.toBuilder().build();
+        if (variant == null) {
+            return merged;
+        }
+        if (variant.getTechnology() != null) {
+            merged.setTechnology(variant.getTechnology());
+        }
+        if (variant.getMaterial() != null) {
+            merged.setMaterial(variant.getMaterial());
+        }
+        if (variant.getLayerHeight() != null) {
+            merged.setLayerHeight(variant.getLayerHeight());
+        }
+        if (variant.getShells() != null) {
+            merged.setShells(variant.getShells());
+        }
+        if (variant.getInfill() != null) {
+            merged.setInfill(variant.getInfill());
+        }
+        if (variant.getSupporters() != null) {
+            merged.setSupporters(variant.getSupporters());
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the hash computed while the upload was streamed, hashing the file only if it is unknown.
+     */
+    private String contentHash(UploadedModel model) throws IOException {
+        return model.getContentHash() != null ? model.getContentHash() : SlicingCacheKey.hashModel(model.getPath());
+    }
+
+    private String resolveBaseIniFile(PrintCalculationRequest effectiveRequest) {
+        String baseIniFile = iniConfigurationMapper.getConfigurationFile(
+                effectiveRequest.getTechnology(),
+                effectiveRequest.getMaterial(),
+                effectiveRequest.getLayerHeight(),
+                effectiveRequest.getSupporters()
+        );
+        log.info("🔧 Using base INI configuration: {}", baseIniFile);
+        return baseIniFile;
     }
 
     private ModelFileType validateAndDetectFileType(MultipartFile file) {
@@ -145,27 +854,63 @@ public class PrintCalculationService {
         return fileType;
     }
 
-    private Path saveTemporaryFile(MultipartFile file) throws IOException {
-        // Create temp directory if it doesn't exist
-        Path tempDir = Paths.get(tempDirectory);
-        if (!Files.exists(tempDir)) {
-            Files.createDirectories(tempDir);
-        }
-
-        // Generate unique filename
-        String originalFilename = file.getOriginalFilename();
-        String timestamp = String.valueOf(System.currentTimeMillis());
-        String tempFilename = timestamp + "_" + originalFilename;
-        Path tempFilePath = tempDir.resolve(tempFilename);
+    /**
+     * Starts the slicer run for the key, or joins the identical one in flight. The slicer
+     * runs on a slicer pool thread; re-timing its G-code for the configured printers follows
+     * on the motion analyzer's pool once that thread is released. Only then is the G-code
+     * kept and a successful result cached, still before the run is released, so requests
+     * arriving after it find the cache instead of starting anew.
+     */
+    private SlicingCoalescer.Flight<SlicingResult> slice(SlicingCacheKey cacheKey, Path modelFilePath, Path iniPath,
+                                                         PrintCalculationRequest request) {
+        // Unique per run, several variants of the same model may be sliced concurrently
+        String outputFilename = modelFilePath.getFileName().toString()
+                .replaceAll("\\.(stl|obj|3mf)$", "_" + UUID.randomUUID() + "_output.gcode");
+        Path outputPath = modelFilePath.resolveSibling(outputFilename);
+        return slicingCoalescer.join(cacheKey,
+                () -> processWithSlicer(modelFilePath, iniPath, outputPath, request),
+                result -> finishSlicing(cacheKey, result, outputPath));
+    }
 
-        // Save file
-        file.transferTo(tempFilePath.toFile());
-        log.info("📄 Saved temporary file: {}", tempFilePath);
+    private CompletableFuture<SlicingResult> finishSlicing(SlicingCacheKey cacheKey, SlicingResult result,
+                                                           Path outputPath) {
+        if (!result.isSuccess()) {
+            return CompletableFuture.completedFuture(result);
+        }
+        return estimatePrinterTimes(outputPath).thenApply(printerEstimates -> {
+            result.setPrinterEstimates(printerEstimates);
+            // Every slicer run is a new quote; its G-code is stored under the quote id
+            keepGCode(result.getQuoteId(), outputPath);
+            slicingResultCache.put(cacheKey, result);
+            return result;
+        });
+    }
 
-        return tempFilePath;
+    /**
+     * Waits for a (possibly shared) slicer run at most the configured deadline, queue wait
+     * included. A timeout only stops this request from waiting; the run is cancelled once
+     * no request waits for it any more.
+     */
+    private SlicingResult awaitSlicing(SlicingCoalescer.Flight<SlicingResult> flight, Path modelFilePath) {
+        try {
+            return flight.await(Duration.ofSeconds(slicerDeadlineSeconds));
+        } catch (TimeoutException e) {
+            log.warn("⏱️ Slicing deadline of {}s exceeded for {}", slicerDeadlineSeconds, modelFilePath);
+            return SlicingResult.builder()
+                    .success(false)
+                    .errorMessage("Slicing did not complete within " + slicerDeadlineSeconds + " seconds")
+                    .build();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.error("❌ Slicer job failed", cause);
+            return SlicingResult.builder()
+                    .success(false)
+                    .errorMessage("Processing error: " + cause.getMessage())
+                    .build();
+        }
     }
 
-    private SlicingResult processWithSlicer(Path modelFilePath, Path iniPath,
+    private SlicingResult processWithSlicer(Path modelFilePath, Path iniPath, Path outputPath,
                                              PrintCalculationRequest request) {
         log.info("⚙️ Processing file with slicer: {}", modelFilePath);
         log.info("📊 Parameters - layerHeight: {}, shells: {}, infill: {}%, supporters: {}",
@@ -186,12 +931,6 @@ public class PrintCalculationService {
 //                throw new IllegalArgumentException("Supporters parameter cannot be null");
 //            }
 
-            // Prepare output file path
-            Path outputDir = modelFilePath.getParent();
-            String outputFilename = modelFilePath.getFileName().toString()
-                    .replaceAll("\\.(stl|obj|3mf)$", "_output.gcode");
-            Path outputPath = outputDir.resolve(outputFilename);
-
             // Get appropriate slicer implementation and build command
             SlicerService slicerService = slicerServiceFactory.getSlicer(slicerType);
             log.info("🔧 Using slicer: {}", slicerService.getSlicerName());
@@ -205,63 +944,45 @@ public class PrintCalculationService {
 
             log.info("🔧 Executing slicer command: {}", String.join(" ", processBuilder.command()));
 
-            // Execute slicer
-            Process process = processBuilder.start();
-
-            // Capture output
-            String output = readProcessOutput(process);
-            String errors = readProcessErrors(process);
+            // Execute slicer, draining stdout and stderr concurrently
+            // Console output is parsed line by line while the slicer runs
+            SlicerOutputSummary summary = new SlicerOutputSummary();
+            SlicerOutputParser outputParser = slicerServiceFactory.getOutputParser(slicerType);
+            ProcessResult run = processRunner.run(processBuilder, Duration.ofSeconds(slicerDeadlineSeconds),
+                    outputParser.lineConsumer(summary));
 
-            // Wait for completion with timeout
-            boolean finished = process.waitFor(5, TimeUnit.MINUTES);
-
-            if (!finished) {
-                process.destroyForcibly();
+            if (run.timedOut()) {
                 return SlicingResult.builder()
                         .success(false)
-                        .errorMessage("Slicing process timed out after 5 minutes")
+                        .errorMessage("Slicing process timed out after " + slicerDeadlineSeconds + " seconds")
                         .build();
             }
 
-            int exitCode = process.exitValue();
-            log.info("🎯 Slicer completed with exit code: {}", exitCode);
+            log.info("🎯 Slicer completed with exit code {} in {} ms", run.exitCode(), run.duration().toMillis());
+            if (run.stdoutTruncated() || run.stderrTruncated()) {
+                log.warn("⚠️ Slicer output exceeded the capture buffer, only the tail was kept");
+            }
 
-            if (exitCode != 0) {
-                log.error("❌ Slicer failed with errors: {}", errors);
+            if (run.exitCode() != 0) {
+                log.error("❌ Slicer failed with errors: {}", run.stderr());
                 return SlicingResult.builder()
                         .success(false)
-                        .errorMessage("Slicer failed: " + errors)
+                        .errorMessage("Slicer failed: " + run.stderr())
                         .build();
             }
 
             // Parse slicer output
-            SlicingResult result = parseSlicerOutput(output, outputPath);
-
-            // Save G-code file for analysis before cleanup
-            try {
-                Path savedGcodeDir = Paths.get("/tmp/prusa-gcode-output");
-                Files.createDirectories(savedGcodeDir);
-
-                String savedFilename = modelFilePath.getFileName().toString()
-                    .replaceAll("\\.(stl|obj|3mf)$", "_output.gcode");
-                Path savedGcodePath = savedGcodeDir.resolve(savedFilename);
-
-                Files.copy(outputPath, savedGcodePath,
-                    java.nio.file.StandardCopyOption.REPLACE_EXISTING);
-                log.info("💾 Saved G-code for analysis: {}", savedGcodePath);
-            } catch (IOException e) {
-                log.warn("⚠️ Could not save G-code file for analysis: {}", e.getMessage());
-            }
-
-            // Clean up output file
-            try {
-                Files.deleteIfExists(outputPath);
-            } catch (IOException e) {
-                log.warn("⚠️ Could not delete output file: {}", outputPath);
-            }
-
+            SlicingResult result = parseSlicerOutput(summary, outputPath);
+            result.setQuoteId(UUID.randomUUID().toString());
             return result;
 
+        } catch (InterruptedException e) {
+            // Job was cancelled (deadline exceeded or shutdown) - the runner already killed the slicer
+            Thread.currentThread().interrupt();
+            return SlicingResult.builder()
+                    .success(false)
+                    .errorMessage("Slicing was cancelled")
+                    .build();
         } catch (Exception e) {
             log.error("❌ Error processing with slicer", e);
             return SlicingResult.builder()
@@ -271,184 +992,99 @@ public class PrintCalculationService {
         }
     }
 
-    private String readProcessOutput(Process process) throws IOException {
-        StringBuilder output = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                output.append(line).append("\n");
-            }
-        }
-        return output.toString();
-    }
-
-    private String readProcessErrors(Process process) throws IOException {
-        StringBuilder errors = new StringBuilder();
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                errors.append(line).append("\n");
-            }
-        }
-        return errors.toString();
-    }
-
-    private SlicingResult parseSlicerOutput(String output, Path outputPath) throws IOException {
-        log.info("📊 Parsing slicer output for weight and time information");
-
-        // Default values
-        double weightGrams = 0.0;
-        int timeMinutes = 0;
-
-        // Patterns to extract information from slicer output
-        // PrusaSlicer format: "; total filament used [g] = 0.67"
-        Pattern weightPattern = Pattern.compile(".*total filament used.*\\[g\\]\\s*=\\s*([0-9.]+).*", Pattern.CASE_INSENSITIVE);
-        // Also support older format: "filament used = 0.67g"
-        Pattern weightPatternLegacy = Pattern.compile(".*filament used\\s*=\\s*([0-9.]+)\\s*g.*", Pattern.CASE_INSENSITIVE);
-        // PrusaSlicer format: "; estimated printing time (normal mode) = 5m 33s"
-        // Only match normal mode, not silent mode
-        Pattern timePattern = Pattern.compile(".*estimated printing time.*\\(normal mode\\).*=\\s*([0-9]+)m\\s*([0-9]+)s.*", Pattern.CASE_INSENSITIVE);
-        Pattern timeHoursMinutesPattern = Pattern.compile(".*estimated printing time.*\\(normal mode\\).*=\\s*([0-9]+)h\\s*([0-9]+)m.*", Pattern.CASE_INSENSITIVE);
-
-        // Parse output lines
-        String[] lines = output.split("\n");
-        for (String line : lines) {
-            // Try to extract weight (PrusaSlicer format)
-            Matcher weightMatcher = weightPattern.matcher(line);
-            if (weightMatcher.matches()) {
-                weightGrams = Double.parseDouble(weightMatcher.group(1));
-                log.info("📏 Found filament weight: {}g (PrusaSlicer format)", weightGrams);
-            }
-
-            // Try legacy weight format
-            if (weightGrams == 0.0) {
-                Matcher weightMatcherLegacy = weightPatternLegacy.matcher(line);
-                if (weightMatcherLegacy.matches()) {
-                    weightGrams = Double.parseDouble(weightMatcherLegacy.group(1));
-                    log.info("📏 Found filament weight: {}g (legacy format)", weightGrams);
-                }
-            }
-
-            // Try to extract time (hours and minutes): "1h 23m"
-            Matcher timeHMatcher = timeHoursMinutesPattern.matcher(line);
-            if (timeHMatcher.matches()) {
-                int hours = Integer.parseInt(timeHMatcher.group(1));
-                int minutes = Integer.parseInt(timeHMatcher.group(2));
-                timeMinutes = hours * 60 + minutes;
-                log.info("⏱️ Found printing time: {}h {}m ({}min total)", hours, minutes, timeMinutes);
-                continue;
-            }
-
-            // Try to extract time (minutes and seconds): "5m 33s"
-            Matcher timeMatcher = timePattern.matcher(line);
-            if (timeMatcher.matches()) {
-                int minutes = Integer.parseInt(timeMatcher.group(1));
-                int seconds = Integer.parseInt(timeMatcher.group(2));
-                timeMinutes = minutes + (seconds >= 30 ? 1 : 0); // Round up if >= 30 seconds
-                log.info("⏱️ Found printing time: {}m {}s ({}min total)", minutes, seconds, timeMinutes);
-            }
-        }
-
-        // If we couldn't parse from console output, try reading the G-code file
-        if ((weightGrams == 0.0 || timeMinutes == 0) && Files.exists(outputPath)) {
-            log.info("📄 Attempting to parse G-code file for additional information");
-            SlicingResult gcodeResult = parseGCodeFile(outputPath);
-            if (gcodeResult.isSuccess()) {
-                if (weightGrams == 0.0) weightGrams = gcodeResult.getFilamentWeightGrams();
-                if (timeMinutes == 0) timeMinutes = gcodeResult.getEstimatedPrintTimeMinutes();
-            }
+    private SlicingResult parseSlicerOutput(SlicerOutputSummary summary, Path outputPath) throws IOException {
+        double weightGrams = summary.getFilamentWeightGrams();
+        int timeMinutes = summary.hasPrintTime() ? summary.getPrintTimeMinutes() : 0;
+        log.info("📊 Slicer output summary - weight: {}g, time: {}min", weightGrams, timeMinutes);
+
+        // Read the G-code file for what the console output lacks; the extruded volume is only written there
+        double volumeMm3 = 0.0;
+        if (Files.exists(outputPath)) {
+            GCodeMetadata metadata = gcodeMetadataReader.read(outputPath);
+            log.info("📄 G-code summary: {}g, {}s, {}mm³",
+                    metadata.filamentWeightGrams(), metadata.printTimeSeconds(), metadata.filamentVolumeMm3());
+            if (weightGrams == 0.0) weightGrams = metadata.filamentWeightGrams();
+            if (timeMinutes == 0) timeMinutes = metadata.printTimeMinutes();
+            volumeMm3 = metadata.filamentVolumeMm3();
         }
 
         return SlicingResult.builder()
                 .filamentWeightGrams(weightGrams)
                 .estimatedPrintTimeMinutes(timeMinutes)
+                .filamentVolumeMm3(volumeMm3)
+                .printerEstimates(List.of())
                 .success(true)
                 .build();
     }
 
-    private SlicingResult parseGCodeFile(Path gcodeFilePath) throws IOException {
-        log.info("🔍 Parsing G-code file: {}", gcodeFilePath);
-
-        double weightGrams = 0.0;
-        int timeMinutes = 0;
-
-        List<String> lines = Files.readAllLines(gcodeFilePath);
-        log.debug("📄 G-code file has {} lines", lines.size());
-
-        for (String line : lines) {
-            // G-code comments often contain metadata
-            if (line.startsWith(";")) {
-                // Look for PrusaSlicer filament weight: "; total filament used [g] = 0.67"
-                // Exclude wipe tower lines
-                if (line.toLowerCase().contains("total filament used") && !line.toLowerCase().contains("wipe tower")) {
-                    log.debug("🔍 Found 'total filament used' line: {}", line);
-                    if (line.toLowerCase().contains("[g]")) {
-                        log.debug("🔍 Line contains [g], trying to parse...");
-                        Pattern weightPattern = Pattern.compile(".*\\[g\\]\\s*=\\s*([0-9.]+).*");
-                        Matcher matcher = weightPattern.matcher(line);
-                        if (matcher.find()) {
-                            weightGrams = Double.parseDouble(matcher.group(1));
-                            log.info("📏 Parsed weight from G-code: {}g", weightGrams);
-                        } else {
-                            log.warn("⚠️ Pattern didn't match line: {}", line);
-                        }
-                    }
-                }
+    /**
+     * Re-times the G-code for every printer configured under printing.motion.printer, on
+     * the motion analyzer's own pool. The quote does not depend on it, so failures only
+     * lose the per-printer estimates.
+     */
+    private CompletableFuture<List<PrinterTimeEstimate>> estimatePrinterTimes(Path outputPath) {
+        if (printerMotionConfig.getPrinter().isEmpty() || !Files.exists(outputPath)) {
+            return CompletableFuture.completedFuture(List.of());
+        }
+        return gcodeMotionAnalyzer.analyzeAsync(outputPath, printerMotionConfig.getPrinter())
+                .thenApply(GCodeMotionAnalysis::printers)
+                .exceptionally(e -> {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    log.warn("⚠️ Could not re-time G-code for printers {}: {}", outputPath, cause.getMessage());
+                    return List.of();
+                });
+    }
 
-                // Also support legacy format with "weight" keyword
-                if (weightGrams == 0.0 && line.toLowerCase().contains("filament") && line.toLowerCase().contains("weight")) {
-                    Pattern weightPattern = Pattern.compile(".*([0-9.]+)\\s*g.*");
-                    Matcher matcher = weightPattern.matcher(line);
-                    if (matcher.find()) {
-                        weightGrams = Double.parseDouble(matcher.group(1));
-                        log.info("📏 Parsed weight from G-code (legacy): {}g", weightGrams);
-                    }
-                }
+    /**
+     * Looks up an earlier result for the same fingerprint: the in-memory cache first, then
+     * quotes persisted by earlier requests (which also refill the cache).
+     */
+    private Optional<SlicingResult> findPreviousResult(SlicingCacheKey cacheKey) {
+        Optional<SlicingResult> cachedResult = slicingResultCache.get(cacheKey);
+        if (cachedResult.isPresent()) {
+            renewQuote(cachedResult.get().getQuoteId());
+            return cachedResult;
+        }
+        Optional<SlicingResult> storedResult = quoteService.findResult(cacheKey);
+        storedResult.ifPresent(result -> slicingResultCache.put(cacheKey, result));
+        return storedResult;
+    }
 
-                // Look for PrusaSlicer time: "; estimated printing time (normal mode) = 5m 33s"
-                // Only parse normal mode time, ignore silent mode
-                if (line.toLowerCase().contains("estimated printing time") &&
-                    line.toLowerCase().contains("normal mode") &&
-                    line.contains("=")) {
-                    // Try minutes and seconds format: "5m 33s"
-                    Pattern timePatternMS = Pattern.compile(".*=\\s*([0-9]+)m\\s*([0-9]+)s.*");
-                    Matcher matcherMS = timePatternMS.matcher(line);
-                    if (matcherMS.find()) {
-                        int minutes = Integer.parseInt(matcherMS.group(1));
-                        int seconds = Integer.parseInt(matcherMS.group(2));
-                        timeMinutes = minutes + (seconds >= 30 ? 1 : 0);
-                        log.info("⏱️ Parsed time from G-code: {}m {}s ({}min)", minutes, seconds, timeMinutes);
-                        continue;
-                    }
+    /**
+     * Gives a reused quote id the full validity again, so orders placed against the repeat
+     * quote do not run into the original quote's expiry.
+     */
+    private void renewQuote(String quoteId) {
+        if (quoteId == null) {
+            return;
+        }
+        try {
+            quoteService.renew(quoteId);
+        } catch (RuntimeException e) {
+            log.warn("⚠️ Could not renew quote {}: {}", quoteId, e.getMessage());
+        }
+    }
 
-                    // Try hours and minutes format: "1h 23m"
-                    Pattern timePatternHM = Pattern.compile(".*=\\s*([0-9]+)h\\s*([0-9]+)m.*");
-                    Matcher matcherHM = timePatternHM.matcher(line);
-                    if (matcherHM.find()) {
-                        int hours = Integer.parseInt(matcherHM.group(1));
-                        int minutes = Integer.parseInt(matcherHM.group(2));
-                        timeMinutes = hours * 60 + minutes;
-                        log.info("⏱️ Parsed time from G-code: {}h {}m ({}min)", hours, minutes, timeMinutes);
-                    }
-                }
+    private void recordQuote(SlicingCacheKey cacheKey, PrintCalculationRequest request,
+                             PrintCalculationResponse response) {
+        try {
+            quoteService.record(cacheKey, request, response);
+        } catch (RuntimeException e) {
+            // The quote is still returned, it just cannot be reused or ordered against
+            log.warn("⚠️ Could not record quote {}: {}", response.getQuoteId(), e.getMessage());
+        }
+    }
 
-                // Legacy time format
-                if (timeMinutes == 0 && (line.toLowerCase().contains("time") || line.toLowerCase().contains("duration"))) {
-                    Pattern timePattern = Pattern.compile(".*([0-9]+)\\s*m.*");
-                    Matcher matcher = timePattern.matcher(line);
-                    if (matcher.find()) {
-                        timeMinutes = Integer.parseInt(matcher.group(1));
-                        log.info("⏱️ Parsed time from G-code (legacy): {}min", timeMinutes);
-                    }
-                }
+    private void keepGCode(String quoteId, Path outputPath) {
+        if (artifactStore.isEnabled() && Files.exists(outputPath)) {
+            try {
+                artifactStore.store(quoteId, outputPath);
+                return;
+            } catch (IOException e) {
+                log.warn("⚠️ Could not store G-code artifact for {}: {}", outputPath, e.getMessage());
             }
         }
-
-        return SlicingResult.builder()
-                .filamentWeightGrams(weightGrams)
-                .estimatedPrintTimeMinutes(timeMinutes)
-                .success(weightGrams > 0 || timeMinutes > 0)
-                .build();
+        gcodeRetentionService.retain(outputPath);
     }
 
     private PrintCalculationResponse calculatePricing(
@@ -466,13 +1102,8 @@ public class PrintCalculationService {
         BigDecimal pricePerGram = materialConfig.getPricePerGram();
         BigDecimal pricePerMinute = pricingConfig.getStandardLayerHeight(); // Using this as per-minute rate
 
-        BigDecimal materialCost = pricePerGram
-                .multiply(BigDecimal.valueOf(slicingResult.getFilamentWeightGrams()))
-                .setScale(2, RoundingMode.HALF_UP);
-
-        BigDecimal timeCost = pricePerMinute
-                .multiply(BigDecimal.valueOf(slicingResult.getEstimatedPrintTimeMinutes()))
-                .setScale(2, RoundingMode.HALF_UP);
+        BigDecimal materialCost = cost(pricePerGram, slicingResult.getFilamentWeightGrams());
+        BigDecimal timeCost = cost(pricePerMinute, slicingResult.getEstimatedPrintTimeMinutes());
 
         // Calculate total price
         BigDecimal totalPrice = materialCost.add(timeCost).setScale(2, RoundingMode.HALF_UP);
@@ -481,8 +1112,10 @@ public class PrintCalculationService {
                 materialCost, timeCost, totalPrice);
 
         return PrintCalculationResponse.builder()
+                .quoteId(slicingResult.getQuoteId())
                 .fileName(filename)
                 .materialUsedGrams(slicingResult.getFilamentWeightGrams())
+                .materialUsedMm3(slicingResult.getFilamentVolumeMm3() > 0 ? slicingResult.getFilamentVolumeMm3() : null)
                 .printingTimeMinutes(slicingResult.getEstimatedPrintTimeMinutes())
                 .technology(request.getTechnology())
                 .material(request.getMaterial())
@@ -492,6 +1125,7 @@ public class PrintCalculationService {
                 .supporters(request.getSupporters())
                 .estimatedPrice(totalPrice)
                 .currency("USD")
+                .estimated(false)
                 .pricePerGram(pricePerGram)
                 .pricePerMinute(pricePerMinute)
                 .materialCost(materialCost)
@@ -505,16 +1139,78 @@ public class PrintCalculationService {
                 .seam(request.getSeam())
                 .autoOrient(request.getAutoOrient())
                 .colorChange(request.getColorChange())
+                .printerQuotes(quotePrinters(slicingResult, materialCost, pricePerMinute))
                 .build();
     }
 
-    private void cleanupTemporaryFile(Path tempFilePath) {
-        try {
-            Files.deleteIfExists(tempFilePath);
-            log.info("🧹 Cleaned up temporary file: {}", tempFilePath);
-        } catch (IOException e) {
-            log.warn("⚠️ Could not delete temporary file: {}", tempFilePath, e);
+    /**
+     * Prices the slice's per-printer print times like the slicer's own estimate, null if the
+     * G-code was not re-timed.
+     */
+    private static List<PrinterQuote> quotePrinters(SlicingResult slicingResult, BigDecimal materialCost,
+                                                    BigDecimal pricePerMinute) {
+        List<PrinterTimeEstimate> estimates = slicingResult.getPrinterEstimates();
+        if (estimates == null || estimates.isEmpty()) {
+            return null;
+        }
+        return estimates.stream()
+                .map(estimate -> {
+                    BigDecimal timeCost = cost(pricePerMinute, estimate.printTimeMinutes());
+                    return PrinterQuote.builder()
+                            .printer(estimate.printer())
+                            .printingTimeMinutes(estimate.printTimeMinutes())
+                            .timeCost(timeCost)
+                            .estimatedPrice(materialCost.add(timeCost).setScale(2, RoundingMode.HALF_UP))
+                            .features(estimate.features())
+                            .build();
+                })
+                .toList();
+    }
+
+    private static BigDecimal cost(BigDecimal rate, double quantity) {
+        return rate.multiply(BigDecimal.valueOf(quantity)).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Prices one slice in every configured material that is compatible with the sliced
+     * technology. The requested material keeps the slicer's figures; for the others the
+     * weight is the extruded volume times their density, and the print time is taken over
+     * unchanged. Results without a volume (e.g. restored from stored quotes) fall back to
+     * the volume implied by the sliced weight and the requested material's density.
+     */
+    private List<PrintCalculationResponse> compareMaterials(SlicingResult slicingResult, String filename,
+                                                            PrintCalculationRequest request) {
+        double volumeMm3 = slicingResult.getFilamentVolumeMm3();
+        if (volumeMm3 <= 0) {
+            double density = pricingConfig.getMaterialConfig(request.getMaterial()).getDensity().doubleValue();
+            volumeMm3 = density > 0 ? slicingResult.getFilamentWeightGrams() / density * 1000.0 : 0.0;
+        }
+
+        List<PrintCalculationResponse> quotes = new ArrayList<>();
+        for (Map.Entry<String, PrintingPricingConfig.MaterialConfig> material : pricingConfig.getMaterial().entrySet()) {
+            if (!materialValidator.isCompatible(request.getTechnology(), material.getKey())) {
+                continue;
+            }
+            if (material.getKey().equals(request.getMaterial())) {
+                quotes.add(calculatePricing(slicingResult, filename, request));
+                continue;
+            }
+            // g = cm³ × g/cm³, rounded like the slicer's own figure
+            double weightGrams = Math.round(volumeMm3 * material.getValue().getDensity().doubleValue() / 10.0) / 100.0;
+            SlicingResult derived = slicingResult.toBuilder()
+                    .filamentWeightGrams(weightGrams)
+                    .filamentVolumeMm3(volumeMm3)
+                    .filamentType(material.getKey())
+                    // Only the sliced material has G-code to order against
+                    .quoteId(null)
+                    .build();
+            PrintCalculationResponse quote = calculatePricing(derived, filename,
+                    request.toBuilder().material(material.getKey()).build());
+            quote.setEstimated(true);
+            quotes.add(quote);
         }
+        log.info("⚖️ Priced slice in {} materials without re-slicing", quotes.size());
+        return quotes;
     }
 
     /**
@@ -570,4 +1266,60 @@ public class PrintCalculationService {
                             parameterName, min, max, value));
         }
     }
+
+    /**
+     * Mutable bookkeeping for one variant of a multi-variant quotation.
+     */
+    private static final class VariantRun {
+        private final int index;
+        private final long startedAt = System.nanoTime();
+        private volatile long finishedAt;
+        private PrintCalculationRequest request;
+        private SlicingCacheKey cacheKey;
+        private Path dynamicIniPath;
+        private SlicingCoalescer.Flight<SlicingResult> flight;
+        private SlicingResult result;
+        private String errorMessage;
+        private boolean cached;
+
+        private VariantRun(int index) {
+            this.index = index;
+        }
+
+        private boolean isPending() {
+            return result == null && errorMessage == null;
+        }
+
+        private void complete(SlicingResult slicingResult) {
+            result = slicingResult;
+            if (finishedAt == 0) {
+                finishedAt = System.nanoTime();
+            }
+        }
+
+        private void fail(String message) {
+            errorMessage = message;
+            if (finishedAt == 0) {
+                finishedAt = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Mutable bookkeeping for one distinct plate of a quantity quotation.
+     */
+    private static final class PlateRun {
+        private final int copies;
+        private final int count;
+        private SlicingCacheKey cacheKey;
+        private Path path;
+        private SlicingCoalescer.Flight<SlicingResult> flight;
+        private SlicingResult result;
+        private boolean cached;
+
+        private PlateRun(int copies, int count) {
+            this.copies = copies;
+            this.count = count;
+        }
+    }
 }
@@ -0,0 +1,15 @@
+package com.threedfly.orderservice.service;
+
+import com.threedfly.orderservice.enums.QuoteStage;
+
+/**
+ * Callback notified as a quote calculation moves through its stages.
+ * Used by asynchronous quote jobs to report progress to polling and SSE clients.
+ */
+@FunctionalInterface
+public interface QuoteProgressListener {
+
+    QuoteProgressListener NONE = stage -> { };
+
+    void onStage(QuoteStage stage);
+}
@@ -5,19 +5,13 @@ import com.threedfly.orderservice.enums.BrimType;
 import com.threedfly.orderservice.enums.InfillPattern;
 import com.threedfly.orderservice.enums.SeamPosition;
 import com.threedfly.orderservice.exception.FileParseException;
+import com.threedfly.orderservice.service.mesh.ThreeMfArchive;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.Path;
-import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.Map;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 /**
  * Service for extracting print parameters from 3MF files.
@@ -27,15 +21,13 @@ import java.util.zip.ZipFile;
  * - Metadata/Slic3r_PE.config (PrusaSlicer print settings)
  * - Metadata/Slic3r_PE_model.config (per-model settings)
  *
- * This extractor focuses on PrusaSlicer 3MF format.
+ * This extractor focuses on PrusaSlicer 3MF format. The config parts are looked up by
+ * name through {@link ThreeMfArchive}; no other entries are read.
  */
 @Service
 @Slf4j
 public class ThreeMFParameterExtractor implements ParameterExtractor {
 
-    private static final long MAX_ZIP_ENTRY_SIZE = 200 * 1024 * 1024; // 200MB per entry
-    private static final int MAX_ZIP_ENTRIES = 1000;
-
     // Default values for missing parameters
     private static final String DEFAULT_TECHNOLOGY = "FDM";
     private static final String DEFAULT_MATERIAL = "PLA";
@@ -61,17 +53,23 @@ public class ThreeMFParameterExtractor implements ParameterExtractor {
     public PrintCalculationRequest extractParameters(Path filePath, PrintCalculationRequest request) {
         log.info("🔍 Extracting parameters from 3MF file: {}", filePath.getFileName());
 
-        try {
-            Map<String, String> config = extractConfigFromZip(filePath);
-
-            if (config.isEmpty()) {
-                log.warn("⚠️ No config found in 3MF file, using all defaults");
-            } else {
-                log.info("📋 Found {} configuration entries in 3MF", config.size());
-            }
+        try (ThreeMfArchive archive = ThreeMfArchive.open(filePath)) {
+            return extractParameters(archive);
+        } catch (IOException e) {
+            throw new FileParseException("Failed to parse 3MF file: " + e.getMessage(), e);
+        }
+    }
 
-            return buildRequestFromConfig(config);
+    /**
+     * Extracts print parameters through the upload's shared archive handle, so the
+     * archive is opened once per request however many consumers read it.
+     */
+    @Override
+    public PrintCalculationRequest extractParameters(UploadedModel model, PrintCalculationRequest request) {
+        log.info("🔍 Extracting parameters from 3MF file: {}", model.getPath().getFileName());
 
+        try {
+            return extractParameters(model.openThreeMfArchive());
         } catch (IOException e) {
             throw new FileParseException("Failed to parse 3MF file: " + e.getMessage(), e);
         }
@@ -83,80 +81,18 @@ public class ThreeMFParameterExtractor implements ParameterExtractor {
     }
 
     /**
-     * Extracts configuration entries from the 3MF ZIP archive.
-     * Uses ZipFile instead of ZipInputStream to handle modern 3MF files properly.
+     * Reads the PrusaSlicer config parts by name and builds the request from them.
      */
-    private Map<String, String> extractConfigFromZip(Path filePath) throws IOException {
-        Map<String, String> config = new HashMap<>();
-
-        // Open the 3MF file as a ZIP archive
-        try (ZipFile zipFile = new ZipFile(filePath.toFile())) {
-            Enumeration<? extends ZipEntry> entries = zipFile.entries();
-            int entryCount = 0;
+    private PrintCalculationRequest extractParameters(ThreeMfArchive archive) throws IOException {
+        Map<String, String> config = archive.getConfig();
 
-            while (entries.hasMoreElements()) {
-                ZipEntry entry = entries.nextElement();
-                entryCount++;
-
-                // Security check: prevent ZIP bomb attacks
-                if (entryCount > MAX_ZIP_ENTRIES) {
-                    throw new FileParseException("3MF file contains too many entries (max: " + MAX_ZIP_ENTRIES + ")");
-                }
-
-                if (entry.getSize() > MAX_ZIP_ENTRY_SIZE) {
-                    throw new FileParseException("3MF entry too large: " + entry.getName());
-                }
-
-                String entryName = entry.getName();
-
-                // Look for PrusaSlicer config files
-                if (entryName.equals("Metadata/Slic3r_PE.config") ||
-                    entryName.equals("Metadata/Slic3r_PE_model.config") ||
-                    entryName.equals("Metadata/PrusaSlicer.config")) {
-
-                    log.debug("📄 Reading config from: {}", entryName);
-
-                    try (InputStream entryStream = zipFile.getInputStream(entry)) {
-                        parseConfigFile(entryStream, config);
-                    }
-                }
-            }
+        if (config.isEmpty()) {
+            log.warn("⚠️ No config found in 3MF file, using all defaults");
+        } else {
+            log.info("📋 Found {} configuration entries in 3MF", config.size());
         }
 
-        return config;
-    }
-
-    /**
-     * Parses an INI-style config file from an input stream.
-     * Format: key = value
-     */
-    private void parseConfigFile(InputStream inputStream, Map<String, String> config) throws IOException {
-        try (BufferedReader reader = new BufferedReader(new InputStreamReader(inputStream))) {
-            String line;
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-
-                // Skip empty lines and comments
-                if (line.isEmpty() || line.startsWith("#") || line.startsWith(";")) {
-                    continue;
-                }
-
-                // Parse key=value pairs
-                int equalsIndex = line.indexOf('=');
-                if (equalsIndex > 0) {
-                    String key = line.substring(0, equalsIndex).trim();
-                    String value = line.substring(equalsIndex + 1).trim();
-
-                    // Remove quotes if present
-                    if (value.startsWith("\"") && value.endsWith("\"")) {
-                        value = value.substring(1, value.length() - 1);
-                    }
-
-                    config.put(key, value);
-                    log.trace("  {} = {}", key, value);
-                }
-            }
-        }
+        return buildRequestFromConfig(config);
     }
 
     /**
@@ -0,0 +1,70 @@
+package com.threedfly.orderservice.service;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import com.threedfly.orderservice.service.mesh.ThreeMfArchive;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A validated model upload that has been saved to its own scratch directory.
+ * The calculation that consumes it is responsible for discarding it
+ * (see {@link ModelUploadWriter#discard(UploadedModel)}).
+ */
+@Getter
+@AllArgsConstructor
+@Slf4j
+public class UploadedModel {
+
+    private final Path path;
+    private final String originalFilename;
+    private final ModelFileType fileType;
+
+    /** SHA-256 hex digest of the file bytes, computed while writing; null if not known. */
+    private final String contentHash;
+
+    private final long sizeBytes;
+
+    /** Scratch directory holding the file and everything derived from it; null if none. */
+    private final Path scratchDirectory;
+
+    /** 3MF archive handle, opened on first use and shared by all readers of this upload. */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<ThreeMfArchive> threeMfArchive = new AtomicReference<>();
+
+    public UploadedModel(Path path, String originalFilename, ModelFileType fileType) {
+        this(path, originalFilename, fileType, null, -1, null);
+    }
+
+    /**
+     * Opens the upload as a 3MF archive on first use and returns the same handle afterwards,
+     * so parameter extraction and mesh analysis read the central directory only once.
+     */
+    public synchronized ThreeMfArchive openThreeMfArchive() throws IOException {
+        ThreeMfArchive archive = threeMfArchive.get();
+        if (archive == null) {
+            archive = ThreeMfArchive.open(path);
+            threeMfArchive.set(archive);
+        }
+        return archive;
+    }
+
+    /**
+     * Closes the 3MF archive handle, if one was opened.
+     */
+    public synchronized void closeArchive() {
+        ThreeMfArchive archive = threeMfArchive.getAndSet(null);
+        if (archive != null) {
+            try {
+                archive.close();
+            } catch (IOException e) {
+                log.warn("⚠️ Could not close 3MF archive {}: {}", path, e.getMessage());
+            }
+        }
+    }
+}
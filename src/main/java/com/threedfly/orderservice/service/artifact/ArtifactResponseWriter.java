@@ -0,0 +1,102 @@
+package com.threedfly.orderservice.service.artifact;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Streams a stored G-code artifact as a file download.
+ *
+ * Compressed artifacts are sent as-is with {@code Content-Encoding: gzip} to clients
+ * that accept it; when the container supports sendfile (Tomcat NIO) the compressed file
+ * is handed to the container for a zero-copy transfer instead of being copied through
+ * the heap. Clients without gzip support get the artifact decompressed on the fly.
+ */
+@Component
+@Slf4j
+public class ArtifactResponseWriter {
+
+    static final String GCODE_CONTENT_TYPE = "text/x-gcode";
+
+    // Tomcat request attributes for zero-copy file transfer
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    public void write(StoredArtifact artifact, String filename,
+                      HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String encoding = artifact.getContentEncoding();
+        boolean decompress = encoding != null && !accepts(request, encoding);
+
+        // Only the compressed file stays in place once stored; the raw one is deleted when
+        // compression finishes, so it is opened before any header is committed
+        Optional<Path> localPath = artifact.getLocalPath();
+        if (!decompress && encoding != null && localPath.isPresent()
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            setHeaders(response, filename, encoding, artifact.getSize());
+            request.setAttribute(SENDFILE_FILENAME, localPath.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, artifact.getSize());
+            log.debug("📤 Sending G-code artifact {} with sendfile", artifact.getId());
+            return;
+        }
+
+        try (InputStream in = decompress
+                ? new GZIPInputStream(artifact.openStream(), 64 * 1024)
+                : artifact.openStream()) {
+            setHeaders(response, filename, decompress ? null : encoding, decompress ? -1 : artifact.getSize());
+            in.transferTo(response.getOutputStream());
+        }
+    }
+
+    private static void setHeaders(HttpServletResponse response, String filename, String encoding, long size) {
+        response.setContentType(GCODE_CONTENT_TYPE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (encoding != null) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, encoding);
+        }
+        if (size >= 0) {
+            response.setContentLengthLong(size);
+        }
+    }
+
+    private static boolean accepts(HttpServletRequest request, String encoding) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase(encoding) || parts[0].trim().equals("*")) {
+                return quality(parts) > 0;
+            }
+        }
+        return false;
+    }
+
+    private static double quality(String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
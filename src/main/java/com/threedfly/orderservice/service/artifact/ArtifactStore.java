@@ -0,0 +1,44 @@
+package com.threedfly.orderservice.service.artifact;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Storage for sliced G-code, keyed by quote id.
+ *
+ * Implementations decide where and how artifacts are kept (local disk, object storage);
+ * callers only hand over the slicer output file and look artifacts up again by id.
+ */
+public interface ArtifactStore {
+
+    Pattern VALID_ID = Pattern.compile("[A-Za-z0-9][A-Za-z0-9_-]{7,63}");
+
+    /**
+     * Whether new artifacts should be stored at all. Lookups keep working when disabled.
+     */
+    boolean isEnabled();
+
+    /**
+     * Takes ownership of a G-code file and stores it under the given quote id. The
+     * source file no longer exists at its original location afterwards.
+     */
+    void store(String quoteId, Path gcodeFile) throws IOException;
+
+    Optional<StoredArtifact> find(String quoteId);
+
+    boolean delete(String quoteId);
+
+    /**
+     * Rejects ids that could escape the store (path separators, dots) or are not ours.
+     *
+     * @throws IllegalArgumentException if the id is malformed
+     */
+    static String requireValidId(String quoteId) {
+        if (quoteId == null || !VALID_ID.matcher(quoteId).matches()) {
+            throw new IllegalArgumentException("Invalid quote ID: " + quoteId);
+        }
+        return quoteId;
+    }
+}
@@ -0,0 +1,251 @@
+package com.threedfly.orderservice.service.artifact;
+
+import com.threedfly.orderservice.repository.OrderRepository;
+import com.threedfly.orderservice.service.gcode.GCodeCompressor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * {@link ArtifactStore} on the local file system.
+ *
+ * Artifacts live under {@code printing.artifacts.directory}, sharded by the first two
+ * characters of the quote id. The slicer output is moved into the store right away and
+ * gzipped in the background (see {@link GCodeCompressor}); until compression finishes
+ * the uncompressed file is served. A periodic sweep deletes artifacts older than
+ * {@code printing.artifacts.max-age-days}, then the oldest ones until the store fits
+ * {@code printing.artifacts.max-size-mb}. Artifacts of quotes that orders were placed
+ * against are never swept, since production prints from them.
+ */
+@Component
+@Slf4j
+public class FileSystemArtifactStore implements ArtifactStore {
+
+    static final String GCODE_SUFFIX = ".gcode";
+    static final String GZIP_SUFFIX = ".gcode.gz";
+    // Quote ids looked up per query while sweeping
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final GCodeCompressor compressor;
+    private final OrderRepository orderRepository;
+    private final boolean enabled;
+    private final Path root;
+    private final Duration maxAge;
+    private final long maxBytes;
+
+    @Autowired
+    public FileSystemArtifactStore(
+            GCodeCompressor compressor,
+            OrderRepository orderRepository,
+            @Value("${printing.artifacts.enabled:true}") boolean enabled,
+            @Value("${printing.artifacts.directory:/tmp/printing-artifacts}") String directory,
+            @Value("${printing.artifacts.max-age-days:30}") long maxAgeDays,
+            @Value("${printing.artifacts.max-size-mb:10240}") long maxSizeMb) {
+        this.compressor = compressor;
+        this.orderRepository = orderRepository;
+        this.enabled = enabled;
+        this.root = Paths.get(directory);
+        this.maxAge = Duration.ofDays(maxAgeDays);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        log.info("📦 G-code artifact store at {} (enabled={}, maxAge={}, maxSizeMb={})",
+                root.toAbsolutePath(), enabled, maxAge, maxSizeMb);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public void store(String quoteId, Path gcodeFile) throws IOException {
+        ArtifactStore.requireValidId(quoteId);
+        Path raw = pathFor(quoteId, GCODE_SUFFIX);
+        Files.createDirectories(raw.getParent());
+        GCodeCompressor.move(gcodeFile, raw);
+        log.info("📦 Stored G-code artifact {}", quoteId);
+
+        compressor.compressLater(raw, pathFor(quoteId, GZIP_SUFFIX));
+    }
+
+    @Override
+    public Optional<StoredArtifact> find(String quoteId) {
+        ArtifactStore.requireValidId(quoteId);
+        Path compressed = pathFor(quoteId, GZIP_SUFFIX);
+        Optional<StoredArtifact> artifact = findFile(quoteId, compressed, "gzip", null);
+        if (artifact.isEmpty()) {
+            artifact = findFile(quoteId, pathFor(quoteId, GCODE_SUFFIX), null, compressed);
+        }
+        // Compression may have replaced the raw file since the first look
+        return artifact.isPresent() ? artifact : findFile(quoteId, compressed, "gzip", null);
+    }
+
+    private static Optional<StoredArtifact> findFile(String quoteId, Path path, String contentEncoding,
+                                                     Path compressed) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            if (attributes.isRegularFile()) {
+                return Optional.of(new FileArtifact(quoteId, path, contentEncoding, attributes.size(), compressed));
+            }
+        } catch (IOException e) {
+            // Not there (anymore)
+        }
+        return Optional.empty();
+    }
+
+    @Override
+    public boolean delete(String quoteId) {
+        ArtifactStore.requireValidId(quoteId);
+        boolean deleted = deleteQuietly(pathFor(quoteId, GZIP_SUFFIX));
+        return deleteQuietly(pathFor(quoteId, GCODE_SUFFIX)) || deleted;
+    }
+
+    /**
+     * Deletes artifacts older than the maximum age, then the oldest ones until the store
+     * is within its size budget, skipping artifacts that orders refer to.
+     */
+    @Scheduled(fixedDelayString = "${printing.artifacts.sweep-interval-ms:3600000}")
+    public void sweep() {
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+
+        List<ArtifactFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> shards = Files.newDirectoryStream(root, Files::isDirectory)) {
+            for (Path shard : shards) {
+                try (DirectoryStream<Path> entries = Files.newDirectoryStream(shard)) {
+                    for (Path entry : entries) {
+                        BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                        if (attributes.isRegularFile()) {
+                            files.add(new ArtifactFile(quoteIdOf(entry), entry,
+                                    attributes.lastModifiedTime().toInstant(), attributes.size()));
+                        }
+                    }
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not sweep artifact store {}: {}", root, e.getMessage());
+            return;
+        }
+
+        files.sort(Comparator.comparing(ArtifactFile::modifiedAt));
+        Instant cutoff = Instant.now().minus(maxAge);
+        long totalBytes = files.stream().mapToLong(ArtifactFile::sizeBytes).sum();
+        int deleted = 0;
+        int kept = 0;
+
+        sweep:
+        for (int from = 0; from < files.size(); from += SWEEP_BATCH_SIZE) {
+            List<ArtifactFile> batch = files.subList(from, Math.min(files.size(), from + SWEEP_BATCH_SIZE));
+            Set<String> ordered;
+            try {
+                ordered = orderRepository.findQuoteIdsWithOrders(batch.stream().map(ArtifactFile::quoteId).toList());
+            } catch (RuntimeException e) {
+                // Without knowing which artifacts are ordered, none can be deleted safely
+                log.warn("⚠️ Could not look up ordered artifacts, sweep skipped: {}", e.getMessage());
+                return;
+            }
+            for (ArtifactFile file : batch) {
+                if (!file.modifiedAt().isBefore(cutoff) && totalBytes <= maxBytes) {
+                    break sweep;
+                }
+                if (ordered.contains(file.quoteId())) {
+                    kept++;
+                } else if (deleteQuietly(file.path())) {
+                    totalBytes -= file.sizeBytes();
+                    deleted++;
+                }
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("🧹 Deleted {} G-code artifacts ({} kept for orders), {} MB left",
+                    deleted, kept, totalBytes / (1024 * 1024));
+        }
+    }
+
+    private Path pathFor(String quoteId, String suffix) {
+        return root.resolve(quoteId.substring(0, 2)).resolve(quoteId + suffix);
+    }
+
+    /**
+     * Quote ids contain no dots, so the id is the file name up to its first one.
+     */
+    private static String quoteIdOf(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.indexOf('.');
+        return dot < 0 ? name : name.substring(0, dot);
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete artifact file: {}", file);
+            return false;
+        }
+    }
+
+    private record ArtifactFile(String quoteId, Path path, Instant modifiedAt, long sizeBytes) {
+    }
+
+    /**
+     * A stored file. An uncompressed artifact also knows where its compressed copy will
+     * appear: compression deletes the raw file once done, and a download that opens it
+     * only after that reads the compressed copy decompressed instead, which holds the
+     * same bytes.
+     */
+    private record FileArtifact(String id, Path path, String contentEncoding, long size, Path compressed)
+            implements StoredArtifact {
+
+        @Override
+        public String getId() {
+            return id;
+        }
+
+        @Override
+        public long getSize() {
+            return size;
+        }
+
+        @Override
+        public String getContentEncoding() {
+            return contentEncoding;
+        }
+
+        @Override
+        public InputStream openStream() throws IOException {
+            try {
+                return Files.newInputStream(path);
+            } catch (NoSuchFileException e) {
+                if (compressed == null) {
+                    throw e;
+                }
+                return new GZIPInputStream(Files.newInputStream(compressed), 64 * 1024);
+            }
+        }
+
+        @Override
+        public Optional<Path> getLocalPath() {
+            return Optional.of(path);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.threedfly.orderservice.service.artifact;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * A G-code artifact as held by an {@link ArtifactStore}.
+ */
+public interface StoredArtifact {
+
+    String getId();
+
+    /**
+     * Size of the stored bytes (compressed size if {@link #getContentEncoding()} is set).
+     */
+    long getSize();
+
+    /**
+     * HTTP content coding of the stored bytes ("gzip"), or null if stored uncompressed.
+     */
+    String getContentEncoding();
+
+    /**
+     * Opens the stored bytes as they are, without decompressing them.
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * Local file holding the stored bytes, if the store is file based. Lets the download
+     * endpoint hand the file to the container for zero-copy transfer.
+     */
+    Optional<Path> getLocalPath();
+}
@@ -0,0 +1,131 @@
+package com.threedfly.orderservice.service.cache;
+
+import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Content-addressed key identifying one slicer run.
+ *
+ * Two quotes share a key when they slice byte-identical model files with the same
+ * effective parameters, base INI profile and slicer implementation. Anything that
+ * can change the produced G-code must be part of the normalized parameter string.
+ */
+@Getter
+@EqualsAndHashCode
+public final class SlicingCacheKey {
+
+    private static final int HASH_BUFFER_SIZE = 64 * 1024;
+
+    private final String modelHash;
+    private final String parametersHash;
+
+    private SlicingCacheKey(String modelHash, String parametersHash) {
+        this.modelHash = modelHash;
+        this.parametersHash = parametersHash;
+    }
+
+    /**
+     * Builds a key from an already computed model hash and the effective request.
+     *
+     * @param modelHash   SHA-256 hex digest of the model file bytes
+     * @param request     Effective (extracted or manual) print parameters
+     * @param baseIniFile Versioned base INI profile name (see IniConfigurationMapper)
+     * @param slicerType  Configured slicer type (prusa, bambu)
+     */
+    public static SlicingCacheKey of(String modelHash, PrintCalculationRequest request,
+                                     String baseIniFile, String slicerType) {
+        String normalized = normalize(request, baseIniFile, slicerType);
+        return new SlicingCacheKey(modelHash, sha256Hex(normalized.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Key for slicing a plate of copies of this key's model with the same parameters.
+     *
+     * @param plate Arrangement of the copies on the plate (see PlateLayout)
+     */
+    public SlicingCacheKey forPlate(String plate) {
+        String plateHash = sha256Hex((modelHash + "|plate|" + plate).getBytes(StandardCharsets.UTF_8));
+        return new SlicingCacheKey(plateHash, parametersHash);
+    }
+
+    /**
+     * Computes the SHA-256 hex digest of a model file by streaming it in fixed-size chunks.
+     */
+    public static String hashModel(Path modelPath) throws IOException {
+        MessageDigest digest = newDigest();
+        byte[] buffer = new byte[HASH_BUFFER_SIZE];
+        try (InputStream in = Files.newInputStream(modelPath)) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Returns the combined key value, suitable for map keys and logging.
+     */
+    public String getValue() {
+        return modelHash + ":" + parametersHash;
+    }
+
+    @Override
+    public String toString() {
+        return getValue();
+    }
+
+    private static String normalize(PrintCalculationRequest request, String baseIniFile, String slicerType) {
+        // Numeric values are formatted the same way they are passed to the slicer,
+        // so 0.2 and 0.20 map to the same entry.
+        return String.join("|",
+                lower(slicerType),
+                lower(baseIniFile),
+                upper(request.getTechnology()),
+                upper(request.getMaterial()),
+                request.getLayerHeight() == null ? "" : String.format(Locale.ROOT, "%.2f", request.getLayerHeight()),
+                String.valueOf(request.getShells()),
+                String.valueOf(request.getInfill()),
+                String.valueOf(Boolean.TRUE.equals(request.getSupporters())),
+                String.valueOf(request.getBrimType()),
+                String.valueOf(request.getBrimWidth()),
+                String.valueOf(request.getTopShellLayers()),
+                String.valueOf(request.getBottomShellLayers()),
+                String.valueOf(request.getInfillPattern()),
+                String.valueOf(request.getSeam()),
+                String.valueOf(Boolean.TRUE.equals(request.getAutoOrient())),
+                request.getColorChange() == null ? "" : request.getColorChange().trim()
+        );
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+
+    private static String upper(String value) {
+        return value == null ? "" : value.toUpperCase(Locale.ROOT);
+    }
+
+    private static String sha256Hex(byte[] data) {
+        return HexFormat.of().formatHex(newDigest().digest(data));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
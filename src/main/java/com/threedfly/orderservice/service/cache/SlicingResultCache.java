@@ -0,0 +1,175 @@
+package com.threedfly.orderservice.service.cache;
+
+import com.threedfly.orderservice.dto.SlicingResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory LRU cache of successful slicer results keyed by {@link SlicingCacheKey}.
+ *
+ * The cache is bounded by entry count and entries expire after a fixed TTL.
+ * Hits, misses and evictions are published to Micrometer so they show up under
+ * /actuator/metrics (printing.slicing.cache.*).
+ */
+@Component
+@Slf4j
+public class SlicingResultCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Access-ordered map: iteration starts at the least recently used entry
+    private final LinkedHashMap<SlicingCacheKey, CacheEntry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter sizeEvictions;
+    private final Counter expiredEvictions;
+
+    @Autowired
+    public SlicingResultCache(
+            @Value("${printing.slicing.cache.enabled:true}") boolean enabled,
+            @Value("${printing.slicing.cache.max-entries:500}") int maxEntries,
+            @Value("${printing.slicing.cache.ttl-minutes:60}") long ttlMinutes,
+            MeterRegistry meterRegistry) {
+        this(enabled, maxEntries, Duration.ofMinutes(ttlMinutes), meterRegistry, Clock.systemUTC());
+    }
+
+    SlicingResultCache(boolean enabled, int maxEntries, Duration ttl, MeterRegistry meterRegistry, Clock clock) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Slicing cache max entries must be at least 1");
+        }
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.clock = clock;
+
+        this.hits = Counter.builder("printing.slicing.cache.requests")
+                .tag("result", "hit")
+                .description("Slicing cache lookups that returned a stored result")
+                .register(meterRegistry);
+        this.misses = Counter.builder("printing.slicing.cache.requests")
+                .tag("result", "miss")
+                .description("Slicing cache lookups that required a slicer run")
+                .register(meterRegistry);
+        this.sizeEvictions = Counter.builder("printing.slicing.cache.evictions")
+                .tag("cause", "size")
+                .description("Entries evicted because the cache was full")
+                .register(meterRegistry);
+        this.expiredEvictions = Counter.builder("printing.slicing.cache.evictions")
+                .tag("cause", "expired")
+                .description("Entries evicted because their TTL elapsed")
+                .register(meterRegistry);
+        Gauge.builder("printing.slicing.cache.size", this, SlicingResultCache::size)
+                .description("Number of slicing results currently cached")
+                .register(meterRegistry);
+
+        log.info("🗄️ Slicing result cache initialized (enabled={}, maxEntries={}, ttl={})", enabled, maxEntries, ttl);
+    }
+
+    /**
+     * Looks up a cached slicing result.
+     *
+     * @param key Content-addressed key for the slicer run
+     * @return A copy of the cached result, or empty on a miss
+     */
+    public Optional<SlicingResult> get(SlicingCacheKey key) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+
+        synchronized (entries) {
+            CacheEntry entry = entries.get(key);
+            if (entry != null && entry.isExpired(clock.instant(), ttl)) {
+                entries.remove(key);
+                expiredEvictions.increment();
+                entry = null;
+            }
+
+            if (entry == null) {
+                misses.increment();
+                log.debug("🗄️ Slicing cache miss: {}", key);
+                return Optional.empty();
+            }
+
+            hits.increment();
+            log.info("🗄️ Slicing cache hit: {}", key);
+            return Optional.of(copyOf(entry.result));
+        }
+    }
+
+    /**
+     * Stores a slicing result. Failed results are never cached.
+     */
+    public void put(SlicingCacheKey key, SlicingResult result) {
+        if (!enabled || result == null || !result.isSuccess()) {
+            return;
+        }
+
+        synchronized (entries) {
+            entries.put(key, new CacheEntry(copyOf(result), clock.instant()));
+            evictIfNeeded();
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void evictIfNeeded() {
+        Instant now = clock.instant();
+        Iterator<Map.Entry<SlicingCacheKey, CacheEntry>> iterator = entries.entrySet().iterator();
+
+        // Drop expired entries first, then the least recently used ones until within bounds
+        while (iterator.hasNext()) {
+            if (iterator.next().getValue().isExpired(now, ttl)) {
+                iterator.remove();
+                expiredEvictions.increment();
+            }
+        }
+
+        iterator = entries.entrySet().iterator();
+        while (entries.size() > maxEntries && iterator.hasNext()) {
+            Map.Entry<SlicingCacheKey, CacheEntry> eldest = iterator.next();
+            iterator.remove();
+            sizeEvictions.increment();
+            log.debug("🗄️ Evicted least recently used slicing result: {}", eldest.getKey());
+        }
+    }
+
+    private static SlicingResult copyOf(SlicingResult source) {
+        return source.toBuilder().build();
+    }
+
+    private record CacheEntry(SlicingResult result, Instant createdAt) {
+        boolean isExpired(Instant now, Duration ttl) {
+            return createdAt.plus(ttl).isBefore(now);
+        }
+    }
+}
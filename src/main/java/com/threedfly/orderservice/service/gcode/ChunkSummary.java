@@ -0,0 +1,150 @@
+package com.threedfly.orderservice.service.gcode;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.threedfly.orderservice.service.gcode.GCodeMoveParser.*;
+
+/**
+ * What one chunk does to the {@link MachineState}, worked out from its commands alone.
+ *
+ * Summaries of all chunks are built in parallel and kept instead of the commands, which
+ * are dropped; chaining them in file order then gives every chunk its start state.
+ * Whether a move is absolute or relative depends on the modes the chunk starts in, so
+ * each position is tracked twice: index 0 assumes the chunk starts in absolute mode,
+ * index 1 in relative mode (G90/G91 for X, Y and Z, M82/M83 for E). An axis that was set
+ * by an absolute move, G28 or G92 ends at the tracked value, any other axis at its start
+ * position plus the tracked value.
+ */
+final class ChunkSummary implements GCodeMoveParser.CommandHandler {
+
+    // Tracked axes in the order X, Y, Z, E, and where the parser stores their values
+    private static final int AXES = 4;
+    private static final int AXIS_X = 0, AXIS_Y = 1, AXIS_Z = 2, AXIS_E = 3;
+    private static final int[] AXIS_VALUES = {VX, VY, VZ, VE};
+
+    private final List<String> features;
+    private final boolean[][] set = new boolean[AXES][2];
+    private final double[][] position = new double[AXES][2];
+    // Current modes under either assumption about the start modes
+    private final boolean[] absolute = {true, false};
+    private final boolean[] absoluteE = {true, false};
+    private double feedrate = Double.NaN;
+    private float printAcceleration = Float.NaN;
+    private float travelAcceleration = Float.NaN;
+    private float retractAcceleration = Float.NaN;
+    // Last feature marker of the chunk, null if it has none
+    private String feature;
+
+    private ChunkSummary(List<String> features) {
+        this.features = features;
+    }
+
+    static ChunkSummary of(GCodeMoveParser.Parsed chunk) {
+        ChunkSummary summary = new ChunkSummary(chunk.features());
+        GCodeMoveParser.replay(chunk.commands(), summary);
+        return summary;
+    }
+
+    /**
+     * Feature names the chunk marks, in order of first appearance.
+     */
+    List<String> features() {
+        return features;
+    }
+
+    /**
+     * State at the end of the chunk.
+     *
+     * @param start        State the chunk starts in
+     * @param featureIndex Index of every feature name of the file
+     */
+    MachineState apply(MachineState start, Map<String, Integer> featureIndex) {
+        int modes = start.absolute() ? 0 : 1;
+        int modesE = start.absoluteE() ? 0 : 1;
+        return new MachineState(
+                end(AXIS_X, modes, start.x()),
+                end(AXIS_Y, modes, start.y()),
+                end(AXIS_Z, modes, start.z()),
+                end(AXIS_E, modesE, start.e()),
+                Double.isNaN(feedrate) ? start.feedrate() : feedrate,
+                absolute[modes],
+                absoluteE[modesE],
+                Float.isNaN(printAcceleration) ? start.printAcceleration() : printAcceleration,
+                Float.isNaN(travelAcceleration) ? start.travelAcceleration() : travelAcceleration,
+                Float.isNaN(retractAcceleration) ? start.retractAcceleration() : retractAcceleration,
+                feature == null ? start.feature() : featureIndex.get(feature));
+    }
+
+    private double end(int axis, int assumption, double start) {
+        return set[axis][assumption] ? position[axis][assumption] : start + position[axis][assumption];
+    }
+
+    @Override
+    public void command(int op, int mask, float[] v) {
+        switch (op) {
+            case OP_MOVE, OP_ARC_CW, OP_ARC_CCW -> {
+                // Arcs end at their target like straight moves
+                if ((mask & F) != 0 && v[VF] > 0) {
+                    feedrate = v[VF];
+                }
+                for (int axis = 0; axis < AXES; axis++) {
+                    if ((mask & (1 << AXIS_VALUES[axis])) != 0) {
+                        move(axis, v[AXIS_VALUES[axis]], axis == AXIS_E ? absoluteE : absolute);
+                    }
+                }
+            }
+            case OP_HOME -> {
+                boolean all = (mask & (X | Y | Z)) == 0;
+                for (int axis = AXIS_X; axis <= AXIS_Z; axis++) {
+                    if (all || (mask & (1 << AXIS_VALUES[axis])) != 0) {
+                        setTo(axis, 0);
+                    }
+                }
+            }
+            case OP_ABSOLUTE, OP_RELATIVE -> {
+                boolean value = op == OP_ABSOLUTE;
+                absolute[0] = absolute[1] = value;
+                absoluteE[0] = absoluteE[1] = value;
+            }
+            case OP_ABSOLUTE_E, OP_RELATIVE_E -> absoluteE[0] = absoluteE[1] = op == OP_ABSOLUTE_E;
+            case OP_SET_POSITION -> {
+                boolean all = (mask & (X | Y | Z | E)) == 0;
+                for (int axis = 0; axis < AXES; axis++) {
+                    if (all || (mask & (1 << AXIS_VALUES[axis])) != 0) {
+                        setTo(axis, all ? 0 : v[AXIS_VALUES[axis]]);
+                    }
+                }
+            }
+            case OP_ACCELERATION -> {
+                // Same rules as MoveResolver
+                if ((mask & S) != 0 && v[VS] > 0) {
+                    printAcceleration = v[VS];
+                    travelAcceleration = v[VS];
+                }
+                if ((mask & P) != 0 && v[VP] > 0) printAcceleration = v[VP];
+                if ((mask & T) != 0 && v[VT] > 0) travelAcceleration = v[VT];
+                if ((mask & R) != 0 && v[VR] > 0) retractAcceleration = v[VR];
+            }
+            case OP_FEATURE -> feature = features.get((int) v[VX]);
+            default -> {
+            }
+        }
+    }
+
+    private void move(int axis, float value, boolean[] absoluteModes) {
+        for (int assumption = 0; assumption < 2; assumption++) {
+            if (absoluteModes[assumption]) {
+                set[axis][assumption] = true;
+                position[axis][assumption] = value;
+            } else {
+                position[axis][assumption] += value;
+            }
+        }
+    }
+
+    private void setTo(int axis, double value) {
+        set[axis][0] = set[axis][1] = true;
+        position[axis][0] = position[axis][1] = value;
+    }
+}
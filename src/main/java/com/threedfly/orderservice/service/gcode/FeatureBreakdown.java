@@ -0,0 +1,12 @@
+package com.threedfly.orderservice.service.gcode;
+
+/**
+ * Share of one feature type (as named by the slicer, e.g. "Perimeter" or "Outer wall")
+ * in a print.
+ *
+ * @param feature      Feature name from the G-code comments, "Other" before the first one
+ * @param printSeconds Time spent on moves of this feature
+ * @param filamentMm   Filament extruded by moves of this feature, retractions excluded
+ */
+public record FeatureBreakdown(String feature, double printSeconds, double filamentMm) {
+}
@@ -0,0 +1,92 @@
+package com.threedfly.orderservice.service.gcode;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves slicer output into long-lived storage and gzips it in the background.
+ *
+ * Shared by the artifact store and G-code retention: moving is a rename whenever source
+ * and target are on the same file system, so the request path does no copy, and all
+ * compression runs on one low-priority thread so it never competes with slicing.
+ */
+@Component
+@Slf4j
+public class GCodeCompressor {
+
+    private static final String PARTIAL_SUFFIX = ".part";
+
+    private final ExecutorService compressor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "gcode-compressor");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    /**
+     * Moves a file, by rename if possible and by copy and delete if the target is on
+     * another file system.
+     */
+    public static void move(Path source, Path target) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Queues gzipping a file into {@code compressed}. The compressed file appears
+     * atomically once complete, and only then is the original deleted; if compression
+     * fails the original stays in place.
+     */
+    public void compressLater(Path file, Path compressed) {
+        compressor.execute(() -> compress(file, compressed));
+    }
+
+    /**
+     * Waits until all queued compressions have finished.
+     */
+    public void awaitIdle() throws InterruptedException, ExecutionException {
+        // Single worker, so a no-op completes only after every earlier task
+        compressor.submit(() -> { }).get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compressor.shutdown();
+    }
+
+    private static void compress(Path file, Path compressed) {
+        Path partial = compressed.resolveSibling(compressed.getFileName() + PARTIAL_SUFFIX);
+        try {
+            try (InputStream in = Files.newInputStream(file);
+                 OutputStream out = new GZIPOutputStream(Files.newOutputStream(partial), 64 * 1024)) {
+                in.transferTo(out);
+            }
+            Files.move(partial, compressed, StandardCopyOption.ATOMIC_MOVE);
+            Files.deleteIfExists(file);
+            log.debug("🗜️ Compressed G-code: {}", compressed);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not compress G-code {}: {}", file, e.getMessage());
+            try {
+                Files.deleteIfExists(partial);
+            } catch (IOException cleanupFailure) {
+                log.warn("⚠️ Could not delete partial file: {}", partial);
+            }
+        }
+    }
+}
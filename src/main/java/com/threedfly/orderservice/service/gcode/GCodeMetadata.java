@@ -0,0 +1,24 @@
+package com.threedfly.orderservice.service.gcode;
+
+/**
+ * Print summary read from the comment block of a G-code file.
+ *
+ * @param filamentWeightGrams Total filament weight, 0 if not found
+ * @param printTimeSeconds    Estimated print time (normal mode), 0 if not found
+ * @param filamentVolumeMm3   Extruded filament volume in mm³, 0 if not found
+ */
+public record GCodeMetadata(double filamentWeightGrams, long printTimeSeconds, double filamentVolumeMm3) {
+
+    public static final GCodeMetadata EMPTY = new GCodeMetadata(0.0, 0, 0.0);
+
+    /**
+     * Print time in whole minutes, rounding 30 seconds and more up.
+     */
+    public int printTimeMinutes() {
+        return (int) ((printTimeSeconds + 30) / 60);
+    }
+
+    public boolean isEmpty() {
+        return filamentWeightGrams <= 0 && printTimeSeconds <= 0 && filamentVolumeMm3 <= 0;
+    }
+}
@@ -0,0 +1,330 @@
+package com.threedfly.orderservice.service.gcode;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Reads the filament and print time summary from a G-code file without loading it.
+ *
+ * PrusaSlicer writes its summary in the trailing comment block, so the reader maps
+ * the last {@code printing.gcode.footer-kb} of the file and scans it backwards line by
+ * line. If filament weight or print time is missing (e.g. Bambu Studio puts them in the
+ * header) the rest of the file is scanned forward through fixed-size mapped windows.
+ * The extruded volume is read only when one of these scans passes it; it never triggers
+ * a scan of its own. Lines are matched directly on the mapped bytes, so memory use does
+ * not depend on the file size.
+ */
+@Component
+@Slf4j
+public class GCodeMetadataReader {
+
+    static final int DEFAULT_FOOTER_BYTES = 512 * 1024;
+    private static final int WINDOW_BYTES = 64 * 1024 * 1024;
+
+    private static final byte[] TOTAL_FILAMENT_USED = ascii("total filament used");
+    private static final byte[] TOTAL_FILAMENT_WEIGHT = ascii("total filament weight");
+    private static final byte[] GRAMS_UNIT = ascii("[g]");
+    private static final byte[] FILAMENT_USED = ascii("filament used");
+    private static final byte[] TOTAL_FILAMENT_VOLUME = ascii("total filament volume");
+    private static final byte[] CUBIC_CM_UNIT = ascii("[cm3]");
+    private static final byte[] CUBIC_CM_CARET_UNIT = ascii("[cm^3]");
+    private static final byte[] WIPE_TOWER = ascii("wipe tower");
+    private static final byte[] ESTIMATED_PRINTING_TIME = ascii("estimated printing time");
+    private static final byte[] NORMAL_MODE = ascii("normal mode");
+    private static final byte[] SILENT_MODE = ascii("silent mode");
+    private static final byte[] TOTAL_ESTIMATED_TIME = ascii("total estimated time");
+
+    private final int footerBytes;
+
+    public GCodeMetadataReader() {
+        this(DEFAULT_FOOTER_BYTES / 1024);
+    }
+
+    @Autowired
+    public GCodeMetadataReader(@Value("${printing.gcode.footer-kb:512}") int footerKb) {
+        this.footerBytes = Math.max(1, footerKb) * 1024;
+    }
+
+    /**
+     * Reads the print summary of a G-code file.
+     *
+     * @return Filament weight, print time and volume; fields that were not found are 0
+     */
+    public GCodeMetadata read(Path gcodeFile) throws IOException {
+        try (FileChannel channel = FileChannel.open(gcodeFile, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size == 0) {
+                return GCodeMetadata.EMPTY;
+            }
+
+            Summary summary = new Summary();
+            long footerStart = Math.max(0, size - footerBytes);
+            scanBackward(channel.map(FileChannel.MapMode.READ_ONLY, footerStart, size - footerStart),
+                    footerStart > 0, summary);
+
+            if (!summary.hasWeightAndTime() && footerStart > 0) {
+                log.debug("🔍 G-code summary not in footer of {}, scanning forward", gcodeFile);
+                // The footer is scanned again, so the line it cut in half is seen whole
+                scanForward(channel, size, summary);
+            }
+            return summary.toMetadata();
+        }
+    }
+
+    /**
+     * Visits lines from the end of the buffer towards its start. When the buffer does
+     * not begin at a line start, the partial first line is skipped.
+     */
+    private static void scanBackward(ByteBuffer buffer, boolean startsMidLine, Summary summary) {
+        int end = buffer.limit();
+        while (end >= 0 && !summary.isComplete()) {
+            int start = end;
+            while (start > 0 && buffer.get(start - 1) != '\n') {
+                start--;
+            }
+            if (start == 0 && startsMidLine) {
+                return;
+            }
+            summary.accept(buffer, start, end);
+            end = start - 1;
+        }
+    }
+
+    /**
+     * Visits lines in [0, limit) front to back, mapping one window at a time. A line
+     * cut by the window boundary is re-read at the start of the next window.
+     */
+    private static void scanForward(FileChannel channel, long limit, Summary summary) throws IOException {
+        long position = 0;
+        while (position < limit && !summary.hasWeightAndTime()) {
+            long windowSize = Math.min(WINDOW_BYTES, limit - position);
+            boolean lastWindow = position + windowSize >= limit;
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position, windowSize);
+
+            int lineStart = 0;
+            int length = window.limit();
+            for (int i = 0; i < length; i++) {
+                if (window.get(i) == '\n') {
+                    summary.accept(window, lineStart, i);
+                    lineStart = i + 1;
+                    if (summary.hasWeightAndTime()) {
+                        return;
+                    }
+                }
+            }
+            if (lastWindow || lineStart == 0) {
+                // Trailing line of the scanned range, or a single line longer than a window
+                summary.accept(window, lineStart, length);
+                position += windowSize;
+            } else {
+                position += lineStart;
+            }
+        }
+    }
+
+    /**
+     * Collects summary values; the first value found for each field wins.
+     */
+    private static final class Summary {
+        private double weightGrams;
+        private long normalModeSeconds;
+        private long fallbackSeconds;
+        private double volumeMm3;
+
+        boolean hasWeightAndTime() {
+            return weightGrams > 0 && normalModeSeconds > 0;
+        }
+
+        boolean isComplete() {
+            return hasWeightAndTime() && volumeMm3 > 0;
+        }
+
+        void accept(ByteBuffer line, int start, int end) {
+            // Only comment lines carry metadata
+            while (start < end && (line.get(start) == ' ' || line.get(start) == '\t')) {
+                start++;
+            }
+            if (start >= end || line.get(start) != ';') {
+                return;
+            }
+
+            if (weightGrams <= 0) {
+                int key = indexOf(line, start, end, TOTAL_FILAMENT_USED);
+                if (key < 0) {
+                    key = indexOf(line, start, end, TOTAL_FILAMENT_WEIGHT);
+                }
+                if (key >= 0 && indexOf(line, key, end, GRAMS_UNIT) >= 0
+                        && indexOf(line, start, end, WIPE_TOWER) < 0) {
+                    weightGrams = parseDecimal(line, valueStart(line, key, end), end);
+                    return;
+                }
+            }
+
+            if (volumeMm3 <= 0) {
+                // PrusaSlicer: "filament used [cm3] = 1.2, 0.3" (per extruder), Bambu: "total filament volume [cm^3] : 1.5"
+                int key = indexOf(line, start, end, TOTAL_FILAMENT_VOLUME);
+                if (key < 0) {
+                    key = indexOf(line, start, end, FILAMENT_USED);
+                }
+                if (key >= 0 && (indexOf(line, key, end, CUBIC_CM_UNIT) >= 0
+                        || indexOf(line, key, end, CUBIC_CM_CARET_UNIT) >= 0)) {
+                    volumeMm3 = sumDecimals(line, valueStart(line, key, end), end) * 1000.0;
+                    return;
+                }
+            }
+
+            if (normalModeSeconds <= 0) {
+                int key = indexOf(line, start, end, ESTIMATED_PRINTING_TIME);
+                if (key >= 0) {
+                    if (indexOf(line, key, end, NORMAL_MODE) >= 0) {
+                        normalModeSeconds = parseDuration(line, valueStart(line, key, end), end);
+                    } else if (fallbackSeconds <= 0 && indexOf(line, key, end, SILENT_MODE) < 0) {
+                        fallbackSeconds = parseDuration(line, valueStart(line, key, end), end);
+                    }
+                    return;
+                }
+                key = indexOf(line, start, end, TOTAL_ESTIMATED_TIME);
+                if (key >= 0) {
+                    normalModeSeconds = parseDuration(line, valueStart(line, key, end), end);
+                }
+            }
+        }
+
+        GCodeMetadata toMetadata() {
+            long seconds = normalModeSeconds > 0 ? normalModeSeconds : fallbackSeconds;
+            return new GCodeMetadata(Math.max(0, weightGrams), Math.max(0, seconds), Math.max(0, volumeMm3));
+        }
+    }
+
+    /**
+     * Position after the first '=' or ':' following the key, or end if there is none.
+     */
+    private static int valueStart(ByteBuffer line, int from, int end) {
+        for (int i = from; i < end; i++) {
+            byte b = line.get(i);
+            if (b == '=' || b == ':') {
+                return i + 1;
+            }
+        }
+        return end;
+    }
+
+    /**
+     * Parses an unsigned decimal such as "12.34", skipping leading blanks. Returns 0 if
+     * there is no number.
+     */
+    static double parseDecimal(ByteBuffer line, int from, int end) {
+        int i = skipBlanks(line, from, end);
+        long mantissa = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; i < end; i++) {
+            byte b = line.get(i);
+            if (b >= '0' && b <= '9') {
+                mantissa = mantissa * 10 + (b - '0');
+                digits = true;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (!digits) {
+            return 0.0;
+        }
+        return fractionDigits > 0 ? mantissa / Math.pow(10, fractionDigits) : mantissa;
+    }
+
+    /**
+     * Sums a comma-separated list of unsigned decimals such as "1.25, 0.50", as written
+     * with one value per extruder.
+     */
+    static double sumDecimals(ByteBuffer line, int from, int end) {
+        double sum = 0.0;
+        int i = from;
+        while (i < end) {
+            sum += parseDecimal(line, i, end);
+            while (i < end && line.get(i) != ',') {
+                i++;
+            }
+            i++;
+        }
+        return sum;
+    }
+
+    /**
+     * Parses a slicer duration such as "1d 2h 3m 4s" into seconds. Returns 0 if there
+     * is no duration.
+     */
+    static long parseDuration(ByteBuffer line, int from, int end) {
+        long seconds = 0;
+        int i = skipBlanks(line, from, end);
+        while (i < end) {
+            long value = 0;
+            int digitsStart = i;
+            while (i < end && line.get(i) >= '0' && line.get(i) <= '9') {
+                value = value * 10 + (line.get(i) - '0');
+                i++;
+            }
+            if (i == digitsStart || i >= end) {
+                break;
+            }
+            switch (line.get(i)) {
+                case 'd' -> seconds += value * 86_400;
+                case 'h' -> seconds += value * 3_600;
+                case 'm' -> seconds += value * 60;
+                case 's' -> seconds += value;
+                default -> {
+                    return seconds;
+                }
+            }
+            i = skipBlanks(line, i + 1, end);
+        }
+        return seconds;
+    }
+
+    private static int skipBlanks(ByteBuffer line, int from, int end) {
+        while (from < end && (line.get(from) == ' ' || line.get(from) == '\t')) {
+            from++;
+        }
+        return from;
+    }
+
+    /**
+     * ASCII case-insensitive search for a lowercase needle in [from, end).
+     */
+    private static int indexOf(ByteBuffer line, int from, int end, byte[] needle) {
+        int last = end - needle.length;
+        outer:
+        for (int i = from; i <= last; i++) {
+            for (int j = 0; j < needle.length; j++) {
+                byte b = line.get(i + j);
+                if (b >= 'A' && b <= 'Z') {
+                    b += 'a' - 'A';
+                }
+                if (b != needle[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,13 @@
+package com.threedfly.orderservice.service.gcode;
+
+import java.util.List;
+
+/**
+ * Result of simulating the moves of one G-code file on several printers.
+ *
+ * @param moveCount  Motion segments simulated (arcs count once per linear piece)
+ * @param filamentMm Filament extruded by all moves, retractions excluded
+ * @param printers   One estimate per printer profile, in the order the profiles were given
+ */
+public record GCodeMotionAnalysis(long moveCount, double filamentMm, List<PrinterTimeEstimate> printers) {
+}
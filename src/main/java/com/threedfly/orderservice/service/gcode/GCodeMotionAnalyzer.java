@@ -0,0 +1,336 @@
+package com.threedfly.orderservice.service.gcode;
+
+import com.threedfly.orderservice.config.PrinterMotionConfig.PrinterProfile;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Re-estimates the print time of a sliced G-code file for several printers, without
+ * slicing again.
+ *
+ * The file is memory-mapped and split into chunks of about {@code printing.motion.chunk-kb}
+ * that start at layer changes, and read twice on a dedicated ForkJoinPool. The first pass
+ * parses the chunks in parallel and keeps only what each does to the machine state (see
+ * {@link ChunkSummary}); chaining these in file order gives every chunk its start state.
+ * The second pass parses each chunk again and, on the same task, resolves it into moves
+ * (see {@link MoveResolver}) and times them on every printer (see {@link MotionPlanner}).
+ * So only the chunks being worked on are held in memory, however large the file. The
+ * printer is assumed to be at rest at chunk boundaries, which layer changes nearly are.
+ *
+ * Heating, homing and other waits the G-code does not time itself are not included, and
+ * machine limits set in the G-code (M201, M203, M205) are ignored in favour of the profile.
+ */
+@Component
+@Slf4j
+public class GCodeMotionAnalyzer {
+
+    static final int DEFAULT_CHUNK_BYTES = 4 * 1024 * 1024;
+
+    private static final byte[][] LAYER_MARKERS = {
+            ascii(";LAYER_CHANGE"), ascii(";LAYER:"), ascii("; CHANGE_LAYER")
+    };
+
+    private final ForkJoinPool pool;
+    private final int chunkBytes;
+
+    public GCodeMotionAnalyzer(@Value("${printing.motion.parallelism:0}") int parallelism,
+                               @Value("${printing.motion.chunk-kb:4096}") int chunkKb) {
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.chunkBytes = Math.min(Math.max(1, chunkKb), 512 * 1024) * 1024;
+    }
+
+    /**
+     * Simulates the G-code on every printer.
+     *
+     * @param gcodeFile Sliced G-code
+     * @param printers  Printer profiles by name
+     * @return Print time and feature breakdown per printer, in the order of the map
+     * @throws IOException if the file cannot be read
+     */
+    public GCodeMotionAnalysis analyze(Path gcodeFile, Map<String, PrinterProfile> printers) throws IOException {
+        long startedAt = System.nanoTime();
+        List<String> features = new ArrayList<>();
+        Map<String, Integer> featureIndex = new HashMap<>();
+        features.add(MoveResolver.OTHER_FEATURE);
+        featureIndex.put(MoveResolver.OTHER_FEATURE, 0);
+        ChunkTimes times;
+        int chunkCount;
+        try (FileChannel channel = FileChannel.open(gcodeFile, StandardOpenOption.READ)) {
+            long[] boundaries = chunkBoundaries(channel, channel.size());
+            chunkCount = boundaries.length - 1;
+            ChunkSummary[] summaries = new ChunkSummary[chunkCount];
+            invoke(new SummarizeTask(channel, boundaries, 0, chunkCount, summaries));
+
+            // Number the features as they first appear and chain the start states in file order
+            MachineState[] starts = new MachineState[chunkCount];
+            MachineState state = MachineState.INITIAL;
+            for (int i = 0; i < chunkCount; i++) {
+                for (String feature : summaries[i].features()) {
+                    if (featureIndex.putIfAbsent(feature, features.size()) == null) {
+                        features.add(feature);
+                    }
+                }
+                starts[i] = state;
+                state = summaries[i].apply(state, featureIndex);
+            }
+
+            List<MotionPlanner> planners = printers.values().stream().map(MotionPlanner::new).toList();
+            times = invoke(new SimulateTask(channel, boundaries, 0, chunkCount, starts, featureIndex, planners));
+        }
+
+        List<PrinterTimeEstimate> estimates = new ArrayList<>();
+        int index = 0;
+        for (String printer : printers.keySet()) {
+            estimates.add(toEstimate(printer, features, times.seconds[index++], times.filament));
+        }
+
+        double filamentMm = 0;
+        for (double value : times.filament) {
+            filamentMm += value;
+        }
+        log.info("⏱️ Re-timed {} for {} printer(s) in {}ms ({} chunks, {} moves)", gcodeFile.getFileName(),
+                printers.size(), (System.nanoTime() - startedAt) / 1_000_000, chunkCount, times.moveCount);
+        return new GCodeMotionAnalysis(times.moveCount, round(filamentMm, 100), estimates);
+    }
+
+    /**
+     * Runs {@link #analyze} on the analyzer's own pool, so that callers need not wait for it.
+     * The future fails with an {@link UncheckedIOException} if the file cannot be read.
+     */
+    public CompletableFuture<GCodeMotionAnalysis> analyzeAsync(Path gcodeFile, Map<String, PrinterProfile> printers) {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return analyze(gcodeFile, printers);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, pool);
+    }
+
+    private <T> T invoke(ForkJoinTask<T> task) throws IOException {
+        try {
+            return pool.invoke(task);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static PrinterTimeEstimate toEstimate(String printer, List<String> features, double[] seconds,
+                                                  double[] filament) {
+        List<FeatureBreakdown> breakdown = new ArrayList<>();
+        double total = 0;
+        for (int i = 0; i < features.size(); i++) {
+            total += seconds[i];
+            if (seconds[i] > 0 || filament[i] > 0) {
+                breakdown.add(new FeatureBreakdown(features.get(i), round(seconds[i], 10), round(filament[i], 100)));
+            }
+        }
+        return new PrinterTimeEstimate(printer, Math.round(total), List.copyOf(breakdown));
+    }
+
+    /**
+     * Splits [0, size) into chunks of about chunkBytes, each starting at a layer change
+     * if one follows within a chunk's length, at the next line otherwise.
+     */
+    private long[] chunkBoundaries(FileChannel channel, long size) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        boundaries.add(0L);
+        long next = chunkBytes;
+        while (next < size) {
+            long boundary = nextChunkStart(channel, next, size);
+            if (boundary >= size) {
+                break;
+            }
+            boundaries.add(boundary);
+            next = boundary + chunkBytes;
+        }
+        boundaries.add(size);
+        return boundaries.stream().mapToLong(Long::longValue).toArray();
+    }
+
+    private long nextChunkStart(FileChannel channel, long from, long size) throws IOException {
+        // One byte early, so that a line starting exactly at from is seen after its newline
+        long windowStart = from - 1;
+        int windowSize = (int) Math.min(chunkBytes, size - windowStart);
+        MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, windowStart, windowSize);
+
+        long firstLine = size;
+        for (int i = 0; i < windowSize - 1; i++) {
+            if (window.get(i) != '\n') {
+                continue;
+            }
+            if (firstLine == size) {
+                firstLine = windowStart + i + 1;
+            }
+            if (isLayerChange(window, i + 1)) {
+                return windowStart + i + 1;
+            }
+        }
+        return firstLine;
+    }
+
+    private static boolean isLayerChange(ByteBuffer buffer, int at) {
+        for (byte[] marker : LAYER_MARKERS) {
+            if (buffer.limit() - at < marker.length) {
+                continue;
+            }
+            boolean matches = true;
+            for (int i = 0; i < marker.length && matches; i++) {
+                matches = buffer.get(at + i) == marker[i];
+            }
+            if (matches) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static double round(double value, double scale) {
+        return Math.round(value * scale) / scale;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+
+    private static GCodeMoveParser.Parsed parse(FileChannel channel, long[] boundaries, int chunk) {
+        try {
+            long start = boundaries[chunk];
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, boundaries[chunk + 1] - start);
+            return GCodeMoveParser.parse(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * First pass: parses chunks [from, to) and keeps their summaries, splitting the range
+     * until one chunk remains.
+     */
+    private static final class SummarizeTask extends RecursiveAction {
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+        private final ChunkSummary[] results;
+
+        private SummarizeTask(FileChannel channel, long[] boundaries, int from, int to, ChunkSummary[] results) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+            this.results = results;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                results[from] = ChunkSummary.of(parse(channel, boundaries, from));
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new SummarizeTask(channel, boundaries, from, middle, results),
+                    new SummarizeTask(channel, boundaries, middle, to, results));
+        }
+    }
+
+    /**
+     * Second pass: parses, resolves and times chunks [from, to) on every printer and adds
+     * up the results; each chunk's moves are dropped as soon as they are timed.
+     */
+    private static final class SimulateTask extends RecursiveTask<ChunkTimes> {
+
+        private final FileChannel channel;
+        private final long[] boundaries;
+        private final int from;
+        private final int to;
+        private final MachineState[] starts;
+        private final Map<String, Integer> featureIndex;
+        private final List<MotionPlanner> planners;
+
+        private SimulateTask(FileChannel channel, long[] boundaries, int from, int to, MachineState[] starts,
+                             Map<String, Integer> featureIndex, List<MotionPlanner> planners) {
+            this.channel = channel;
+            this.boundaries = boundaries;
+            this.from = from;
+            this.to = to;
+            this.starts = starts;
+            this.featureIndex = featureIndex;
+            this.planners = planners;
+        }
+
+        @Override
+        protected ChunkTimes compute() {
+            if (to - from == 1) {
+                MoveResolver resolver = new MoveResolver(starts[from], featureIndex);
+                MoveSequence moves = resolver.resolve(parse(channel, boundaries, from));
+                double[][] seconds = new double[planners.size()][];
+                for (int i = 0; i < seconds.length; i++) {
+                    seconds[i] = planners.get(i).simulate(moves, featureIndex.size());
+                }
+                return new ChunkTimes(seconds, resolver.filamentByFeature(), moves.size());
+            }
+            int middle = (from + to) >>> 1;
+            SimulateTask left = new SimulateTask(channel, boundaries, from, middle, starts, featureIndex, planners);
+            SimulateTask right = new SimulateTask(channel, boundaries, middle, to, starts, featureIndex, planners);
+            left.fork();
+            ChunkTimes times = right.compute();
+            times.add(left.join());
+            return times;
+        }
+    }
+
+    /**
+     * Seconds per printer and feature, filament per feature and moves of one or more chunks.
+     */
+    private static final class ChunkTimes {
+
+        private final double[][] seconds;
+        private final double[] filament;
+        private long moveCount;
+
+        private ChunkTimes(double[][] seconds, double[] filament, long moveCount) {
+            this.seconds = seconds;
+            this.filament = filament;
+            this.moveCount = moveCount;
+        }
+
+        private void add(ChunkTimes other) {
+            for (int printer = 0; printer < seconds.length; printer++) {
+                for (int feature = 0; feature < filament.length; feature++) {
+                    seconds[printer][feature] += other.seconds[printer][feature];
+                }
+            }
+            for (int feature = 0; feature < filament.length; feature++) {
+                filament[feature] += other.filament[feature];
+            }
+            moveCount += other.moveCount;
+        }
+    }
+}
@@ -0,0 +1,333 @@
+package com.threedfly.orderservice.service.gcode;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Turns one chunk of G-code text into a compact list of the commands that matter for
+ * motion timing.
+ *
+ * The parser works on the mapped bytes and keeps no machine state, so chunks can be
+ * parsed independently; {@link ChunkSummary} and {@link MoveResolver} replay the commands.
+ * Each command is stored as its opcode, a bitmask of the parameters present and their
+ * values, all in one float array.
+ */
+final class GCodeMoveParser {
+
+    static final int OP_MOVE = 0;
+    static final int OP_ARC_CW = 1;
+    static final int OP_ARC_CCW = 2;
+    static final int OP_DWELL = 3;
+    static final int OP_HOME = 4;
+    static final int OP_ABSOLUTE = 5;
+    static final int OP_RELATIVE = 6;
+    static final int OP_ABSOLUTE_E = 7;
+    static final int OP_RELATIVE_E = 8;
+    static final int OP_SET_POSITION = 9;
+    static final int OP_ACCELERATION = 10;
+    static final int OP_FEATURE = 11;
+
+    // Parameter letters in storage order; a command's mask has bit i set if PARAMETERS[i] is present
+    static final String PARAMETERS = "XYZEFIJRSPT";
+    static final int VX = 0, VY = 1, VZ = 2, VE = 3, VF = 4, VI = 5, VJ = 6, VR = 7, VS = 8, VP = 9, VT = 10;
+    static final int X = 1 << VX, Y = 1 << VY, Z = 1 << VZ, E = 1 << VE, F = 1 << VF,
+            I = 1 << VI, J = 1 << VJ, R = 1 << VR, S = 1 << VS, P = 1 << VP, T = 1 << VT;
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18
+    };
+    private static final byte[] TYPE = {'T', 'Y', 'P', 'E', ':'};
+    private static final byte[] FEATURE = {'F', 'E', 'A', 'T', 'U', 'R', 'E', ':'};
+
+    private final ByteBuffer buffer;
+    private final float[] values = new float[PARAMETERS.length()];
+    private final List<String> features = new ArrayList<>();
+    private float[] commands = new float[4096];
+    private int length;
+    private int position;
+
+    private GCodeMoveParser(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Parses all complete and trailing lines of the buffer.
+     */
+    static Parsed parse(ByteBuffer buffer) {
+        GCodeMoveParser parser = new GCodeMoveParser(buffer);
+        int limit = buffer.limit();
+        int lineStart = 0;
+        for (int i = 0; i < limit; i++) {
+            if (buffer.get(i) == '\n') {
+                parser.line(lineStart, i);
+                lineStart = i + 1;
+            }
+        }
+        if (lineStart < limit) {
+            parser.line(lineStart, limit);
+        }
+        return new Parsed(Arrays.copyOf(parser.commands, parser.length), List.copyOf(parser.features));
+    }
+
+    /**
+     * Hands the commands of a parsed chunk to the handler in order.
+     */
+    static void replay(float[] commands, CommandHandler handler) {
+        float[] values = new float[PARAMETERS.length()];
+        int at = 0;
+        while (at < commands.length) {
+            int op = (int) commands[at++];
+            int mask = (int) commands[at++];
+            for (int i = 0; i < values.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    values[i] = commands[at++];
+                }
+            }
+            handler.command(op, mask, values);
+        }
+    }
+
+    private void line(int start, int end) {
+        position = skipBlanks(start, end);
+        if (position >= end) {
+            return;
+        }
+        byte first = buffer.get(position);
+        if (first == ';') {
+            comment(position + 1, end);
+            return;
+        }
+        if (upper(first) == 'N') {
+            // Line number, as in "N12 G1 X5*34"
+            position = skipWord(position, end);
+            position = skipBlanks(position, end);
+            if (position >= end) {
+                return;
+            }
+            first = buffer.get(position);
+        }
+
+        byte letter = upper(first);
+        if (letter != 'G' && letter != 'M') {
+            return;
+        }
+        position++;
+        int code = parseCode(end);
+        int op = letter == 'G' ? gCode(code) : mCode(code);
+        if (op < 0) {
+            return;
+        }
+        int mask = parameters(end);
+        append(op, mask);
+    }
+
+    private static int gCode(int code) {
+        return switch (code) {
+            case 0, 1 -> OP_MOVE;
+            case 2 -> OP_ARC_CW;
+            case 3 -> OP_ARC_CCW;
+            case 4 -> OP_DWELL;
+            case 28 -> OP_HOME;
+            case 90 -> OP_ABSOLUTE;
+            case 91 -> OP_RELATIVE;
+            case 92 -> OP_SET_POSITION;
+            default -> -1;
+        };
+    }
+
+    private static int mCode(int code) {
+        return switch (code) {
+            case 82 -> OP_ABSOLUTE_E;
+            case 83 -> OP_RELATIVE_E;
+            case 204 -> OP_ACCELERATION;
+            default -> -1;
+        };
+    }
+
+    /**
+     * Picks up feature markers: ";TYPE:Perimeter" (PrusaSlicer, Cura) and
+     * "; FEATURE: Outer wall" (Bambu Studio, OrcaSlicer).
+     */
+    private void comment(int start, int end) {
+        int at = skipBlanks(start, end);
+        int nameStart;
+        if (startsWith(at, end, TYPE)) {
+            nameStart = at + TYPE.length;
+        } else if (startsWith(at, end, FEATURE)) {
+            nameStart = at + FEATURE.length;
+        } else {
+            return;
+        }
+        nameStart = skipBlanks(nameStart, end);
+        int nameEnd = end;
+        while (nameEnd > nameStart && isBlank(buffer.get(nameEnd - 1))) {
+            nameEnd--;
+        }
+        if (nameEnd == nameStart) {
+            return;
+        }
+        byte[] name = new byte[nameEnd - nameStart];
+        buffer.get(nameStart, name);
+        String feature = new String(name, StandardCharsets.US_ASCII);
+        int index = features.indexOf(feature);
+        if (index < 0) {
+            index = features.size();
+            features.add(feature);
+        }
+        values[VX] = index;
+        append(OP_FEATURE, X);
+    }
+
+    /**
+     * Reads "X1.5 Y-2 E.03" style parameters up to the end of the line or a comment.
+     */
+    private int parameters(int end) {
+        int mask = 0;
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b == ';' || b == '*') {
+                break;
+            }
+            int index = PARAMETERS.indexOf(upper(b));
+            position++;
+            if (index < 0) {
+                continue;
+            }
+            int numberStart = position;
+            float value = parseNumber(end);
+            if (position == numberStart) {
+                // Bare letter as in "G28 X": the axis is meant, at 0
+                value = 0f;
+            }
+            values[index] = value;
+            mask |= 1 << index;
+        }
+        return mask;
+    }
+
+    private void append(int op, int mask) {
+        int needed = 2 + Integer.bitCount(mask);
+        if (length + needed > commands.length) {
+            commands = Arrays.copyOf(commands, Math.max(commands.length * 2, length + needed));
+        }
+        commands[length++] = op;
+        commands[length++] = mask;
+        for (int i = 0; i < values.length; i++) {
+            if ((mask & (1 << i)) != 0) {
+                commands[length++] = values[i];
+            }
+        }
+    }
+
+    private int parseCode(int end) {
+        int code = 0;
+        while (position < end) {
+            byte b = buffer.get(position);
+            if (b < '0' || b > '9') {
+                break;
+            }
+            code = code * 10 + (b - '0');
+            position++;
+        }
+        if (position < end && buffer.get(position) == '.') {
+            // Sub-codes such as G29.1 are not motion commands
+            return -1;
+        }
+        return code;
+    }
+
+    /**
+     * Parses a decimal number without exponent at the current position, leaving the
+     * position after it; returns 0 and leaves the position unchanged if there is none.
+     */
+    private float parseNumber(int end) {
+        int at = position;
+        boolean negative = false;
+        if (at < end && (buffer.get(at) == '-' || buffer.get(at) == '+')) {
+            negative = buffer.get(at) == '-';
+            at++;
+        }
+        long mantissa = 0;
+        int scale = 0;
+        int digits = 0;
+        boolean fraction = false;
+        while (at < end) {
+            byte b = buffer.get(at);
+            if (b >= '0' && b <= '9') {
+                // Digits beyond 18 do not fit the mantissa and are far below float precision
+                if (digits < 18) {
+                    mantissa = mantissa * 10 + (b - '0');
+                    if (fraction) {
+                        scale++;
+                    }
+                } else if (!fraction) {
+                    scale--;
+                }
+                digits++;
+            } else if (b == '.' && !fraction) {
+                fraction = true;
+            } else {
+                break;
+            }
+            at++;
+        }
+        if (digits == 0) {
+            return 0f;
+        }
+        position = at;
+        double value = scale >= 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa * Math.pow(10, -scale);
+        return (float) (negative ? -value : value);
+    }
+
+    private boolean startsWith(int at, int end, byte[] prefix) {
+        if (end - at < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (upper(buffer.get(at + i)) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private int skipBlanks(int at, int end) {
+        while (at < end && isBlank(buffer.get(at))) {
+            at++;
+        }
+        return at;
+    }
+
+    private int skipWord(int at, int end) {
+        while (at < end && !isBlank(buffer.get(at))) {
+            at++;
+        }
+        return at;
+    }
+
+    private static boolean isBlank(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static byte upper(byte b) {
+        return b >= 'a' && b <= 'z' ? (byte) (b - 32) : b;
+    }
+
+    /**
+     * Commands of one chunk and the feature names it introduced; OP_FEATURE refers to
+     * its feature by index into this chunk's list.
+     */
+    record Parsed(float[] commands, List<String> features) {
+    }
+
+    /**
+     * Receives replayed commands. The values array is reused between commands; only the
+     * parameters in the mask are set, indexed like {@link #PARAMETERS}.
+     */
+    interface CommandHandler {
+        void command(int op, int mask, float[] values);
+    }
+}
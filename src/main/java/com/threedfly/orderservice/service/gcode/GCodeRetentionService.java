@@ -0,0 +1,143 @@
+package com.threedfly.orderservice.service.gcode;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Optionally keeps generated G-code for later analysis.
+ *
+ * When retention is disabled (the default) slicer output is simply deleted. When
+ * enabled, the file is moved into the retention directory and optionally gzipped in the
+ * background (see {@link GCodeCompressor}). A periodic sweep
+ * deletes files older than the maximum age and then the oldest files until the
+ * directory fits its size budget.
+ */
+@Component
+@Slf4j
+public class GCodeRetentionService {
+
+    static final String GZIP_SUFFIX = ".gz";
+
+    private final boolean enabled;
+    private final Path directory;
+    private final boolean compress;
+    private final Duration maxAge;
+    private final long maxBytes;
+    private final GCodeCompressor compressor;
+
+    @Autowired
+    public GCodeRetentionService(
+            GCodeCompressor compressor,
+            @Value("${printing.gcode.retention.enabled:false}") boolean enabled,
+            @Value("${printing.gcode.retention.directory:/tmp/prusa-gcode-output}") String directory,
+            @Value("${printing.gcode.retention.compress:true}") boolean compress,
+            @Value("${printing.gcode.retention.max-age-hours:24}") long maxAgeHours,
+            @Value("${printing.gcode.retention.max-size-mb:1024}") long maxSizeMb) {
+        this.enabled = enabled;
+        this.directory = Paths.get(directory);
+        this.compress = compress;
+        this.maxAge = Duration.ofHours(maxAgeHours);
+        this.maxBytes = maxSizeMb * 1024 * 1024;
+        this.compressor = compressor;
+
+        if (enabled) {
+            log.info("💾 G-code retention enabled (directory={}, compress={}, maxAge={}, maxSizeMb={})",
+                    directory, compress, maxAge, maxSizeMb);
+        }
+    }
+
+    /**
+     * Hands over a slicer output file. The file is moved into the retention directory
+     * or deleted; either way it is gone from its original location afterwards.
+     */
+    public void retain(Path gcodeFile) {
+        if (!enabled) {
+            deleteQuietly(gcodeFile);
+            return;
+        }
+
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(gcodeFile.getFileName());
+            GCodeCompressor.move(gcodeFile, target);
+            log.info("💾 Retained G-code for analysis: {}", target);
+
+            if (compress) {
+                compressor.compressLater(target, target.resolveSibling(target.getFileName() + GZIP_SUFFIX));
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not retain G-code file {}: {}", gcodeFile, e.getMessage());
+            deleteQuietly(gcodeFile);
+        }
+    }
+
+    /**
+     * Deletes retained files that are too old, then the oldest ones until the
+     * directory is within its size budget.
+     */
+    @Scheduled(fixedDelayString = "${printing.gcode.retention.sweep-interval-ms:600000}")
+    public void sweep() {
+        if (!enabled || !Files.isDirectory(directory)) {
+            return;
+        }
+
+        List<RetainedFile> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            for (Path entry : entries) {
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                if (attributes.isRegularFile()) {
+                    files.add(new RetainedFile(entry, attributes.lastModifiedTime().toInstant(), attributes.size()));
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not list retained G-code in {}: {}", directory, e.getMessage());
+            return;
+        }
+
+        files.sort(Comparator.comparing(RetainedFile::modifiedAt));
+        Instant cutoff = Instant.now().minus(maxAge);
+        long totalBytes = files.stream().mapToLong(RetainedFile::sizeBytes).sum();
+        int deleted = 0;
+
+        for (RetainedFile file : files) {
+            if (!file.modifiedAt().isBefore(cutoff) && totalBytes <= maxBytes) {
+                break;
+            }
+            if (deleteQuietly(file.path())) {
+                totalBytes -= file.sizeBytes();
+                deleted++;
+            }
+        }
+
+        if (deleted > 0) {
+            log.info("🧹 Swept {} retained G-code files, {} MB left", deleted, totalBytes / (1024 * 1024));
+        }
+    }
+
+    private static boolean deleteQuietly(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete G-code file: {}", file);
+            return false;
+        }
+    }
+
+    private record RetainedFile(Path path, Instant modifiedAt, long sizeBytes) {
+    }
+}
@@ -0,0 +1,17 @@
+package com.threedfly.orderservice.service.gcode;
+
+/**
+ * Machine state that carries over from one G-code chunk into the next.
+ *
+ * @param feedrate Last requested feed rate in mm/min, as in the F parameter
+ * @param feature  Index of the current feature into the file's feature list
+ */
+record MachineState(double x, double y, double z, double e, double feedrate,
+                    boolean absolute, boolean absoluteE,
+                    float printAcceleration, float travelAcceleration, float retractAcceleration,
+                    int feature) {
+
+    // Absolute modes and no M204 accelerations, within the first feature ("Other")
+    static final MachineState INITIAL = new MachineState(0, 0, 0, 0, 1500, true, true,
+            Float.NaN, Float.NaN, Float.NaN, 0);
+}
@@ -0,0 +1,165 @@
+package com.threedfly.orderservice.service.gcode;
+
+import com.threedfly.orderservice.config.PrinterMotionConfig.PrinterProfile;
+
+/**
+ * Times a sequence of moves the way firmware executes them on a printer with the given limits.
+ *
+ * Each move is capped at the per-axis maximum feed rates and accelerates at the printer's
+ * print, travel or retraction acceleration (lowered further by M204 in the G-code). Speed at
+ * the junction of two moves is limited by classic jerk: no axis may change speed by more
+ * than its jerk there. A backward and a forward pass make every junction reachable within
+ * the moves' lengths, and each move then takes the time of its trapezoidal (or triangular)
+ * speed profile. Dwells and the ends of the sequence are full stops.
+ */
+final class MotionPlanner {
+
+    private static final double EPSILON = 1e-9;
+    private static final double MIN_SPEED = 0.1;
+
+    private final PrinterProfile printer;
+
+    MotionPlanner(PrinterProfile printer) {
+        this.printer = printer;
+    }
+
+    /**
+     * Simulates the moves and returns the time spent per feature, in seconds.
+     *
+     * @param featureCount Number of features known, the length of the result
+     */
+    double[] simulate(MoveSequence moves, int featureCount) {
+        double[] seconds = new double[featureCount];
+        int n = moves.size();
+        double[] length = new double[n];
+        double[] ux = new double[n];
+        double[] uy = new double[n];
+        double[] uz = new double[n];
+        double[] ue = new double[n];
+        double[] nominal = new double[n];
+        double[] acceleration = new double[n];
+        // junction[i] is the speed entering move i and leaving move i - 1
+        double[] junction = new double[n + 1];
+
+        int runStart = 0;
+        for (int i = 0; i <= n; i++) {
+            if (i < n && moves.kind(i) != MoveSequence.DWELL) {
+                describe(moves, i, length, ux, uy, uz, ue, nominal, acceleration);
+                continue;
+            }
+            plan(runStart, i, length, ux, uy, uz, ue, nominal, acceleration, junction);
+            for (int k = runStart; k < i; k++) {
+                seconds[moves.feature(k)] += time(junction[k], junction[k + 1], nominal[k], acceleration[k], length[k]);
+            }
+            if (i < n) {
+                seconds[moves.feature(i)] += moves.speed(i);
+            }
+            runStart = i + 1;
+        }
+        return seconds;
+    }
+
+    private void describe(MoveSequence moves, int i, double[] length, double[] ux, double[] uy, double[] uz,
+                          double[] ue, double[] nominal, double[] acceleration) {
+        double dx = moves.dx(i), dy = moves.dy(i), dz = moves.dz(i), de = moves.de(i);
+        double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+        if (distance > EPSILON) {
+            ux[i] = dx / distance;
+            uy[i] = dy / distance;
+            uz[i] = dz / distance;
+            ue[i] = de / distance;
+        } else {
+            // Extruder-only move
+            distance = Math.abs(de);
+            ue[i] = Math.signum(de);
+        }
+        length[i] = distance;
+
+        double speed = Math.max(MIN_SPEED, moves.speed(i));
+        speed = limit(speed, ux[i], printer.getMaxFeedrateXy());
+        speed = limit(speed, uy[i], printer.getMaxFeedrateXy());
+        speed = limit(speed, uz[i], printer.getMaxFeedrateZ());
+        speed = limit(speed, ue[i], printer.getMaxFeedrateE());
+        nominal[i] = speed;
+
+        double limit = switch (moves.kind(i)) {
+            case MoveSequence.PRINT -> printer.getPrintAcceleration();
+            case MoveSequence.TRAVEL -> printer.getTravelAcceleration();
+            default -> printer.getRetractAcceleration();
+        };
+        float requested = moves.accelerationLimit(i);
+        acceleration[i] = Float.isNaN(requested) ? limit : Math.min(limit, requested);
+    }
+
+    /**
+     * Sets the junction speeds of moves [from, to), which start and end at rest.
+     */
+    private void plan(int from, int to, double[] length, double[] ux, double[] uy, double[] uz, double[] ue,
+                      double[] nominal, double[] acceleration, double[] junction) {
+        if (from == to) {
+            return;
+        }
+        junction[from] = startSpeed(from, ux, uy, uz, ue, nominal);
+        for (int i = from + 1; i < to; i++) {
+            double speed = Math.min(nominal[i - 1], nominal[i]);
+            speed = jerkLimit(speed, ux[i] - ux[i - 1], printer.getJerkXy());
+            speed = jerkLimit(speed, uy[i] - uy[i - 1], printer.getJerkXy());
+            speed = jerkLimit(speed, uz[i] - uz[i - 1], printer.getJerkZ());
+            speed = jerkLimit(speed, ue[i] - ue[i - 1], printer.getJerkE());
+            junction[i] = speed;
+        }
+        junction[to] = startSpeed(to - 1, ux, uy, uz, ue, nominal);
+
+        // Backward pass: every move must be able to slow down to the speed leaving it
+        for (int i = to - 1; i >= from; i--) {
+            junction[i] = Math.min(junction[i],
+                    Math.sqrt(junction[i + 1] * junction[i + 1] + 2 * acceleration[i] * length[i]));
+        }
+        // Forward pass: and to speed up from the speed entering it
+        for (int i = from; i < to; i++) {
+            junction[i + 1] = Math.min(junction[i + 1],
+                    Math.sqrt(junction[i] * junction[i] + 2 * acceleration[i] * length[i]));
+        }
+    }
+
+    /**
+     * Highest speed a move can start at from rest (or stop at), within every axis' jerk.
+     */
+    private double startSpeed(int i, double[] ux, double[] uy, double[] uz, double[] ue, double[] nominal) {
+        double speed = nominal[i];
+        speed = jerkLimit(speed, ux[i], printer.getJerkXy());
+        speed = jerkLimit(speed, uy[i], printer.getJerkXy());
+        speed = jerkLimit(speed, uz[i], printer.getJerkZ());
+        return jerkLimit(speed, ue[i], printer.getJerkE());
+    }
+
+    private static double limit(double speed, double component, double maxAxisSpeed) {
+        double share = Math.abs(component);
+        return share > EPSILON ? Math.min(speed, maxAxisSpeed / share) : speed;
+    }
+
+    private static double jerkLimit(double speed, double componentChange, double jerk) {
+        double change = Math.abs(componentChange);
+        return change > EPSILON ? Math.min(speed, jerk / change) : speed;
+    }
+
+    /**
+     * Duration of a move of the given length from entry to exit speed, cruising at most at
+     * the nominal speed.
+     */
+    static double time(double entry, double exit, double nominal, double acceleration, double length) {
+        if (length <= 0) {
+            return 0;
+        }
+        double accelerating = (nominal * nominal - entry * entry) / (2 * acceleration);
+        double decelerating = (nominal * nominal - exit * exit) / (2 * acceleration);
+        if (accelerating + decelerating <= length) {
+            return (nominal - entry) / acceleration + (nominal - exit) / acceleration
+                    + (length - accelerating - decelerating) / nominal;
+        }
+        // Never reaches the nominal speed
+        double peak = Math.sqrt(acceleration * length + (entry * entry + exit * exit) / 2);
+        peak = Math.max(peak, Math.max(entry, exit));
+        return (peak - entry) / acceleration + (peak - exit) / acceleration;
+    }
+}
@@ -0,0 +1,229 @@
+package com.threedfly.orderservice.service.gcode;
+
+import java.util.List;
+import java.util.Map;
+
+import static com.threedfly.orderservice.service.gcode.GCodeMoveParser.*;
+
+/**
+ * Replays the parsed commands of one chunk and turns them into relative motion segments.
+ *
+ * The chunk starts in the machine state the chunks before it left behind (position,
+ * absolute or relative modes, feed rate, M204 accelerations and the current feature; see
+ * {@link ChunkSummary}), so chunks resolve independently of each other. Arcs are split
+ * into straight pieces of at most {@value #ARC_SEGMENT_MM} mm, as firmware does.
+ */
+final class MoveResolver implements GCodeMoveParser.CommandHandler {
+
+    static final String OTHER_FEATURE = "Other";
+    private static final double ARC_SEGMENT_MM = 1.0;
+
+    private final Map<String, Integer> featureIndex;
+    private final double[] filamentByFeature;
+    private MoveSequence moves;
+    private List<String> chunkFeatures;
+
+    private double x;
+    private double y;
+    private double z;
+    private double e;
+    // mm/min, as in the F parameter
+    private double feedrate;
+    private boolean absolute;
+    private boolean absoluteE;
+    private float printAcceleration;
+    private float travelAcceleration;
+    private float retractAcceleration;
+    private int feature;
+
+    /**
+     * @param start        State the chunk starts in
+     * @param featureIndex Index of every feature name of the file
+     */
+    MoveResolver(MachineState start, Map<String, Integer> featureIndex) {
+        this.featureIndex = featureIndex;
+        this.filamentByFeature = new double[featureIndex.size()];
+        x = start.x();
+        y = start.y();
+        z = start.z();
+        e = start.e();
+        feedrate = start.feedrate();
+        absolute = start.absolute();
+        absoluteE = start.absoluteE();
+        printAcceleration = start.printAcceleration();
+        travelAcceleration = start.travelAcceleration();
+        retractAcceleration = start.retractAcceleration();
+        feature = start.feature();
+    }
+
+    /**
+     * Resolves the chunk's commands; a resolver handles one chunk.
+     */
+    MoveSequence resolve(GCodeMoveParser.Parsed chunk) {
+        moves = new MoveSequence();
+        chunkFeatures = chunk.features();
+        GCodeMoveParser.replay(chunk.commands(), this);
+        return moves;
+    }
+
+    /**
+     * Filament extruded per feature, indexed like the feature index.
+     */
+    double[] filamentByFeature() {
+        return filamentByFeature;
+    }
+
+    @Override
+    public void command(int op, int mask, float[] v) {
+        switch (op) {
+            case OP_MOVE -> move(mask, v);
+            case OP_ARC_CW, OP_ARC_CCW -> arc(op == OP_ARC_CW, mask, v);
+            case OP_DWELL -> {
+                double seconds = ((mask & S) != 0 ? v[VS] : 0) + ((mask & P) != 0 ? v[VP] / 1000.0 : 0);
+                if (seconds > 0) {
+                    moves.addDwell((float) seconds, feature);
+                }
+            }
+            case OP_HOME -> {
+                boolean all = (mask & (X | Y | Z)) == 0;
+                if (all || (mask & X) != 0) x = 0;
+                if (all || (mask & Y) != 0) y = 0;
+                if (all || (mask & Z) != 0) z = 0;
+            }
+            case OP_ABSOLUTE -> {
+                absolute = true;
+                absoluteE = true;
+            }
+            case OP_RELATIVE -> {
+                absolute = false;
+                absoluteE = false;
+            }
+            case OP_ABSOLUTE_E -> absoluteE = true;
+            case OP_RELATIVE_E -> absoluteE = false;
+            case OP_SET_POSITION -> {
+                boolean all = (mask & (X | Y | Z | E)) == 0;
+                if (all || (mask & X) != 0) x = all ? 0 : v[VX];
+                if (all || (mask & Y) != 0) y = all ? 0 : v[VY];
+                if (all || (mask & Z) != 0) z = all ? 0 : v[VZ];
+                if (all || (mask & E) != 0) e = all ? 0 : v[VE];
+            }
+            case OP_ACCELERATION -> {
+                // Marlin 2: S sets printing and travel, P printing, T travel, R retraction
+                if ((mask & S) != 0 && v[VS] > 0) {
+                    printAcceleration = v[VS];
+                    travelAcceleration = v[VS];
+                }
+                if ((mask & P) != 0 && v[VP] > 0) printAcceleration = v[VP];
+                if ((mask & T) != 0 && v[VT] > 0) travelAcceleration = v[VT];
+                if ((mask & R) != 0 && v[VR] > 0) retractAcceleration = v[VR];
+            }
+            case OP_FEATURE -> feature = featureIndex.get(chunkFeatures.get((int) v[VX]));
+            default -> {
+            }
+        }
+    }
+
+    private void move(int mask, float[] v) {
+        if ((mask & F) != 0 && v[VF] > 0) {
+            feedrate = v[VF];
+        }
+        double tx = target(x, mask, X, v[VX], absolute);
+        double ty = target(y, mask, Y, v[VY], absolute);
+        double tz = target(z, mask, Z, v[VZ], absolute);
+        double te = target(e, mask, E, v[VE], absoluteE);
+        segment(tx - x, ty - y, tz - z, te - e);
+        x = tx;
+        y = ty;
+        z = tz;
+        e = te;
+    }
+
+    private void arc(boolean clockwise, int mask, float[] v) {
+        if ((mask & (I | J | R)) == 0) {
+            move(mask, v);
+            return;
+        }
+        if ((mask & F) != 0 && v[VF] > 0) {
+            feedrate = v[VF];
+        }
+        double tx = target(x, mask, X, v[VX], absolute);
+        double ty = target(y, mask, Y, v[VY], absolute);
+        double tz = target(z, mask, Z, v[VZ], absolute);
+        double te = target(e, mask, E, v[VE], absoluteE);
+
+        double cx;
+        double cy;
+        if ((mask & (I | J)) != 0) {
+            cx = x + ((mask & I) != 0 ? v[VI] : 0);
+            cy = y + ((mask & J) != 0 ? v[VJ] : 0);
+        } else {
+            // Radius form: the center lies on the chord's bisector, on the side given by direction and sign
+            double chordX = tx - x;
+            double chordY = ty - y;
+            double chord = Math.hypot(chordX, chordY);
+            if (chord == 0) {
+                // No circle is defined; go straight to the target, so the arc still ends there
+                move(mask, v);
+                return;
+            }
+            double radius = v[VR];
+            double offset = Math.sqrt(Math.max(0, radius * radius - chord * chord / 4));
+            double side = clockwise != radius < 0 ? -1 : 1;
+            cx = x + chordX / 2 - side * offset * chordY / chord;
+            cy = y + chordY / 2 + side * offset * chordX / chord;
+        }
+
+        double radius = Math.hypot(x - cx, y - cy);
+        double startAngle = Math.atan2(y - cy, x - cx);
+        double sweep = Math.atan2(ty - cy, tx - cx) - startAngle;
+        if (clockwise && sweep >= 0) {
+            sweep -= 2 * Math.PI;
+        } else if (!clockwise && sweep <= 0) {
+            sweep += 2 * Math.PI;
+        }
+        int pieces = Math.max(1, (int) Math.ceil(Math.abs(sweep) * radius / ARC_SEGMENT_MM));
+
+        double sz = z, se = e;
+        for (int k = 1; k <= pieces; k++) {
+            double t = (double) k / pieces;
+            double angle = startAngle + sweep * t;
+            double px = k == pieces ? tx : cx + radius * Math.cos(angle);
+            double py = k == pieces ? ty : cy + radius * Math.sin(angle);
+            double pz = k == pieces ? tz : sz + (tz - sz) * t;
+            double pe = k == pieces ? te : se + (te - se) * t;
+            segment(px - x, py - y, pz - z, pe - e);
+            x = px;
+            y = py;
+            z = pz;
+            e = pe;
+        }
+    }
+
+    private void segment(double dx, double dy, double dz, double de) {
+        boolean moves3d = dx != 0 || dy != 0 || dz != 0;
+        if (!moves3d && de == 0) {
+            return;
+        }
+        byte kind;
+        float acceleration;
+        if (!moves3d) {
+            kind = MoveSequence.EXTRUDER;
+            acceleration = retractAcceleration;
+        } else if (de > 0) {
+            kind = MoveSequence.PRINT;
+            acceleration = printAcceleration;
+            filamentByFeature[feature] += de;
+        } else {
+            kind = MoveSequence.TRAVEL;
+            acceleration = travelAcceleration;
+        }
+        moves.add(kind, (float) dx, (float) dy, (float) dz, (float) de, (float) (feedrate / 60), acceleration, feature);
+    }
+
+    private static double target(double current, int mask, int bit, float value, boolean absolute) {
+        if ((mask & bit) == 0) {
+            return current;
+        }
+        return absolute ? value : current + value;
+    }
+}
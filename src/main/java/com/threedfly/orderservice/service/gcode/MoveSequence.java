@@ -0,0 +1,98 @@
+package com.threedfly.orderservice.service.gcode;
+
+import java.util.Arrays;
+
+/**
+ * Resolved motion segments of one chunk: relative axis moves with their requested speed,
+ * kind and feature, in columns of primitive arrays.
+ */
+final class MoveSequence {
+
+    static final byte PRINT = 0;
+    static final byte TRAVEL = 1;
+    // Extruder-only move: retract, unretract or prime
+    static final byte EXTRUDER = 2;
+    // Pause; its speed column holds the duration in seconds
+    static final byte DWELL = 3;
+
+    private int size;
+    private float[] dx = new float[1024];
+    private float[] dy = new float[1024];
+    private float[] dz = new float[1024];
+    private float[] de = new float[1024];
+    private float[] speed = new float[1024];
+    private float[] accelerationLimit = new float[1024];
+    private byte[] kind = new byte[1024];
+    private int[] feature = new int[1024];
+
+    /**
+     * @param speed             Requested speed in mm/s
+     * @param accelerationLimit Acceleration requested by the G-code (M204) in mm/s², NaN if none
+     */
+    void add(byte kind, float dx, float dy, float dz, float de, float speed, float accelerationLimit, int feature) {
+        if (size == this.kind.length) {
+            grow();
+        }
+        this.kind[size] = kind;
+        this.dx[size] = dx;
+        this.dy[size] = dy;
+        this.dz[size] = dz;
+        this.de[size] = de;
+        this.speed[size] = speed;
+        this.accelerationLimit[size] = accelerationLimit;
+        this.feature[size] = feature;
+        size++;
+    }
+
+    void addDwell(float seconds, int feature) {
+        add(DWELL, 0f, 0f, 0f, 0f, seconds, Float.NaN, feature);
+    }
+
+    int size() {
+        return size;
+    }
+
+    byte kind(int i) {
+        return kind[i];
+    }
+
+    float dx(int i) {
+        return dx[i];
+    }
+
+    float dy(int i) {
+        return dy[i];
+    }
+
+    float dz(int i) {
+        return dz[i];
+    }
+
+    float de(int i) {
+        return de[i];
+    }
+
+    float speed(int i) {
+        return speed[i];
+    }
+
+    float accelerationLimit(int i) {
+        return accelerationLimit[i];
+    }
+
+    int feature(int i) {
+        return feature[i];
+    }
+
+    private void grow() {
+        int capacity = kind.length * 2;
+        dx = Arrays.copyOf(dx, capacity);
+        dy = Arrays.copyOf(dy, capacity);
+        dz = Arrays.copyOf(dz, capacity);
+        de = Arrays.copyOf(de, capacity);
+        speed = Arrays.copyOf(speed, capacity);
+        accelerationLimit = Arrays.copyOf(accelerationLimit, capacity);
+        kind = Arrays.copyOf(kind, capacity);
+        feature = Arrays.copyOf(feature, capacity);
+    }
+}
@@ -0,0 +1,20 @@
+package com.threedfly.orderservice.service.gcode;
+
+import java.util.List;
+
+/**
+ * Print time of a G-code file re-estimated for one printer's motion limits.
+ *
+ * @param printer          Printer profile name
+ * @param printTimeSeconds Simulated print time
+ * @param features         Time and filament per feature type, in order of appearance
+ */
+public record PrinterTimeEstimate(String printer, long printTimeSeconds, List<FeatureBreakdown> features) {
+
+    /**
+     * Print time in whole minutes, rounding 30 seconds and more up.
+     */
+    public int printTimeMinutes() {
+        return (int) ((printTimeSeconds + 30) / 60);
+    }
+}
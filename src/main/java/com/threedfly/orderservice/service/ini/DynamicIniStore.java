@@ -0,0 +1,213 @@
+package com.threedfly.orderservice.service.ini;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Content-addressed store for generated slicer INI files.
+ *
+ * Each file is named after the SHA-256 of its content, so requests with the same base
+ * profile and overrides share one file. Files are reference counted while a slicer run
+ * uses them; unreferenced files stay on disk for reuse until the store exceeds its
+ * entry or size budget, then the least recently used ones are deleted.
+ */
+@Component
+@Slf4j
+public class DynamicIniStore {
+
+    public static final String FILE_PREFIX = "dynamic_config_";
+    private static final String FILE_SUFFIX = ".ini";
+    private static final int FINGERPRINT_LENGTH = 32;
+
+    private final Path directory;
+    private final int maxEntries;
+    private final long maxBytes;
+
+    // Access-ordered map: iteration starts at the least recently used file
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final Counter reused;
+    private final Counter written;
+
+    @Autowired
+    public DynamicIniStore(
+            @Value("${printing.temp.directory}") String tempDirectory,
+            @Value("${printing.slicer.dynamic-ini.max-entries:256}") int maxEntries,
+            @Value("${printing.slicer.dynamic-ini.max-size-kb:16384}") long maxSizeKb,
+            MeterRegistry meterRegistry) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Dynamic INI max entries must be at least 1");
+        }
+        this.directory = Paths.get(tempDirectory);
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxSizeKb * 1024;
+
+        this.reused = Counter.builder("printing.slicer.dynamic-ini.requests")
+                .tag("result", "reused")
+                .description("Dynamic INI requests served by an existing file")
+                .register(meterRegistry);
+        this.written = Counter.builder("printing.slicer.dynamic-ini.requests")
+                .tag("result", "written")
+                .description("Dynamic INI requests that wrote a new file")
+                .register(meterRegistry);
+        Gauge.builder("printing.slicer.dynamic-ini.files", this, DynamicIniStore::size)
+                .description("Generated INI files kept in the temp directory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the file holding the given INI content, writing it if needed, and takes
+     * a reference on it. Every call must be paired with {@link #release(Path)}.
+     */
+    public Path acquire(String content) throws IOException {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        String fingerprint = fingerprint(bytes);
+
+        // INI files are a few KB, so writing under the lock is cheaper than coordinating
+        // concurrent writers of the same fingerprint
+        synchronized (entries) {
+            Entry entry = entries.get(fingerprint);
+            if (entry != null && Files.exists(entry.path)) {
+                entry.references++;
+                reused.increment();
+                log.debug("♻️ Reusing dynamic INI {} ({} references)", entry.path, entry.references);
+                return entry.path;
+            }
+
+            Files.createDirectories(directory);
+            Path path = directory.resolve(FILE_PREFIX + fingerprint + FILE_SUFFIX);
+            Files.write(path, bytes);
+            written.increment();
+
+            if (entry == null) {
+                entry = new Entry(path, bytes.length);
+                entries.put(fingerprint, entry);
+                totalBytes += bytes.length;
+            }
+            entry.references++;
+            log.debug("💾 Wrote dynamic INI file: {}", path);
+
+            evictIfNeeded();
+            return path;
+        }
+    }
+
+    /**
+     * Drops a reference taken by {@link #acquire(String)}. The file stays available
+     * for reuse until it is evicted.
+     */
+    public void release(Path path) {
+        if (path == null) {
+            return;
+        }
+        String fingerprint = fingerprintOf(path);
+
+        synchronized (entries) {
+            Entry entry = fingerprint == null ? null : entries.get(fingerprint);
+            if (entry == null || !entry.path.equals(path)) {
+                log.warn("⚠️ Released unknown dynamic INI file: {}", path);
+                return;
+            }
+            if (entry.references > 0) {
+                entry.references--;
+            }
+            evictIfNeeded();
+        }
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    int references(Path path) {
+        synchronized (entries) {
+            Entry entry = entries.get(fingerprintOf(path));
+            return entry == null ? 0 : entry.references;
+        }
+    }
+
+    @PreDestroy
+    public void clear() {
+        synchronized (entries) {
+            Iterator<Entry> iterator = entries.values().iterator();
+            while (iterator.hasNext()) {
+                Entry entry = iterator.next();
+                if (entry.references == 0) {
+                    delete(entry);
+                    iterator.remove();
+                }
+            }
+        }
+    }
+
+    private void evictIfNeeded() {
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || totalBytes > maxBytes) && iterator.hasNext()) {
+            Entry entry = iterator.next().getValue();
+            // Files in use by a running slicer are never deleted
+            if (entry.references == 0) {
+                iterator.remove();
+                delete(entry);
+                log.debug("🧹 Evicted dynamic INI: {}", entry.path);
+            }
+        }
+    }
+
+    private void delete(Entry entry) {
+        totalBytes -= entry.sizeBytes;
+        try {
+            Files.deleteIfExists(entry.path);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete dynamic INI file: {}", entry.path, e);
+        }
+    }
+
+    private static String fingerprintOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return null;
+        }
+        return name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length());
+    }
+
+    private static String fingerprint(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return HexFormat.of().formatHex(digest).substring(0, FINGERPRINT_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Path path;
+        private final long sizeBytes;
+        private int references;
+
+        private Entry(Path path, long sizeBytes) {
+            this.path = path;
+            this.sizeBytes = sizeBytes;
+        }
+    }
+}
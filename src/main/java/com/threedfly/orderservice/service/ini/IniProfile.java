@@ -0,0 +1,94 @@
+package com.threedfly.orderservice.service.ini;
+
+import lombok.Getter;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable, pre-parsed slicer INI profile.
+ *
+ * Entries keep the file order. Comments and blank lines are kept as entries with
+ * {@code _comment_<n>} / {@code _empty_<n>} keys so the profile can be written back
+ * with its original layout.
+ */
+@Getter
+public final class IniProfile {
+
+    public static final String EMPTY_PREFIX = "_empty_";
+    public static final String COMMENT_PREFIX = "_comment_";
+
+    private final String name;
+    private final Map<String, String> entries;
+    private final String fingerprint;
+
+    private IniProfile(String name, Map<String, String> entries, String fingerprint) {
+        this.name = name;
+        this.entries = entries;
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Parses the lines of an INI file.
+     *
+     * @param name  File name of the profile (e.g. fdm_pla.ini)
+     * @param lines Raw file lines
+     */
+    public static IniProfile parse(String name, List<String> lines) {
+        Map<String, String> config = new LinkedHashMap<>();
+        MessageDigest digest = newDigest();
+
+        for (String line : lines) {
+            digest.update(line.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+
+            // Store comments and empty lines with generated keys to preserve them
+            if (line.trim().isEmpty()) {
+                config.put(EMPTY_PREFIX + config.size(), "");
+            } else if (line.trim().startsWith("#")) {
+                config.put(COMMENT_PREFIX + config.size(), line);
+            } else if (line.contains("=")) {
+                // Parse key-value pairs
+                int equalsIndex = line.indexOf("=");
+                String key = line.substring(0, equalsIndex).trim();
+                String value = line.substring(equalsIndex + 1).trim();
+                config.put(key, value);
+            }
+        }
+
+        return new IniProfile(name, Collections.unmodifiableMap(config), HexFormat.of().formatHex(digest.digest()));
+    }
+
+    /**
+     * Returns the value of a setting, or null if the profile does not define it.
+     */
+    public String get(String key) {
+        return entries.get(key);
+    }
+
+    /**
+     * Name plus a short content fingerprint; changes whenever the file content changes.
+     */
+    public String getVersionedName() {
+        return name + "@" + fingerprint.substring(0, 12);
+    }
+
+    @Override
+    public String toString() {
+        return getVersionedName();
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
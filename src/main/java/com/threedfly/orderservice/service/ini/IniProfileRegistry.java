@@ -0,0 +1,201 @@
+package com.threedfly.orderservice.service.ini;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * In-memory registry of all slicer INI profiles in printing.slicer.config.directory.
+ *
+ * Profiles are parsed once at startup and looked up by file name, which encodes the
+ * technology/material/layer-height/support key (see IniConfigurationMapper). A watcher
+ * thread re-parses profiles that are added, changed or removed on disk, so request
+ * handling never touches the config directory.
+ */
+@Component
+@Slf4j
+public class IniProfileRegistry {
+
+    private static final String INI_SUFFIX = ".ini";
+
+    private final Path configDirectory;
+    private final boolean watchEnabled;
+
+    // Replaced as a whole on every change; readers never see a partially updated map
+    private volatile Map<String, IniProfile> profiles = Map.of();
+
+    private WatchService watchService;
+    private Thread watcherThread;
+
+    @Autowired
+    public IniProfileRegistry(
+            @Value("${printing.slicer.config.directory:slicer-configs}") String configDirectory,
+            @Value("${printing.slicer.config.watch:true}") boolean watchEnabled) {
+        this.configDirectory = Paths.get(configDirectory);
+        this.watchEnabled = watchEnabled;
+    }
+
+    @PostConstruct
+    public void start() {
+        loadAll();
+        if (watchEnabled) {
+            startWatcher();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                log.debug("Could not close INI watch service", e);
+            }
+        }
+        if (watcherThread != null) {
+            watcherThread.interrupt();
+        }
+    }
+
+    public Optional<IniProfile> find(String filename) {
+        return Optional.ofNullable(profiles.get(filename));
+    }
+
+    public boolean contains(String filename) {
+        return profiles.containsKey(filename);
+    }
+
+    /**
+     * @throws NoSuchFileException if no profile with that name is loaded
+     */
+    public IniProfile get(String filename) throws NoSuchFileException {
+        IniProfile profile = profiles.get(filename);
+        if (profile == null) {
+            throw new NoSuchFileException(configDirectory.resolve(filename).toString(), null,
+                    "INI profile not found");
+        }
+        return profile;
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    /**
+     * Parses every profile in the config directory, replacing the current set.
+     */
+    public synchronized void loadAll() {
+        Map<String, IniProfile> loaded = new HashMap<>();
+        if (Files.isDirectory(configDirectory)) {
+            try (DirectoryStream<Path> files = Files.newDirectoryStream(configDirectory, "*" + INI_SUFFIX)) {
+                for (Path file : files) {
+                    parse(file).ifPresent(profile -> loaded.put(profile.getName(), profile));
+                }
+            } catch (IOException e) {
+                log.error("❌ Could not list INI profiles in {}", configDirectory, e);
+            }
+        } else {
+            log.warn("⚠️ Slicer config directory not found: {}", configDirectory.toAbsolutePath());
+        }
+
+        profiles = Map.copyOf(loaded);
+        log.info("📚 Loaded {} INI profiles from {}", loaded.size(), configDirectory);
+    }
+
+    /**
+     * Re-parses a single profile after it changed on disk, or drops it if it was deleted.
+     */
+    synchronized void reload(String filename) {
+        Path file = configDirectory.resolve(filename);
+        Map<String, IniProfile> updated = new HashMap<>(profiles);
+        if (Files.exists(file)) {
+            Optional<IniProfile> profile = parse(file);
+            if (profile.isEmpty()) {
+                return; // keep the previous version
+            }
+            updated.put(filename, profile.get());
+            log.info("🔄 Reloaded INI profile {}", profile.get());
+        } else if (updated.remove(filename) != null) {
+            log.info("🗑️ Removed INI profile {}", filename);
+        }
+        profiles = Map.copyOf(updated);
+    }
+
+    private Optional<IniProfile> parse(Path file) {
+        try {
+            String filename = file.getFileName().toString();
+            return Optional.of(IniProfile.parse(filename, Files.readAllLines(file, StandardCharsets.UTF_8)));
+        } catch (IOException e) {
+            log.warn("⚠️ Could not parse INI profile {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void startWatcher() {
+        if (!Files.isDirectory(configDirectory)) {
+            return;
+        }
+        try {
+            watchService = configDirectory.getFileSystem().newWatchService();
+            configDirectory.register(watchService,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException e) {
+            log.warn("⚠️ INI hot reload disabled, could not watch {}: {}", configDirectory, e.getMessage());
+            return;
+        }
+
+        watcherThread = new Thread(this::watchLoop, "ini-profile-watcher");
+        watcherThread.setDaemon(true);
+        watcherThread.start();
+        log.info("👀 Watching {} for INI profile changes", configDirectory);
+    }
+
+    private void watchLoop() {
+        while (!Thread.currentThread().isInterrupted()) {
+            WatchKey key;
+            try {
+                key = watchService.take();
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            }
+
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    loadAll();
+                    continue;
+                }
+                String filename = event.context().toString();
+                if (filename.endsWith(INI_SUFFIX)) {
+                    reload(filename);
+                }
+            }
+
+            if (!key.reset()) {
+                log.warn("⚠️ Slicer config directory {} is no longer accessible, INI hot reload stopped",
+                        configDirectory);
+                return;
+            }
+        }
+    }
+}
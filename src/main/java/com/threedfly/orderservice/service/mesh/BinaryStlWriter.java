@@ -0,0 +1,112 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Writes visited triangles to a binary STL file, optionally rotating and translating them
+ * on the way. Records are staged in a fixed-size buffer; the triangle count in the header
+ * is filled in on close, so the mesh is written in a single pass.
+ */
+final class BinaryStlWriter implements TriangleVisitor, AutoCloseable {
+
+    private static final int RECORDS_PER_FLUSH = 4096;
+
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocate(StlMeshReader.RECORD_SIZE * RECORDS_PER_FLUSH)
+            .order(ByteOrder.LITTLE_ENDIAN);
+    private final OrientationCandidate rotation;
+    private final float tx, ty, tz;
+    private long triangleCount;
+
+    BinaryStlWriter(Path target, OrientationCandidate rotation, float[] translation) throws IOException {
+        this(target, rotation, translation, "Oriented by 3DFly order-service");
+    }
+
+    BinaryStlWriter(Path target, OrientationCandidate rotation, float[] translation, String label) throws IOException {
+        this.channel = FileChannel.open(target, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        this.rotation = rotation;
+        this.tx = translation[0];
+        this.ty = translation[1];
+        this.tz = translation[2];
+
+        ByteBuffer header = ByteBuffer.allocate(StlMeshReader.HEADER_SIZE + 4);
+        header.put(label.getBytes(StandardCharsets.US_ASCII)).position(header.capacity()).flip();
+        writeFully(header);
+    }
+
+    @Override
+    public void triangle(float ax, float ay, float az,
+                         float bx, float by, float bz,
+                         float cx, float cy, float cz) {
+        if (!Float.isFinite(ax + ay + az + bx + by + bz + cx + cy + cz)) {
+            return;
+        }
+
+        float rax = rotation.x(ax, ay, az) + tx, ray = rotation.y(ax, ay, az) + ty, raz = rotation.z(ax, ay, az) + tz;
+        float rbx = rotation.x(bx, by, bz) + tx, rby = rotation.y(bx, by, bz) + ty, rbz = rotation.z(bx, by, bz) + tz;
+        float rcx = rotation.x(cx, cy, cz) + tx, rcy = rotation.y(cx, cy, cz) + ty, rcz = rotation.z(cx, cy, cz) + tz;
+
+        double e1x = rbx - rax, e1y = rby - ray, e1z = rbz - raz;
+        double e2x = rcx - rax, e2y = rcy - ray, e2z = rcz - raz;
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        if (length > 0) {
+            nx /= length;
+            ny /= length;
+            nz /= length;
+        }
+
+        if (buffer.remaining() < StlMeshReader.RECORD_SIZE) {
+            flush();
+        }
+        buffer.putFloat((float) nx).putFloat((float) ny).putFloat((float) nz)
+                .putFloat(rax).putFloat(ray).putFloat(raz)
+                .putFloat(rbx).putFloat(rby).putFloat(rbz)
+                .putFloat(rcx).putFloat(rcy).putFloat(rcz)
+                .putShort((short) 0);
+        triangleCount++;
+    }
+
+    long getTriangleCount() {
+        return triangleCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+            ByteBuffer count = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            count.putInt((int) triangleCount).flip();
+            channel.write(count, StlMeshReader.HEADER_SIZE);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void flush() {
+        buffer.flip();
+        try {
+            writeFully(buffer);
+        } catch (IOException e) {
+            // TriangleVisitor cannot throw checked exceptions; unwrapped again by the caller
+            throw new UncheckedIOException(e);
+        }
+        buffer.clear();
+    }
+
+    private void writeFully(ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            channel.write(source);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Fails once more than a given number of bytes has been read, so that a small compressed
+ * archive part cannot inflate without bound.
+ */
+final class LimitedInputStream extends FilterInputStream {
+
+    private final long maxBytes;
+    private final String name;
+    private long read;
+
+    LimitedInputStream(InputStream in, long maxBytes, String name) {
+        super(in);
+        this.maxBytes = maxBytes;
+        this.name = name;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int b = super.read();
+        if (b >= 0) {
+            count(1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            count(n);
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        count(skipped);
+        return skipped;
+    }
+
+    private void count(long bytes) throws IOException {
+        read += bytes;
+        if (read > maxBytes) {
+            throw new IOException(name + " inflates to more than " + maxBytes / (1024 * 1024) + " MB");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Computes volume, surface area and bounds of STL, OBJ and 3MF models in pure Java.
+ *
+ * OBJ and 3MF meshes are capped at {@code printing.mesh.max-vertices} and
+ * {@code printing.mesh.max-triangles}, and a 3MF model part may inflate to at most
+ * {@value #MAX_PART_INFLATION} times {@code printing.upload.max-size-mb}.
+ */
+@Component
+@Slf4j
+public class MeshAnalyzer {
+
+    static final int MAX_PART_INFLATION = 10;
+
+    private final Map<ModelFileType, MeshReader> readers = new EnumMap<>(ModelFileType.class);
+    private final StlMeshReader stlReader = new StlMeshReader();
+    private final ThreeMfMeshReader threeMfReader;
+
+    public MeshAnalyzer() {
+        this(200, VertexBuffer.DEFAULT_MAX_VERTICES, VertexBuffer.DEFAULT_MAX_TRIANGLES);
+    }
+
+    @Autowired
+    public MeshAnalyzer(@Value("${printing.upload.max-size-mb:200}") long maxUploadMb,
+                        @Value("${printing.mesh.max-vertices:10000000}") int maxVertices,
+                        @Value("${printing.mesh.max-triangles:20000000}") long maxTriangles) {
+        this.threeMfReader = new ThreeMfMeshReader(MAX_PART_INFLATION * maxUploadMb * 1024 * 1024,
+                maxVertices, maxTriangles);
+        readers.put(ModelFileType.STL, stlReader);
+        readers.put(ModelFileType.OBJ, new ObjMeshReader(maxVertices, maxTriangles));
+        readers.put(ModelFileType.THREE_MF, threeMfReader);
+    }
+
+    /**
+     * Streams the model once and returns its geometry statistics.
+     *
+     * @throws IOException if the file cannot be read or is not a valid mesh
+     */
+    public MeshStatistics analyze(Path modelPath, ModelFileType fileType) throws IOException {
+        return analyze(modelPath, fileType, new MeshStatistics());
+    }
+
+    /**
+     * Streams the model once into the given visitor.
+     */
+    public <V extends TriangleVisitor> V analyze(Path modelPath, ModelFileType fileType, V visitor)
+            throws IOException {
+        long startedAt = System.nanoTime();
+        readers.get(fileType).read(modelPath, visitor);
+        log.info("📏 Analyzed {} mesh in {}ms: {}", fileType,
+                (System.nanoTime() - startedAt) / 1_000_000, visitor);
+        return visitor;
+    }
+
+    /**
+     * Streams the meshes of a 3MF archive that is already open, e.g. shared with parameter
+     * extraction, into the given visitor.
+     */
+    public <V extends TriangleVisitor> V analyze(ThreeMfArchive archive, V visitor) throws IOException {
+        long startedAt = System.nanoTime();
+        threeMfReader.read(archive, visitor);
+        log.info("📏 Analyzed {} mesh in {}ms: {}", ModelFileType.THREE_MF,
+                (System.nanoTime() - startedAt) / 1_000_000, visitor);
+        return visitor;
+    }
+
+    /**
+     * Streams the model into one visitor per chunk of triangles and combines them. Binary STL
+     * chunks are visited in parallel on the given pool; other formats are read sequentially.
+     */
+    public <V extends TriangleVisitor> V analyzeParallel(Path modelPath, ModelFileType fileType,
+                                                         Supplier<V> visitorFactory, BinaryOperator<V> combiner,
+                                                         ForkJoinPool pool) throws IOException {
+        if (fileType == ModelFileType.STL) {
+            return stlReader.readParallel(modelPath, visitorFactory, combiner, pool);
+        }
+        V visitor = visitorFactory.get();
+        readers.get(fileType).read(modelPath, visitor);
+        return visitor;
+    }
+}
@@ -0,0 +1,120 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * In-process auto-orientation.
+ *
+ * One pass over the mesh scores the six axis-aligned orientations at once (chunks of binary
+ * STL files are scored in parallel on a dedicated ForkJoinPool). The winner is the lowest
+ * orientation, with ties (within 2%) broken by less overhang and then more bed contact;
+ * orientations without at least 1 mm² of flat bed contact are skipped. If a rotation wins,
+ * a second pass writes the rotated, bed-centered mesh as binary STL.
+ */
+@Component
+@Slf4j
+public class MeshOrientationEngine {
+
+    private static final double MIN_CONTACT_AREA_MM2 = 1.0;
+    private static final double HEIGHT_TOLERANCE = 0.02;
+    private static final double OVERHANG_TOLERANCE = 0.05;
+
+    private final MeshAnalyzer meshAnalyzer;
+    private final ForkJoinPool pool;
+
+    public MeshOrientationEngine(MeshAnalyzer meshAnalyzer,
+                                 @Value("${printing.orientation.parallelism:0}") int parallelism) {
+        this.meshAnalyzer = meshAnalyzer;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Chooses the best orientation and, if it differs from the original, writes the rotated mesh.
+     *
+     * @param input    Model file
+     * @param fileType Model format
+     * @param output   Where to write the rotated binary STL
+     * @throws IOException if the model cannot be read or the output cannot be written
+     */
+    public OrientationResult orient(Path input, ModelFileType fileType, Path output) throws IOException {
+        long startedAt = System.nanoTime();
+        OrientationAccumulator scores = meshAnalyzer.analyzeParallel(
+                input, fileType, OrientationAccumulator::new, OrientationAccumulator::merge, pool);
+        if (scores.getTriangleCount() == 0) {
+            throw new IOException("Model contains no triangles");
+        }
+        log.debug("🔄 Orientation scores: {}", scores);
+
+        OrientationCandidate best = selectBest(scores);
+        double originalHeight = scores.height(OrientationCandidate.ORIGINAL);
+
+        Path written = null;
+        if (best != OrientationCandidate.ORIGINAL) {
+            try (BinaryStlWriter writer = new BinaryStlWriter(output, best, scores.placement(best))) {
+                meshAnalyzer.analyze(input, fileType, writer);
+            } catch (UncheckedIOException e) {
+                Files.deleteIfExists(output);
+                throw e.getCause();
+            } catch (IOException e) {
+                Files.deleteIfExists(output);
+                throw e;
+            }
+            written = output;
+        }
+
+        log.info("🔄 Orientation {} chosen in {}ms (height {} -> {}mm, contact {}mm², overhang {}mm²)",
+                best, (System.nanoTime() - startedAt) / 1_000_000,
+                Math.round(originalHeight * 100) / 100.0, Math.round(scores.height(best) * 100) / 100.0,
+                Math.round(scores.contactArea(best)), Math.round(scores.overhangArea(best)));
+
+        return new OrientationResult(best, originalHeight, scores.height(best),
+                scores.contactArea(best), scores.overhangArea(best), written);
+    }
+
+    static OrientationCandidate selectBest(OrientationAccumulator scores) {
+        OrientationCandidate best = null;
+        for (OrientationCandidate candidate : OrientationCandidate.values()) {
+            if (scores.contactArea(candidate) < MIN_CONTACT_AREA_MM2) {
+                continue;
+            }
+            if (best == null || isBetter(scores, candidate, best)) {
+                best = candidate;
+            }
+        }
+        return best != null ? best : OrientationCandidate.ORIGINAL;
+    }
+
+    private static boolean isBetter(OrientationAccumulator scores, OrientationCandidate candidate,
+                                    OrientationCandidate best) {
+        double height = scores.height(candidate);
+        double bestHeight = scores.height(best);
+        if (height < bestHeight * (1 - HEIGHT_TOLERANCE)) {
+            return true;
+        }
+        if (height > bestHeight * (1 + HEIGHT_TOLERANCE)) {
+            return false;
+        }
+
+        double overhang = scores.overhangArea(candidate);
+        double bestOverhang = scores.overhangArea(best);
+        if (Math.abs(overhang - bestOverhang) > Math.max(bestOverhang, overhang) * OVERHANG_TOLERANCE) {
+            return overhang < bestOverhang;
+        }
+        return scores.contactArea(candidate) > scores.contactArea(best);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdownNow();
+    }
+}
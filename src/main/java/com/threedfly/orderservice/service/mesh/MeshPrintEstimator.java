@@ -0,0 +1,92 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import com.threedfly.orderservice.dto.SlicingResult;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Estimates filament use and print time from mesh geometry alone.
+ *
+ * The model volume is split into perimeter shells (surface area x shell thickness),
+ * top/bottom skins (mean cross-section x skin layers) and the remaining interior,
+ * of which only the infill percentage is printed. Time is derived from the extruded
+ * volume at a fixed volumetric flow rate. This is accurate to roughly ±20%, which is
+ * good enough for an instant price indication; binding quotes still run the slicer.
+ */
+@Component
+@Slf4j
+public class MeshPrintEstimator {
+
+    private static final double DEFAULT_LAYER_HEIGHT = 0.2;
+    private static final int DEFAULT_SKIN_LAYERS = 4;
+
+    private final double lineWidth;
+    private final double volumetricFlow;
+    private final double supportFactor;
+    private final double overheadMinutes;
+    private final double filamentCrossSection;
+
+    public MeshPrintEstimator(
+            @Value("${printing.estimate.line-width:0.45}") double lineWidth,
+            @Value("${printing.estimate.volumetric-flow:8.0}") double volumetricFlow,
+            @Value("${printing.estimate.support-factor:0.15}") double supportFactor,
+            @Value("${printing.estimate.overhead-minutes:5}") double overheadMinutes,
+            @Value("${printing.estimate.filament-diameter:1.75}") double filamentDiameter) {
+        if (volumetricFlow <= 0) {
+            throw new IllegalArgumentException("Volumetric flow must be positive");
+        }
+        this.lineWidth = lineWidth;
+        this.volumetricFlow = volumetricFlow;
+        this.supportFactor = supportFactor;
+        this.overheadMinutes = overheadMinutes;
+        this.filamentCrossSection = Math.PI * filamentDiameter * filamentDiameter / 4.0;
+    }
+
+    /**
+     * @param mesh      Geometry of the model
+     * @param request   Effective print parameters
+     * @param density   Material density in g/cm³
+     * @return Estimated result in the same shape the slicer produces
+     */
+    public SlicingResult estimate(MeshStatistics mesh, PrintCalculationRequest request, double density) {
+        double volume = mesh.getVolumeMm3();
+        double height = mesh.getSizeZ();
+        double layerHeight = request.getLayerHeight() != null ? request.getLayerHeight() : DEFAULT_LAYER_HEIGHT;
+        int shells = request.getShells() != null ? request.getShells() : 2;
+        int infill = request.getInfill() != null ? request.getInfill() : 15;
+        int skinLayers = valueOrDefault(request.getTopShellLayers()) + valueOrDefault(request.getBottomShellLayers());
+
+        double shellVolume = Math.min(volume, mesh.getSurfaceAreaMm2() * shells * lineWidth);
+        double meanCrossSection = height > 0 ? volume / height : 0;
+        double skinVolume = Math.min(volume - shellVolume, meanCrossSection * layerHeight * skinLayers);
+        double interiorVolume = Math.max(0, volume - shellVolume - skinVolume);
+
+        double extrudedVolume = shellVolume + skinVolume + interiorVolume * infill / 100.0;
+        if (Boolean.TRUE.equals(request.getSupporters())) {
+            extrudedVolume *= 1 + supportFactor;
+        }
+
+        double weightGrams = extrudedVolume / 1000.0 * density;
+        int printMinutes = (int) Math.ceil(extrudedVolume / volumetricFlow / 60.0 + overheadMinutes);
+        int layerCount = Math.max(1, (int) Math.ceil(height / layerHeight));
+
+        log.info("📐 Geometry estimate - extruded {}mm³ (shells {}, skins {}, infill {}), {}g, {}min",
+                Math.round(extrudedVolume), Math.round(shellVolume), Math.round(skinVolume),
+                Math.round(interiorVolume * infill / 100.0), Math.round(weightGrams * 100) / 100.0, printMinutes);
+
+        return SlicingResult.builder()
+                .filamentWeightGrams(Math.round(weightGrams * 100) / 100.0)
+                .estimatedPrintTimeMinutes(printMinutes)
+                .filamentType(request.getMaterial())
+                .filamentLengthMm(extrudedVolume / filamentCrossSection)
+                .layerCount(layerCount)
+                .success(true)
+                .build();
+    }
+
+    private static int valueOrDefault(Integer skinLayers) {
+        return skinLayers != null ? skinLayers : DEFAULT_SKIN_LAYERS;
+    }
+}
@@ -0,0 +1,17 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Streams the triangles of a model file to a {@link TriangleVisitor}.
+ */
+public interface MeshReader {
+
+    /**
+     * Reads the model and calls the visitor once per triangle.
+     *
+     * @throws IOException if the file cannot be read or is not a valid mesh
+     */
+    void read(Path modelPath, TriangleVisitor visitor) throws IOException;
+}
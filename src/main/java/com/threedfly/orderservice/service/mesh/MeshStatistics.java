@@ -0,0 +1,141 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.util.Locale;
+
+/**
+ * Accumulates volume, surface area and bounds of a streamed mesh.
+ *
+ * Volume is the sum of the signed volumes of the tetrahedra spanned by each triangle
+ * and the origin (divergence theorem), so it is exact for closed, consistently wound
+ * meshes regardless of where the model sits in space.
+ */
+public class MeshStatistics implements TriangleVisitor {
+
+    private static final double DEGENERATE_AREA_MM2 = 1e-12;
+
+    private long triangleCount;
+    private long degenerateTriangleCount;
+    private long invalidTriangleCount;
+    private double signedVolume;
+    private double surfaceArea;
+
+    private float minX = Float.POSITIVE_INFINITY;
+    private float minY = Float.POSITIVE_INFINITY;
+    private float minZ = Float.POSITIVE_INFINITY;
+    private float maxX = Float.NEGATIVE_INFINITY;
+    private float maxY = Float.NEGATIVE_INFINITY;
+    private float maxZ = Float.NEGATIVE_INFINITY;
+
+    @Override
+    public void triangle(float ax, float ay, float az,
+                         float bx, float by, float bz,
+                         float cx, float cy, float cz) {
+        // NaN or infinite coordinates would poison every sum, so such triangles are only counted
+        if (!Float.isFinite(ax + ay + az + bx + by + bz + cx + cy + cz)) {
+            invalidTriangleCount++;
+            return;
+        }
+        triangleCount++;
+
+        // a · (b × c) / 6
+        signedVolume += (ax * ((double) by * cz - (double) bz * cy)
+                + ay * ((double) bz * cx - (double) bx * cz)
+                + az * ((double) bx * cy - (double) by * cx)) / 6.0;
+
+        double e1x = bx - ax, e1y = by - ay, e1z = bz - az;
+        double e2x = cx - ax, e2y = cy - ay, e2z = cz - az;
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        double area = Math.sqrt(nx * nx + ny * ny + nz * nz) / 2.0;
+        surfaceArea += area;
+        if (area < DEGENERATE_AREA_MM2) {
+            degenerateTriangleCount++;
+        }
+
+        minX = Math.min(minX, Math.min(ax, Math.min(bx, cx)));
+        minY = Math.min(minY, Math.min(ay, Math.min(by, cy)));
+        minZ = Math.min(minZ, Math.min(az, Math.min(bz, cz)));
+        maxX = Math.max(maxX, Math.max(ax, Math.max(bx, cx)));
+        maxY = Math.max(maxY, Math.max(ay, Math.max(by, cy)));
+        maxZ = Math.max(maxZ, Math.max(az, Math.max(bz, cz)));
+    }
+
+    public boolean isEmpty() {
+        return triangleCount == 0;
+    }
+
+    public long getTriangleCount() {
+        return triangleCount;
+    }
+
+    /**
+     * Triangles with (near) zero area; harmless for volume but a sign of a sloppy export.
+     */
+    public long getDegenerateTriangleCount() {
+        return degenerateTriangleCount;
+    }
+
+    /**
+     * Triangles skipped because a coordinate was NaN or infinite.
+     */
+    public long getInvalidTriangleCount() {
+        return invalidTriangleCount;
+    }
+
+    /**
+     * Enclosed volume in mm³. Inverted winding only flips the sign, so the absolute value is returned.
+     */
+    public double getVolumeMm3() {
+        return Math.abs(signedVolume);
+    }
+
+    public double getSurfaceAreaMm2() {
+        return surfaceArea;
+    }
+
+    public double getSizeX() {
+        return isEmpty() ? 0 : (double) maxX - minX;
+    }
+
+    public double getSizeY() {
+        return isEmpty() ? 0 : (double) maxY - minY;
+    }
+
+    public double getSizeZ() {
+        return isEmpty() ? 0 : (double) maxZ - minZ;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMinZ() {
+        return minZ;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    public float getMaxZ() {
+        return maxZ;
+    }
+
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT,
+                "MeshStatistics[triangles=%d, degenerate=%d, invalid=%d, volume=%.2fmm³, area=%.2fmm², "
+                        + "size=%.2fx%.2fx%.2fmm]",
+                triangleCount, degenerateTriangleCount, invalidTriangleCount, getVolumeMm3(), surfaceArea,
+                getSizeX(), getSizeY(), getSizeZ());
+    }
+}
@@ -0,0 +1,81 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Reads Wavefront OBJ geometry. Only vertices ({@code v}) and faces ({@code f}) are
+ * used; polygons are fan-triangulated and negative (relative) indices are supported.
+ */
+public class ObjMeshReader implements MeshReader {
+
+    private final int maxVertices;
+    private final long maxTriangles;
+
+    public ObjMeshReader() {
+        this(VertexBuffer.DEFAULT_MAX_VERTICES, VertexBuffer.DEFAULT_MAX_TRIANGLES);
+    }
+
+    public ObjMeshReader(int maxVertices, long maxTriangles) {
+        this.maxVertices = maxVertices;
+        this.maxTriangles = maxTriangles;
+    }
+
+    @Override
+    public void read(Path modelPath, TriangleVisitor visitor) throws IOException {
+        VertexBuffer vertices = new VertexBuffer(maxVertices, maxTriangles);
+        int[] face = new int[16];
+        long lineNumber = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(modelPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (trimmed.length() < 2 || trimmed.charAt(1) != ' ' && trimmed.charAt(1) != '\t') {
+                    continue;
+                }
+
+                try {
+                    if (trimmed.charAt(0) == 'v') {
+                        String[] parts = trimmed.split("\\s+");
+                        if (parts.length < 4) {
+                            throw new IOException("Malformed vertex at line " + lineNumber);
+                        }
+                        vertices.add(Float.parseFloat(parts[1]), Float.parseFloat(parts[2]),
+                                Float.parseFloat(parts[3]));
+                    } else if (trimmed.charAt(0) == 'f') {
+                        String[] parts = trimmed.split("\\s+");
+                        int corners = parts.length - 1;
+                        if (corners < 3) {
+                            throw new IOException("Face with fewer than 3 vertices at line " + lineNumber);
+                        }
+                        if (corners > face.length) {
+                            face = new int[corners];
+                        }
+                        for (int i = 0; i < corners; i++) {
+                            face[i] = resolveIndex(parts[i + 1], vertices.size());
+                        }
+                        for (int i = 1; i < corners - 1; i++) {
+                            vertices.emit(face[0], face[i], face[i + 1], visitor);
+                        }
+                    }
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed OBJ data at line " + lineNumber, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts an OBJ face corner ("7", "7/1", "7//3" or "-1") to a zero-based vertex index.
+     */
+    private static int resolveIndex(String corner, int vertexCount) {
+        int slash = corner.indexOf('/');
+        int index = Integer.parseInt(slash < 0 ? corner : corner.substring(0, slash));
+        return index < 0 ? vertexCount + index : index - 1;
+    }
+}
@@ -0,0 +1,151 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Scores every {@link OrientationCandidate} in a single pass over the mesh.
+ *
+ * Per candidate it tracks the rotated bounds, the area of downward-facing triangles lying
+ * on the lowest level (bed contact) and the total area of downward-facing triangles steeper
+ * than the overhang angle. Accumulators for separate chunks of a mesh can be merged.
+ */
+final class OrientationAccumulator implements TriangleVisitor {
+
+    private static final OrientationCandidate[] CANDIDATES = OrientationCandidate.values();
+
+    // Faces within this distance of the lowest point count as touching the bed
+    private static final float CONTACT_TOLERANCE_MM = 0.05f;
+    // Normal z below this is a flat, bed-facing triangle (about 8° from horizontal)
+    private static final double CONTACT_NORMAL_Z = -0.99;
+    // Normal z below this needs support (faces more than 45° past vertical)
+    private static final double OVERHANG_NORMAL_Z = -Math.sqrt(0.5);
+
+    private final int n = CANDIDATES.length;
+    private final float[] minX = filled(Float.POSITIVE_INFINITY);
+    private final float[] minY = filled(Float.POSITIVE_INFINITY);
+    private final float[] minZ = filled(Float.POSITIVE_INFINITY);
+    private final float[] maxX = filled(Float.NEGATIVE_INFINITY);
+    private final float[] maxY = filled(Float.NEGATIVE_INFINITY);
+    private final float[] maxZ = filled(Float.NEGATIVE_INFINITY);
+    private final double[] contactArea = new double[n];
+    private final double[] downwardArea = new double[n];
+    private long triangleCount;
+
+    @Override
+    public void triangle(float ax, float ay, float az,
+                         float bx, float by, float bz,
+                         float cx, float cy, float cz) {
+        if (!Float.isFinite(ax + ay + az + bx + by + bz + cx + cy + cz)) {
+            return;
+        }
+        triangleCount++;
+
+        double e1x = bx - ax, e1y = by - ay, e1z = bz - az;
+        double e2x = cx - ax, e2y = cy - ay, e2z = cz - az;
+        double nx = e1y * e2z - e1z * e2y;
+        double ny = e1z * e2x - e1x * e2z;
+        double nz = e1x * e2y - e1y * e2x;
+        double length = Math.sqrt(nx * nx + ny * ny + nz * nz);
+        double area = length / 2.0;
+
+        for (int i = 0; i < n; i++) {
+            OrientationCandidate candidate = CANDIDATES[i];
+            float rax = candidate.x(ax, ay, az), ray = candidate.y(ax, ay, az), raz = candidate.z(ax, ay, az);
+            float rbx = candidate.x(bx, by, bz), rby = candidate.y(bx, by, bz), rbz = candidate.z(bx, by, bz);
+            float rcx = candidate.x(cx, cy, cz), rcy = candidate.y(cx, cy, cz), rcz = candidate.z(cx, cy, cz);
+
+            minX[i] = Math.min(minX[i], Math.min(rax, Math.min(rbx, rcx)));
+            minY[i] = Math.min(minY[i], Math.min(ray, Math.min(rby, rcy)));
+            maxX[i] = Math.max(maxX[i], Math.max(rax, Math.max(rbx, rcx)));
+            maxY[i] = Math.max(maxY[i], Math.max(ray, Math.max(rby, rcy)));
+            maxZ[i] = Math.max(maxZ[i], Math.max(raz, Math.max(rbz, rcz)));
+
+            float faceMinZ = Math.min(raz, Math.min(rbz, rcz));
+            float faceMaxZ = Math.max(raz, Math.max(rbz, rcz));
+            if (faceMinZ < minZ[i] - CONTACT_TOLERANCE_MM) {
+                // New lowest level: whatever touched the old one is no longer on the bed
+                contactArea[i] = 0;
+            }
+            minZ[i] = Math.min(minZ[i], faceMinZ);
+
+            if (length == 0) {
+                continue;
+            }
+            double normalZ = candidate.z((float) nx, (float) ny, (float) nz) / length;
+            if (normalZ < OVERHANG_NORMAL_Z) {
+                downwardArea[i] += area;
+            }
+            if (normalZ < CONTACT_NORMAL_Z && faceMaxZ <= minZ[i] + CONTACT_TOLERANCE_MM) {
+                contactArea[i] += area;
+            }
+        }
+    }
+
+    /**
+     * Folds another chunk's scores into this one.
+     */
+    OrientationAccumulator merge(OrientationAccumulator other) {
+        for (int i = 0; i < n; i++) {
+            if (other.minZ[i] < minZ[i] - CONTACT_TOLERANCE_MM) {
+                contactArea[i] = other.contactArea[i];
+            } else if (other.minZ[i] <= minZ[i] + CONTACT_TOLERANCE_MM) {
+                contactArea[i] += other.contactArea[i];
+            }
+            minX[i] = Math.min(minX[i], other.minX[i]);
+            minY[i] = Math.min(minY[i], other.minY[i]);
+            minZ[i] = Math.min(minZ[i], other.minZ[i]);
+            maxX[i] = Math.max(maxX[i], other.maxX[i]);
+            maxY[i] = Math.max(maxY[i], other.maxY[i]);
+            maxZ[i] = Math.max(maxZ[i], other.maxZ[i]);
+            downwardArea[i] += other.downwardArea[i];
+        }
+        triangleCount += other.triangleCount;
+        return this;
+    }
+
+    long getTriangleCount() {
+        return triangleCount;
+    }
+
+    double height(OrientationCandidate candidate) {
+        int i = candidate.ordinal();
+        return (double) maxZ[i] - minZ[i];
+    }
+
+    double contactArea(OrientationCandidate candidate) {
+        return contactArea[candidate.ordinal()];
+    }
+
+    /**
+     * Downward-facing area that is not resting on the bed, i.e. what would need support.
+     */
+    double overhangArea(OrientationCandidate candidate) {
+        int i = candidate.ordinal();
+        return Math.max(0, downwardArea[i] - contactArea[i]);
+    }
+
+    /**
+     * Translation that centers the rotated mesh on X/Y and puts its lowest point at Z = 0.
+     */
+    float[] placement(OrientationCandidate candidate) {
+        int i = candidate.ordinal();
+        return new float[]{-(minX[i] + maxX[i]) / 2, -(minY[i] + maxY[i]) / 2, -minZ[i]};
+    }
+
+    private static float[] filled(float value) {
+        float[] values = new float[CANDIDATES.length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("OrientationAccumulator[triangles=").append(triangleCount);
+        for (OrientationCandidate candidate : CANDIDATES) {
+            sb.append(String.format(Locale.ROOT, ", %s: h=%.2f contact=%.1f overhang=%.1f",
+                    candidate, height(candidate), contactArea(candidate), overhangArea(candidate)));
+        }
+        return sb.append(']').toString();
+    }
+}
@@ -0,0 +1,40 @@
+package com.threedfly.orderservice.service.mesh;
+
+/**
+ * The six axis-aligned orientations tried by auto-orientation. Each is a rotation whose
+ * matrix only contains -1, 0 and 1, so applying it is a swap and sign flip of coordinates.
+ */
+public enum OrientationCandidate {
+    ORIGINAL(1, 0, 0, 0, 1, 0, 0, 0, 1),
+    ROTATE_X_90(1, 0, 0, 0, 0, -1, 0, 1, 0),
+    ROTATE_X_MINUS_90(1, 0, 0, 0, 0, 1, 0, -1, 0),
+    ROTATE_Y_90(0, 0, 1, 0, 1, 0, -1, 0, 0),
+    ROTATE_Y_MINUS_90(0, 0, -1, 0, 1, 0, 1, 0, 0),
+    ROTATE_X_180(1, 0, 0, 0, -1, 0, 0, 0, -1);
+
+    private final int m00, m01, m02, m10, m11, m12, m20, m21, m22;
+
+    OrientationCandidate(int m00, int m01, int m02, int m10, int m11, int m12, int m20, int m21, int m22) {
+        this.m00 = m00;
+        this.m01 = m01;
+        this.m02 = m02;
+        this.m10 = m10;
+        this.m11 = m11;
+        this.m12 = m12;
+        this.m20 = m20;
+        this.m21 = m21;
+        this.m22 = m22;
+    }
+
+    public float x(float x, float y, float z) {
+        return m00 * x + m01 * y + m02 * z;
+    }
+
+    public float y(float x, float y, float z) {
+        return m10 * x + m11 * y + m12 * z;
+    }
+
+    public float z(float x, float y, float z) {
+        return m20 * x + m21 * y + m22 * z;
+    }
+}
@@ -0,0 +1,25 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.nio.file.Path;
+
+/**
+ * Outcome of auto-orientation.
+ *
+ * @param candidate      Chosen orientation
+ * @param originalHeight Model height as uploaded, in mm
+ * @param finalHeight    Model height in the chosen orientation, in mm
+ * @param contactArea    Area resting on the bed in the chosen orientation, in mm²
+ * @param overhangArea   Downward-facing area needing support in the chosen orientation, in mm²
+ * @param outputPath     Rotated binary STL, or null when the original orientation was kept
+ */
+public record OrientationResult(OrientationCandidate candidate,
+                                double originalHeight,
+                                double finalHeight,
+                                double contactArea,
+                                double overhangArea,
+                                Path outputPath) {
+
+    public boolean isRotated() {
+        return outputPath != null;
+    }
+}
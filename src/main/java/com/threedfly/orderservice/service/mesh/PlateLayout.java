@@ -0,0 +1,42 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.util.Locale;
+
+/**
+ * Grid arrangement of identical copies of a model on the print bed.
+ *
+ * @param columns  Copies side by side along X on a full plate
+ * @param rows     Rows of copies along Y on a full plate
+ * @param pitchX   Distance between neighbouring copies along X (footprint plus spacing), mm
+ * @param pitchY   Distance between neighbouring rows along Y, mm
+ * @param quantity Copies wanted in total
+ */
+public record PlateLayout(int columns, int rows, double pitchX, double pitchY, int quantity) {
+
+    public int perPlate() {
+        return columns * rows;
+    }
+
+    public int fullPlates() {
+        return quantity / perPlate();
+    }
+
+    /**
+     * Copies left for a last, partly filled plate; 0 if all plates are full.
+     */
+    public int remainder() {
+        return quantity % perPlate();
+    }
+
+    public int plateCount() {
+        return fullPlates() + (remainder() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Identifies the plate holding the given number of copies, for cache keys: copies
+     * fill rows of {@code columns} at this pitch.
+     */
+    public String describe(int copies) {
+        return String.format(Locale.ROOT, "%d/%d@%.2fx%.2f", copies, columns, pitchX, pitchY);
+    }
+}
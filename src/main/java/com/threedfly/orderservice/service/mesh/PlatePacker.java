@@ -0,0 +1,163 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Arranges copies of a model on the print bed and writes them as one plate to slice.
+ *
+ * Copies keep the model's orientation and are laid out in a grid of equal cells (the
+ * model's footprint plus {@code printing.plate.spacing-mm}) on the
+ * {@code printing.plate.width-mm} x {@code printing.plate.depth-mm} bed the slicers center
+ * on. A model larger than the bed still gets a plate of its own. Plates hold at most
+ * {@code printing.plate.max-triangles} triangles, so small but detailed models are split
+ * over more plates instead of producing plate files many times the upload's size.
+ */
+@Component
+@Slf4j
+public class PlatePacker {
+
+    private final MeshAnalyzer meshAnalyzer;
+    private final double bedWidth;
+    private final double bedDepth;
+    private final double spacing;
+    private final long maxTriangles;
+
+    @Autowired
+    public PlatePacker(
+            MeshAnalyzer meshAnalyzer,
+            @Value("${printing.plate.width-mm:220}") double bedWidth,
+            @Value("${printing.plate.depth-mm:220}") double bedDepth,
+            @Value("${printing.plate.spacing-mm:6}") double spacing,
+            @Value("${printing.plate.max-triangles:2000000}") long maxTriangles) {
+        this.meshAnalyzer = meshAnalyzer;
+        this.bedWidth = bedWidth;
+        this.bedDepth = bedDepth;
+        this.spacing = spacing;
+        this.maxTriangles = maxTriangles;
+    }
+
+    /**
+     * Works out how many copies fit on one plate and how many plates the quantity needs.
+     *
+     * @param bounds   Geometry and triangle count of the model as it will be printed
+     * @param quantity Copies wanted
+     */
+    public PlateLayout layout(MeshStatistics bounds, int quantity) {
+        if (quantity < 1) {
+            throw new IllegalArgumentException("Quantity must be at least 1");
+        }
+        int columns = fit(bedWidth, bounds.getSizeX());
+        int rows = fit(bedDepth, bounds.getSizeY());
+
+        // A single copy is never refused: its plate is no larger than the model itself
+        long withinBudget = Math.max(1, maxTriangles / Math.max(1, bounds.getTriangleCount()));
+        if ((long) columns * rows > withinBudget) {
+            columns = (int) Math.min(columns, withinBudget);
+            rows = (int) (withinBudget / columns);
+            log.info("🧩 {} triangles per copy, plates limited to {} copies", bounds.getTriangleCount(),
+                    columns * rows);
+        }
+        PlateLayout layout = new PlateLayout(columns, rows,
+                bounds.getSizeX() + spacing, bounds.getSizeY() + spacing, quantity);
+        log.info("🧩 {} copies of {}x{}mm: {} per plate ({}x{}), {} plate(s)", quantity,
+                Math.round(bounds.getSizeX()), Math.round(bounds.getSizeY()),
+                layout.perPlate(), columns, rows, layout.plateCount());
+        return layout;
+    }
+
+    /**
+     * Writes a binary STL holding {@code copies} copies of the model, filling rows of the
+     * layout's columns, with the arrangement centered on the bed and resting on it.
+     *
+     * @throws IOException if the model cannot be read or the plate cannot be written
+     */
+    public void writePlate(Path model, ModelFileType fileType, MeshStatistics bounds, PlateLayout layout,
+                           int copies, Path target) throws IOException {
+        if (copies < 1 || copies > layout.perPlate()) {
+            throw new IllegalArgumentException("A plate holds 1 to " + layout.perPlate() + " copies, got: " + copies);
+        }
+        // Read once, then emitted once per copy
+        TriangleBuffer triangles = meshAnalyzer.analyze(model, fileType, new TriangleBuffer());
+
+        int columns = Math.min(copies, layout.columns());
+        int rows = (copies + columns - 1) / columns;
+        double width = (columns - 1) * layout.pitchX() + bounds.getSizeX();
+        double depth = (rows - 1) * layout.pitchY() + bounds.getSizeY();
+        double originX = (bedWidth - width) / 2 - bounds.getMinX();
+        double originY = (bedDepth - depth) / 2 - bounds.getMinY();
+
+        try (BinaryStlWriter writer = new BinaryStlWriter(target, OrientationCandidate.ORIGINAL, new float[3],
+                "Plate packed by 3DFly order-service")) {
+            for (int copy = 0; copy < copies; copy++) {
+                float dx = (float) (originX + (copy % columns) * layout.pitchX());
+                float dy = (float) (originY + (copy / columns) * layout.pitchY());
+                triangles.emit(writer, dx, dy, -bounds.getMinZ());
+            }
+        } catch (UncheckedIOException e) {
+            Files.deleteIfExists(target);
+            throw e.getCause();
+        } catch (IOException e) {
+            Files.deleteIfExists(target);
+            throw e;
+        }
+        log.info("🧩 Wrote plate with {} copies ({}x{}) to {}", copies, columns, rows, target.getFileName());
+    }
+
+    private int fit(double bed, double size) {
+        return Math.max(1, (int) Math.floor((bed + spacing) / (size + spacing)));
+    }
+
+    /**
+     * Keeps the triangles of a model as nine packed floats each.
+     */
+    private static final class TriangleBuffer implements TriangleVisitor {
+
+        private float[] coordinates = new float[9 * 1024];
+        private int length;
+
+        @Override
+        public void triangle(float ax, float ay, float az,
+                             float bx, float by, float bz,
+                             float cx, float cy, float cz) {
+            if (length + 9 > coordinates.length) {
+                coordinates = Arrays.copyOf(coordinates, coordinates.length * 2);
+            }
+            float[] c = coordinates;
+            int i = length;
+            c[i] = ax;
+            c[i + 1] = ay;
+            c[i + 2] = az;
+            c[i + 3] = bx;
+            c[i + 4] = by;
+            c[i + 5] = bz;
+            c[i + 6] = cx;
+            c[i + 7] = cy;
+            c[i + 8] = cz;
+            length += 9;
+        }
+
+        void emit(TriangleVisitor visitor, float dx, float dy, float dz) {
+            float[] c = coordinates;
+            for (int i = 0; i < length; i += 9) {
+                visitor.triangle(c[i] + dx, c[i + 1] + dy, c[i + 2] + dz,
+                        c[i + 3] + dx, c[i + 4] + dy, c[i + 5] + dz,
+                        c[i + 6] + dx, c[i + 7] + dy, c[i + 8] + dz);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return (length / 9) + " triangles";
+        }
+    }
+}
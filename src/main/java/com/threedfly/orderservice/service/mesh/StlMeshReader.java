@@ -0,0 +1,231 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.BinaryOperator;
+import java.util.function.Supplier;
+
+/**
+ * Reads binary and ASCII STL files.
+ *
+ * Binary files are memory-mapped and their 50-byte triangle records visited in place;
+ * files that are not binary fall back to a line-by-line ASCII parser. Either way memory
+ * use does not grow with the size of the mesh.
+ */
+public class StlMeshReader implements MeshReader {
+
+    static final int HEADER_SIZE = 80;
+    static final int RECORD_SIZE = 50;
+    // Whole records per mapping, keeping each window just under 1 GiB and within int indexing
+    static final int RECORDS_PER_WINDOW = (1 << 30) / RECORD_SIZE;
+
+    @Override
+    public void read(Path modelPath, TriangleVisitor visitor) throws IOException {
+        if (isBinary(modelPath)) {
+            readBinary(modelPath, visitor);
+        } else {
+            readAscii(modelPath, visitor);
+        }
+    }
+
+    /**
+     * Reads the file with one visitor per chunk of triangles and combines the partial results.
+     * Binary files are split into chunks of whole records that are visited in parallel on the
+     * given pool; ASCII files are read sequentially into a single visitor.
+     */
+    public <V extends TriangleVisitor> V readParallel(Path modelPath, Supplier<V> visitorFactory,
+                                                      BinaryOperator<V> combiner, ForkJoinPool pool)
+            throws IOException {
+        if (!isBinary(modelPath)) {
+            V visitor = visitorFactory.get();
+            readAscii(modelPath, visitor);
+            return visitor;
+        }
+
+        try (FileChannel channel = FileChannel.open(modelPath, StandardOpenOption.READ)) {
+            long triangleCount = readTriangleCount(channel);
+            V result = visitorFactory.get();
+            long position = HEADER_SIZE + 4;
+            long remaining = triangleCount;
+            while (remaining > 0) {
+                int records = (int) Math.min(remaining, RECORDS_PER_WINDOW);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        (long) records * RECORD_SIZE);
+                result = combiner.apply(result,
+                        pool.invoke(new VisitRecordsTask<>(window, 0, records, visitorFactory, combiner)));
+                position += (long) records * RECORD_SIZE;
+                remaining -= records;
+            }
+            return result;
+        }
+    }
+
+    /**
+     * A file is binary when its size matches the triangle count in the header. Some
+     * binary exporters also start the header with "solid", so the prefix alone is not enough.
+     */
+    static boolean isBinary(Path modelPath) throws IOException {
+        long size = Files.size(modelPath);
+        if (size < HEADER_SIZE + 4) {
+            return false;
+        }
+
+        byte[] head = new byte[HEADER_SIZE + 4];
+        try (InputStream in = Files.newInputStream(modelPath)) {
+            if (in.readNBytes(head, 0, head.length) < head.length) {
+                return false;
+            }
+        }
+
+        long triangleCount = Integer.toUnsignedLong(
+                ByteBuffer.wrap(head, HEADER_SIZE, 4).order(ByteOrder.LITTLE_ENDIAN).getInt());
+        if (size == HEADER_SIZE + 4 + triangleCount * RECORD_SIZE) {
+            return true;
+        }
+        String prefix = new String(head, 0, 5, StandardCharsets.US_ASCII);
+        return !"solid".equalsIgnoreCase(prefix);
+    }
+
+    /**
+     * Walks the triangle records in place through read-only memory mappings of the file.
+     * Pages are brought in by the OS on demand and never copied to the heap, so memory use
+     * stays constant regardless of mesh size. Files larger than one mapping window are
+     * mapped window by window, each window holding whole records.
+     */
+    private void readBinary(Path modelPath, TriangleVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(modelPath, StandardOpenOption.READ)) {
+            long triangleCount = readTriangleCount(channel);
+            long position = HEADER_SIZE + 4;
+            long remaining = triangleCount;
+            while (remaining > 0) {
+                int records = (int) Math.min(remaining, RECORDS_PER_WINDOW);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        (long) records * RECORD_SIZE);
+                window.order(ByteOrder.LITTLE_ENDIAN);
+                visitRecords(window, records, visitor);
+                position += (long) records * RECORD_SIZE;
+                remaining -= records;
+            }
+        }
+    }
+
+    /**
+     * Reads the triangle count from the header and checks the file actually holds that many records.
+     */
+    private static long readTriangleCount(FileChannel channel) throws IOException {
+        ByteBuffer countBuffer = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        channel.read(countBuffer, HEADER_SIZE);
+        long triangleCount = Integer.toUnsignedLong(countBuffer.flip().getInt());
+
+        long available = (channel.size() - HEADER_SIZE - 4) / RECORD_SIZE;
+        if (available < triangleCount) {
+            throw new IOException("Truncated binary STL: header declares " + triangleCount
+                    + " triangles but file contains " + available);
+        }
+        return triangleCount;
+    }
+
+    /**
+     * Emits {@code records} consecutive 50-byte triangle records starting at index 0 of the buffer.
+     * The buffer must be little-endian.
+     */
+    static void visitRecords(ByteBuffer buffer, int records, TriangleVisitor visitor) {
+        for (int i = 0; i < records; i++) {
+            int record = i * RECORD_SIZE + 12; // skip the facet normal
+            visitor.triangle(
+                    buffer.getFloat(record), buffer.getFloat(record + 4), buffer.getFloat(record + 8),
+                    buffer.getFloat(record + 12), buffer.getFloat(record + 16), buffer.getFloat(record + 20),
+                    buffer.getFloat(record + 24), buffer.getFloat(record + 28), buffer.getFloat(record + 32));
+        }
+    }
+
+    private void readAscii(Path modelPath, TriangleVisitor visitor) throws IOException {
+        float[] vertices = new float[9];
+        int vertexIndex = 0;
+        long lineNumber = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(modelPath, StandardCharsets.US_ASCII)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String trimmed = line.strip();
+                if (!trimmed.regionMatches(true, 0, "vertex", 0, 6)) {
+                    continue;
+                }
+
+                String[] parts = trimmed.split("\\s+");
+                if (parts.length < 4) {
+                    throw new IOException("Malformed vertex at line " + lineNumber);
+                }
+                try {
+                    vertices[vertexIndex * 3] = Float.parseFloat(parts[1]);
+                    vertices[vertexIndex * 3 + 1] = Float.parseFloat(parts[2]);
+                    vertices[vertexIndex * 3 + 2] = Float.parseFloat(parts[3]);
+                } catch (NumberFormatException e) {
+                    throw new IOException("Malformed vertex at line " + lineNumber, e);
+                }
+
+                if (++vertexIndex == 3) {
+                    visitor.triangle(vertices[0], vertices[1], vertices[2],
+                            vertices[3], vertices[4], vertices[5],
+                            vertices[6], vertices[7], vertices[8]);
+                    vertexIndex = 0;
+                }
+            }
+        }
+    }
+
+    /**
+     * Splits a mapped window into chunks of records, visits each chunk with its own visitor
+     * and combines the results.
+     */
+    private static final class VisitRecordsTask<V extends TriangleVisitor> extends RecursiveTask<V> {
+
+        private static final int CHUNK_RECORDS = 16 * 1024;
+
+        private final ByteBuffer window;
+        private final int from;
+        private final int count;
+        private final Supplier<V> visitorFactory;
+        private final BinaryOperator<V> combiner;
+
+        private VisitRecordsTask(ByteBuffer window, int from, int count,
+                                 Supplier<V> visitorFactory, BinaryOperator<V> combiner) {
+            this.window = window;
+            this.from = from;
+            this.count = count;
+            this.visitorFactory = visitorFactory;
+            this.combiner = combiner;
+        }
+
+        @Override
+        protected V compute() {
+            if (count <= CHUNK_RECORDS) {
+                V visitor = visitorFactory.get();
+                ByteBuffer chunk = window.slice(from * RECORD_SIZE, count * RECORD_SIZE)
+                        .order(ByteOrder.LITTLE_ENDIAN);
+                visitRecords(chunk, count, visitor);
+                return visitor;
+            }
+
+            int half = count / 2;
+            VisitRecordsTask<V> left = new VisitRecordsTask<>(window, from, half, visitorFactory, combiner);
+            VisitRecordsTask<V> right = new VisitRecordsTask<>(window, from + half, count - half,
+                    visitorFactory, combiner);
+            left.fork();
+            V rightResult = right.compute();
+            return combiner.apply(left.join(), rightResult);
+        }
+    }
+}
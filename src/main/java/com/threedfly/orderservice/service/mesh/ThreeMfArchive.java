@@ -0,0 +1,188 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * An open 3MF package, shared by everything that reads the same upload.
+ *
+ * The ZIP central directory is read once when the archive is opened; after that every
+ * part is found by name instead of by walking the entries, so the cost does not grow with
+ * the number of thumbnails and plates a slicer project carries. The PrusaSlicer config
+ * parts are parsed straight from their UTF-8 bytes on first use and kept.
+ */
+public final class ThreeMfArchive implements Closeable {
+
+    /** The root model part every 3MF package starts from. */
+    public static final String ROOT_MODEL_PART = "3D/3dmodel.model";
+
+    /** PrusaSlicer print settings, in the order later entries override earlier ones. */
+    static final List<String> CONFIG_PARTS = List.of(
+            "Metadata/Slic3r_PE.config",
+            "Metadata/Slic3r_PE_model.config",
+            "Metadata/PrusaSlicer.config");
+
+    private static final int MAX_ENTRIES = 1000;
+    private static final long MAX_CONFIG_SIZE = 16 * 1024 * 1024;
+
+    private final Path path;
+    private final ZipFile zipFile;
+    private Map<String, String> config;
+
+    private ThreeMfArchive(Path path, ZipFile zipFile) {
+        this.path = path;
+        this.zipFile = zipFile;
+    }
+
+    /**
+     * Opens a 3MF package and reads its central directory.
+     *
+     * @throws IOException if the file is not a ZIP archive or has too many entries
+     */
+    public static ThreeMfArchive open(Path path) throws IOException {
+        ZipFile zipFile = new ZipFile(path.toFile());
+        // Guards against ZIP bombs made of millions of tiny entries
+        if (zipFile.size() > MAX_ENTRIES) {
+            zipFile.close();
+            throw new IOException("3MF file contains too many entries (max: " + MAX_ENTRIES + ")");
+        }
+        return new ThreeMfArchive(path, zipFile);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Looks up a part by name; a leading slash, as used in 3MF relationships and
+     * component paths, is ignored.
+     */
+    public Optional<ZipEntry> findPart(String name) {
+        String entryName = name.startsWith("/") ? name.substring(1) : name;
+        ZipEntry entry = zipFile.getEntry(entryName);
+        return entry == null || entry.isDirectory() ? Optional.empty() : Optional.of(entry);
+    }
+
+    public InputStream openPart(ZipEntry entry) throws IOException {
+        return zipFile.getInputStream(entry);
+    }
+
+    /**
+     * All model parts below {@code 3D/}, for packages that lack the root model part.
+     */
+    List<ZipEntry> listModelParts() {
+        List<ZipEntry> parts = new ArrayList<>();
+        zipFile.stream()
+                .filter(entry -> !entry.isDirectory())
+                .filter(entry -> {
+                    String name = entry.getName().toLowerCase(Locale.ROOT);
+                    return name.startsWith("3d/") && name.endsWith(".model");
+                })
+                .forEach(parts::add);
+        return parts;
+    }
+
+    /**
+     * Returns the merged key/value pairs of the PrusaSlicer config parts, or an empty map
+     * if the package has none.
+     */
+    public synchronized Map<String, String> getConfig() throws IOException {
+        if (config == null) {
+            Map<String, String> merged = new LinkedHashMap<>();
+            for (String name : CONFIG_PARTS) {
+                Optional<ZipEntry> entry = findPart(name);
+                if (entry.isPresent()) {
+                    parseConfig(readPart(entry.get()), merged);
+                }
+            }
+            config = Collections.unmodifiableMap(merged);
+        }
+        return config;
+    }
+
+    @Override
+    public void close() throws IOException {
+        zipFile.close();
+    }
+
+    private byte[] readPart(ZipEntry entry) throws IOException {
+        if (entry.getSize() > MAX_CONFIG_SIZE) {
+            throw new IOException("3MF entry too large: " + entry.getName());
+        }
+        try (InputStream in = zipFile.getInputStream(entry)) {
+            byte[] bytes = entry.getSize() >= 0
+                    ? in.readNBytes((int) entry.getSize())
+                    : in.readNBytes((int) MAX_CONFIG_SIZE + 1);
+            if (bytes.length > MAX_CONFIG_SIZE) {
+                throw new IOException("3MF entry too large: " + entry.getName());
+            }
+            return bytes;
+        }
+    }
+
+    /**
+     * Parses {@code key = value} lines from UTF-8 bytes. Only the key and value ranges are
+     * decoded; blank lines and lines starting with {@code #} or {@code ;} are skipped and
+     * surrounding double quotes are removed from values.
+     */
+    static void parseConfig(byte[] bytes, Map<String, String> config) {
+        int lineStart = hasByteOrderMark(bytes) ? 3 : 0;
+        while (lineStart < bytes.length) {
+            int lineEnd = lineStart;
+            while (lineEnd < bytes.length && bytes[lineEnd] != '\n') {
+                lineEnd++;
+            }
+            int start = skipBlanks(bytes, lineStart, lineEnd);
+            int end = trimBlanks(bytes, start, lineEnd);
+
+            if (start < end && bytes[start] != '#' && bytes[start] != ';') {
+                int equals = start;
+                while (equals < end && bytes[equals] != '=') {
+                    equals++;
+                }
+                if (equals > start && equals < end) {
+                    int keyEnd = trimBlanks(bytes, start, equals);
+                    int valueStart = skipBlanks(bytes, equals + 1, end);
+                    if (end - valueStart >= 2 && bytes[valueStart] == '"' && bytes[end - 1] == '"') {
+                        valueStart++;
+                        end--;
+                    }
+                    config.put(
+                            new String(bytes, start, keyEnd - start, StandardCharsets.UTF_8),
+                            new String(bytes, valueStart, end - valueStart, StandardCharsets.UTF_8));
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+    }
+
+    private static boolean hasByteOrderMark(byte[] bytes) {
+        return bytes.length >= 3 && (bytes[0] & 0xFF) == 0xEF && (bytes[1] & 0xFF) == 0xBB && (bytes[2] & 0xFF) == 0xBF;
+    }
+
+    private static int skipBlanks(byte[] bytes, int from, int to) {
+        while (from < to && (bytes[from] & 0xFF) <= ' ') {
+            from++;
+        }
+        return from;
+    }
+
+    private static int trimBlanks(byte[] bytes, int from, int to) {
+        while (to > from && (bytes[to - 1] & 0xFF) <= ' ') {
+            to--;
+        }
+        return to;
+    }
+}
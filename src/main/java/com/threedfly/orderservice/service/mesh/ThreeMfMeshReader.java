@@ -0,0 +1,172 @@
+package com.threedfly.orderservice.service.mesh;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.zip.ZipEntry;
+
+/**
+ * Reads the mesh objects of a 3MF package.
+ *
+ * Parsing starts at the root model part and follows component references into other
+ * parts by name ({@code p:path}, as slicer projects such as Bambu Studio keep their meshes
+ * in separate {@code 3D/Objects/*.model} parts), so thumbnails and metadata are never
+ * touched. Packages without a root part fall back to every {@code .model} part under
+ * {@code 3D/}. Component transforms, build transforms and instance counts are not
+ * applied: each mesh part is counted once in its own coordinate system, which keeps volume
+ * and area exact but means bounds describe the untransformed meshes.
+ *
+ * Each part may inflate to at most a given number of bytes, and the vertices of a mesh and
+ * the triangles of the whole package are capped, so a small, highly compressed upload
+ * fails with an IOException instead of exhausting the heap.
+ */
+public class ThreeMfMeshReader implements MeshReader {
+
+    static final long DEFAULT_MAX_PART_BYTES = 2000L * 1024 * 1024;
+
+    private static final String PRODUCTION_NAMESPACE = "http://schemas.microsoft.com/3dmanufacturing/production/2015/06";
+    private static final XMLInputFactory XML_INPUT_FACTORY = createInputFactory();
+
+    private final long maxPartBytes;
+    private final int maxVertices;
+    private final long maxTriangles;
+
+    public ThreeMfMeshReader() {
+        this(DEFAULT_MAX_PART_BYTES, VertexBuffer.DEFAULT_MAX_VERTICES, VertexBuffer.DEFAULT_MAX_TRIANGLES);
+    }
+
+    /**
+     * @param maxPartBytes Most bytes a model part may inflate to
+     * @param maxVertices  Most vertices of one mesh
+     * @param maxTriangles Most triangles of all meshes together
+     */
+    public ThreeMfMeshReader(long maxPartBytes, int maxVertices, long maxTriangles) {
+        this.maxPartBytes = maxPartBytes;
+        this.maxVertices = maxVertices;
+        this.maxTriangles = maxTriangles;
+    }
+
+    @Override
+    public void read(Path modelPath, TriangleVisitor visitor) throws IOException {
+        try (ThreeMfArchive archive = ThreeMfArchive.open(modelPath)) {
+            read(archive, visitor);
+        }
+    }
+
+    /**
+     * Reads the meshes of an archive that is already open.
+     */
+    public void read(ThreeMfArchive archive, TriangleVisitor visitor) throws IOException {
+        // Shared by all parts, so the triangle cap covers the whole package
+        VertexBuffer vertices = new VertexBuffer(maxVertices, maxTriangles);
+        Optional<ZipEntry> root = archive.findPart(ThreeMfArchive.ROOT_MODEL_PART);
+        if (root.isEmpty()) {
+            List<ZipEntry> parts = archive.listModelParts();
+            if (parts.isEmpty()) {
+                throw new IOException("3MF package contains no 3D model part");
+            }
+            for (ZipEntry part : parts) {
+                readPart(archive, part, vertices, visitor, new ArrayList<>());
+            }
+            return;
+        }
+
+        List<String> referenced = new ArrayList<>();
+        readPart(archive, root.get(), vertices, visitor, referenced);
+        Set<String> visited = new HashSet<>();
+        visited.add(root.get().getName());
+        for (int i = 0; i < referenced.size(); i++) {
+            String reference = referenced.get(i);
+            ZipEntry part = archive.findPart(reference)
+                    .orElseThrow(() -> new IOException("3MF component references missing part " + reference));
+            if (visited.add(part.getName())) {
+                readPart(archive, part, vertices, visitor, referenced);
+            }
+        }
+    }
+
+    private void readPart(ThreeMfArchive archive, ZipEntry part, VertexBuffer vertices, TriangleVisitor visitor,
+                          List<String> referenced) throws IOException {
+        try (InputStream in = new LimitedInputStream(archive.openPart(part), maxPartBytes,
+                "3MF part " + part.getName())) {
+            vertices.clear();
+            readModelPart(in, vertices, visitor, referenced);
+        } catch (XMLStreamException e) {
+            if (e.getNestedException() instanceof IOException readFailure) {
+                // Reading the part failed, e.g. it inflated past the limit; the XML itself was fine
+                throw readFailure;
+            }
+            throw new IOException("Invalid 3MF model part " + part.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    private void readModelPart(InputStream in, VertexBuffer vertices, TriangleVisitor visitor,
+                               List<String> referenced) throws XMLStreamException, IOException {
+        XMLStreamReader reader = XML_INPUT_FACTORY.createXMLStreamReader(in);
+        try {
+            while (reader.hasNext()) {
+                if (reader.next() != XMLStreamConstants.START_ELEMENT) {
+                    continue;
+                }
+                switch (reader.getLocalName()) {
+                    case "mesh" -> vertices.clear();
+                    case "vertex" -> vertices.add(
+                            floatAttribute(reader, "x"), floatAttribute(reader, "y"), floatAttribute(reader, "z"));
+                    case "triangle" -> vertices.emit(
+                            intAttribute(reader, "v1"), intAttribute(reader, "v2"), intAttribute(reader, "v3"), visitor);
+                    case "component" -> {
+                        String partPath = reader.getAttributeValue(PRODUCTION_NAMESPACE, "path");
+                        if (partPath != null) {
+                            referenced.add(partPath);
+                        }
+                    }
+                    default -> {
+                    }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+    }
+
+    private static float floatAttribute(XMLStreamReader reader, String name) throws IOException {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            throw new IOException("Missing attribute '" + name + "' on " + reader.getLocalName());
+        }
+        try {
+            return Float.parseFloat(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid attribute '" + name + "' on " + reader.getLocalName() + ": " + value, e);
+        }
+    }
+
+    private static int intAttribute(XMLStreamReader reader, String name) throws IOException {
+        String value = reader.getAttributeValue(null, name);
+        if (value == null) {
+            throw new IOException("Missing attribute '" + name + "' on " + reader.getLocalName());
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IOException("Invalid attribute '" + name + "' on " + reader.getLocalName() + ": " + value, e);
+        }
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        // 3MF parts never need DTDs; disabling them also blocks XXE payloads in uploads
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        return factory;
+    }
+}
@@ -0,0 +1,15 @@
+package com.threedfly.orderservice.service.mesh;
+
+/**
+ * Receives the triangles of a mesh one at a time.
+ *
+ * Coordinates are passed as primitives so that readers can stream meshes of any size
+ * without allocating an object per vertex or triangle.
+ */
+@FunctionalInterface
+public interface TriangleVisitor {
+
+    void triangle(float ax, float ay, float az,
+                  float bx, float by, float bz,
+                  float cx, float cy, float cz);
+}
@@ -0,0 +1,66 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Growable, primitive-backed vertex list for indexed mesh formats (OBJ, 3MF).
+ *
+ * The number of vertices held at once and of triangles emitted in total are capped, so
+ * that a model that is small on disk cannot exhaust the heap or keep a thread busy.
+ */
+final class VertexBuffer {
+
+    static final int DEFAULT_MAX_VERTICES = 10_000_000;
+    static final long DEFAULT_MAX_TRIANGLES = 20_000_000;
+
+    private final int maxVertices;
+    private final long maxTriangles;
+    private float[] coordinates = new float[3 * 1024];
+    private int count;
+    private long triangles;
+
+    VertexBuffer(int maxVertices, long maxTriangles) {
+        this.maxVertices = maxVertices;
+        this.maxTriangles = maxTriangles;
+    }
+
+    void add(float x, float y, float z) throws IOException {
+        if (count >= maxVertices) {
+            throw new IOException("Mesh has more than " + maxVertices + " vertices");
+        }
+        int offset = count * 3;
+        if (offset + 3 > coordinates.length) {
+            coordinates = Arrays.copyOf(coordinates, (int) Math.min(coordinates.length * 2L, 3L * maxVertices));
+        }
+        coordinates[offset] = x;
+        coordinates[offset + 1] = y;
+        coordinates[offset + 2] = z;
+        count++;
+    }
+
+    int size() {
+        return count;
+    }
+
+    void clear() {
+        count = 0;
+    }
+
+    /**
+     * Emits the triangle formed by three zero-based vertex indices.
+     */
+    void emit(int a, int b, int c, TriangleVisitor visitor) throws IOException {
+        if (++triangles > maxTriangles) {
+            throw new IOException("Mesh has more than " + maxTriangles + " triangles");
+        }
+        if (a < 0 || b < 0 || c < 0 || a >= count || b >= count || c >= count) {
+            throw new IOException("Triangle references undefined vertex (" + a + ", " + b + ", " + c
+                    + ") of " + count);
+        }
+        int ia = a * 3, ib = b * 3, ic = c * 3;
+        visitor.triangle(coordinates[ia], coordinates[ia + 1], coordinates[ia + 2],
+                coordinates[ib], coordinates[ib + 1], coordinates[ib + 2],
+                coordinates[ic], coordinates[ic + 1], coordinates[ic + 2]);
+    }
+}
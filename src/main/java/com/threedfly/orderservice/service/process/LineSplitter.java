@@ -0,0 +1,51 @@
+package com.threedfly.orderservice.service.process;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Splits a byte stream into UTF-8 lines and hands each complete line to a consumer.
+ * Line terminators ("\n" or "\r\n") are stripped; lines longer than the limit are cut.
+ */
+final class LineSplitter {
+
+    private static final int MAX_LINE_BYTES = 64 * 1024;
+
+    private final Consumer<String> consumer;
+    private byte[] line = new byte[256];
+    private int length;
+
+    LineSplitter(Consumer<String> consumer) {
+        this.consumer = consumer;
+    }
+
+    void write(byte[] data, int offset, int count) {
+        for (int i = offset; i < offset + count; i++) {
+            byte b = data[i];
+            if (b == '\n') {
+                emit();
+            } else if (length < MAX_LINE_BYTES) {
+                if (length == line.length) {
+                    line = Arrays.copyOf(line, Math.min(line.length * 2, MAX_LINE_BYTES));
+                }
+                line[length++] = b;
+            }
+        }
+    }
+
+    /**
+     * Emits the last line if the stream did not end with a line terminator.
+     */
+    void finish() {
+        if (length > 0) {
+            emit();
+        }
+    }
+
+    private void emit() {
+        int end = length > 0 && line[length - 1] == '\r' ? length - 1 : length;
+        consumer.accept(new String(line, 0, end, StandardCharsets.UTF_8));
+        length = 0;
+    }
+}
@@ -0,0 +1,67 @@
+package com.threedfly.orderservice.service.process;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size byte buffer that keeps the last {@code capacity} bytes written to it.
+ *
+ * Used to capture process output without unbounded memory growth; the tail is kept
+ * because slicers print their summary (filament used, print time) last.
+ */
+final class OutputRingBuffer {
+
+    private final byte[] buffer;
+    private int position;
+    private long totalBytes;
+
+    OutputRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Output buffer capacity must be at least 1");
+        }
+        this.buffer = new byte[capacity];
+    }
+
+    synchronized void write(byte[] data, int offset, int length) {
+        int capacity = buffer.length;
+        if (length >= capacity) {
+            System.arraycopy(data, offset + length - capacity, buffer, 0, capacity);
+            position = 0;
+        } else {
+            int first = Math.min(length, capacity - position);
+            System.arraycopy(data, offset, buffer, position, first);
+            System.arraycopy(data, offset + first, buffer, 0, length - first);
+            position = (position + length) % capacity;
+        }
+        totalBytes += length;
+    }
+
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    synchronized boolean isTruncated() {
+        return totalBytes > buffer.length;
+    }
+
+    /**
+     * Decodes the retained bytes as UTF-8. When older output was dropped, the partial
+     * first line is skipped so callers only ever see complete lines.
+     */
+    synchronized String contentAsString() {
+        int capacity = buffer.length;
+        if (totalBytes <= capacity) {
+            return new String(buffer, 0, (int) totalBytes, StandardCharsets.UTF_8);
+        }
+
+        byte[] ordered = new byte[capacity];
+        System.arraycopy(buffer, position, ordered, 0, capacity - position);
+        System.arraycopy(buffer, 0, ordered, capacity - position, position);
+
+        int start = 0;
+        while (start < capacity && ordered[start] != '\n') {
+            start++;
+        }
+        start = start < capacity ? start + 1 : 0;
+        return new String(ordered, start, capacity - start, StandardCharsets.UTF_8);
+    }
+}
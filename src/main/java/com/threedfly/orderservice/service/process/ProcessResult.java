@@ -0,0 +1,28 @@
+package com.threedfly.orderservice.service.process;
+
+import java.time.Duration;
+
+/**
+ * Outcome of an external process run by {@link ProcessRunner}.
+ *
+ * @param exitCode        Exit status, or -1 if the process was killed
+ * @param timedOut        True if the deadline elapsed and the process tree was killed
+ * @param duration        Wall-clock time from start until the process exited or was killed
+ * @param stdout          Captured standard output (tail only if truncated)
+ * @param stderr          Captured standard error (tail only if truncated)
+ * @param stdoutTruncated True if older standard output was dropped
+ * @param stderrTruncated True if older standard error was dropped
+ */
+public record ProcessResult(
+        int exitCode,
+        boolean timedOut,
+        Duration duration,
+        String stdout,
+        String stderr,
+        boolean stdoutTruncated,
+        boolean stderrTruncated) {
+
+    public boolean isSuccess() {
+        return !timedOut && exitCode == 0;
+    }
+}
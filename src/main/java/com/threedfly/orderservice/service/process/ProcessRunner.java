@@ -0,0 +1,162 @@
+package com.threedfly.orderservice.service.process;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Runs external processes (slicers) with a hard wall-clock deadline.
+ *
+ * Standard output and error are drained concurrently on virtual threads into bounded
+ * ring buffers, so a process that writes a lot to either stream can never block on a
+ * full pipe. When the deadline elapses, or the calling thread is interrupted, the
+ * process and all of its descendants are killed.
+ */
+@Component
+@Slf4j
+public class ProcessRunner {
+
+    private static final int READ_BUFFER_SIZE = 8 * 1024;
+    // Grace period for the drain threads once the process is gone; a surviving
+    // grandchild may still hold the pipes open
+    private static final long DRAIN_GRACE_MILLIS = 2_000;
+
+    private final int maxOutputBytes;
+
+    @Autowired
+    public ProcessRunner(@Value("${printing.process.max-output-kb:1024}") int maxOutputKb) {
+        this.maxOutputBytes = maxOutputKb * 1024;
+    }
+
+    /**
+     * Starts the process and waits for it until the deadline.
+     *
+     * @param command  Configured process builder; its output redirects are left as pipes
+     * @param deadline Maximum wall-clock run time
+     * @return Exit status, duration and captured output
+     * @throws IOException          if the process cannot be started
+     * @throws InterruptedException if the calling thread was interrupted; the process tree is killed first
+     */
+    public ProcessResult run(ProcessBuilder command, Duration deadline) throws IOException, InterruptedException {
+        return run(command, deadline, null);
+    }
+
+    /**
+     * Starts the process and waits for it until the deadline, handing each line of
+     * standard output to {@code stdoutLines} as soon as it is written.
+     *
+     * @param stdoutLines Called on the drain thread for every complete line; may be null.
+     *                    All calls happen before this method returns.
+     * @see #run(ProcessBuilder, Duration)
+     */
+    public ProcessResult run(ProcessBuilder command, Duration deadline, Consumer<String> stdoutLines)
+            throws IOException, InterruptedException {
+        long startedAt = System.nanoTime();
+        Process process = command.start();
+
+        OutputRingBuffer stdout = new OutputRingBuffer(maxOutputBytes);
+        OutputRingBuffer stderr = new OutputRingBuffer(maxOutputBytes);
+        LineSplitter stdoutSplitter = stdoutLines == null ? null : new LineSplitter(guarded(stdoutLines));
+        Thread stdoutDrain = drain(process.getInputStream(), stdout, stdoutSplitter, "process-stdout-" + process.pid());
+        Thread stderrDrain = drain(process.getErrorStream(), stderr, null, "process-stderr-" + process.pid());
+
+        boolean timedOut;
+        try {
+            timedOut = !process.waitFor(Math.max(0, deadline.toMillis()), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            killTree(process);
+            throw e;
+        }
+
+        if (timedOut) {
+            log.warn("⏱️ Process {} exceeded its deadline of {}, killing process tree", process.pid(), deadline);
+            killTree(process);
+        }
+        Duration duration = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        awaitDrain(process, stdoutDrain, stderrDrain);
+
+        return new ProcessResult(
+                timedOut ? -1 : process.exitValue(),
+                timedOut,
+                duration,
+                stdout.contentAsString(),
+                stderr.contentAsString(),
+                stdout.isTruncated(),
+                stderr.isTruncated());
+    }
+
+    private static Thread drain(InputStream stream, OutputRingBuffer target, LineSplitter lines, String name) {
+        return Thread.ofVirtual().name(name).start(() -> {
+            byte[] chunk = new byte[READ_BUFFER_SIZE];
+            try (InputStream in = stream) {
+                int read;
+                while ((read = in.read(chunk)) != -1) {
+                    target.write(chunk, 0, read);
+                    if (lines != null) {
+                        lines.write(chunk, 0, read);
+                    }
+                }
+            } catch (IOException e) {
+                // Stream closed because the process was killed
+                log.debug("Process output stream closed: {}", e.getMessage());
+            }
+            if (lines != null) {
+                lines.finish();
+            }
+        });
+    }
+
+    /**
+     * A failing line consumer must not stop the drain thread, or the process would block
+     * on a full pipe.
+     */
+    private static Consumer<String> guarded(Consumer<String> consumer) {
+        return line -> {
+            try {
+                consumer.accept(line);
+            } catch (RuntimeException e) {
+                log.warn("⚠️ Process output consumer failed: {}", e.getMessage());
+            }
+        };
+    }
+
+    private static void awaitDrain(Process process, Thread... drains) throws InterruptedException {
+        for (Thread drain : drains) {
+            drain.join(DRAIN_GRACE_MILLIS);
+        }
+        for (Thread drain : drains) {
+            if (drain.isAlive()) {
+                // Unblock the read; whatever was captured so far is kept
+                closeQuietly(process.getInputStream());
+                closeQuietly(process.getErrorStream());
+                drain.join(DRAIN_GRACE_MILLIS);
+            }
+        }
+    }
+
+    private static void killTree(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+        try {
+            process.waitFor(DRAIN_GRACE_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException ignored) {
+            // Already closed
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.threedfly.orderservice.service.quote;
+
+/**
+ * Piecewise-linear fit of one slicer figure (filament weight or print time) over the
+ * infill density, through a few sliced anchor points.
+ *
+ * Between two anchors the value is interpolated linearly. Its error bound follows from
+ * the interpolation remainder {@code |f''| / 2 * (x - a) * (b - x)}, with the curvature
+ * {@code f''} estimated from the second divided differences of the anchors, plus half the
+ * resolution the anchor figures were rounded to. With only two anchors the curvature
+ * cannot be observed and the bound covers the rounding alone.
+ */
+public final class InfillCurve {
+
+    private final double[] infills;
+    private final double[] values;
+    private final double curvature;
+    private final double resolution;
+
+    private InfillCurve(double[] infills, double[] values, double curvature, double resolution) {
+        this.infills = infills;
+        this.values = values;
+        this.curvature = curvature;
+        this.resolution = resolution;
+    }
+
+    /**
+     * Fits the curve through the anchors.
+     *
+     * @param infills    Anchor infill densities, strictly increasing
+     * @param values     Sliced value at each anchor
+     * @param resolution Unit the values were rounded to (e.g. 1 for whole minutes)
+     * @throws IllegalArgumentException if there are fewer than two anchors or they are not increasing
+     */
+    public static InfillCurve fit(double[] infills, double[] values, double resolution) {
+        if (infills.length < 2 || infills.length != values.length) {
+            throw new IllegalArgumentException("At least two anchors with one value each are required");
+        }
+        for (int i = 1; i < infills.length; i++) {
+            if (infills[i] <= infills[i - 1]) {
+                throw new IllegalArgumentException("Anchor infills must be strictly increasing");
+            }
+        }
+
+        double curvature = 0.0;
+        for (int i = 1; i + 1 < infills.length; i++) {
+            double left = (values[i] - values[i - 1]) / (infills[i] - infills[i - 1]);
+            double right = (values[i + 1] - values[i]) / (infills[i + 1] - infills[i]);
+            // f'' ≈ 2 * f[x0, x1, x2]
+            curvature = Math.max(curvature, Math.abs(2 * (right - left) / (infills[i + 1] - infills[i - 1])));
+        }
+        return new InfillCurve(infills.clone(), values.clone(), curvature, resolution);
+    }
+
+    /**
+     * Interpolated value; outside the anchors the nearest segment is extended.
+     */
+    public double valueAt(double infill) {
+        int segment = segment(infill);
+        double a = infills[segment];
+        double b = infills[segment + 1];
+        double t = (infill - a) / (b - a);
+        return values[segment] + t * (values[segment + 1] - values[segment]);
+    }
+
+    /**
+     * Worst-case absolute deviation of {@link #valueAt} from a real slice at that infill.
+     */
+    public double errorBoundAt(double infill) {
+        if (isAnchor(infill)) {
+            return 0.0;
+        }
+        int segment = segment(infill);
+        double distance = Math.abs((infill - infills[segment]) * (infills[segment + 1] - infill));
+        return curvature / 2 * distance + resolution / 2;
+    }
+
+    public boolean isAnchor(double infill) {
+        for (double anchor : infills) {
+            if (anchor == infill) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int segment(double infill) {
+        int segment = 0;
+        while (segment < infills.length - 2 && infill > infills[segment + 1]) {
+            segment++;
+        }
+        return segment;
+    }
+}
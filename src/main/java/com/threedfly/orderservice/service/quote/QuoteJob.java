@@ -0,0 +1,156 @@
+package com.threedfly.orderservice.service.quote;
+
+import com.threedfly.orderservice.dto.PrintCalculationResponse;
+import com.threedfly.orderservice.dto.QuoteJobResponse;
+import com.threedfly.orderservice.enums.QuoteJobStatus;
+import com.threedfly.orderservice.enums.QuoteStage;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable state of one asynchronous quote job plus its SSE subscribers.
+ * State changes happen under the job's monitor; events are sent outside of it
+ * so a slow subscriber never blocks the calculation.
+ */
+@Slf4j
+class QuoteJob {
+
+    static final String EVENT_PROGRESS = "progress";
+    static final String EVENT_COMPLETED = "completed";
+    static final String EVENT_FAILED = "failed";
+
+    private final String id;
+    private final String fileName;
+    private final LocalDateTime createdAt = LocalDateTime.now();
+    private final List<SseEmitter> emitters = new ArrayList<>();
+
+    private QuoteJobStatus status = QuoteJobStatus.PENDING;
+    private QuoteStage stage = QuoteStage.QUEUED;
+    private PrintCalculationResponse result;
+    private String errorMessage;
+    private LocalDateTime updatedAt = createdAt;
+    private Instant finishedAt;
+
+    QuoteJob(String id, String fileName) {
+        this.id = id;
+        this.fileName = fileName;
+    }
+
+    String getId() {
+        return id;
+    }
+
+    synchronized boolean isTerminal() {
+        return status.isTerminal();
+    }
+
+    synchronized boolean isExpired(Instant now, Duration retention) {
+        return finishedAt != null && finishedAt.plus(retention).isBefore(now);
+    }
+
+    void updateStage(QuoteStage newStage) {
+        QuoteJobResponse snapshot;
+        List<SseEmitter> subscribers;
+        synchronized (this) {
+            if (status.isTerminal()) {
+                return;
+            }
+            status = QuoteJobStatus.RUNNING;
+            stage = newStage;
+            updatedAt = LocalDateTime.now();
+            snapshot = toResponse();
+            subscribers = List.copyOf(emitters);
+        }
+        broadcast(subscribers, EVENT_PROGRESS, snapshot, false);
+    }
+
+    void complete(PrintCalculationResponse response) {
+        finish(QuoteJobStatus.COMPLETED, response, null);
+    }
+
+    void fail(String message) {
+        finish(QuoteJobStatus.FAILED, null, message);
+    }
+
+    /**
+     * Registers an SSE subscriber. The current state is sent immediately; for a finished
+     * job the final event is sent and the stream is closed.
+     */
+    void subscribe(SseEmitter emitter) {
+        QuoteJobResponse snapshot;
+        boolean terminal;
+        synchronized (this) {
+            snapshot = toResponse();
+            terminal = status.isTerminal();
+            if (!terminal) {
+                emitters.add(emitter);
+                emitter.onCompletion(() -> removeEmitter(emitter));
+                emitter.onTimeout(() -> removeEmitter(emitter));
+                emitter.onError(e -> removeEmitter(emitter));
+            }
+        }
+        broadcast(List.of(emitter), terminal ? finalEventName(snapshot.getStatus()) : EVENT_PROGRESS, snapshot, terminal);
+    }
+
+    synchronized QuoteJobResponse toResponse() {
+        return QuoteJobResponse.builder()
+                .jobId(id)
+                .status(status)
+                .stage(stage)
+                .progressPercent(stage.getProgressPercent())
+                .fileName(fileName)
+                .result(result)
+                .errorMessage(errorMessage)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    private void finish(QuoteJobStatus finalStatus, PrintCalculationResponse response, String message) {
+        QuoteJobResponse snapshot;
+        List<SseEmitter> subscribers;
+        synchronized (this) {
+            status = finalStatus;
+            if (finalStatus == QuoteJobStatus.COMPLETED) {
+                stage = QuoteStage.COMPLETED;
+            }
+            result = response;
+            errorMessage = message;
+            updatedAt = LocalDateTime.now();
+            finishedAt = Instant.now();
+            snapshot = toResponse();
+            subscribers = List.copyOf(emitters);
+            emitters.clear();
+        }
+        broadcast(subscribers, finalEventName(finalStatus), snapshot, true);
+    }
+
+    private synchronized void removeEmitter(SseEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    private static String finalEventName(QuoteJobStatus status) {
+        return status == QuoteJobStatus.COMPLETED ? EVENT_COMPLETED : EVENT_FAILED;
+    }
+
+    private void broadcast(List<SseEmitter> subscribers, String eventName, QuoteJobResponse payload, boolean close) {
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).id(id + "-" + payload.getProgressPercent()).data(payload));
+                if (close) {
+                    emitter.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("📡 Dropping SSE subscriber for quote job {}: {}", id, e.getMessage());
+                removeEmitter(emitter);
+            }
+        }
+    }
+}
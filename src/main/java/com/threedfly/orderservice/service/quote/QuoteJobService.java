@@ -0,0 +1,195 @@
+package com.threedfly.orderservice.service.quote;
+
+import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import com.threedfly.orderservice.dto.PrintCalculationResponse;
+import com.threedfly.orderservice.dto.QuoteJobResponse;
+import com.threedfly.orderservice.exception.SlicerBusyException;
+import com.threedfly.orderservice.service.PrintCalculationService;
+import com.threedfly.orderservice.service.UploadedModel;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Runs quote calculations in the background so the HTTP request returns immediately.
+ *
+ * Jobs live in a bounded in-memory store: at most {@code max-active} jobs may be pending
+ * or running at once (further submissions get a 429), and finished jobs are kept for the
+ * retention period or until {@code max-retained} is reached, oldest first.
+ */
+@Service
+@Slf4j
+public class QuoteJobService {
+
+    private final PrintCalculationService calculationService;
+    private final int maxActiveJobs;
+    private final int maxRetainedJobs;
+    private final Duration retention;
+    private final long sseTimeoutMillis;
+    private final long retryAfterSeconds;
+
+    // Orchestration threads only block on the slicer pool, so virtual threads are sufficient
+    private final ExecutorService jobExecutor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("quote-job-", 0).factory());
+
+    // Insertion-ordered, so iteration starts at the oldest job
+    private final LinkedHashMap<String, QuoteJob> jobs = new LinkedHashMap<>();
+    private int activeJobs;
+
+    public QuoteJobService(
+            PrintCalculationService calculationService,
+            @Value("${printing.quote.jobs.max-active:32}") int maxActiveJobs,
+            @Value("${printing.quote.jobs.max-retained:1000}") int maxRetainedJobs,
+            @Value("${printing.quote.jobs.retention-minutes:30}") long retentionMinutes,
+            @Value("${printing.quote.jobs.sse-timeout-seconds:600}") long sseTimeoutSeconds,
+            @Value("${printing.slicer.pool.retry-after-seconds:10}") long retryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        if (maxActiveJobs < 1 || maxRetainedJobs < maxActiveJobs) {
+            throw new IllegalArgumentException("Quote job limits must satisfy 1 <= max-active <= max-retained");
+        }
+        this.calculationService = calculationService;
+        this.maxActiveJobs = maxActiveJobs;
+        this.maxRetainedJobs = maxRetainedJobs;
+        this.retention = Duration.ofMinutes(retentionMinutes);
+        this.sseTimeoutMillis = Duration.ofSeconds(sseTimeoutSeconds).toMillis();
+        this.retryAfterSeconds = retryAfterSeconds;
+
+        Gauge.builder("printing.quote.jobs.active", this, QuoteJobService::getActiveJobCount)
+                .description("Quote jobs pending or running")
+                .register(meterRegistry);
+        Gauge.builder("printing.quote.jobs.retained", this, QuoteJobService::getRetainedJobCount)
+                .description("Quote jobs held in the job store")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Saves the upload and starts calculating it in the background.
+     *
+     * @return The new job in PENDING state
+     * @throws SlicerBusyException if too many jobs are already active
+     */
+    public QuoteJobResponse submit(MultipartFile file, PrintCalculationRequest request) {
+        QuoteJob job = reserve(file.getOriginalFilename());
+
+        UploadedModel model;
+        try {
+            model = calculationService.storeUpload(file);
+        } catch (RuntimeException e) {
+            release(job, true);
+            throw e;
+        }
+
+        log.info("🧾 Quote job {} accepted for file: {}", job.getId(), model.getOriginalFilename());
+        jobExecutor.execute(() -> run(job, model, request));
+        return job.toResponse();
+    }
+
+    /**
+     * Returns the current state of a job.
+     */
+    public QuoteJobResponse getJob(String jobId) {
+        return findJob(jobId).toResponse();
+    }
+
+    /**
+     * Opens a server-sent event stream for a job's progress and final result.
+     */
+    public SseEmitter subscribe(String jobId) {
+        QuoteJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    public int getActiveJobCount() {
+        synchronized (jobs) {
+            return activeJobs;
+        }
+    }
+
+    public int getRetainedJobCount() {
+        synchronized (jobs) {
+            return jobs.size();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobExecutor.shutdownNow();
+    }
+
+    private void run(QuoteJob job, UploadedModel model, PrintCalculationRequest request) {
+        try {
+            PrintCalculationResponse response = calculationService.calculatePrice(model, request, job::updateStage);
+            job.complete(response);
+            log.info("✅ Quote job {} completed: ${}", job.getId(), response.getEstimatedPrice());
+        } catch (Exception e) {
+            log.warn("❌ Quote job {} failed: {}", job.getId(), e.getMessage());
+            job.fail(e.getMessage());
+        } finally {
+            release(job, false);
+        }
+    }
+
+    private QuoteJob findJob(String jobId) {
+        synchronized (jobs) {
+            purgeExpired();
+            QuoteJob job = jobs.get(jobId);
+            if (job == null) {
+                throw new RuntimeException("Quote job not found with ID: " + jobId);
+            }
+            return job;
+        }
+    }
+
+    private QuoteJob reserve(String fileName) {
+        synchronized (jobs) {
+            purgeExpired();
+            if (activeJobs >= maxActiveJobs) {
+                log.warn("🚦 Rejecting quote job, {} jobs already active", activeJobs);
+                throw new SlicerBusyException("Too many quote jobs in progress, please retry later",
+                        retryAfterSeconds);
+            }
+
+            // Make room by dropping the oldest finished jobs
+            Iterator<QuoteJob> iterator = jobs.values().iterator();
+            while (jobs.size() >= maxRetainedJobs && iterator.hasNext()) {
+                if (iterator.next().isTerminal()) {
+                    iterator.remove();
+                }
+            }
+
+            QuoteJob job = new QuoteJob(UUID.randomUUID().toString(), fileName);
+            jobs.put(job.getId(), job);
+            activeJobs++;
+            return job;
+        }
+    }
+
+    private void release(QuoteJob job, boolean discard) {
+        synchronized (jobs) {
+            activeJobs--;
+            if (discard) {
+                jobs.remove(job.getId());
+            }
+        }
+    }
+
+    private void purgeExpired() {
+        Instant now = Instant.now();
+        jobs.values().removeIf(job -> job.isExpired(now, retention));
+    }
+}
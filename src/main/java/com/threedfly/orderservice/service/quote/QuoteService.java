@@ -0,0 +1,157 @@
+package com.threedfly.orderservice.service.quote;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import com.threedfly.orderservice.dto.PrintCalculationResponse;
+import com.threedfly.orderservice.dto.SlicingResult;
+import com.threedfly.orderservice.entity.Quote;
+import com.threedfly.orderservice.repository.QuoteRepository;
+import com.threedfly.orderservice.service.cache.SlicingCacheKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Persists quotes so they outlive the request and the in-memory slicing cache.
+ *
+ * A quote stores the slicing fingerprint (model hash and parameter hash), the effective
+ * parameters, the slicing result and the price. It is valid for
+ * {@code printing.quotes.validity-hours}: within that window orders can be placed against
+ * it and repeated quotes for the same fingerprint are answered from it instead of slicing
+ * again; every such reuse extends it to the full validity again, so a repeat quote never
+ * hands out an id that is about to expire. Expired quotes that no order refers to are
+ * deleted periodically.
+ *
+ * Every method runs in its own short transaction; quotes are calculated outside of
+ * transactions, so no connection is held while the slicer runs.
+ */
+@Service
+@Slf4j
+public class QuoteService {
+
+    private final QuoteRepository quoteRepository;
+    private final ObjectMapper objectMapper;
+    private final Duration validity;
+
+    public QuoteService(
+            QuoteRepository quoteRepository,
+            ObjectMapper objectMapper,
+            @Value("${printing.quotes.validity-hours:72}") long validityHours) {
+        this.quoteRepository = quoteRepository;
+        this.objectMapper = objectMapper;
+        this.validity = Duration.ofHours(validityHours);
+    }
+
+    /**
+     * Stores a freshly sliced quote under the quote id of its slicing result, unless it is
+     * already stored.
+     */
+    @Transactional
+    public Quote record(SlicingCacheKey key, PrintCalculationRequest request, PrintCalculationResponse response) {
+        if (response.getQuoteId() == null) {
+            throw new IllegalArgumentException("Quote response has no quote ID");
+        }
+        // Requests that shared one slicer run share its quote
+        Optional<Quote> existing = quoteRepository.findById(response.getQuoteId());
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+
+        Quote quote = new Quote();
+        quote.setId(response.getQuoteId());
+        quote.setModelHash(key.getModelHash());
+        quote.setParametersHash(key.getParametersHash());
+        quote.setFileName(response.getFileName());
+        quote.setTechnology(request.getTechnology());
+        quote.setMaterial(request.getMaterial());
+        quote.setFilamentWeightGrams(response.getMaterialUsedGrams());
+        quote.setPrintTimeMinutes(response.getPrintingTimeMinutes());
+        quote.setEstimatedPrice(response.getEstimatedPrice());
+        quote.setCurrency(response.getCurrency());
+
+        // Convert the effective parameters to a JSON string
+        try {
+            quote.setParameters(objectMapper.writeValueAsString(request));
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Failed to serialize quote parameters", e);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        quote.setCreatedAt(now);
+        quote.setExpiresAt(now.plus(validity));
+
+        Quote saved = quoteRepository.save(quote);
+        log.info("🧾 Quote {} recorded, valid until {}", saved.getId(), saved.getExpiresAt());
+        return saved;
+    }
+
+    /**
+     * Looks up the slicing result of a valid quote with the same fingerprint and extends
+     * the quote to the full validity.
+     */
+    @Transactional
+    public Optional<SlicingResult> findResult(SlicingCacheKey key) {
+        LocalDateTime now = LocalDateTime.now();
+        return quoteRepository
+                .findFirstByModelHashAndParametersHashAndExpiresAtAfterOrderByCreatedAtDesc(
+                        key.getModelHash(), key.getParametersHash(), now)
+                .map(quote -> {
+                    log.info("🧾 Reusing stored quote {} for {}", quote.getId(), key);
+                    if (quote.getExpiresAt().isBefore(now.plus(validity))) {
+                        quote.setExpiresAt(now.plus(validity));
+                    }
+                    return SlicingResult.builder()
+                            .quoteId(quote.getId())
+                            .filamentWeightGrams(quote.getFilamentWeightGrams())
+                            .estimatedPrintTimeMinutes(quote.getPrintTimeMinutes())
+                            .success(true)
+                            .build();
+                });
+    }
+
+    /**
+     * Extends a quote whose slicing result is reused from the in-memory cache to the full
+     * validity. Quotes that are not (yet) recorded are left alone.
+     *
+     * @return Whether the quote was extended
+     */
+    @Transactional
+    public boolean renew(String quoteId) {
+        return quoteRepository.extendExpiry(quoteId, LocalDateTime.now().plus(validity)) > 0;
+    }
+
+    /**
+     * Returns a quote that orders can still be placed against.
+     *
+     * @throws RuntimeException         if no quote with the id exists
+     * @throws IllegalArgumentException if the quote has expired
+     */
+    @Transactional(readOnly = true)
+    public Quote getValidQuote(String quoteId) {
+        Quote quote = quoteRepository.findById(quoteId)
+                .orElseThrow(() -> new RuntimeException("Quote not found with ID: " + quoteId));
+        if (quote.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new IllegalArgumentException("Quote has expired: " + quoteId);
+        }
+        return quote;
+    }
+
+    /**
+     * Deletes expired quotes that no order refers to.
+     */
+    @Scheduled(fixedDelayString = "${printing.quotes.sweep-interval-ms:3600000}")
+    @Transactional
+    public void deleteExpiredQuotes() {
+        int deleted = quoteRepository.deleteExpiredUnordered(LocalDateTime.now());
+        if (deleted > 0) {
+            log.info("🧹 Deleted {} expired quotes", deleted);
+        }
+    }
+}
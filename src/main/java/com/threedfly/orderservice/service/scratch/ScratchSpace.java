@@ -0,0 +1,214 @@
+package com.threedfly.orderservice.service.scratch;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out a private scratch directory per calculation.
+ *
+ * Everything a calculation writes (the upload, the oriented model, the slicer output)
+ * goes into its own {@code req-*} directory below {@code printing.scratch.directory},
+ * so names never collide between concurrent requests and the whole directory is
+ * removed in one recursive delete when the calculation ends. Directories left behind
+ * by a crash are removed on startup, and a periodic sweep removes directories nobody
+ * owns any more once they are older than {@code printing.scratch.max-age-minutes}.
+ * The root must not be shared between service instances.
+ */
+@Component
+@Slf4j
+public class ScratchSpace {
+
+    static final String PREFIX = "req-";
+
+    private final Path root;
+    private final Duration maxAge;
+    private final Set<Path> active = ConcurrentHashMap.newKeySet();
+    private final AtomicLong usedBytes = new AtomicLong();
+
+    @Autowired
+    public ScratchSpace(
+            @Value("${printing.scratch.directory:${printing.temp.directory}/scratch}") String directory,
+            @Value("${printing.scratch.max-age-minutes:60}") long maxAgeMinutes,
+            MeterRegistry meterRegistry) {
+        this.root = Paths.get(directory).toAbsolutePath().normalize();
+        this.maxAge = Duration.ofMinutes(maxAgeMinutes);
+
+        Gauge.builder("printing.scratch.directories", active, Set::size)
+                .description("Scratch directories owned by running calculations")
+                .register(meterRegistry);
+        Gauge.builder("printing.scratch.used", usedBytes, AtomicLong::get)
+                .description("Bytes in scratch directories, measured by the last sweep")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("printing.scratch.free", this, ScratchSpace::usableSpace)
+                .description("Usable space on the scratch file system")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Removes every scratch directory left over from a previous run; none of them can
+     * belong to this process yet.
+     */
+    @PostConstruct
+    public void removeOrphans() {
+        log.info("🗂️ Scratch space at {} (maxAge={})", root, maxAge);
+        sweep(Instant.MAX);
+    }
+
+    /**
+     * Creates a new, empty scratch directory. The caller owns it and must
+     * {@link #delete(Path) delete} it when done.
+     */
+    public Path create() throws IOException {
+        Files.createDirectories(root);
+        Path directory = Files.createTempDirectory(root, PREFIX);
+        active.add(directory);
+        return directory;
+    }
+
+    /**
+     * Deletes a scratch directory and everything in it. Failures are logged; whatever is
+     * left is picked up by the sweep.
+     *
+     * @throws IllegalArgumentException if the path is not a scratch directory
+     */
+    public void delete(Path directory) {
+        Path normalized = directory.toAbsolutePath().normalize();
+        if (!root.equals(normalized.getParent()) || !normalized.getFileName().toString().startsWith(PREFIX)) {
+            throw new IllegalArgumentException("Not a scratch directory: " + directory);
+        }
+        try {
+            deleteRecursively(normalized);
+            log.debug("🧹 Deleted scratch directory {}", normalized);
+        } catch (IOException e) {
+            log.warn("⚠️ Could not delete scratch directory {}: {}", normalized, e.getMessage());
+        } finally {
+            active.remove(normalized);
+        }
+    }
+
+    /**
+     * Deletes scratch directories that no running calculation owns and that are older
+     * than the maximum age, and measures the space the remaining ones take.
+     */
+    @Scheduled(fixedDelayString = "${printing.scratch.sweep-interval-ms:300000}")
+    public void sweep() {
+        sweep(Instant.now().minus(maxAge));
+    }
+
+    private void sweep(Instant cutoff) {
+        if (!Files.isDirectory(root)) {
+            usedBytes.set(0);
+            return;
+        }
+        int deleted = 0;
+        long used = 0;
+
+        try (DirectoryStream<Path> directories = Files.newDirectoryStream(root, PREFIX + "*")) {
+            for (Path directory : directories) {
+                try {
+                    boolean orphaned = !active.contains(directory)
+                            && Files.getLastModifiedTime(directory).toInstant().isBefore(cutoff);
+                    if (orphaned) {
+                        deleteRecursively(directory);
+                        deleted++;
+                    } else {
+                        used += sizeOf(directory);
+                    }
+                } catch (IOException e) {
+                    // Usually a calculation finishing and deleting its directory right now
+                    log.debug("Skipped scratch directory {}: {}", directory, e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            log.warn("⚠️ Could not sweep scratch space {}: {}", root, e.getMessage());
+        }
+
+        usedBytes.set(used);
+        if (deleted > 0) {
+            log.info("🧹 Deleted {} orphaned scratch directories", deleted);
+        }
+    }
+
+    int getActiveCount() {
+        return active.size();
+    }
+
+    long getUsedBytes() {
+        return usedBytes.get();
+    }
+
+    private double usableSpace() {
+        try {
+            return Files.getFileStore(Files.isDirectory(root) ? root : root.getParent()).getUsableSpace();
+        } catch (IOException | RuntimeException e) {
+            return Double.NaN;
+        }
+    }
+
+    private static long sizeOf(Path directory) throws IOException {
+        AtomicLong size = new AtomicLong();
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                size.addAndGet(attributes.size());
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) {
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        return size.get();
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        Files.walkFileTree(directory, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) throws IOException {
+                Files.deleteIfExists(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(Path file, IOException e) throws IOException {
+                if (e instanceof NoSuchFileException) {
+                    return FileVisitResult.CONTINUE;
+                }
+                throw e;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                if (e != null && !(e instanceof NoSuchFileException)) {
+                    throw e;
+                }
+                Files.deleteIfExists(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+}
@@ -0,0 +1,59 @@
+package com.threedfly.orderservice.service.slicer;
+
+import org.springframework.stereotype.Component;
+
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.containsIgnoreCase;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.indexOfIgnoreCase;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.parseDecimal;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.parseDuration;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.valueStart;
+
+/**
+ * Parses BambuStudio console output.
+ *
+ * BambuStudio reports its summary in the G-code header format; when running with the
+ * PrusaSlicer-compatible CLI options it may also print the PrusaSlicer lines:
+ * <pre>
+ * ; total filament weight [g] : 5.23
+ * ; model printing time: 20m 7s; total estimated time: 26m 53s
+ * ; total filament used [g] = 5.23
+ * ; estimated printing time (normal mode) = 26m 53s
+ * </pre>
+ */
+@Component
+public class BambuSlicerOutputParser implements SlicerOutputParser {
+
+    private static final String SLICER_TYPE = "bambu";
+
+    @Override
+    public boolean supports(String slicerType) {
+        return SLICER_TYPE.equalsIgnoreCase(slicerType);
+    }
+
+    @Override
+    public void parseLine(String line, SlicerOutputSummary summary) {
+        if (!summary.hasFilamentWeight()) {
+            int key = indexOfIgnoreCase(line, "total filament weight", 0);
+            if (key < 0) {
+                key = indexOfIgnoreCase(line, "total filament used", 0);
+            }
+            if (key >= 0 && indexOfIgnoreCase(line, "[g]", key) >= 0 && !containsIgnoreCase(line, "wipe tower")) {
+                summary.setFilamentWeightGrams(parseDecimal(line, valueStart(line, key)));
+                return;
+            }
+        }
+
+        if (!summary.hasPrintTime()) {
+            int key = indexOfIgnoreCase(line, "total estimated time", 0);
+            if (key < 0) {
+                key = indexOfIgnoreCase(line, "estimated printing time", 0);
+                if (key >= 0 && indexOfIgnoreCase(line, "(normal mode)", key) < 0) {
+                    key = -1;
+                }
+            }
+            if (key >= 0) {
+                summary.setPrintTimeSeconds(parseDuration(line, valueStart(line, key)));
+            }
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.threedfly.orderservice.service.slicer;
+
+import org.springframework.stereotype.Component;
+
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.charAfterNumber;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.containsIgnoreCase;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.indexOfIgnoreCase;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.parseDecimal;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.parseDuration;
+import static com.threedfly.orderservice.service.slicer.SlicerOutputMatchers.valueStart;
+
+/**
+ * Parses PrusaSlicer console output.
+ *
+ * Recognized lines:
+ * <pre>
+ * ; total filament used [g] = 0.67
+ * filament used = 0.67g                                  (older releases)
+ * ; estimated printing time (normal mode) = 1h 5m 33s    (silent mode is ignored)
+ * </pre>
+ */
+@Component
+public class PrusaSlicerOutputParser implements SlicerOutputParser {
+
+    private static final String SLICER_TYPE = "prusa";
+
+    @Override
+    public boolean supports(String slicerType) {
+        return SLICER_TYPE.equalsIgnoreCase(slicerType);
+    }
+
+    @Override
+    public void parseLine(String line, SlicerOutputSummary summary) {
+        if (!summary.hasFilamentWeight()) {
+            int key = indexOfIgnoreCase(line, "total filament used", 0);
+            if (key >= 0 && indexOfIgnoreCase(line, "[g]", key) >= 0 && !containsIgnoreCase(line, "wipe tower")) {
+                summary.setFilamentWeightGrams(parseDecimal(line, valueStart(line, key)));
+                return;
+            }
+
+            key = indexOfIgnoreCase(line, "filament used", 0);
+            if (key >= 0 && line.indexOf('[') < 0) {
+                int value = valueStart(line, key);
+                char unit = charAfterNumber(line, value);
+                // Only grams count; "filament used = 1234.5mm" is a length
+                if (unit == 'g' || unit == 'G') {
+                    summary.setFilamentWeightGrams(parseDecimal(line, value));
+                    return;
+                }
+            }
+        }
+
+        if (!summary.hasPrintTime()) {
+            int key = indexOfIgnoreCase(line, "estimated printing time", 0);
+            if (key >= 0 && indexOfIgnoreCase(line, "(normal mode)", key) >= 0) {
+                summary.setPrintTimeSeconds(parseDuration(line, valueStart(line, key)));
+            }
+        }
+    }
+}
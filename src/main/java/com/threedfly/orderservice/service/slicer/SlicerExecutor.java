@@ -0,0 +1,181 @@
+package com.threedfly.orderservice.service.slicer;
+
+import com.threedfly.orderservice.exception.SlicerBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded executor for slicer runs.
+ *
+ * Slicer processes are CPU heavy, so at most {@code printing.slicer.pool.size} of them
+ * run at once (defaults to the number of available cores). Further jobs wait in a
+ * bounded queue; once the queue is full new jobs are rejected immediately with a
+ * {@link SlicerBusyException} instead of piling up behind the timeout.
+ */
+@Component
+@Slf4j
+public class SlicerExecutor {
+
+    private final ThreadPoolExecutor executor;
+    private final int poolSize;
+    private final long defaultRetryAfterSeconds;
+
+    private final Timer waitTimer;
+    private final Timer runTimer;
+    private final Counter rejected;
+
+    @Autowired
+    public SlicerExecutor(
+            @Value("${printing.slicer.pool.size:0}") int configuredPoolSize,
+            @Value("${printing.slicer.pool.queue-capacity:16}") int queueCapacity,
+            @Value("${printing.slicer.pool.retry-after-seconds:10}") long defaultRetryAfterSeconds,
+            MeterRegistry meterRegistry) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Slicer queue capacity must be at least 1");
+        }
+        this.poolSize = configuredPoolSize > 0 ? configuredPoolSize : Runtime.getRuntime().availableProcessors();
+        this.defaultRetryAfterSeconds = defaultRetryAfterSeconds;
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "slicer-worker-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        this.waitTimer = Timer.builder("printing.slicer.queue.wait")
+                .description("Time slicer jobs spend waiting for a free worker")
+                .register(meterRegistry);
+        this.runTimer = Timer.builder("printing.slicer.run")
+                .description("Time slicer jobs spend running on a worker")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("printing.slicer.rejected")
+                .description("Slicer jobs rejected because the wait queue was full")
+                .register(meterRegistry);
+        Gauge.builder("printing.slicer.queue.depth", executor, e -> e.getQueue().size())
+                .description("Slicer jobs waiting for a free worker")
+                .register(meterRegistry);
+        Gauge.builder("printing.slicer.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Slicer jobs currently running")
+                .register(meterRegistry);
+
+        log.info("⚙️ Slicer worker pool initialized (workers={}, queueCapacity={})", poolSize, queueCapacity);
+    }
+
+    /**
+     * Queues a slicer job without waiting for it.
+     *
+     * @param task The slicer job
+     * @return Future for the job result
+     * @throws SlicerBusyException if every worker is busy and the wait queue is full
+     */
+    public <T> Future<T> submit(Callable<T> task) {
+        long enqueuedAt = System.nanoTime();
+        FutureTask<T> future = new FutureTask<>(() -> {
+            long startedAt = System.nanoTime();
+            waitTimer.record(startedAt - enqueuedAt, TimeUnit.NANOSECONDS);
+            try {
+                return task.call();
+            } finally {
+                runTimer.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        });
+
+        try {
+            executor.execute(future);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            long retryAfter = estimateRetryAfterSeconds();
+            log.warn("🚦 Slicer queue full ({} waiting, {} running), rejecting job (retry after {}s)",
+                    executor.getQueue().size(), executor.getActiveCount(), retryAfter);
+            throw new SlicerBusyException("Slicer is at capacity, please retry later", retryAfter);
+        }
+        return future;
+    }
+
+    /**
+     * Waits for a previously submitted job until its deadline. On timeout the job is
+     * cancelled and removed from the queue so it never occupies a worker.
+     *
+     * @throws TimeoutException if the deadline elapsed before the job completed
+     */
+    public <T> T await(Future<T> future, Duration deadline) throws TimeoutException, ExecutionException {
+        try {
+            return future.get(Math.max(0, deadline.toMillis()), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            cancel(future);
+            throw e;
+        } catch (InterruptedException e) {
+            cancel(future);
+            Thread.currentThread().interrupt();
+            throw new ExecutionException("Interrupted while waiting for slicer", e);
+        }
+    }
+
+    /**
+     * Submits a job and waits for it, bounded by the given deadline.
+     */
+    public <T> T execute(Callable<T> task, Duration deadline) throws TimeoutException, ExecutionException {
+        return await(submit(task), deadline);
+    }
+
+    /**
+     * Cancels a job; a queued job is dropped, a running job is interrupted.
+     */
+    public void cancel(Future<?> future) {
+        future.cancel(true);
+        if (future instanceof Runnable runnable) {
+            executor.remove(runnable);
+        }
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public int getQueueDepth() {
+        return executor.getQueue().size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        log.info("⚙️ Shutting down slicer worker pool");
+        executor.shutdownNow();
+    }
+
+    /**
+     * Estimates how long until a queue slot frees up, based on the mean run time so far.
+     */
+    private long estimateRetryAfterSeconds() {
+        double meanRunSeconds = runTimer.mean(TimeUnit.SECONDS);
+        if (runTimer.count() == 0 || meanRunSeconds <= 0) {
+            return defaultRetryAfterSeconds;
+        }
+        double waves = (double) executor.getQueue().size() / poolSize + 1;
+        return Math.max(1, (long) Math.ceil(meanRunSeconds * waves));
+    }
+}
@@ -0,0 +1,127 @@
+package com.threedfly.orderservice.service.slicer;
+
+/**
+ * Hand-rolled matching helpers for slicer output lines. They replace the leading
+ * {@code .*} regexes the output used to be matched with, which backtracked on every
+ * line, and allocate nothing.
+ */
+final class SlicerOutputMatchers {
+
+    private SlicerOutputMatchers() {
+    }
+
+    /**
+     * ASCII case-insensitive search for a lowercase needle, starting at {@code from}.
+     *
+     * @return Index of the first match, or -1
+     */
+    static int indexOfIgnoreCase(String line, String lowerNeedle, int from) {
+        int last = line.length() - lowerNeedle.length();
+        for (int i = Math.max(0, from); i <= last; i++) {
+            if (line.regionMatches(true, i, lowerNeedle, 0, lowerNeedle.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    static boolean containsIgnoreCase(String line, String lowerNeedle) {
+        return indexOfIgnoreCase(line, lowerNeedle, 0) >= 0;
+    }
+
+    /**
+     * Position after the first '=' or ':' at or after {@code from}, or the line length.
+     */
+    static int valueStart(String line, int from) {
+        for (int i = Math.max(0, from); i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '=' || c == ':') {
+                return i + 1;
+            }
+        }
+        return line.length();
+    }
+
+    /**
+     * Parses an unsigned decimal such as "12.34", skipping leading blanks.
+     *
+     * @return The value, or 0 if there is no number at that position
+     */
+    static double parseDecimal(String line, int from) {
+        int i = skipBlanks(line, from);
+        long mantissa = 0;
+        int fractionDigits = -1;
+        boolean digits = false;
+        for (; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits = true;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                break;
+            }
+        }
+        if (!digits) {
+            return 0.0;
+        }
+        return fractionDigits > 0 ? mantissa / Math.pow(10, fractionDigits) : mantissa;
+    }
+
+    /**
+     * Parses a slicer duration such as "1d 2h 3m 4s" into seconds.
+     *
+     * @return Seconds, or 0 if there is no duration at that position
+     */
+    static long parseDuration(String line, int from) {
+        long seconds = 0;
+        int i = skipBlanks(line, from);
+        while (i < line.length()) {
+            long value = 0;
+            int digitsStart = i;
+            while (i < line.length() && line.charAt(i) >= '0' && line.charAt(i) <= '9') {
+                value = value * 10 + (line.charAt(i) - '0');
+                i++;
+            }
+            if (i == digitsStart || i >= line.length()) {
+                break;
+            }
+            switch (line.charAt(i)) {
+                case 'd' -> seconds += value * 86_400;
+                case 'h' -> seconds += value * 3_600;
+                case 'm' -> seconds += value * 60;
+                case 's' -> seconds += value;
+                default -> {
+                    return seconds;
+                }
+            }
+            i = skipBlanks(line, i + 1);
+        }
+        return seconds;
+    }
+
+    /**
+     * Returns the first non-blank character after the number at {@code from}, or 0 if
+     * the line ends there. Used to check units such as "0.67g".
+     */
+    static char charAfterNumber(String line, int from) {
+        int i = skipBlanks(line, from);
+        while (i < line.length() && (Character.isDigit(line.charAt(i)) || line.charAt(i) == '.')) {
+            i++;
+        }
+        i = skipBlanks(line, i);
+        return i < line.length() ? line.charAt(i) : 0;
+    }
+
+    private static int skipBlanks(String line, int from) {
+        int i = Math.max(0, from);
+        while (i < line.length() && (line.charAt(i) == ' ' || line.charAt(i) == '\t')) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,54 @@
+package com.threedfly.orderservice.service.slicer;
+
+import java.util.function.Consumer;
+
+/**
+ * Extracts filament weight and print time from a slicer's console output.
+ *
+ * Implementations are stateless; all state lives in the {@link SlicerOutputSummary}
+ * passed in, so one parser serves concurrent slicer runs. Lines can be fed as the
+ * process produces them, and are ignored once the summary is complete.
+ */
+public interface SlicerOutputParser {
+
+    /**
+     * Checks if this parser understands the output of the given slicer type.
+     *
+     * @param slicerType The slicer type identifier (e.g., "prusa", "bambu")
+     */
+    boolean supports(String slicerType);
+
+    /**
+     * Parses one line of output (without line terminator) into the summary.
+     */
+    void parseLine(String line, SlicerOutputSummary summary);
+
+    /**
+     * Returns a line consumer that feeds this parser until the summary is complete.
+     */
+    default Consumer<String> lineConsumer(SlicerOutputSummary summary) {
+        return line -> {
+            if (!summary.isComplete()) {
+                parseLine(line, summary);
+            }
+        };
+    }
+
+    /**
+     * Parses a complete output text, stopping at the first line that completes the summary.
+     */
+    default SlicerOutputSummary parse(String output) {
+        SlicerOutputSummary summary = new SlicerOutputSummary();
+        int start = 0;
+        int length = output.length();
+        while (start < length && !summary.isComplete()) {
+            int end = output.indexOf('\n', start);
+            if (end < 0) {
+                end = length;
+            }
+            parseLine(output.substring(start, end), summary);
+            start = end + 1;
+        }
+        return summary;
+    }
+}
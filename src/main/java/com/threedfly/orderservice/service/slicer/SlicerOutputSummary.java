@@ -0,0 +1,50 @@
+package com.threedfly.orderservice.service.slicer;
+
+/**
+ * Values collected from a slicer's console output. Each field keeps the first value
+ * reported; 0 means not (yet) found.
+ */
+public class SlicerOutputSummary {
+
+    private double filamentWeightGrams;
+    private long printTimeSeconds;
+
+    public double getFilamentWeightGrams() {
+        return filamentWeightGrams;
+    }
+
+    public long getPrintTimeSeconds() {
+        return printTimeSeconds;
+    }
+
+    /**
+     * Print time in whole minutes, rounding 30 seconds and more up.
+     */
+    public int getPrintTimeMinutes() {
+        return (int) ((printTimeSeconds + 30) / 60);
+    }
+
+    public boolean hasFilamentWeight() {
+        return filamentWeightGrams > 0;
+    }
+
+    public boolean hasPrintTime() {
+        return printTimeSeconds > 0;
+    }
+
+    public boolean isComplete() {
+        return hasFilamentWeight() && hasPrintTime();
+    }
+
+    void setFilamentWeightGrams(double grams) {
+        if (!hasFilamentWeight() && grams > 0) {
+            filamentWeightGrams = grams;
+        }
+    }
+
+    void setPrintTimeSeconds(long seconds) {
+        if (!hasPrintTime() && seconds > 0) {
+            printTimeSeconds = seconds;
+        }
+    }
+}
@@ -17,6 +17,7 @@ import java.util.List;
 public class SlicerServiceFactory {
 
     private final List<SlicerService> slicerServices;
+    private final List<SlicerOutputParser> outputParsers;
 
     /**
      * Gets the appropriate slicer service for the specified slicer type.
@@ -50,4 +51,19 @@ public class SlicerServiceFactory {
                     );
                 });
     }
+
+    /**
+     * Gets the console output parser for the specified slicer type.
+     *
+     * @param slicerType The slicer type identifier (e.g., "prusa", "bambu")
+     * @return The matching SlicerOutputParser implementation
+     * @throws IllegalArgumentException if no parser supports the given type
+     */
+    public SlicerOutputParser getOutputParser(String slicerType) {
+        return outputParsers.stream()
+                .filter(parser -> parser.supports(slicerType))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(
+                        String.format("No slicer output parser found for type '%s'", slicerType)));
+    }
 }
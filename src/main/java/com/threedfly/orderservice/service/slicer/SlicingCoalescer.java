@@ -0,0 +1,258 @@
+package com.threedfly.orderservice.service.slicer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Coalesces identical concurrent slicer runs (single flight).
+ *
+ * Requests with the same key (a {@code SlicingCacheKey}: model hash plus effective
+ * parameters) that arrive while a run for that key is queued or running join it instead
+ * of submitting their own, and all of them receive its result. Every waiter waits with
+ * its own timeout; a waiter that gives up only leaves the run, which is cancelled once
+ * the last waiter has left. Runs are submitted to the {@link SlicerExecutor}, so a new
+ * run can still be rejected when the slicer queue is full; joining never is.
+ */
+@Component
+@Slf4j
+public class SlicingCoalescer {
+
+    private final SlicerExecutor slicerExecutor;
+    private final boolean enabled;
+    private final Map<Object, Run<?>> inFlight = new ConcurrentHashMap<>();
+    private final Counter started;
+    private final Counter joined;
+
+    @Autowired
+    public SlicingCoalescer(
+            SlicerExecutor slicerExecutor,
+            @Value("${printing.slicing.coalescing.enabled:true}") boolean enabled,
+            MeterRegistry meterRegistry) {
+        this.slicerExecutor = slicerExecutor;
+        this.enabled = enabled;
+
+        this.started = Counter.builder("printing.slicing.coalescing.requests")
+                .tag("result", "started")
+                .description("Slicer runs started because no identical run was in flight")
+                .register(meterRegistry);
+        this.joined = Counter.builder("printing.slicing.coalescing.requests")
+                .tag("result", "joined")
+                .description("Requests that joined an identical slicer run already in flight")
+                .register(meterRegistry);
+        Gauge.builder("printing.slicing.coalescing.in-flight", inFlight, Map::size)
+                .description("Distinct slicer runs in flight")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Joins the run in flight for the key, or submits the task as a new run.
+     *
+     * @param key  Identifies identical runs
+     * @param task The slicer job; only called if this caller starts the run
+     * @return This caller's handle on the run; every handle must be awaited or left
+     * @throws com.threedfly.orderservice.exception.SlicerBusyException if a new run is rejected by the slicer pool
+     */
+    public <T> Flight<T> join(Object key, Callable<T> task) {
+        return join(key, task, CompletableFuture::completedFuture);
+    }
+
+    /**
+     * Like {@link #join(Object, Callable)}, with a follow-up that runs once the slicer job
+     * has returned and released its pool thread. The run completes with the result of the
+     * stage the follow-up returns, so waiters and deferred cleanups also wait for it; work
+     * such as post-processing the G-code can use its own executor instead of a slicer slot.
+     *
+     * @param followUp Called with the job's value on the slicer thread; should only start
+     *                 its work and return
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> Flight<T> join(Object key, Callable<S> task,
+                                 Function<? super S, ? extends CompletionStage<T>> followUp) {
+        if (!enabled) {
+            Run<T> run = new Run<>(key);
+            run.submit(task, followUp);
+            started.increment();
+            return new Flight<>(run, true);
+        }
+
+        AtomicBoolean leader = new AtomicBoolean();
+        Run<T> run = (Run<T>) inFlight.compute(key, (k, existing) -> {
+            if (existing != null && existing.tryJoin()) {
+                return existing;
+            }
+            Run<T> created = new Run<>(k);
+            created.submit(task, followUp);
+            leader.set(true);
+            return created;
+        });
+
+        if (leader.get()) {
+            started.increment();
+            // Registered only now, so a run that finished immediately cannot be left in the map
+            run.result.whenComplete((result, failure) -> inFlight.remove(key, run));
+        } else {
+            joined.increment();
+            log.info("🔗 Joined slicer run already in flight for {}", key);
+        }
+        return new Flight<>(run, leader.get());
+    }
+
+    int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    /**
+     * One caller's participation in a shared run.
+     */
+    public final class Flight<T> {
+
+        private final Run<T> run;
+        private final boolean leader;
+        private final AtomicBoolean left = new AtomicBoolean();
+
+        private Flight(Run<T> run, boolean leader) {
+            this.run = run;
+            this.leader = leader;
+        }
+
+        /**
+         * Whether this caller started the run; the run works on the leader's files.
+         */
+        public boolean isLeader() {
+            return leader;
+        }
+
+        /**
+         * Waits for the shared result. On timeout or interruption this caller leaves the
+         * run; it keeps running as long as other callers still wait for it.
+         *
+         * @throws TimeoutException if the timeout elapsed before the run completed
+         */
+        public T await(Duration timeout) throws TimeoutException, ExecutionException {
+            try {
+                T result = run.result.get(Math.max(0, timeout.toMillis()), TimeUnit.MILLISECONDS);
+                leave();
+                return result;
+            } catch (TimeoutException e) {
+                leave();
+                throw e;
+            } catch (InterruptedException e) {
+                leave();
+                Thread.currentThread().interrupt();
+                throw new ExecutionException("Interrupted while waiting for slicer", e);
+            } catch (CancellationException e) {
+                leave();
+                throw new ExecutionException("Slicer run was cancelled", e);
+            } catch (ExecutionException e) {
+                leave();
+                throw e;
+            }
+        }
+
+        /**
+         * Stops waiting without a result. Cancels the run if no one else waits for it.
+         */
+        public void leave() {
+            if (left.compareAndSet(false, true)) {
+                run.leave();
+            }
+        }
+
+        /**
+         * Runs an action once the shared run has finished, immediately if it already has.
+         * A cancelled run finishes when its job and follow-up have returned (a running job
+         * is interrupted first) or, if it was still queued, right away. Used to keep the
+         * leader's input files until nothing works on them any more.
+         */
+        public void whenDone(Runnable action) {
+            run.result.whenComplete((result, failure) -> action.run());
+        }
+    }
+
+    private final class Run<T> {
+
+        private static final int QUEUED = 0;
+        private static final int RUNNING = 1;
+        private static final int DROPPED = 2;
+
+        private final Object key;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        // Callers still waiting; once it drops to zero the run is abandoned and nobody can join
+        private final AtomicInteger waiters = new AtomicInteger(1);
+        // Decides whether the job or the last leaving waiter completes the result
+        private final AtomicInteger state = new AtomicInteger(QUEUED);
+        private volatile Future<?> task;
+
+        private Run(Object key) {
+            this.key = key;
+        }
+
+        private <S> void submit(Callable<S> work, Function<? super S, ? extends CompletionStage<T>> followUp) {
+            task = slicerExecutor.submit(() -> {
+                if (!state.compareAndSet(QUEUED, RUNNING)) {
+                    // Dropped before it started; the result is already completed
+                    return null;
+                }
+                try {
+                    S value = work.call();
+                    followUp.apply(value).whenComplete((followed, failure) -> {
+                        if (failure != null) {
+                            result.completeExceptionally(failure);
+                        } else {
+                            result.complete(followed);
+                        }
+                    });
+                    return value;
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                    throw e;
+                }
+            });
+        }
+
+        private boolean tryJoin() {
+            int current;
+            do {
+                current = waiters.get();
+                if (current == 0 || result.isDone()) {
+                    return false;
+                }
+            } while (!waiters.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void leave() {
+            if (waiters.decrementAndGet() == 0 && !result.isDone()) {
+                log.info("🛑 Last waiter left, cancelling slicer run for {}", key);
+                slicerExecutor.cancel(task);
+                // A running job completes the result itself once the interrupted slicer (and
+                // its follow-up) has returned; only a job that never started is completed
+                // here. Either way this wakes nobody, but releases deferred cleanups and
+                // frees the key
+                if (state.compareAndSet(QUEUED, DROPPED)) {
+                    result.completeExceptionally(new CancellationException("All waiters left"));
+                }
+            }
+        }
+    }
+}
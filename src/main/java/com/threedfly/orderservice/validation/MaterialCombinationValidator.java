@@ -48,10 +48,14 @@ public class MaterialCombinationValidator
 
     public void validate(String technology, String material) {
         // Programmatic validation for service layer
-        Set<String> validMaterials = VALID_COMBINATIONS.get(technology);
-        if (validMaterials == null || !validMaterials.contains(material)) {
+        if (!isCompatible(technology, material)) {
             throw new InvalidParameterCombinationException(
                     String.format("Material %s is not compatible with technology %s", material, technology));
         }
     }
+
+    public boolean isCompatible(String technology, String material) {
+        Set<String> validMaterials = VALID_COMBINATIONS.get(technology);
+        return validMaterials != null && validMaterials.contains(material);
+    }
 }
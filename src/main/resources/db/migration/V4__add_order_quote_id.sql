@@ -0,0 +1,3 @@
+-- Link orders to the stored G-code artifact of the accepted quote
+ALTER TABLE orders ADD COLUMN quote_id VARCHAR(64);
+CREATE INDEX idx_orders_quote_id ON orders (quote_id);
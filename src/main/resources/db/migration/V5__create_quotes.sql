@@ -0,0 +1,21 @@
+-- Persisted quotes, reused for repeated quotes and referenced by orders
+CREATE TABLE quotes (
+    id VARCHAR(64) PRIMARY KEY,
+    model_hash VARCHAR(64) NOT NULL,
+    parameters_hash VARCHAR(64) NOT NULL,
+    file_name VARCHAR(255),
+    technology VARCHAR(255),
+    material VARCHAR(255),
+    parameters TEXT,
+    filament_weight_grams DOUBLE NOT NULL,
+    print_time_minutes INTEGER NOT NULL,
+    estimated_price DECIMAL(38,2) NOT NULL,
+    currency VARCHAR(255),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    expires_at TIMESTAMP NOT NULL,
+    
+    INDEX idx_quotes_fingerprint (model_hash, parameters_hash),
+    INDEX idx_quotes_expires_at (expires_at)
+);
+
+ALTER TABLE orders ADD CONSTRAINT fk_orders_quote FOREIGN KEY (quote_id) REFERENCES quotes(id);
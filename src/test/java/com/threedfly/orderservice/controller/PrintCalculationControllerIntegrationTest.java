@@ -18,6 +18,7 @@ import java.util.stream.Stream;
 
 import static org.hamcrest.Matchers.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -40,7 +41,11 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "printing.pricing.material.TPU.density=1.2",
         "printing.pricing.material.TPU.price-per-gram=0.08",
         "printing.pricing.shell-cost-factor=0.25",
-        "printing.pricing.standard-layer-height=0.2"
+        "printing.pricing.standard-layer-height=0.2",
+        "printing.motion.printer.fast.print-acceleration=3000",
+        "printing.motion.printer.fast.travel-acceleration=3000",
+        "printing.motion.printer.slow.max-feedrate-xy=100",
+        "printing.motion.printer.slow.print-acceleration=500"
 })
 class PrintCalculationControllerIntegrationTest {
 
@@ -360,4 +365,233 @@ class PrintCalculationControllerIntegrationTest {
                 "Print time with supporters should be greater than without"
         );
     }
+
+    @Test
+    void testCalculateStreaming_RawBodyUpload() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+
+        mockMvc.perform(post("/api/print/calculate/stream")
+                        .param("filename", file.getOriginalFilename())
+                        .param("technology", "FDM")
+                        .param("material", "PLA")
+                        .param("layerHeight", "0.2")
+                        .param("shells", "2")
+                        .param("infill", "15")
+                        .param("supporters", "false")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(file.getBytes()))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fileName").value("test_cube.stl"))
+                .andExpect(jsonPath("$.materialUsedGrams").value(12.34));
+    }
+
+    @Test
+    void testCalculateQuotation_CompareMaterials_PricesAllCompatibleMaterialsFromOneSlice() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+
+        mockMvc.perform(multipart("/api/print/calculate")
+                        .file(file)
+                        .param("technology", "FDM")
+                        .param("material", "PLA")
+                        .param("layerHeight", "0.2")
+                        .param("shells", "2")
+                        .param("infill", "15")
+                        .param("supporters", "false")
+                        .param("compareMaterials", "true")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.materialUsedGrams").value(12.34))
+                .andExpect(jsonPath("$.materialUsedMm3").value(9950.0))
+                .andExpect(jsonPath("$.materialComparison", hasSize(4)))
+                .andExpect(jsonPath("$.materialComparison[?(@.material == 'PLA')].materialUsedGrams").value(hasItem(12.34)))
+                .andExpect(jsonPath("$.materialComparison[?(@.material == 'PLA')].estimated").value(hasItem(false)))
+                // 9.95 cm³ × 1.04 g/cm³
+                .andExpect(jsonPath("$.materialComparison[?(@.material == 'ABS')].materialUsedGrams").value(hasItem(10.35)))
+                .andExpect(jsonPath("$.materialComparison[?(@.material == 'ABS')].estimated").value(hasItem(true)))
+                .andExpect(jsonPath("$.materialComparison[?(@.material == 'ABS')].printingTimeMinutes").value(hasItem(83)));
+    }
+
+    @Test
+    void testCalculateQuotation_RetimesGCodeForConfiguredPrinters() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+
+        mockMvc.perform(multipart("/api/print/calculate")
+                        .file(file)
+                        .param("technology", "FDM")
+                        .param("material", "PLA")
+                        .param("layerHeight", "0.2")
+                        .param("shells", "2")
+                        .param("infill", "17")
+                        .param("supporters", "false")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.printerQuotes", hasSize(2)))
+                .andExpect(jsonPath("$.printerQuotes[0].printer").value("fast"))
+                .andExpect(jsonPath("$.printerQuotes[1].printer").value("slow"))
+                // The mock G-code has no feature comments and extrudes to E3.0 in absolute mode
+                .andExpect(jsonPath("$.printerQuotes[0].features[0].feature").value("Other"))
+                .andExpect(jsonPath("$.printerQuotes[0].features[0].filamentMm").value(3.0))
+                // A few seconds of moves round to no time cost, leaving the material cost
+                .andExpect(jsonPath("$.printerQuotes[0].printingTimeMinutes").value(0))
+                .andExpect(jsonPath("$.printerQuotes[0].estimatedPrice").value(0.62));
+    }
+
+    @Test
+    void testCalculateStreaming_ContentDoesNotMatchExtension_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/print/calculate/stream")
+                        .param("filename", "model.3mf")
+                        .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                        .content(TestFileFactory.createTestStlFile().getBytes()))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testEstimate_ReturnsGeometryBasedQuoteWithoutSlicing() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+
+        mockMvc.perform(multipart("/api/print/estimate")
+                        .file(file)
+                        .param("technology", "FDM")
+                        .param("material", "PLA")
+                        .param("layerHeight", "0.2")
+                        .param("shells", "2")
+                        .param("infill", "15")
+                        .param("supporters", "false")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fileName").value("test_cube.stl"))
+                .andExpect(jsonPath("$.estimated").value(true))
+                .andExpect(jsonPath("$.materialUsedGrams").value(greaterThan(0.0)))
+                .andExpect(jsonPath("$.materialUsedGrams").value(lessThan(1.24)))
+                .andExpect(jsonPath("$.estimatedPrice").exists());
+    }
+
+    @Test
+    void testCalculateVariants_SlicesAllVariantsInOneCall() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+        MockMultipartFile variants = new MockMultipartFile(
+                "variants",
+                "variants.json",
+                MediaType.APPLICATION_JSON_VALUE,
+                ("[" +
+                        "{\"technology\":\"FDM\",\"material\":\"PLA\",\"layerHeight\":0.2,\"shells\":2,\"infill\":10,\"supporters\":false}," +
+                        "{\"technology\":\"FDM\",\"material\":\"PLA\",\"layerHeight\":0.2,\"shells\":2,\"infill\":10,\"supporters\":true}" +
+                        "]").getBytes());
+
+        mockMvc.perform(multipart("/api/print/calculate/variants")
+                        .file(file)
+                        .file(variants))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.fileName").value("test_cube.stl"))
+                .andExpect(jsonPath("$.variantCount").value(2))
+                .andExpect(jsonPath("$.succeeded").value(2))
+                .andExpect(jsonPath("$.variants[0].index").value(0))
+                .andExpect(jsonPath("$.variants[0].quote.supporters").value(false))
+                .andExpect(jsonPath("$.variants[0].quote.materialUsedGrams").value(12.34))
+                .andExpect(jsonPath("$.variants[0].durationMillis").exists())
+                .andExpect(jsonPath("$.variants[1].quote.supporters").value(true))
+                .andExpect(jsonPath("$.variants[1].quote.materialUsedGrams").value(15.50));
+    }
+
+    @Test
+    void testCalculateInfillRange_InterpolatesBetweenAnchorSlices() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+
+        mockMvc.perform(multipart("/api/print/calculate/infill")
+                        .file(file)
+                        .param("technology", "FDM")
+                        .param("material", "PLA")
+                        .param("layerHeight", "0.2")
+                        .param("shells", "2")
+                        .param("supporters", "false")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.anchorInfills", contains(5, 12, 20)))
+                .andExpect(jsonPath("$.quotes", hasSize(16)))
+                .andExpect(jsonPath("$.quotes[0].infill").value(5))
+                .andExpect(jsonPath("$.quotes[0].interpolated").value(false))
+                .andExpect(jsonPath("$.quotes[0].quote.quoteId").exists())
+                .andExpect(jsonPath("$.quotes[1].infill").value(6))
+                .andExpect(jsonPath("$.quotes[1].interpolated").value(true))
+                .andExpect(jsonPath("$.quotes[1].quote.infill").value(6))
+                .andExpect(jsonPath("$.quotes[1].quote.estimated").value(true))
+                .andExpect(jsonPath("$.quotes[1].quote.quoteId").doesNotExist())
+                // The mock slicer ignores infill, so the curve is flat
+                .andExpect(jsonPath("$.quotes[1].quote.materialUsedGrams").value(12.34))
+                .andExpect(jsonPath("$.quotes[1].weightErrorGrams").value(0.01));
+    }
+
+    @Test
+    void testCalculateQuantity_SlicesFullAndRemainderPlateOnce() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+
+        // 10 mm cubes, 6 mm apart: 14 x 14 fit on the 220 x 220 bed
+        mockMvc.perform(multipart("/api/print/calculate/quantity")
+                        .file(file)
+                        .param("quantity", "200")
+                        .param("technology", "FDM")
+                        .param("material", "PLA")
+                        .param("layerHeight", "0.2")
+                        .param("shells", "2")
+                        .param("infill", "15")
+                        .param("supporters", "false")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andDo(print())
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.quantity").value(200))
+                .andExpect(jsonPath("$.copiesPerPlate").value(196))
+                .andExpect(jsonPath("$.plateCount").value(2))
+                .andExpect(jsonPath("$.plates", hasSize(2)))
+                .andExpect(jsonPath("$.plates[0].copies").value(196))
+                .andExpect(jsonPath("$.plates[0].count").value(1))
+                .andExpect(jsonPath("$.plates[0].quote.quoteId").exists())
+                .andExpect(jsonPath("$.plates[1].copies").value(4))
+                // The mock slicer reports the same figures for any plate
+                .andExpect(jsonPath("$.totalMaterialUsedGrams").value(24.68))
+                .andExpect(jsonPath("$.totalPrintingTimeMinutes").value(166))
+                .andExpect(jsonPath("$.unitPrice").exists());
+    }
+
+    @Test
+    void testCalculateQuantity_ZeroQuantity_ReturnsBadRequest() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+
+        mockMvc.perform(multipart("/api/print/calculate/quantity")
+                        .file(file)
+                        .param("quantity", "0")
+                        .param("technology", "FDM")
+                        .param("material", "PLA")
+                        .param("layerHeight", "0.2")
+                        .param("shells", "2")
+                        .param("infill", "15")
+                        .param("supporters", "false")
+                        .contentType(MediaType.MULTIPART_FORM_DATA))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testCalculateVariants_InvalidVariant_ReturnsBadRequest() throws Exception {
+        MockMultipartFile file = TestFileFactory.createTestStlFile();
+        MockMultipartFile variants = new MockMultipartFile(
+                "variants",
+                "variants.json",
+                MediaType.APPLICATION_JSON_VALUE,
+                "[{\"technology\":\"FDM\",\"material\":\"PLA\",\"layerHeight\":0.2,\"shells\":2,\"infill\":50,\"supporters\":false}]"
+                        .getBytes());
+
+        mockMvc.perform(multipart("/api/print/calculate/variants")
+                        .file(file)
+                        .file(variants))
+                .andDo(print())
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Validation Failed"))
+                .andExpect(jsonPath("$.fieldErrors.infill").exists());
+    }
 }
@@ -35,8 +35,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "printing.prusa.slicer.path=/Applications/PrusaSlicer.app/Contents/MacOS/PrusaSlicer",
         "printing.temp.directory=/tmp/printing-test",
         "printing.slicer.config.directory=slicer-configs",
-        "printing.orientation.enabled=true",
-        "printing.orientation.script.path=scripts/auto_orient_model.py"
+        "printing.orientation.enabled=true"
 })
 class RealModelValidationTest {
 
@@ -0,0 +1,112 @@
+package com.threedfly.orderservice.service;
+
+import com.threedfly.orderservice.health.OrientationHealthIndicator;
+import com.threedfly.orderservice.service.mesh.MeshAnalyzer;
+import com.threedfly.orderservice.service.mesh.MeshOrientationEngine;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ModelOrientationServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private MeshOrientationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        engine = new MeshOrientationEngine(new MeshAnalyzer(), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void testProbe_WorkingEngine_ReportsAvailableAndLeavesNoFiles() throws IOException {
+        ModelOrientationService service = createService(engine, true);
+
+        service.probeAtStartup();
+
+        assertTrue(service.isAvailable());
+        assertTrue(service.getStatus().available());
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count(), "Probe must clean up its files");
+        }
+
+        Health health = new OrientationHealthIndicator(service).health();
+        assertEquals(Status.UP, health.getStatus());
+    }
+
+    @Test
+    void testProbe_FailingEngine_DegradesAndSkipsOrientation() throws IOException {
+        MeshOrientationEngine failing = mock(MeshOrientationEngine.class);
+        when(failing.orient(any(), any(), any())).thenThrow(new IOException("disk full"));
+        ModelOrientationService service = createService(failing, true);
+
+        service.probeAtStartup();
+
+        assertFalse(service.isAvailable());
+        assertTrue(service.getStatus().detail().contains("disk full"));
+        assertEquals("DEGRADED", new OrientationHealthIndicator(service).health().getStatus().getCode());
+
+        Path model = tempDir.resolve("model.stl");
+        Files.writeString(model, "solid empty\nendsolid\n");
+        assertEquals(model, service.orientModelIfNeeded(model, true));
+        verify(failing, times(1)).orient(any(), any(), any());
+    }
+
+    @Test
+    void testRefresh_RecoversAfterFailure() throws IOException {
+        MeshOrientationEngine flaky = spy(engine);
+        doThrow(new IOException("temporary")).doCallRealMethod()
+                .when(flaky).orient(any(), any(), any());
+        ModelOrientationService service = createService(flaky, true);
+
+        service.probeAtStartup();
+        assertFalse(service.isAvailable());
+
+        service.refreshStatus();
+        assertTrue(service.isAvailable());
+    }
+
+    @Test
+    void testDisabled_IsUnavailableAndReportedUnknown() {
+        ModelOrientationService service = createService(engine, false);
+
+        service.probeAtStartup();
+
+        assertFalse(service.isAvailable());
+        assertEquals(Status.UNKNOWN, new OrientationHealthIndicator(service).health().getStatus());
+    }
+
+    @Test
+    void testOrientModelIfNeeded_ThreeMf_IsLeftUntouched() throws IOException {
+        ModelOrientationService service = createService(engine, true);
+        service.probeAtStartup();
+        Path project = tempDir.resolve("project.3mf");
+
+        assertEquals(project, service.orientModelIfNeeded(project, true));
+    }
+
+    private ModelOrientationService createService(MeshOrientationEngine orientationEngine, boolean enabled) {
+        ModelOrientationService service = new ModelOrientationService(orientationEngine);
+        ReflectionTestUtils.setField(service, "orientationEnabled", enabled);
+        ReflectionTestUtils.setField(service, "tempDirectory", tempDir.toString());
+        return service;
+    }
+}
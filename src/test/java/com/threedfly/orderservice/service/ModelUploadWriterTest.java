@@ -0,0 +1,151 @@
+package com.threedfly.orderservice.service;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import com.threedfly.orderservice.exception.InvalidFileTypeException;
+import com.threedfly.orderservice.exception.UploadTooLargeException;
+import com.threedfly.orderservice.service.scratch.ScratchSpace;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelUploadWriterTest {
+
+    private static final String ASCII_STL = """
+            solid cube
+              facet normal 0 0 1
+                outer loop
+                  vertex 0 0 0
+                  vertex 1 0 0
+                  vertex 1 1 0
+                endloop
+              endfacet
+            endsolid cube
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private ModelUploadWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new ModelUploadWriter(new ScratchSpace(tempDir.toString(), 60, new SimpleMeterRegistry()), 1);
+    }
+
+    @Test
+    void testWrite_StoresFileAndComputesHash() throws Exception {
+        byte[] content = ASCII_STL.getBytes(StandardCharsets.UTF_8);
+
+        UploadedModel model = writer.write(new ByteArrayInputStream(content), "cube.stl", content.length);
+
+        assertEquals(ModelFileType.STL, model.getFileType());
+        assertEquals("cube.stl", model.getOriginalFilename());
+        assertEquals(content.length, model.getSizeBytes());
+        assertArrayEquals(content, Files.readAllBytes(model.getPath()));
+        assertEquals(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)),
+                model.getContentHash());
+        assertEquals(model.getScratchDirectory(), model.getPath().getParent());
+        assertEquals(tempDir, model.getScratchDirectory().getParent());
+    }
+
+    @Test
+    void testWrite_SameFilenameTwice_GetsSeparateDirectories() throws IOException {
+        byte[] content = ASCII_STL.getBytes(StandardCharsets.UTF_8);
+
+        UploadedModel first = writer.write(new ByteArrayInputStream(content), "cube.stl", content.length);
+        UploadedModel second = writer.write(new ByteArrayInputStream(content), "cube.stl", content.length);
+
+        assertNotEquals(first.getPath(), second.getPath());
+        assertEquals(first.getPath().getFileName(), second.getPath().getFileName());
+    }
+
+    @Test
+    void testDiscard_DeletesScratchDirectoryWithDerivedFiles() throws IOException {
+        byte[] content = ASCII_STL.getBytes(StandardCharsets.UTF_8);
+        UploadedModel model = writer.write(new ByteArrayInputStream(content), "cube.stl", content.length);
+        Files.writeString(model.getScratchDirectory().resolve("cube_output.gcode"), "G28\n");
+
+        writer.discard(model);
+
+        assertFalse(Files.exists(model.getScratchDirectory()));
+    }
+
+    @Test
+    void testWrite_DeclaredSizeOverLimit_RejectsBeforeReading() {
+        InputStream failing = new InputStream() {
+            @Override
+            public int read() throws IOException {
+                throw new IOException("body must not be read");
+            }
+        };
+
+        assertThrows(UploadTooLargeException.class,
+                () -> writer.write(failing, "big.stl", 2L * 1024 * 1024));
+    }
+
+    @Test
+    void testWrite_StreamGrowsOverLimit_AbortsAndDeletesPartialFile() throws IOException {
+        byte[] content = new byte[2 * 1024 * 1024];
+
+        assertThrows(UploadTooLargeException.class,
+                () -> writer.write(new ByteArrayInputStream(content), "big.stl", -1));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testWrite_EmptyStream_Rejected() {
+        assertThrows(InvalidFileTypeException.class,
+                () -> writer.write(new ByteArrayInputStream(new byte[0]), "cube.stl", 0));
+    }
+
+    @Test
+    void testWrite_ContentDoesNotMatchExtension_Rejected() throws IOException {
+        byte[] zip = {'P', 'K', 3, 4, 0, 0, 0, 0};
+
+        assertThrows(InvalidFileTypeException.class,
+                () -> writer.write(new ByteArrayInputStream(zip), "model.stl", zip.length));
+        try (var files = Files.list(tempDir)) {
+            assertEquals(0, files.count());
+        }
+    }
+
+    @Test
+    void testWrite_PathInFilename_IsStripped() throws IOException {
+        byte[] content = ASCII_STL.getBytes(StandardCharsets.UTF_8);
+
+        UploadedModel model = writer.write(new ByteArrayInputStream(content), "../../etc/cube.stl", content.length);
+
+        assertEquals(tempDir, model.getScratchDirectory().getParent());
+        assertEquals("cube.stl", model.getPath().getFileName().toString());
+    }
+
+    @Test
+    void testSniff_DetectsFormats() {
+        byte[] binaryStl = new byte[84];
+        binaryStl[80] = 12;
+        byte[] obj = "# exported\nv 0 0 0\nv 1 0 0\n".getBytes(StandardCharsets.US_ASCII);
+        byte[] threeMf = {'P', 'K', 3, 4};
+        byte[] ascii = ASCII_STL.getBytes(StandardCharsets.US_ASCII);
+        byte[] unknownText = "hello world".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(ModelFileType.STL, ModelUploadWriter.sniff(binaryStl, binaryStl.length));
+        assertEquals(ModelFileType.STL, ModelUploadWriter.sniff(ascii, ascii.length));
+        assertEquals(ModelFileType.OBJ, ModelUploadWriter.sniff(obj, obj.length));
+        assertEquals(ModelFileType.THREE_MF, ModelUploadWriter.sniff(threeMf, threeMf.length));
+        assertNull(ModelUploadWriter.sniff(unknownText, unknownText.length));
+    }
+}
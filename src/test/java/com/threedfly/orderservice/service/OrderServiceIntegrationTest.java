@@ -8,8 +8,10 @@ import com.threedfly.orderservice.dto.ShippingAddress;
 import com.threedfly.orderservice.dto.UpdateOrderRequest;
 import com.threedfly.orderservice.entity.Order;
 import com.threedfly.orderservice.entity.OrderStatus;
+import com.threedfly.orderservice.entity.Quote;
 import com.threedfly.orderservice.entity.Seller;
 import com.threedfly.orderservice.repository.OrderRepository;
+import com.threedfly.orderservice.repository.QuoteRepository;
 import com.threedfly.orderservice.repository.SellerRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +19,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -34,6 +38,9 @@ class OrderServiceIntegrationTest {
     @Autowired
     private SellerRepository sellerRepository;
 
+    @Autowired
+    private QuoteRepository quoteRepository;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -81,6 +88,60 @@ class OrderServiceIntegrationTest {
         assertNotNull(response.getOrderDate());
     }
 
+    @Test
+    void testCreateOrder_WithQuote() {
+        // Arrange
+        Quote quote = saveQuote("quote-0001-valid", LocalDateTime.now().plusHours(1));
+        validOrderRequest.setQuoteId(quote.getId());
+
+        // Act
+        OrderResponse response = orderService.createOrder(validOrderRequest);
+
+        // Assert
+        assertEquals(quote.getId(), response.getQuoteId());
+        assertEquals(0, new BigDecimal("12.50").compareTo(response.getQuotedPrice()));
+        assertEquals("USD", response.getCurrency());
+        assertEquals(quote.getId(), orderService.getOrderById(response.getId()).getQuoteId());
+    }
+
+    @Test
+    void testCreateOrder_QuoteNotFound() {
+        // Arrange
+        validOrderRequest.setQuoteId("quote-0002-missing");
+
+        // Act & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> 
+            orderService.createOrder(validOrderRequest));
+        assertTrue(exception.getMessage().contains("Quote not found"));
+    }
+
+    @Test
+    void testCreateOrder_QuoteExpired() {
+        // Arrange
+        Quote quote = saveQuote("quote-0003-expired", LocalDateTime.now().minusMinutes(1));
+        validOrderRequest.setQuoteId(quote.getId());
+
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () -> orderService.createOrder(validOrderRequest));
+    }
+
+    private Quote saveQuote(String id, LocalDateTime expiresAt) {
+        Quote quote = new Quote();
+        quote.setId(id);
+        quote.setModelHash("a".repeat(64));
+        quote.setParametersHash("b".repeat(64));
+        quote.setFileName("model.stl");
+        quote.setTechnology("FDM");
+        quote.setMaterial("PLA");
+        quote.setFilamentWeightGrams(25.5);
+        quote.setPrintTimeMinutes(120);
+        quote.setEstimatedPrice(new BigDecimal("12.50"));
+        quote.setCurrency("USD");
+        quote.setCreatedAt(LocalDateTime.now().minusHours(2));
+        quote.setExpiresAt(expiresAt);
+        return quoteRepository.save(quote);
+    }
+
     @Test
     void testCreateOrder_DuplicateOrder() {
         // Act
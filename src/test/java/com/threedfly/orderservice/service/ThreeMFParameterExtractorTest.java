@@ -1,9 +1,11 @@
 package com.threedfly.orderservice.service;
 
 import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import com.threedfly.orderservice.entity.ModelFileType;
 import com.threedfly.orderservice.enums.BrimType;
 import com.threedfly.orderservice.enums.InfillPattern;
 import com.threedfly.orderservice.exception.FileParseException;
+import com.threedfly.orderservice.service.mesh.ThreeMfArchive;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.io.TempDir;
@@ -160,6 +162,27 @@ class ThreeMFParameterExtractorTest {
         assertEquals(8, result.getBrimWidth());
     }
 
+    @Test
+    void testExtractParameters_FromUpload_ReusesArchiveUntilDiscarded() throws IOException {
+        // Given
+        Path threeMfFile = create3MFFileWithConfig("layer_height = 0.28\n");
+        UploadedModel model = new UploadedModel(threeMfFile, "test.3mf", ModelFileType.THREE_MF);
+
+        // When
+        PrintCalculationRequest first = extractor.extractParameters(model, null);
+        PrintCalculationRequest second = extractor.extractParameters(model, null);
+
+        // Then
+        assertEquals(0.28, first.getLayerHeight());
+        assertEquals(0.28, second.getLayerHeight());
+        ThreeMfArchive shared = model.openThreeMfArchive();
+        assertSame(shared, model.openThreeMfArchive());
+
+        model.closeArchive();
+        assertNotSame(shared, model.openThreeMfArchive());
+        model.closeArchive();
+    }
+
     // Helper method to create a test 3MF file
     private Path create3MFFileWithConfig(String config) throws IOException {
         Path threeMfFile = tempDir.resolve("test.3mf");
@@ -0,0 +1,125 @@
+package com.threedfly.orderservice.service.artifact;
+
+import com.threedfly.orderservice.repository.OrderRepository;
+import com.threedfly.orderservice.service.gcode.GCodeCompressor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class ArtifactResponseWriterTest {
+
+    private static final String QUOTE_ID = "9b2f6c1e-4d7a-4e0b-8c55-2a1f3e9d7b60";
+    private static final String GCODE = "G28\nG1 X10 Y10 E1.5\n; total filament used [g] = 1.00\n";
+
+    @TempDir
+    Path tempDir;
+
+    private GCodeCompressor compressor;
+    private FileSystemArtifactStore store;
+    private final ArtifactResponseWriter writer = new ArtifactResponseWriter();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        compressor = new GCodeCompressor();
+        store = new FileSystemArtifactStore(compressor, mock(OrderRepository.class), true,
+                tempDir.resolve("artifacts").toString(), 30, 1024);
+        Path output = tempDir.resolve("model_output.gcode");
+        Files.writeString(output, GCODE);
+        store.store(QUOTE_ID, output);
+        compressor.awaitIdle();
+    }
+
+    @AfterEach
+    void tearDown() {
+        compressor.shutdown();
+    }
+
+    @Test
+    void sendsCompressedBytesToGzipClients() throws IOException {
+        StoredArtifact artifact = store.find(QUOTE_ID).orElseThrow();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip, deflate, br");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(artifact, "quote.gcode", request, response);
+
+        assertEquals("gzip", response.getHeader("Content-Encoding"));
+        assertEquals(artifact.getSize(), response.getContentLengthLong());
+        assertTrue(response.getHeader("Content-Disposition").contains("quote.gcode"));
+        assertEquals(GCODE, gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    void decompressesForClientsWithoutGzip() throws IOException {
+        StoredArtifact artifact = store.find(QUOTE_ID).orElseThrow();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip;q=0, identity");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(artifact, "quote.gcode", request, response);
+
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(GCODE, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void handsFileToContainerWhenSendfileIsSupported() throws IOException {
+        StoredArtifact artifact = store.find(QUOTE_ID).orElseThrow();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(artifact, "quote.gcode", request, response);
+
+        assertEquals(artifact.getLocalPath().orElseThrow().toAbsolutePath().toString(),
+                request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertEquals(artifact.getSize(), request.getAttribute("org.apache.tomcat.sendfile.end"));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void streamsRawArtifactCompressedBetweenFindAndWrite() throws Exception {
+        String quoteId = "9b7e0c2d-1f4a-4b8e-9d3c-5e6f7a8b9c0d";
+        Path raw = tempDir.resolve("artifacts").resolve("9b").resolve(quoteId + ".gcode");
+        Files.writeString(raw, GCODE);
+        StoredArtifact artifact = store.find(quoteId).orElseThrow();
+        assertNull(artifact.getContentEncoding());
+
+        compressor.compressLater(raw, raw.resolveSibling(quoteId + ".gcode.gz"));
+        compressor.awaitIdle();
+        assertFalse(Files.exists(raw));
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Accept-Encoding", "gzip");
+        request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        writer.write(artifact, "quote.gcode", request, response);
+
+        assertNull(request.getAttribute("org.apache.tomcat.sendfile.filename"));
+        assertNull(response.getHeader("Content-Encoding"));
+        assertEquals(GCODE.length(), response.getContentLengthLong());
+        assertEquals(GCODE, response.getContentAsString(StandardCharsets.UTF_8));
+    }
+
+    private static String gunzip(byte[] bytes) throws IOException {
+        try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,186 @@
+package com.threedfly.orderservice.service.artifact;
+
+import com.threedfly.orderservice.repository.OrderRepository;
+import com.threedfly.orderservice.service.gcode.GCodeCompressor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+class FileSystemArtifactStoreTest {
+
+    private static final String QUOTE_ID = "9b2f6c1e-4d7a-4e0b-8c55-2a1f3e9d7b60";
+    private static final String GCODE = "G28\nG1 X10 Y10 E1.5\n; total filament used [g] = 1.00\n";
+
+    @TempDir
+    Path tempDir;
+
+    private GCodeCompressor compressor;
+    private OrderRepository orderRepository;
+    private FileSystemArtifactStore store;
+
+    @BeforeEach
+    void setUp() {
+        compressor = new GCodeCompressor();
+        orderRepository = mock(OrderRepository.class);
+        store = newStore(1024);
+    }
+
+    @AfterEach
+    void tearDown() {
+        compressor.shutdown();
+    }
+
+    private FileSystemArtifactStore newStore(long maxSizeMb) {
+        return new FileSystemArtifactStore(compressor, orderRepository, true,
+                tempDir.resolve("artifacts").toString(), 30, maxSizeMb);
+    }
+
+    private Path sliceOutput() throws IOException {
+        Path file = tempDir.resolve("model_output.gcode");
+        Files.writeString(file, GCODE);
+        return file;
+    }
+
+    @Test
+    void storesCompressedArtifactUnderQuoteId() throws Exception {
+        Path output = sliceOutput();
+
+        store.store(QUOTE_ID, output);
+        compressor.awaitIdle();
+
+        assertFalse(Files.exists(output));
+        Path compressed = tempDir.resolve("artifacts").resolve("9b").resolve(QUOTE_ID + ".gcode.gz");
+        assertTrue(Files.exists(compressed));
+        assertFalse(Files.exists(compressed.resolveSibling(QUOTE_ID + ".gcode")));
+
+        StoredArtifact artifact = store.find(QUOTE_ID).orElseThrow();
+        assertEquals("gzip", artifact.getContentEncoding());
+        assertEquals(Files.size(compressed), artifact.getSize());
+        assertEquals(compressed, artifact.getLocalPath().orElseThrow());
+        try (InputStream in = new GZIPInputStream(artifact.openStream())) {
+            assertEquals(GCODE, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void findsUncompressedArtifactBeforeCompressionFinishes() throws IOException {
+        Path raw = tempDir.resolve("artifacts").resolve("9b").resolve(QUOTE_ID + ".gcode");
+        Files.createDirectories(raw.getParent());
+        Files.writeString(raw, GCODE);
+
+        StoredArtifact artifact = store.find(QUOTE_ID).orElseThrow();
+
+        assertNull(artifact.getContentEncoding());
+        try (InputStream in = artifact.openStream()) {
+            assertEquals(GCODE, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void returnsEmptyForUnknownQuote() {
+        assertTrue(store.find(QUOTE_ID).isEmpty());
+        assertFalse(store.delete(QUOTE_ID));
+    }
+
+    @Test
+    void rejectsIdsThatCouldEscapeTheStore() {
+        assertThrows(IllegalArgumentException.class, () -> store.find("../../etc/passwd"));
+        assertThrows(IllegalArgumentException.class, () -> store.find("ab/cdefghij"));
+        assertThrows(IllegalArgumentException.class, () -> store.find("short"));
+        assertThrows(IllegalArgumentException.class, () -> store.store(null, tempDir));
+    }
+
+    @Test
+    void deletesArtifact() throws Exception {
+        store.store(QUOTE_ID, sliceOutput());
+        compressor.awaitIdle();
+
+        assertTrue(store.delete(QUOTE_ID));
+        assertTrue(store.find(QUOTE_ID).isEmpty());
+    }
+
+    @Test
+    void sweepDeletesExpiredArtifacts() throws Exception {
+        String freshId = "0c6a4b1e-7d2f-4f3a-9e1b-5d8c2a7f6e40";
+        store.store(QUOTE_ID, sliceOutput());
+        store.store(freshId, sliceOutput());
+        compressor.awaitIdle();
+
+        Path expired = store.find(QUOTE_ID).orElseThrow().getLocalPath().orElseThrow();
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+
+        store.sweep();
+
+        assertTrue(store.find(QUOTE_ID).isEmpty());
+        assertTrue(store.find(freshId).isPresent());
+    }
+
+    @Test
+    void sweepKeepsExpiredArtifactsOfOrderedQuotes() throws Exception {
+        store.store(QUOTE_ID, sliceOutput());
+        compressor.awaitIdle();
+        Path expired = store.find(QUOTE_ID).orElseThrow().getLocalPath().orElseThrow();
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+        when(orderRepository.findQuoteIdsWithOrders(anyCollection())).thenReturn(Set.of(QUOTE_ID));
+
+        store.sweep();
+
+        assertTrue(store.find(QUOTE_ID).isPresent());
+    }
+
+    @Test
+    void sweepDeletesOldestArtifactsOverSizeBudget() throws Exception {
+        store = newStore(1);
+        String[] ids = {
+                "00000000-0000-4000-8000-000000000000",
+                "11111111-1111-4111-8111-111111111111",
+                "22222222-2222-4222-8222-222222222222",
+                "33333333-3333-4333-8333-333333333333"
+        };
+        byte[] halfMegabyte = new byte[512 * 1024];
+        for (int i = 0; i < ids.length; i++) {
+            Path raw = tempDir.resolve("artifacts").resolve(ids[i].substring(0, 2)).resolve(ids[i] + ".gcode");
+            Files.createDirectories(raw.getParent());
+            Files.write(raw, halfMegabyte);
+            Files.setLastModifiedTime(raw, FileTime.from(Instant.now().minusSeconds(60 - i)));
+        }
+        // The oldest one is ordered, so the next oldest goes in its place
+        when(orderRepository.findQuoteIdsWithOrders(anyCollection())).thenReturn(Set.of(ids[0]));
+
+        store.sweep();
+
+        assertTrue(store.find(ids[0]).isPresent());
+        assertTrue(store.find(ids[1]).isEmpty());
+        assertTrue(store.find(ids[2]).isEmpty());
+        assertTrue(store.find(ids[3]).isPresent());
+    }
+
+    @Test
+    void sweepDeletesNothingWhenOrdersCannotBeLookedUp() throws Exception {
+        store.store(QUOTE_ID, sliceOutput());
+        compressor.awaitIdle();
+        Path expired = store.find(QUOTE_ID).orElseThrow().getLocalPath().orElseThrow();
+        Files.setLastModifiedTime(expired, FileTime.from(Instant.now().minus(Duration.ofDays(31))));
+        when(orderRepository.findQuoteIdsWithOrders(anyCollection())).thenThrow(new IllegalStateException("database down"));
+
+        store.sweep();
+
+        assertTrue(store.find(QUOTE_ID).isPresent());
+    }
+}
@@ -0,0 +1,172 @@
+package com.threedfly.orderservice.service.cache;
+
+import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import com.threedfly.orderservice.dto.SlicingResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlicingResultCacheTest {
+
+    private static final String MODEL_HASH = "a".repeat(64);
+
+    private SimpleMeterRegistry meterRegistry;
+    private MutableClock clock;
+    private SlicingResultCache cache;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new MutableClock(Instant.parse("2025-01-01T00:00:00Z"));
+        cache = new SlicingResultCache(true, 2, Duration.ofMinutes(10), meterRegistry, clock);
+    }
+
+    @Test
+    void testGet_AfterPut_ReturnsCopyAndCountsHit() {
+        SlicingCacheKey key = SlicingCacheKey.of(MODEL_HASH, createRequest(15), "fdm_pla.ini", "prusa");
+        cache.put(key, successfulResult(12.34, 83));
+
+        SlicingResult cached = cache.get(key).orElseThrow();
+        cached.setFilamentWeightGrams(999.0);
+
+        assertEquals(12.34, cache.get(key).orElseThrow().getFilamentWeightGrams());
+        assertEquals(2.0, meterRegistry.get("printing.slicing.cache.requests").tag("result", "hit").counter().count());
+    }
+
+    @Test
+    void testGet_UnknownKey_CountsMiss() {
+        SlicingCacheKey key = SlicingCacheKey.of(MODEL_HASH, createRequest(15), "fdm_pla.ini", "prusa");
+
+        assertTrue(cache.get(key).isEmpty());
+        assertEquals(1.0, meterRegistry.get("printing.slicing.cache.requests").tag("result", "miss").counter().count());
+    }
+
+    @Test
+    void testPut_FailedResult_IsNotCached() {
+        SlicingCacheKey key = SlicingCacheKey.of(MODEL_HASH, createRequest(15), "fdm_pla.ini", "prusa");
+        cache.put(key, SlicingResult.builder().success(false).errorMessage("boom").build());
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void testPut_OverCapacity_EvictsLeastRecentlyUsed() {
+        SlicingCacheKey first = SlicingCacheKey.of(MODEL_HASH, createRequest(5), "fdm_pla.ini", "prusa");
+        SlicingCacheKey second = SlicingCacheKey.of(MODEL_HASH, createRequest(10), "fdm_pla.ini", "prusa");
+        SlicingCacheKey third = SlicingCacheKey.of(MODEL_HASH, createRequest(15), "fdm_pla.ini", "prusa");
+
+        cache.put(first, successfulResult(1.0, 1));
+        cache.put(second, successfulResult(2.0, 2));
+        cache.get(first); // first becomes most recently used
+        cache.put(third, successfulResult(3.0, 3));
+
+        assertTrue(cache.get(first).isPresent());
+        assertTrue(cache.get(second).isEmpty());
+        assertTrue(cache.get(third).isPresent());
+        assertEquals(1.0, meterRegistry.get("printing.slicing.cache.evictions").tag("cause", "size").counter().count());
+    }
+
+    @Test
+    void testGet_AfterTtl_ExpiresEntry() {
+        SlicingCacheKey key = SlicingCacheKey.of(MODEL_HASH, createRequest(15), "fdm_pla.ini", "prusa");
+        cache.put(key, successfulResult(12.34, 83));
+
+        clock.advance(Duration.ofMinutes(11));
+
+        assertTrue(cache.get(key).isEmpty());
+        assertEquals(1.0, meterRegistry.get("printing.slicing.cache.evictions").tag("cause", "expired").counter().count());
+    }
+
+    @Test
+    void testGet_WhenDisabled_AlwaysMisses() {
+        SlicingResultCache disabled = new SlicingResultCache(false, 10, Duration.ofMinutes(10), meterRegistry, clock);
+        SlicingCacheKey key = SlicingCacheKey.of(MODEL_HASH, createRequest(15), "fdm_pla.ini", "prusa");
+        disabled.put(key, successfulResult(12.34, 83));
+
+        assertTrue(disabled.get(key).isEmpty());
+    }
+
+    @Test
+    void testKey_NormalizesEquivalentRequests() {
+        PrintCalculationRequest a = createRequest(15);
+        PrintCalculationRequest b = createRequest(15);
+        b.setLayerHeight(0.200000001);
+        b.setMaterial("pla");
+
+        assertEquals(SlicingCacheKey.of(MODEL_HASH, a, "fdm_pla.ini", "prusa"),
+                SlicingCacheKey.of(MODEL_HASH, b, "FDM_PLA.ini", "PRUSA"));
+        assertNotEquals(SlicingCacheKey.of(MODEL_HASH, a, "fdm_pla.ini", "prusa"),
+                SlicingCacheKey.of(MODEL_HASH, createRequest(20), "fdm_pla.ini", "prusa"));
+    }
+
+    @Test
+    void testHashModel_DependsOnContentOnly() throws IOException {
+        Path first = Files.writeString(tempDir.resolve("first.stl"), "solid cube\nendsolid cube\n");
+        Path second = Files.writeString(tempDir.resolve("second.stl"), "solid cube\nendsolid cube\n");
+        Path different = Files.writeString(tempDir.resolve("different.stl"), "solid other\nendsolid other\n");
+
+        assertEquals(SlicingCacheKey.hashModel(first), SlicingCacheKey.hashModel(second));
+        assertNotEquals(SlicingCacheKey.hashModel(first), SlicingCacheKey.hashModel(different));
+    }
+
+    private PrintCalculationRequest createRequest(int infill) {
+        return PrintCalculationRequest.builder()
+                .technology("FDM")
+                .material("PLA")
+                .layerHeight(0.2)
+                .shells(2)
+                .infill(infill)
+                .supporters(false)
+                .build();
+    }
+
+    private SlicingResult successfulResult(double weight, int minutes) {
+        return SlicingResult.builder()
+                .filamentWeightGrams(weight)
+                .estimatedPrintTimeMinutes(minutes)
+                .success(true)
+                .build();
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.threedfly.orderservice.service.gcode;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GCodeMetadataReaderTest {
+
+    private static final String PRUSA_FOOTER = """
+            ; filament used [mm] = 5123.45
+            ; filament used [cm3] = 12.32
+            ; filament used [g] = 15.28
+            ; total filament used for wipe tower [g] = 0.50
+            ; total filament used [g] = 15.28
+
+            ; estimated printing time (normal mode) = 1h 23m 45s
+            ; estimated printing time (silent mode) = 1h 30m 2s
+
+            ; prusaslicer_config = begin
+            ; layer_height = 0.2
+            ; prusaslicer_config = end
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("model_output.gcode");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private static String moves(int count) {
+        StringBuilder moves = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            moves.append("G1 X").append(i % 200).append(".123 Y45.678 E0.04512\n");
+        }
+        return moves.toString();
+    }
+
+    @Test
+    void readsPrusaSummaryFromFooter() throws IOException {
+        GCodeMetadata metadata = new GCodeMetadataReader().read(write(moves(1000) + PRUSA_FOOTER));
+
+        assertEquals(15.28, metadata.filamentWeightGrams(), 1e-9);
+        assertEquals(3600 + 23 * 60 + 45, metadata.printTimeSeconds());
+        assertEquals(84, metadata.printTimeMinutes());
+        assertEquals(12_320.0, metadata.filamentVolumeMm3(), 1e-6);
+    }
+
+    @Test
+    void sumsPerExtruderVolumes() throws IOException {
+        GCodeMetadata metadata = new GCodeMetadataReader().read(write(moves(10)
+                + "; filament used [cm3] = 1.25, 0.50,0.25\n"
+                + "; total filament used [g] = 2.48\n"));
+
+        assertEquals(2_000.0, metadata.filamentVolumeMm3(), 1e-6);
+        assertEquals(2.48, metadata.filamentWeightGrams(), 1e-9);
+    }
+
+    @Test
+    void fallsBackToForwardScanForHeaderSummary() throws IOException {
+        String bambuHeader = """
+                ; HEADER_BLOCK_START
+                ; BambuStudio 01.08.04.51
+                ; model printing time: 20m 7s; total estimated time: 26m 53s
+                ; total layer number: 50
+                ; total filament length [mm] : 1742.18
+                ; total filament volume [cm^3] : 4.19
+                ; total filament weight [g] : 5.23
+                ; HEADER_BLOCK_END
+                """;
+        // 1 KB footer window so the header is only reached by the forward scan
+        GCodeMetadata metadata = new GCodeMetadataReader(1).read(write(bambuHeader + moves(5000)));
+
+        assertEquals(5.23, metadata.filamentWeightGrams(), 1e-9);
+        assertEquals(26 * 60 + 53, metadata.printTimeSeconds());
+        assertEquals(27, metadata.printTimeMinutes());
+        assertEquals(4_190.0, metadata.filamentVolumeMm3(), 1e-6);
+    }
+
+    @Test
+    void findsSummaryLineCutByFooterWindow() throws IOException {
+        String weightLine = "; total filament used [g] = 3.50\n";
+        String timeLine = "; estimated printing time (normal mode) = 5m 33s\n";
+        // Pad the tail so the 1 KB footer window starts 10 bytes before the end of the weight line
+        int padding = 1024 - 10 - timeLine.length();
+        String tail = ";" + "x".repeat(padding - 2) + "\n";
+
+        GCodeMetadata metadata = new GCodeMetadataReader(1).read(write(moves(100) + weightLine + timeLine + tail));
+
+        assertEquals(3.5, metadata.filamentWeightGrams(), 1e-9);
+        assertEquals(6, metadata.printTimeMinutes());
+    }
+
+    @Test
+    void usesUnlabelledTimeWhenNormalModeIsMissing() throws IOException {
+        GCodeMetadata metadata = new GCodeMetadataReader().read(write(moves(10)
+                + "; estimated printing time (silent mode) = 9m\n"
+                + "; estimated printing time = 2d 1h 0m 0s\n"));
+
+        assertEquals(0.0, metadata.filamentWeightGrams());
+        assertEquals(2 * 86_400 + 3_600, metadata.printTimeSeconds());
+    }
+
+    @Test
+    void returnsEmptyMetadataWithoutSummary() throws IOException {
+        assertTrue(new GCodeMetadataReader().read(write("")).isEmpty());
+        assertTrue(new GCodeMetadataReader().read(write(moves(100))).isEmpty());
+    }
+}
@@ -0,0 +1,237 @@
+package com.threedfly.orderservice.service.gcode;
+
+import com.threedfly.orderservice.config.PrinterMotionConfig.PrinterProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GCodeMotionAnalyzerTest {
+
+    // Reaches any speed at once, so times are length over speed
+    private static final PrinterProfile INSTANT = printer(1e9, 1e6);
+
+    @TempDir
+    Path tempDir;
+
+    private GCodeMotionAnalyzer analyzer;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new GCodeMotionAnalyzer(2, 4096);
+    }
+
+    @AfterEach
+    void tearDown() {
+        analyzer.shutdown();
+    }
+
+    private static PrinterProfile printer(double acceleration, double jerk) {
+        PrinterProfile printer = new PrinterProfile();
+        printer.setMaxFeedrateXy(500);
+        printer.setMaxFeedrateZ(50);
+        printer.setMaxFeedrateE(100);
+        printer.setPrintAcceleration(acceleration);
+        printer.setTravelAcceleration(acceleration);
+        printer.setRetractAcceleration(acceleration);
+        printer.setJerkXy(jerk);
+        printer.setJerkZ(jerk);
+        printer.setJerkE(jerk);
+        return printer;
+    }
+
+    private Path write(String content) throws IOException {
+        Path file = tempDir.resolve("model_output.gcode");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    private PrinterTimeEstimate estimate(String gcode, PrinterProfile printer) throws IOException {
+        return analyzer.analyze(write(gcode), Map.of("printer", printer)).printers().get(0);
+    }
+
+    @Test
+    void straightMoveFollowsTrapezoidalProfile() throws IOException {
+        // 100 mm at 100 mm/s and 1000 mm/s²: 5 mm (0.1 s) to accelerate and to brake, 90 mm cruising
+        PrinterTimeEstimate estimate = estimate("G1 X100 F6000\n", printer(1000, 0));
+
+        assertEquals(1.1, estimate.features().get(0).printSeconds(), 1e-9);
+        assertEquals(1, estimate.printTimeSeconds());
+    }
+
+    @Test
+    void shortMoveNeverReachesNominalSpeed() throws IOException {
+        // 2 mm at 1000 mm/s²: peak sqrt(2000) mm/s halfway, 2 * 0.0447 s
+        PrinterTimeEstimate estimate = estimate("G1 X2 F6000\nG4 S10\n", printer(1000, 0));
+
+        assertEquals(10.1, estimate.features().get(0).printSeconds(), 1e-9);
+    }
+
+    @Test
+    void breaksDownTimeAndFilamentByFeature() throws IOException {
+        GCodeMotionAnalysis analysis = analyzer.analyze(write("""
+                G90
+                M83
+                ;TYPE:Perimeter
+                G1 X50 E2.5 F3000
+                ;TYPE:Solid infill
+                G1 X50 Y25 E1.5 F1500
+                G1 E-0.8 F2400
+                G1 X0 Y0 F6000
+                """), Map.of("printer", INSTANT));
+
+        List<FeatureBreakdown> features = analysis.printers().get(0).features();
+        assertEquals(2, features.size());
+        assertEquals(new FeatureBreakdown("Perimeter", 1.0, 2.5), features.get(0));
+        // 1 s printing, 0.02 s retracting, 55.9 mm of travel at 100 mm/s
+        assertEquals(new FeatureBreakdown("Solid infill", 1.6, 1.5), features.get(1));
+        assertEquals(4.0, analysis.filamentMm(), 1e-9);
+        assertEquals(4, analysis.moveCount());
+    }
+
+    @Test
+    void readsBambuFeatureMarkersLineNumbersAndInlineComments() throws IOException {
+        PrinterTimeEstimate estimate = estimate("""
+                ; FEATURE: Outer wall
+                N1 G1 X10 E0.5 F600*37 ; move
+                g1 y10 e1.0
+                """, INSTANT);
+
+        assertEquals(List.of(new FeatureBreakdown("Outer wall", 2.0, 1.0)), estimate.features());
+    }
+
+    @Test
+    void followsArcsRelativeMovesAndPositionResets() throws IOException {
+        PrinterTimeEstimate estimate = estimate("""
+                G90
+                G1 X10 Y0 F600
+                G92 E0
+                G3 X0 Y10 I-10 J0 E1
+                G91
+                G1 Y-10
+                """, INSTANT);
+
+        // 10 mm, a quarter circle of radius 10 (15.7 mm) and 10 mm, all at 10 mm/s: 3.57 s
+        FeatureBreakdown other = estimate.features().get(0);
+        assertEquals(3.6, other.printSeconds(), 1e-9);
+        assertEquals(1.0, other.filamentMm(), 1e-6);
+    }
+
+    @Test
+    void slowerPrinterTakesLonger() throws IOException {
+        StringBuilder zigzag = new StringBuilder("M83\n;TYPE:Infill\n");
+        for (int i = 0; i < 200; i++) {
+            zigzag.append("G1 X").append(i % 2 == 0 ? 40 : 0).append(" Y").append(i * 0.5).append(" E0.2 F9000\n");
+        }
+        Map<String, PrinterProfile> printers = new LinkedHashMap<>();
+        printers.put("fast", printer(5000, 10));
+        printers.put("slow", printer(500, 5));
+
+        GCodeMotionAnalysis analysis = analyzer.analyze(write(zigzag.toString()), printers);
+
+        PrinterTimeEstimate fast = analysis.printers().get(0);
+        PrinterTimeEstimate slow = analysis.printers().get(1);
+        assertEquals("fast", fast.printer());
+        assertEquals("slow", slow.printer());
+        assertTrue(slow.printTimeSeconds() > fast.printTimeSeconds() * 1.5,
+                slow.printTimeSeconds() + "s vs " + fast.printTimeSeconds() + "s");
+    }
+
+    @Test
+    void chunksAtLayerChangesGiveTheSameResult() throws IOException {
+        StringBuilder gcode = new StringBuilder("G90\nM82\nG92 E0\n");
+        double e = 0;
+        for (int layer = 1; layer <= 100; layer++) {
+            gcode.append(";LAYER_CHANGE\nG1 Z").append(layer * 0.2).append(" F600\n;TYPE:Perimeter\n");
+            for (int i = 0; i < 20; i++) {
+                e += 0.05;
+                gcode.append("G1 X").append(20 + (i % 4 < 2 ? 30 : 0)).append(" Y").append(20 + (i % 4 == 1 || i % 4 == 2 ? 30 : 0))
+                        .append(String.format(Locale.ROOT, " E%.5f F1800", e)).append('\n');
+            }
+        }
+        Path file = write(gcode.toString());
+        Map<String, PrinterProfile> printers = Map.of("printer", printer(1000, 8));
+
+        GCodeMotionAnalysis whole = analyzer.analyze(file, printers);
+        GCodeMotionAnalyzer chunked = new GCodeMotionAnalyzer(2, 1);
+        try {
+            GCodeMotionAnalysis parts = chunked.analyze(file, printers);
+
+            assertEquals(whole.moveCount(), parts.moveCount());
+            assertEquals(whole.filamentMm(), parts.filamentMm(), 1e-6);
+            assertEquals(100.0, whole.filamentMm(), 1e-3);
+            double wholeSeconds = whole.printers().get(0).features().stream().mapToDouble(FeatureBreakdown::printSeconds).sum();
+            double partSeconds = parts.printers().get(0).features().stream().mapToDouble(FeatureBreakdown::printSeconds).sum();
+            assertEquals(wholeSeconds, partSeconds, wholeSeconds * 0.01);
+        } finally {
+            chunked.shutdown();
+        }
+    }
+
+    @Test
+    void chunksCarryRelativeModesPositionsAndFeaturesAcross() throws IOException {
+        // Relative moves, relative extrusion and a feature that continues into the next layers
+        StringBuilder gcode = new StringBuilder("G91\nM83\nM204 P800 T1200\n;TYPE:Perimeter\n");
+        for (int layer = 1; layer <= 100; layer++) {
+            gcode.append(";LAYER_CHANGE\nG1 Z0.2 F600\n");
+            if (layer % 10 == 0) {
+                gcode.append(";TYPE:Infill\n");
+            } else if (layer % 10 == 5) {
+                gcode.append(";TYPE:Perimeter\n");
+            }
+            for (int i = 0; i < 20; i++) {
+                gcode.append("G1 X").append(i % 2 == 0 ? 30 : -30).append(" Y0.5 E0.05 F1800\n");
+            }
+            gcode.append("G1 E-0.8 F2400\nG1 X5 Y-10 F9000\nG1 E0.8 F2400\n");
+        }
+        Path file = write(gcode.toString());
+        Map<String, PrinterProfile> printers = Map.of("printer", printer(1000, 8));
+
+        GCodeMotionAnalysis whole = analyzer.analyze(file, printers);
+        GCodeMotionAnalyzer chunked = new GCodeMotionAnalyzer(2, 1);
+        try {
+            GCodeMotionAnalysis parts = chunked.analyze(file, printers);
+
+            assertEquals(whole.moveCount(), parts.moveCount());
+            assertEquals(100.0, parts.filamentMm(), 1e-3);
+            List<FeatureBreakdown> wholeFeatures = whole.printers().get(0).features();
+            List<FeatureBreakdown> partFeatures = parts.printers().get(0).features();
+            assertEquals(List.of("Perimeter", "Infill"), partFeatures.stream().map(FeatureBreakdown::feature).toList());
+            for (int i = 0; i < wholeFeatures.size(); i++) {
+                assertEquals(wholeFeatures.get(i).filamentMm(), partFeatures.get(i).filamentMm(), 1e-6);
+                assertEquals(wholeFeatures.get(i).printSeconds(), partFeatures.get(i).printSeconds(),
+                        wholeFeatures.get(i).printSeconds() * 0.01);
+            }
+        } finally {
+            chunked.shutdown();
+        }
+    }
+
+    @Test
+    void analyzesAsynchronouslyOnItsOwnPool() throws Exception {
+        GCodeMotionAnalysis analysis = analyzer.analyzeAsync(write("G1 X100 F6000\n"), Map.of("printer", INSTANT))
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, analysis.printers().get(0).printTimeSeconds());
+    }
+
+    @Test
+    void emptyFileTakesNoTime() throws IOException {
+        GCodeMotionAnalysis analysis = analyzer.analyze(write(""), Map.of("printer", INSTANT));
+
+        assertEquals(0, analysis.moveCount());
+        assertEquals(0, analysis.printers().get(0).printTimeSeconds());
+        assertTrue(analysis.printers().get(0).features().isEmpty());
+    }
+}
@@ -0,0 +1,117 @@
+package com.threedfly.orderservice.service.gcode;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GCodeRetentionServiceTest {
+
+    private static final String GCODE = "G28\nG1 X10 Y10 E1.5\n; total filament used [g] = 1.00\n";
+
+    @TempDir
+    Path tempDir;
+
+    private final GCodeCompressor compressor = new GCodeCompressor();
+    private GCodeRetentionService service;
+
+    @AfterEach
+    void tearDown() {
+        compressor.shutdown();
+    }
+
+    private GCodeRetentionService newService(boolean enabled, boolean compress, long maxSizeMb) {
+        return new GCodeRetentionService(compressor, enabled, tempDir.resolve("retained").toString(), compress, 24,
+                maxSizeMb);
+    }
+
+    private Path sliceOutput(String name) throws IOException {
+        Path file = tempDir.resolve(name);
+        Files.writeString(file, GCODE);
+        return file;
+    }
+
+    @Test
+    void deletesOutputWhenDisabled() throws IOException {
+        service = newService(false, false, 1024);
+        Path output = sliceOutput("model_output.gcode");
+
+        service.retain(output);
+
+        assertFalse(Files.exists(output));
+        assertFalse(Files.exists(tempDir.resolve("retained")));
+    }
+
+    @Test
+    void movesOutputIntoRetentionDirectory() throws IOException {
+        service = newService(true, false, 1024);
+        Path output = sliceOutput("model_output.gcode");
+
+        service.retain(output);
+
+        Path retained = tempDir.resolve("retained").resolve("model_output.gcode");
+        assertFalse(Files.exists(output));
+        assertEquals(GCODE, Files.readString(retained));
+    }
+
+    @Test
+    void compressesRetainedOutputInBackground() throws Exception {
+        service = newService(true, true, 1024);
+        Path output = sliceOutput("model_output.gcode");
+
+        service.retain(output);
+        compressor.awaitIdle();
+
+        Path retainedDir = tempDir.resolve("retained");
+        assertFalse(Files.exists(retainedDir.resolve("model_output.gcode")));
+        Path compressed = retainedDir.resolve("model_output.gcode" + GCodeRetentionService.GZIP_SUFFIX);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(compressed))) {
+            assertEquals(GCODE, new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        }
+    }
+
+    @Test
+    void sweepDeletesExpiredFiles() throws IOException {
+        service = newService(true, false, 1024);
+        service.retain(sliceOutput("old_output.gcode"));
+        service.retain(sliceOutput("new_output.gcode"));
+        Path retainedDir = tempDir.resolve("retained");
+        Files.setLastModifiedTime(retainedDir.resolve("old_output.gcode"),
+                FileTime.from(Instant.now().minus(Duration.ofHours(25))));
+
+        service.sweep();
+
+        assertFalse(Files.exists(retainedDir.resolve("old_output.gcode")));
+        assertTrue(Files.exists(retainedDir.resolve("new_output.gcode")));
+    }
+
+    @Test
+    void sweepDeletesOldestFilesOverSizeBudget() throws IOException {
+        service = newService(true, false, 1);
+        Path retainedDir = tempDir.resolve("retained");
+        Files.createDirectories(retainedDir);
+        byte[] halfMegabyte = new byte[512 * 1024];
+        for (int i = 0; i < 3; i++) {
+            Path file = retainedDir.resolve("model" + i + "_output.gcode");
+            Files.write(file, halfMegabyte);
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now().minusSeconds(60 - i)));
+        }
+
+        service.sweep();
+
+        assertFalse(Files.exists(retainedDir.resolve("model0_output.gcode")));
+        assertTrue(Files.exists(retainedDir.resolve("model1_output.gcode")));
+        assertTrue(Files.exists(retainedDir.resolve("model2_output.gcode")));
+    }
+}
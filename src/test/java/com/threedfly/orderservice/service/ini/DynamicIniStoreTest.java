@@ -0,0 +1,92 @@
+package com.threedfly.orderservice.service.ini;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DynamicIniStoreTest {
+
+    @TempDir
+    Path tempDir;
+
+    private DynamicIniStore newStore(int maxEntries, long maxSizeKb) {
+        return new DynamicIniStore(tempDir.toString(), maxEntries, maxSizeKb, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void identicalContentSharesOneFile() throws IOException {
+        DynamicIniStore store = newStore(10, 1024);
+
+        Path first = store.acquire("perimeters = 2\n");
+        Path second = store.acquire("perimeters = 2\n");
+        Path other = store.acquire("perimeters = 3\n");
+
+        assertEquals(first, second);
+        assertNotEquals(first, other);
+        assertTrue(first.getFileName().toString().startsWith(DynamicIniStore.FILE_PREFIX));
+        assertEquals("perimeters = 2\n", Files.readString(first));
+        assertEquals(2, store.references(first));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void releasedFilesAreKeptForReuse() throws IOException {
+        DynamicIniStore store = newStore(10, 1024);
+
+        Path path = store.acquire("infill = 20%\n");
+        store.release(path);
+
+        assertTrue(Files.exists(path));
+        assertEquals(0, store.references(path));
+        assertEquals(path, store.acquire("infill = 20%\n"));
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedUnreferencedFiles() throws IOException {
+        DynamicIniStore store = newStore(2, 1024);
+
+        Path a = store.acquire("a = 1\n");
+        Path b = store.acquire("b = 1\n");
+        store.release(a);
+        store.release(b);
+
+        Path c = store.acquire("c = 1\n");
+
+        assertFalse(Files.exists(a));
+        assertTrue(Files.exists(b));
+        assertTrue(Files.exists(c));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void filesInUseAreNeverEvicted() throws IOException {
+        DynamicIniStore store = newStore(1, 1024);
+
+        Path a = store.acquire("a = 1\n");
+        Path b = store.acquire("b = 1\n");
+
+        assertTrue(Files.exists(a));
+        assertTrue(Files.exists(b));
+
+        store.release(a);
+        assertFalse(Files.exists(a));
+        assertEquals(1, store.size());
+    }
+
+    @Test
+    void rewritesFileDeletedFromDisk() throws IOException {
+        DynamicIniStore store = newStore(10, 1024);
+
+        Path path = store.acquire("layer_height = 0.2\n");
+        Files.delete(path);
+
+        assertEquals(path, store.acquire("layer_height = 0.2\n"));
+        assertEquals("layer_height = 0.2\n", Files.readString(path));
+    }
+}
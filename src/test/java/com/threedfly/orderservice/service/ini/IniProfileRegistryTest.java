@@ -0,0 +1,113 @@
+package com.threedfly.orderservice.service.ini;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IniProfileRegistryTest {
+
+    @TempDir
+    Path configDir;
+
+    private IniProfileRegistry registry;
+
+    @AfterEach
+    void tearDown() {
+        if (registry != null) {
+            registry.stop();
+        }
+    }
+
+    @Test
+    void parsePreservesOrderCommentsAndBlankLines() {
+        IniProfile profile = IniProfile.parse("fdm_pla.ini", List.of(
+                "# PLA profile",
+                "layer_height = 0.2",
+                "",
+                "fill_density=15%"));
+
+        assertEquals(List.of("_comment_0", "layer_height", "_empty_2", "fill_density"),
+                List.copyOf(profile.getEntries().keySet()));
+        assertEquals("0.2", profile.get("layer_height"));
+        assertEquals("15%", profile.get("fill_density"));
+        assertTrue(profile.getVersionedName().startsWith("fdm_pla.ini@"));
+        assertThrows(UnsupportedOperationException.class, () -> profile.getEntries().put("x", "y"));
+    }
+
+    @Test
+    void fingerprintChangesWithContent() {
+        IniProfile a = IniProfile.parse("fdm.ini", List.of("perimeters = 2"));
+        IniProfile b = IniProfile.parse("fdm.ini", List.of("perimeters = 2"));
+        IniProfile c = IniProfile.parse("fdm.ini", List.of("perimeters = 3"));
+
+        assertEquals(a.getVersionedName(), b.getVersionedName());
+        assertNotEquals(a.getVersionedName(), c.getVersionedName());
+    }
+
+    @Test
+    void loadsAllIniFilesAtStartup() throws IOException {
+        Files.writeString(configDir.resolve("fdm_pla.ini"), "layer_height = 0.2\n");
+        Files.writeString(configDir.resolve("fdm.ini"), "layer_height = 0.3\n");
+        Files.writeString(configDir.resolve("notes.txt"), "ignored\n");
+
+        registry = new IniProfileRegistry(configDir.toString(), false);
+        registry.start();
+
+        assertEquals(2, registry.size());
+        assertTrue(registry.contains("fdm_pla.ini"));
+        assertFalse(registry.contains("notes.txt"));
+        assertEquals("0.3", registry.get("fdm.ini").get("layer_height"));
+        assertThrows(NoSuchFileException.class, () -> registry.get("sla.ini"));
+    }
+
+    @Test
+    void reloadPicksUpChangesAndDeletions() throws IOException {
+        Path file = configDir.resolve("fdm_pla.ini");
+        Files.writeString(file, "layer_height = 0.2\n");
+        registry = new IniProfileRegistry(configDir.toString(), false);
+        registry.start();
+
+        Files.writeString(file, "layer_height = 0.1\n");
+        registry.reload("fdm_pla.ini");
+        assertEquals("0.1", registry.get("fdm_pla.ini").get("layer_height"));
+
+        Files.delete(file);
+        registry.reload("fdm_pla.ini");
+        assertFalse(registry.contains("fdm_pla.ini"));
+    }
+
+    @Test
+    void watcherReloadsModifiedProfile() throws Exception {
+        Path file = configDir.resolve("fdm_petg.ini");
+        Files.writeString(file, "perimeters = 2\n");
+        registry = new IniProfileRegistry(configDir.toString(), true);
+        registry.start();
+
+        Files.writeString(file, "perimeters = 4\n");
+        Files.writeString(configDir.resolve("fdm_abs.ini"), "perimeters = 3\n");
+
+        assertTrue(awaitValue("fdm_petg.ini", "perimeters", "4"));
+        assertTrue(awaitValue("fdm_abs.ini", "perimeters", "3"));
+    }
+
+    private boolean awaitValue(String profile, String key, String expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (System.currentTimeMillis() < deadline) {
+            Optional<IniProfile> loaded = registry.find(profile);
+            if (loaded.isPresent() && expected.equals(loaded.get().get(key))) {
+                return true;
+            }
+            Thread.sleep(50);
+        }
+        return false;
+    }
+}
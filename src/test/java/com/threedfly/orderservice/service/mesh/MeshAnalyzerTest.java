@@ -0,0 +1,253 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeshAnalyzerTest {
+
+    private static final double TOLERANCE = 1e-3;
+
+    // Unit cube scaled to 10mm, outward-facing triangles
+    private static final float[][] CUBE_TRIANGLES = {
+            {0, 0, 10, 10, 0, 10, 10, 10, 10}, {0, 0, 10, 10, 10, 10, 0, 10, 10},
+            {0, 0, 0, 10, 10, 0, 10, 0, 0}, {0, 0, 0, 0, 10, 0, 10, 10, 0},
+            {10, 0, 0, 10, 10, 0, 10, 10, 10}, {10, 0, 0, 10, 10, 10, 10, 0, 10},
+            {0, 0, 0, 0, 10, 10, 0, 10, 0}, {0, 0, 0, 0, 0, 10, 0, 10, 10},
+            {0, 10, 0, 0, 10, 10, 10, 10, 10}, {0, 10, 0, 10, 10, 10, 10, 10, 0},
+            {0, 0, 0, 10, 0, 0, 10, 0, 10}, {0, 0, 0, 10, 0, 10, 0, 0, 10}
+    };
+
+    private MeshAnalyzer analyzer;
+
+    @TempDir
+    Path tempDir;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new MeshAnalyzer();
+    }
+
+    @Test
+    void testAnalyze_AsciiStl_ComputesCubeGeometry() throws IOException {
+        MeshStatistics stats = analyzer.analyze(writeAsciiStl("solid cube"), ModelFileType.STL);
+
+        assertCube(stats);
+    }
+
+    @Test
+    void testAnalyze_BinaryStl_ComputesCubeGeometry() throws IOException {
+        MeshStatistics stats = analyzer.analyze(writeBinaryStl("binary cube"), ModelFileType.STL);
+
+        assertCube(stats);
+    }
+
+    @Test
+    void testAnalyze_BinaryStlWithSolidHeader_IsNotTreatedAsAscii() throws IOException {
+        MeshStatistics stats = analyzer.analyze(writeBinaryStl("solid exported by CAD"), ModelFileType.STL);
+
+        assertCube(stats);
+    }
+
+    @Test
+    void testAnalyze_TruncatedBinaryStl_Throws() throws IOException {
+        Path file = writeBinaryStl("binary cube");
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, java.util.Arrays.copyOf(bytes, bytes.length - 60));
+
+        assertThrows(IOException.class, () -> analyzer.analyze(file, ModelFileType.STL));
+    }
+
+    @Test
+    void testAnalyze_ObjWithQuadFacesAndNegativeIndices_ComputesCubeGeometry() throws IOException {
+        Path file = tempDir.resolve("cube.obj");
+        Files.writeString(file, """
+                # cube
+                v 0 0 0
+                v 10 0 0
+                v 10 10 0
+                v 0 10 0
+                v 0 0 10
+                v 10 0 10
+                v 10 10 10
+                v 0 10 10
+                vn 0 0 1
+                f 1//1 4//1 3//1 2//1
+                f 5/1 6/1 7/1 8/1
+                f 1 2 6 5
+                f 2 3 7 6
+                f 3 4 8 7
+                f -4 -8 -5 -1
+                """);
+
+        MeshStatistics stats = analyzer.analyze(file, ModelFileType.OBJ);
+
+        assertCube(stats);
+    }
+
+    @Test
+    void testAnalyze_ThreeMf_ComputesCubeGeometry() throws IOException {
+        StringBuilder model = new StringBuilder("""
+                <?xml version="1.0" encoding="UTF-8"?>
+                <model unit="millimeter" xmlns="http://schemas.microsoft.com/3dmanufacturing/core/2015/02">
+                  <resources><object id="1" type="model"><mesh><vertices>
+                """);
+        for (float[] triangle : CUBE_TRIANGLES) {
+            for (int v = 0; v < 3; v++) {
+                model.append(String.format(java.util.Locale.ROOT, "<vertex x=\"%s\" y=\"%s\" z=\"%s\"/>%n",
+                        triangle[v * 3], triangle[v * 3 + 1], triangle[v * 3 + 2]));
+            }
+        }
+        model.append("</vertices><triangles>\n");
+        for (int t = 0; t < CUBE_TRIANGLES.length; t++) {
+            model.append(String.format("<triangle v1=\"%d\" v2=\"%d\" v3=\"%d\"/>%n", t * 3, t * 3 + 1, t * 3 + 2));
+        }
+        model.append("</triangles></mesh></object></resources><build><item objectid=\"1\"/></build></model>");
+
+        Path file = tempDir.resolve("cube.3mf");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("3D/3dmodel.model"));
+            zip.write(model.toString().getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        MeshStatistics stats = analyzer.analyze(file, ModelFileType.THREE_MF);
+
+        assertCube(stats);
+    }
+
+    @Test
+    void testAnalyze_ThreeMfWithoutModelPart_Throws() throws IOException {
+        Path file = tempDir.resolve("empty.3mf");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            zip.putNextEntry(new ZipEntry("Metadata/Slic3r_PE.config"));
+            zip.write("layer_height = 0.2\n".getBytes(StandardCharsets.UTF_8));
+            zip.closeEntry();
+        }
+
+        assertThrows(IOException.class, () -> analyzer.analyze(file, ModelFileType.THREE_MF));
+    }
+
+    @Test
+    void testAnalyze_RealModel_StlAndThreeMfAgree() throws Exception {
+        Path stl = Path.of(getClass().getClassLoader().getResource("test-models/Model3 - Love.stl").toURI());
+        Path threeMf = Path.of(getClass().getClassLoader().getResource("test-models/Model3 - Love.3mf").toURI());
+
+        MeshStatistics fromStl = analyzer.analyze(stl, ModelFileType.STL);
+        MeshStatistics fromThreeMf = analyzer.analyze(threeMf, ModelFileType.THREE_MF);
+
+        assertEquals(fromStl.getTriangleCount(), fromThreeMf.getTriangleCount());
+        assertEquals(fromStl.getVolumeMm3(), fromThreeMf.getVolumeMm3(), fromStl.getVolumeMm3() * 1e-4);
+        assertEquals(fromStl.getSurfaceAreaMm2(), fromThreeMf.getSurfaceAreaMm2(), fromStl.getSurfaceAreaMm2() * 1e-4);
+    }
+
+    @Test
+    void testMeshStatistics_InvertedWinding_ReportsPositiveVolume() {
+        MeshStatistics stats = new MeshStatistics();
+        for (float[] t : CUBE_TRIANGLES) {
+            stats.triangle(t[0], t[1], t[2], t[6], t[7], t[8], t[3], t[4], t[5]);
+        }
+
+        assertEquals(1000.0, stats.getVolumeMm3(), TOLERANCE);
+    }
+
+    @Test
+    void testMeshStatistics_CountsDegenerateAndSkipsNonFiniteTriangles() {
+        MeshStatistics stats = new MeshStatistics();
+        for (float[] t : CUBE_TRIANGLES) {
+            stats.triangle(t[0], t[1], t[2], t[3], t[4], t[5], t[6], t[7], t[8]);
+        }
+        stats.triangle(0, 0, 0, 5, 5, 5, 10, 10, 10);
+        stats.triangle(0, 0, 0, Float.NaN, 0, 0, 10, 10, 10);
+
+        assertEquals(13, stats.getTriangleCount());
+        assertEquals(1, stats.getDegenerateTriangleCount());
+        assertEquals(1, stats.getInvalidTriangleCount());
+        assertEquals(1000.0, stats.getVolumeMm3(), TOLERANCE);
+    }
+
+    @Test
+    void testAnalyze_LargeBinaryStl_VisitsEveryRecord() throws IOException {
+        int copies = 10_000;
+        ByteBuffer buffer = ByteBuffer.allocate(84 + CUBE_TRIANGLES.length * copies * 50).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(80);
+        buffer.putInt(CUBE_TRIANGLES.length * copies);
+        for (int copy = 0; copy < copies; copy++) {
+            for (float[] t : CUBE_TRIANGLES) {
+                buffer.putFloat(0).putFloat(0).putFloat(0);
+                for (int i = 0; i < t.length; i++) {
+                    // Shift each copy along X so the cubes do not overlap
+                    buffer.putFloat(i % 3 == 0 ? t[i] + copy * 20 : t[i]);
+                }
+                buffer.putShort((short) 0);
+            }
+        }
+        Path file = tempDir.resolve("many_cubes.stl");
+        Files.write(file, buffer.array());
+
+        MeshStatistics stats = analyzer.analyze(file, ModelFileType.STL);
+
+        assertEquals(12L * copies, stats.getTriangleCount());
+        assertEquals(1000.0 * copies, stats.getVolumeMm3(), copies * TOLERANCE);
+        assertEquals(20.0 * copies - 10, stats.getSizeX(), TOLERANCE);
+    }
+
+    private void assertCube(MeshStatistics stats) {
+        assertEquals(12, stats.getTriangleCount());
+        assertEquals(1000.0, stats.getVolumeMm3(), TOLERANCE);
+        assertEquals(600.0, stats.getSurfaceAreaMm2(), TOLERANCE);
+        assertEquals(10.0, stats.getSizeX(), TOLERANCE);
+        assertEquals(10.0, stats.getSizeY(), TOLERANCE);
+        assertEquals(10.0, stats.getSizeZ(), TOLERANCE);
+    }
+
+    private Path writeAsciiStl(String header) throws IOException {
+        StringBuilder stl = new StringBuilder(header).append('\n');
+        for (float[] t : CUBE_TRIANGLES) {
+            stl.append("  facet normal 0 0 0\n    outer loop\n");
+            for (int v = 0; v < 3; v++) {
+                stl.append("      vertex ").append(t[v * 3]).append(' ')
+                        .append(t[v * 3 + 1]).append(' ').append(t[v * 3 + 2]).append('\n');
+            }
+            stl.append("    endloop\n  endfacet\n");
+        }
+        stl.append("endsolid\n");
+
+        Path file = tempDir.resolve("ascii_cube.stl");
+        Files.writeString(file, stl.toString());
+        return file;
+    }
+
+    private Path writeBinaryStl(String header) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(84 + CUBE_TRIANGLES.length * 50).order(ByteOrder.LITTLE_ENDIAN);
+        byte[] headerBytes = header.getBytes(StandardCharsets.US_ASCII);
+        buffer.put(headerBytes).position(80);
+        buffer.putInt(CUBE_TRIANGLES.length);
+        for (float[] t : CUBE_TRIANGLES) {
+            buffer.putFloat(0).putFloat(0).putFloat(0);
+            for (float coordinate : t) {
+                buffer.putFloat(coordinate);
+            }
+            buffer.putShort((short) 0);
+        }
+
+        Path file = tempDir.resolve("binary_cube.stl");
+        try (OutputStream out = Files.newOutputStream(file)) {
+            out.write(buffer.array());
+        }
+        return file;
+    }
+}
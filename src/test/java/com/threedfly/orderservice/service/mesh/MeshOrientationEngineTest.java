@@ -0,0 +1,95 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+import static com.threedfly.orderservice.service.mesh.TestMeshes.writeBox;
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeshOrientationEngineTest {
+
+    private static final double TOLERANCE = 1e-3;
+
+    @TempDir
+    Path tempDir;
+
+    private MeshAnalyzer analyzer;
+    private MeshOrientationEngine engine;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new MeshAnalyzer();
+        engine = new MeshOrientationEngine(analyzer, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        engine.shutdown();
+    }
+
+    @Test
+    void testOrient_TallBox_IsLaidFlatAndCentered() throws IOException {
+        Path input = writeBox(tempDir, "tall.stl", 10, 20, 50, 0, 1);
+        Path output = tempDir.resolve("tall_oriented.stl");
+
+        OrientationResult result = engine.orient(input, ModelFileType.STL, output);
+
+        assertTrue(result.isRotated());
+        assertEquals(50.0, result.originalHeight(), TOLERANCE);
+        assertEquals(10.0, result.finalHeight(), TOLERANCE);
+        assertEquals(1000.0, result.contactArea(), TOLERANCE);
+
+        MeshStatistics oriented = analyzer.analyze(output, ModelFileType.STL);
+        assertEquals(12, oriented.getTriangleCount());
+        assertEquals(10_000.0, oriented.getVolumeMm3(), TOLERANCE);
+        assertEquals(10.0, oriented.getSizeZ(), TOLERANCE);
+        assertEquals(0.0, oriented.getMinZ(), TOLERANCE);
+        assertEquals(0.0, (oriented.getMinX() + oriented.getMaxX()) / 2, TOLERANCE);
+        assertEquals(0.0, (oriented.getMinY() + oriented.getMaxY()) / 2, TOLERANCE);
+    }
+
+    @Test
+    void testOrient_FlatBox_KeepsOriginalWithoutRewriting() throws IOException {
+        Path input = writeBox(tempDir, "flat.stl", 50, 20, 10, 0, 1);
+        Path output = tempDir.resolve("flat_oriented.stl");
+
+        OrientationResult result = engine.orient(input, ModelFileType.STL, output);
+
+        assertFalse(result.isRotated());
+        assertEquals(OrientationCandidate.ORIGINAL, result.candidate());
+        assertFalse(Files.exists(output));
+    }
+
+    @Test
+    void testOrient_EmptyMesh_Throws() throws IOException {
+        Path input = writeBox(tempDir, "empty.stl", 1, 1, 1, 0, 0);
+
+        assertThrows(IOException.class,
+                () -> engine.orient(input, ModelFileType.STL, tempDir.resolve("empty_oriented.stl")));
+    }
+
+    @Test
+    void testAnalyzeParallel_MatchesSequentialScores() throws IOException {
+        // Enough records for the parallel reader to split the file into several chunks
+        Path input = writeBox(tempDir, "many.stl", 10, 20, 50, 0, 5_000);
+
+        OrientationAccumulator parallel = analyzer.analyzeParallel(input, ModelFileType.STL,
+                OrientationAccumulator::new, OrientationAccumulator::merge, ForkJoinPool.commonPool());
+        OrientationAccumulator sequential = analyzer.analyze(input, ModelFileType.STL, new OrientationAccumulator());
+
+        assertEquals(sequential.getTriangleCount(), parallel.getTriangleCount());
+        for (OrientationCandidate candidate : OrientationCandidate.values()) {
+            assertEquals(sequential.height(candidate), parallel.height(candidate), TOLERANCE);
+            assertEquals(sequential.contactArea(candidate), parallel.contactArea(candidate), 1.0);
+            assertEquals(sequential.overhangArea(candidate), parallel.overhangArea(candidate), 1.0);
+        }
+    }
+}
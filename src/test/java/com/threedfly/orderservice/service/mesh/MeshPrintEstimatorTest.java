@@ -0,0 +1,82 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import com.threedfly.orderservice.dto.SlicingResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MeshPrintEstimatorTest {
+
+    private static final double PLA_DENSITY = 1.24;
+
+    private MeshPrintEstimator estimator;
+    private MeshStatistics cube;
+
+    @BeforeEach
+    void setUp() {
+        estimator = new MeshPrintEstimator(0.45, 8.0, 0.15, 5, 1.75);
+
+        // 20mm cube
+        cube = new MeshStatistics();
+        float s = 20;
+        float[][] triangles = {
+                {0, 0, s, s, 0, s, s, s, s}, {0, 0, s, s, s, s, 0, s, s},
+                {0, 0, 0, s, s, 0, s, 0, 0}, {0, 0, 0, 0, s, 0, s, s, 0},
+                {s, 0, 0, s, s, 0, s, s, s}, {s, 0, 0, s, s, s, s, 0, s},
+                {0, 0, 0, 0, s, s, 0, s, 0}, {0, 0, 0, 0, 0, s, 0, s, s},
+                {0, s, 0, 0, s, s, s, s, s}, {0, s, 0, s, s, s, s, s, 0},
+                {0, 0, 0, s, 0, 0, s, 0, s}, {0, 0, 0, s, 0, s, 0, 0, s}
+        };
+        for (float[] t : triangles) {
+            cube.triangle(t[0], t[1], t[2], t[3], t[4], t[5], t[6], t[7], t[8]);
+        }
+    }
+
+    @Test
+    void testEstimate_Cube_SplitsShellsSkinsAndInfill() {
+        PrintCalculationRequest request = request(2, 10, false);
+
+        SlicingResult result = estimator.estimate(cube, request, PLA_DENSITY);
+
+        // shells: 2400mm² * 2 * 0.45 = 2160, skins: 400mm² * 0.2 * 8 = 640,
+        // infill: (8000 - 2160 - 640) * 10% = 520 -> 3320mm³
+        assertTrue(result.isSuccess());
+        assertEquals(3320 / 1000.0 * PLA_DENSITY, result.getFilamentWeightGrams(), 0.01);
+        assertEquals(100, result.getLayerCount());
+        assertEquals((int) Math.ceil(3320 / 8.0 / 60 + 5), result.getEstimatedPrintTimeMinutes());
+    }
+
+    @Test
+    void testEstimate_MoreInfillAndSupports_IncreaseMaterial() {
+        SlicingResult sparse = estimator.estimate(cube, request(2, 5, false), PLA_DENSITY);
+        SlicingResult dense = estimator.estimate(cube, request(2, 20, false), PLA_DENSITY);
+        SlicingResult supported = estimator.estimate(cube, request(2, 20, true), PLA_DENSITY);
+
+        assertTrue(dense.getFilamentWeightGrams() > sparse.getFilamentWeightGrams());
+        assertTrue(supported.getFilamentWeightGrams() > dense.getFilamentWeightGrams());
+        assertTrue(supported.getEstimatedPrintTimeMinutes() >= dense.getEstimatedPrintTimeMinutes());
+    }
+
+    @Test
+    void testEstimate_ThinWalledModel_NeverExceedsSolidVolume() {
+        SlicingResult result = estimator.estimate(cube, request(5, 20, false).toBuilder()
+                .layerHeight(0.4).topShellLayers(10).bottomShellLayers(10).build(), PLA_DENSITY);
+
+        assertTrue(result.getFilamentWeightGrams() <= 8000 / 1000.0 * PLA_DENSITY + 0.01);
+    }
+
+    private PrintCalculationRequest request(int shells, int infill, boolean supporters) {
+        return PrintCalculationRequest.builder()
+                .technology("FDM")
+                .material("PLA")
+                .layerHeight(0.2)
+                .shells(shells)
+                .infill(infill)
+                .supporters(supporters)
+                .topShellLayers(4)
+                .bottomShellLayers(4)
+                .build();
+    }
+}
@@ -0,0 +1,115 @@
+package com.threedfly.orderservice.service.mesh;
+
+import com.threedfly.orderservice.entity.ModelFileType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.threedfly.orderservice.service.mesh.TestMeshes.writeBox;
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlatePackerTest {
+
+    private static final double TOLERANCE = 1e-3;
+
+    @TempDir
+    Path tempDir;
+
+    private MeshAnalyzer analyzer;
+    private PlatePacker packer;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new MeshAnalyzer();
+        packer = new PlatePacker(analyzer, 220, 220, 6, 2_000_000);
+    }
+
+    @Test
+    void testLayout_SplitsQuantityIntoFullAndRemainderPlates() throws IOException {
+        MeshStatistics bounds = analyzer.analyze(writeBox(tempDir, "part.stl", 40, 30, 10, 0, 1), ModelFileType.STL);
+
+        PlateLayout layout = packer.layout(bounds, 50);
+
+        // (220 + 6) / (40 + 6) = 4 columns, (220 + 6) / (30 + 6) = 6 rows
+        assertEquals(4, layout.columns());
+        assertEquals(6, layout.rows());
+        assertEquals(24, layout.perPlate());
+        assertEquals(2, layout.fullPlates());
+        assertEquals(2, layout.remainder());
+        assertEquals(3, layout.plateCount());
+    }
+
+    @Test
+    void testLayout_ExactMultipleHasNoRemainderPlate() throws IOException {
+        MeshStatistics bounds = analyzer.analyze(writeBox(tempDir, "part.stl", 40, 30, 10, 0, 1), ModelFileType.STL);
+
+        PlateLayout layout = packer.layout(bounds, 48);
+
+        assertEquals(0, layout.remainder());
+        assertEquals(2, layout.plateCount());
+    }
+
+    @Test
+    void testLayout_ModelWiderThanBedStillGetsAPlate() throws IOException {
+        MeshStatistics bounds = analyzer.analyze(writeBox(tempDir, "wide.stl", 300, 100, 10, 0, 1), ModelFileType.STL);
+
+        PlateLayout layout = packer.layout(bounds, 3);
+
+        assertEquals(1, layout.columns());
+        assertEquals(2, layout.rows());
+        assertEquals(2, layout.plateCount());
+    }
+
+    @Test
+    void testLayout_TriangleBudgetSplitsDetailedModelsOverMorePlates() throws IOException {
+        MeshStatistics bounds = analyzer.analyze(writeBox(tempDir, "part.stl", 40, 30, 10, 0, 1), ModelFileType.STL);
+        // 12 triangles per box, so 100 triangles hold 8 copies instead of the 24 that fit
+        PlatePacker limited = new PlatePacker(analyzer, 220, 220, 6, 100);
+
+        PlateLayout layout = limited.layout(bounds, 50);
+
+        assertEquals(4, layout.columns());
+        assertEquals(2, layout.rows());
+        assertEquals(7, layout.plateCount());
+
+        // A copy that alone exceeds the budget still gets its own plate
+        assertEquals(1, new PlatePacker(analyzer, 220, 220, 6, 10).layout(bounds, 3).perPlate());
+    }
+
+    @Test
+    void testWritePlate_CopiesAreCenteredOnTheBedAndRestOnIt() throws IOException {
+        Path model = writeBox(tempDir, "part.stl", 40, 30, 10, 5, 1);
+        MeshStatistics bounds = analyzer.analyze(model, ModelFileType.STL);
+        PlateLayout layout = packer.layout(bounds, 5);
+        Path plate = tempDir.resolve("part_plate5.stl");
+
+        packer.writePlate(model, ModelFileType.STL, bounds, layout, 5, plate);
+
+        MeshStatistics packed = analyzer.analyze(plate, ModelFileType.STL);
+        assertEquals(60, packed.getTriangleCount());
+        assertEquals(5 * 12_000.0, packed.getVolumeMm3(), 0.1);
+        // Two rows: four copies 46 mm apart, then one
+        assertEquals(3 * 46 + 40, packed.getSizeX(), TOLERANCE);
+        assertEquals(36 + 30, packed.getSizeY(), TOLERANCE);
+        assertEquals(0.0, packed.getMinZ(), TOLERANCE);
+        assertEquals(110.0, (packed.getMinX() + packed.getMaxX()) / 2, TOLERANCE);
+        assertEquals(110.0, (packed.getMinY() + packed.getMaxY()) / 2, TOLERANCE);
+    }
+
+    @Test
+    void testWritePlate_RejectsMoreCopiesThanFit() throws IOException {
+        Path model = writeBox(tempDir, "part.stl", 40, 30, 10, 0, 1);
+        MeshStatistics bounds = analyzer.analyze(model, ModelFileType.STL);
+        PlateLayout layout = packer.layout(bounds, 50);
+        Path plate = tempDir.resolve("part_plate25.stl");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> packer.writePlate(model, ModelFileType.STL, bounds, layout, 25, plate));
+        assertFalse(Files.exists(plate));
+        assertThrows(IllegalArgumentException.class, () -> packer.layout(bounds, 0));
+    }
+}
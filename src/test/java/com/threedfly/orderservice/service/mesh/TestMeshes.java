@@ -0,0 +1,50 @@
+package com.threedfly.orderservice.service.mesh;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Box meshes shared by the mesh tests.
+ */
+final class TestMeshes {
+
+    // Unit cube, outward-facing triangles
+    static final float[][] UNIT_CUBE = {
+            {0, 0, 1, 1, 0, 1, 1, 1, 1}, {0, 0, 1, 1, 1, 1, 0, 1, 1},
+            {0, 0, 0, 1, 1, 0, 1, 0, 0}, {0, 0, 0, 0, 1, 0, 1, 1, 0},
+            {1, 0, 0, 1, 1, 0, 1, 1, 1}, {1, 0, 0, 1, 1, 1, 1, 0, 1},
+            {0, 0, 0, 0, 1, 1, 0, 1, 0}, {0, 0, 0, 0, 0, 1, 0, 1, 1},
+            {0, 1, 0, 0, 1, 1, 1, 1, 1}, {0, 1, 0, 1, 1, 1, 1, 1, 0},
+            {0, 0, 0, 1, 0, 0, 1, 0, 1}, {0, 0, 0, 1, 0, 1, 0, 0, 1}
+    };
+
+    private TestMeshes() {
+    }
+
+    /**
+     * Writes a binary STL holding {@code copies} stacked-in-place boxes of the given size,
+     * each moved by {@code offset} along all three axes.
+     */
+    static Path writeBox(Path dir, String name, float sizeX, float sizeY, float sizeZ, float offset, int copies)
+            throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(84 + UNIT_CUBE.length * copies * 50).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(80);
+        buffer.putInt(UNIT_CUBE.length * copies);
+        for (int copy = 0; copy < copies; copy++) {
+            for (float[] t : UNIT_CUBE) {
+                buffer.putFloat(0).putFloat(0).putFloat(0);
+                for (int i = 0; i < t.length; i++) {
+                    float scale = i % 3 == 0 ? sizeX : i % 3 == 1 ? sizeY : sizeZ;
+                    buffer.putFloat(t[i] * scale + offset);
+                }
+                buffer.putShort((short) 0);
+            }
+        }
+        Path file = dir.resolve(name);
+        Files.write(file, buffer.array());
+        return file;
+    }
+}
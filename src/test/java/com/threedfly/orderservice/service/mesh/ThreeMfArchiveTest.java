@@ -0,0 +1,187 @@
+package com.threedfly.orderservice.service.mesh;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ThreeMfArchiveTest {
+
+    private static final String TRIANGLE_PART = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <model unit="millimeter" xmlns="http://schemas.microsoft.com/3dmanufacturing/core/2015/02">
+              <resources><object id="1" type="model"><mesh>
+                <vertices><vertex x="0" y="0" z="0"/><vertex x="1" y="0" z="0"/><vertex x="0" y="1" z="0"/></vertices>
+                <triangles><triangle v1="0" v2="1" v3="2"/></triangles>
+              </mesh></object></resources>
+            </model>
+            """;
+
+    private static final String ROOT_WITH_COMPONENT = """
+            <?xml version="1.0" encoding="UTF-8"?>
+            <model unit="millimeter" xmlns="http://schemas.microsoft.com/3dmanufacturing/core/2015/02"
+                   xmlns:p="http://schemas.microsoft.com/3dmanufacturing/production/2015/06">
+              <resources><object id="2" type="model"><components>
+                <component p:path="/3D/Objects/object_1.model" objectid="1"/>
+                <component p:path="/3D/Objects/object_1.model" objectid="1" transform="1 0 0 0 1 0 0 0 1 5 0 0"/>
+              </components></object></resources>
+              <build><item objectid="2"/></build>
+            </model>
+            """;
+
+    @TempDir
+    Path tempDir;
+
+    private Path zip(String... nameAndContent) throws IOException {
+        Path file = tempDir.resolve("model.3mf");
+        try (ZipOutputStream zip = new ZipOutputStream(Files.newOutputStream(file))) {
+            for (int i = 0; i < nameAndContent.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(nameAndContent[i]));
+                zip.write(nameAndContent[i + 1].getBytes(StandardCharsets.UTF_8));
+                zip.closeEntry();
+            }
+        }
+        return file;
+    }
+
+    @Test
+    void parseConfig_DecodesUtf8AndStripsQuotesAndComments() {
+        byte[] bytes = ("\uFEFF# generated by PrusaSlicer\r\n"
+                + "layer_height = 0.2\r\n"
+                + "; comment\n"
+                + "\n"
+                + "   filament_settings_id = \"Prusament PLA Ünicode\"  \n"
+                + "start_gcode = M104 S[first_layer_temperature] ; heat\n"
+                + "empty =\n"
+                + "no equals sign\n"
+                + "= no key").getBytes(StandardCharsets.UTF_8);
+        Map<String, String> config = new LinkedHashMap<>();
+
+        ThreeMfArchive.parseConfig(bytes, config);
+
+        assertEquals(Map.of(
+                "layer_height", "0.2",
+                "filament_settings_id", "Prusament PLA Ünicode",
+                "start_gcode", "M104 S[first_layer_temperature] ; heat",
+                "empty", ""), config);
+    }
+
+    @Test
+    void getConfig_MergesKnownPartsInOrderAndIgnoresOthers() throws IOException {
+        Path file = zip(
+                "Metadata/PrusaSlicer.config", "layer_height = 0.3\n",
+                "Metadata/Slic3r_PE.config", "layer_height = 0.2\nperimeters = 3\n",
+                "Metadata/project_settings.config", "fill_density = 99%\n",
+                ThreeMfArchive.ROOT_MODEL_PART, TRIANGLE_PART);
+
+        try (ThreeMfArchive archive = ThreeMfArchive.open(file)) {
+            Map<String, String> config = archive.getConfig();
+
+            assertEquals("0.3", config.get("layer_height"));
+            assertEquals("3", config.get("perimeters"));
+            assertFalse(config.containsKey("fill_density"));
+            assertSame(config, archive.getConfig());
+        }
+    }
+
+    @Test
+    void findPart_AcceptsLeadingSlash() throws IOException {
+        Path file = zip(ThreeMfArchive.ROOT_MODEL_PART, TRIANGLE_PART);
+
+        try (ThreeMfArchive archive = ThreeMfArchive.open(file)) {
+            assertTrue(archive.findPart("/3D/3dmodel.model").isPresent());
+            assertTrue(archive.findPart("3D/missing.model").isEmpty());
+        }
+    }
+
+    @Test
+    void open_TooManyEntries_Rejected() throws IOException {
+        String[] entries = new String[2 * 1001];
+        for (int i = 0; i < 1001; i++) {
+            entries[2 * i] = "Metadata/plate_" + i + ".png";
+            entries[2 * i + 1] = "";
+        }
+        Path file = zip(entries);
+
+        IOException e = assertThrows(IOException.class, () -> ThreeMfArchive.open(file));
+        assertTrue(e.getMessage().contains("too many entries"));
+    }
+
+    @Test
+    void meshReader_FollowsComponentPartsByNameOnce() throws IOException {
+        Path file = zip(
+                ThreeMfArchive.ROOT_MODEL_PART, ROOT_WITH_COMPONENT,
+                "3D/Objects/object_1.model", TRIANGLE_PART,
+                // Not referenced by the root part, so it must not be parsed
+                "3D/Objects/unused.model", "not xml");
+
+        MeshStatistics stats = new MeshStatistics();
+        try (ThreeMfArchive archive = ThreeMfArchive.open(file)) {
+            new ThreeMfMeshReader().read(archive, stats);
+        }
+
+        assertEquals(1, stats.getTriangleCount());
+    }
+
+    @Test
+    void meshReader_PartInflatingPastLimit_Throws() throws IOException {
+        // About 3 MB of identical vertices deflate to a few kilobytes
+        StringBuilder part = new StringBuilder("<model><resources><object id=\"1\"><mesh><vertices>");
+        for (int i = 0; i < 100_000; i++) {
+            part.append("<vertex x=\"0\" y=\"0\" z=\"0\"/>");
+        }
+        part.append("</vertices></mesh></object></resources></model>");
+        Path file = zip(ThreeMfArchive.ROOT_MODEL_PART, part.toString());
+        assertTrue(Files.size(file) < 64 * 1024);
+
+        try (ThreeMfArchive archive = ThreeMfArchive.open(file)) {
+            ThreeMfMeshReader reader = new ThreeMfMeshReader(1024 * 1024, 1_000_000, 1_000_000);
+            IOException e = assertThrows(IOException.class, () -> reader.read(archive, new MeshStatistics()));
+            assertTrue(e.getMessage().contains("inflates to more than 1 MB"), e.getMessage());
+        }
+    }
+
+    @Test
+    void meshReader_TooManyVertices_Throws() throws IOException {
+        Path file = zip(ThreeMfArchive.ROOT_MODEL_PART, TRIANGLE_PART);
+
+        try (ThreeMfArchive archive = ThreeMfArchive.open(file)) {
+            ThreeMfMeshReader reader = new ThreeMfMeshReader(1024 * 1024, 2, 1_000_000);
+            IOException e = assertThrows(IOException.class, () -> reader.read(archive, new MeshStatistics()));
+            assertTrue(e.getMessage().contains("more than 2 vertices"), e.getMessage());
+        }
+    }
+
+    @Test
+    void meshReader_TooManyTrianglesAcrossParts_Throws() throws IOException {
+        // The component part is referenced twice but read once: one triangle in total
+        Path file = zip(
+                ThreeMfArchive.ROOT_MODEL_PART, ROOT_WITH_COMPONENT,
+                "3D/Objects/object_1.model", TRIANGLE_PART);
+
+        try (ThreeMfArchive archive = ThreeMfArchive.open(file)) {
+            new ThreeMfMeshReader(1024 * 1024, 3, 1).read(archive, new MeshStatistics());
+            IOException e = assertThrows(IOException.class,
+                    () -> new ThreeMfMeshReader(1024 * 1024, 3, 0).read(archive, new MeshStatistics()));
+            assertTrue(e.getMessage().contains("more than 0 triangles"), e.getMessage());
+        }
+    }
+
+    @Test
+    void meshReader_MissingComponentPart_Throws() throws IOException {
+        Path file = zip(ThreeMfArchive.ROOT_MODEL_PART, ROOT_WITH_COMPONENT);
+
+        try (ThreeMfArchive archive = ThreeMfArchive.open(file)) {
+            assertThrows(IOException.class, () -> new ThreeMfMeshReader().read(archive, new MeshStatistics()));
+        }
+    }
+}
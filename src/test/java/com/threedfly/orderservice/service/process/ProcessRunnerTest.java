@@ -0,0 +1,78 @@
+package com.threedfly.orderservice.service.process;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@EnabledOnOs({OS.LINUX, OS.MAC})
+class ProcessRunnerTest {
+
+    private final ProcessRunner runner = new ProcessRunner(64);
+
+    private static ProcessBuilder shell(String script) {
+        return new ProcessBuilder("/bin/sh", "-c", script);
+    }
+
+    @Test
+    void capturesExitCodeAndBothStreams() throws Exception {
+        ProcessResult result = runner.run(shell("echo out; echo err >&2; exit 3"), Duration.ofSeconds(10));
+
+        assertFalse(result.timedOut());
+        assertEquals(3, result.exitCode());
+        assertFalse(result.isSuccess());
+        assertEquals("out\n", result.stdout());
+        assertEquals("err\n", result.stderr());
+    }
+
+    @Test
+    void chattyStderrDoesNotBlockProcess() throws Exception {
+        // 2 MB on stderr is far beyond any pipe buffer
+        ProcessResult result = runner.run(
+                shell("i=0; while [ $i -lt 32768 ]; do echo 'warning: a line of slicer noise to fill the pipe....' >&2; i=$((i+1)); done; echo '; total filament used [g] = 1.23'"),
+                Duration.ofSeconds(30));
+
+        assertTrue(result.isSuccess());
+        assertTrue(result.stderrTruncated());
+        assertTrue(result.stderr().length() <= 64 * 1024);
+        assertTrue(result.stderr().startsWith("warning:"), "partial first line is dropped");
+        assertEquals("; total filament used [g] = 1.23\n", result.stdout());
+    }
+
+    @Test
+    void killsProcessTreeWhenDeadlineElapses() throws Exception {
+        long started = System.nanoTime();
+        ProcessResult result = runner.run(shell("sleep 30 & sleep 30; wait"), Duration.ofMillis(300));
+
+        assertTrue(result.timedOut());
+        assertEquals(-1, result.exitCode());
+        assertTrue(Duration.ofNanos(System.nanoTime() - started).toSeconds() < 10);
+    }
+
+    @Test
+    void streamsStdoutLinesToConsumer() throws Exception {
+        List<String> lines = new ArrayList<>();
+        ProcessResult result = runner.run(shell("printf 'first\\r\\nsecond\\nlast'"), Duration.ofSeconds(10), lines::add);
+
+        assertTrue(result.isSuccess());
+        assertEquals(List.of("first", "second", "last"), lines);
+    }
+
+    @Test
+    void ringBufferKeepsTail() {
+        OutputRingBuffer buffer = new OutputRingBuffer(8);
+        byte[] data = "line1\nline2\nline3\n".getBytes(StandardCharsets.UTF_8);
+        buffer.write(data, 0, 6);
+        buffer.write(data, 6, 12);
+
+        assertTrue(buffer.isTruncated());
+        assertEquals(18, buffer.getTotalBytes());
+        assertEquals("line3\n", buffer.contentAsString());
+    }
+}
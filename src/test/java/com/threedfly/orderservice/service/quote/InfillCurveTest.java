@@ -0,0 +1,67 @@
+package com.threedfly.orderservice.service.quote;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InfillCurveTest {
+
+    private static final double[] ANCHORS = {5, 12, 20};
+
+    @Test
+    void linearDataIsReproducedWithOnlyRoundingError() {
+        // 10 g plus 0.5 g per infill percent
+        InfillCurve curve = InfillCurve.fit(ANCHORS, new double[]{12.5, 16.0, 20.0}, 0.01);
+
+        assertEquals(14.0, curve.valueAt(8), 1e-9);
+        assertEquals(18.5, curve.valueAt(17), 1e-9);
+        assertEquals(0.005, curve.errorBoundAt(8), 1e-9);
+        assertEquals(0.0, curve.errorBoundAt(12));
+    }
+
+    @Test
+    void interpolatesThroughAnchorsAndExtendsEndSegments() {
+        InfillCurve curve = InfillCurve.fit(ANCHORS, new double[]{60, 74, 100}, 1.0);
+
+        assertEquals(60.0, curve.valueAt(5), 1e-9);
+        assertEquals(74.0, curve.valueAt(12), 1e-9);
+        assertEquals(67.0, curve.valueAt(8.5), 1e-9);
+        assertEquals(87.0, curve.valueAt(16), 1e-9);
+        assertEquals(106.5, curve.valueAt(22), 1e-9);
+    }
+
+    @Test
+    void errorBoundCoversQuadraticData() {
+        // f(x) = x² has f'' = 2, which three anchors recover exactly
+        InfillCurve curve = InfillCurve.fit(ANCHORS, new double[]{25, 144, 400}, 1e-9);
+
+        for (int infill = 5; infill <= 20; infill++) {
+            double actual = infill * infill;
+            double error = Math.abs(curve.valueAt(infill) - actual);
+            assertTrue(error <= curve.errorBoundAt(infill) + 1e-6,
+                    "infill " + infill + ": error " + error + " > bound " + curve.errorBoundAt(infill));
+        }
+        // Midpoint of the 12-20 segment: (16 - 12) * (20 - 16) * 2 / 2
+        assertEquals(16.0, curve.errorBoundAt(16), 1e-6);
+    }
+
+    @Test
+    void twoAnchorsOnlyBoundTheRounding() {
+        InfillCurve curve = InfillCurve.fit(new double[]{5, 20}, new double[]{60, 90}, 1.0);
+
+        assertEquals(75.0, curve.valueAt(12.5), 1e-9);
+        assertEquals(0.5, curve.errorBoundAt(12.5), 1e-9);
+        assertTrue(curve.isAnchor(20));
+        assertFalse(curve.isAnchor(12));
+    }
+
+    @Test
+    void rejectsTooFewOrUnorderedAnchors() {
+        assertThrows(IllegalArgumentException.class,
+                () -> InfillCurve.fit(new double[]{10}, new double[]{1}, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> InfillCurve.fit(new double[]{10, 10}, new double[]{1, 2}, 1.0));
+        assertThrows(IllegalArgumentException.class,
+                () -> InfillCurve.fit(new double[]{5, 12}, new double[]{1}, 1.0));
+    }
+}
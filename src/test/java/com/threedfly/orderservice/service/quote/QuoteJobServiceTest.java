@@ -0,0 +1,118 @@
+package com.threedfly.orderservice.service.quote;
+
+import com.threedfly.orderservice.dto.PrintCalculationResponse;
+import com.threedfly.orderservice.dto.QuoteJobResponse;
+import com.threedfly.orderservice.entity.ModelFileType;
+import com.threedfly.orderservice.enums.QuoteJobStatus;
+import com.threedfly.orderservice.enums.QuoteStage;
+import com.threedfly.orderservice.exception.FileParseException;
+import com.threedfly.orderservice.exception.SlicerBusyException;
+import com.threedfly.orderservice.service.PrintCalculationService;
+import com.threedfly.orderservice.service.QuoteProgressListener;
+import com.threedfly.orderservice.service.UploadedModel;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class QuoteJobServiceTest {
+
+    private PrintCalculationService calculationService;
+    private QuoteJobService quoteJobService;
+    private MockMultipartFile file;
+    private UploadedModel model;
+
+    @BeforeEach
+    void setUp() {
+        calculationService = mock(PrintCalculationService.class);
+        quoteJobService = new QuoteJobService(calculationService, 1, 10, 30, 60, 5, new SimpleMeterRegistry());
+        file = new MockMultipartFile("file", "cube.stl", "application/octet-stream", "solid cube".getBytes());
+        model = new UploadedModel(Path.of("/tmp/cube.stl"), "cube.stl", ModelFileType.STL);
+        when(calculationService.storeUpload(file)).thenReturn(model);
+    }
+
+    @AfterEach
+    void tearDown() {
+        quoteJobService.shutdown();
+    }
+
+    @Test
+    void testSubmit_CompletesInBackground() throws Exception {
+        when(calculationService.calculatePrice(eq(model), any(), any())).thenAnswer(invocation -> {
+            QuoteProgressListener listener = invocation.getArgument(2);
+            listener.onStage(QuoteStage.SLICING);
+            return PrintCalculationResponse.builder().fileName("cube.stl").estimatedPrice(new BigDecimal("4.20")).build();
+        });
+
+        QuoteJobResponse submitted = quoteJobService.submit(file, null);
+        assertEquals(QuoteJobStatus.PENDING, submitted.getStatus());
+
+        QuoteJobResponse finished = awaitTerminal(submitted.getJobId());
+        assertEquals(QuoteJobStatus.COMPLETED, finished.getStatus());
+        assertEquals(QuoteStage.COMPLETED, finished.getStage());
+        assertEquals(100, finished.getProgressPercent());
+        assertEquals(new BigDecimal("4.20"), finished.getResult().getEstimatedPrice());
+    }
+
+    @Test
+    void testSubmit_CalculationFails_MarksJobFailed() throws Exception {
+        when(calculationService.calculatePrice(eq(model), any(), any()))
+                .thenThrow(new FileParseException("Slicing failed: boom"));
+
+        QuoteJobResponse submitted = quoteJobService.submit(file, null);
+
+        QuoteJobResponse finished = awaitTerminal(submitted.getJobId());
+        assertEquals(QuoteJobStatus.FAILED, finished.getStatus());
+        assertEquals("Slicing failed: boom", finished.getErrorMessage());
+        assertNull(finished.getResult());
+    }
+
+    @Test
+    void testSubmit_TooManyActiveJobs_Rejects() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(calculationService.calculatePrice(eq(model), any(), any())).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return PrintCalculationResponse.builder().build();
+        });
+
+        QuoteJobResponse first = quoteJobService.submit(file, null);
+        try {
+            SlicerBusyException exception = assertThrows(SlicerBusyException.class,
+                    () -> quoteJobService.submit(file, null));
+            assertEquals(5, exception.getRetryAfterSeconds());
+        } finally {
+            release.countDown();
+        }
+
+        assertEquals(QuoteJobStatus.COMPLETED, awaitTerminal(first.getJobId()).getStatus());
+        verify(calculationService, times(1)).storeUpload(file);
+    }
+
+    @Test
+    void testGetJob_UnknownId_ThrowsNotFound() {
+        RuntimeException exception = assertThrows(RuntimeException.class,
+                () -> quoteJobService.getJob("missing"));
+        assertTrue(exception.getMessage().contains("not found"));
+    }
+
+    private QuoteJobResponse awaitTerminal(String jobId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        QuoteJobResponse job = quoteJobService.getJob(jobId);
+        while (!job.getStatus().isTerminal() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            job = quoteJobService.getJob(jobId);
+        }
+        return job;
+    }
+}
@@ -0,0 +1,168 @@
+package com.threedfly.orderservice.service.quote;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.threedfly.orderservice.dto.PrintCalculationRequest;
+import com.threedfly.orderservice.dto.PrintCalculationResponse;
+import com.threedfly.orderservice.dto.SlicingResult;
+import com.threedfly.orderservice.entity.Quote;
+import com.threedfly.orderservice.repository.QuoteRepository;
+import com.threedfly.orderservice.service.cache.SlicingCacheKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class QuoteServiceTest {
+
+    private static final String QUOTE_ID = "9b2f6c1e-4d7a-4e0b-8c55-2a1f3e9d7b60";
+
+    private QuoteRepository quoteRepository;
+    private QuoteService quoteService;
+    private PrintCalculationRequest request;
+    private SlicingCacheKey key;
+
+    @BeforeEach
+    void setUp() {
+        quoteRepository = mock(QuoteRepository.class);
+        when(quoteRepository.save(any(Quote.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        quoteService = new QuoteService(quoteRepository, new ObjectMapper(), 72);
+
+        request = new PrintCalculationRequest();
+        request.setTechnology("FDM");
+        request.setMaterial("PLA");
+        request.setLayerHeight(0.2);
+        request.setShells(2);
+        request.setInfill(15);
+        request.setSupporters(false);
+        key = SlicingCacheKey.of("a".repeat(64), request, "fdm_pla.ini@0123456789ab", "prusa");
+    }
+
+    @Test
+    void recordsQuoteWithFingerprintResultAndExpiry() {
+        PrintCalculationResponse response = PrintCalculationResponse.builder()
+                .quoteId(QUOTE_ID)
+                .fileName("cube.stl")
+                .materialUsedGrams(25.5)
+                .printingTimeMinutes(120)
+                .estimatedPrice(new BigDecimal("12.50"))
+                .currency("USD")
+                .build();
+
+        LocalDateTime before = LocalDateTime.now();
+        Quote quote = quoteService.record(key, request, response);
+
+        assertEquals(QUOTE_ID, quote.getId());
+        assertEquals(key.getModelHash(), quote.getModelHash());
+        assertEquals(key.getParametersHash(), quote.getParametersHash());
+        assertEquals("PLA", quote.getMaterial());
+        assertEquals(25.5, quote.getFilamentWeightGrams());
+        assertEquals(120, quote.getPrintTimeMinutes());
+        assertEquals(new BigDecimal("12.50"), quote.getEstimatedPrice());
+        assertTrue(quote.getParameters().contains("\"infill\":15"));
+        assertFalse(quote.getExpiresAt().isBefore(before.plusHours(72)));
+        verify(quoteRepository).save(quote);
+    }
+
+    @Test
+    void rejectsResponseWithoutQuoteId() {
+        PrintCalculationResponse response = PrintCalculationResponse.builder().build();
+
+        assertThrows(IllegalArgumentException.class, () -> quoteService.record(key, request, response));
+        verify(quoteRepository, never()).save(any());
+    }
+
+    @Test
+    void recordingSharedQuoteAgainKeepsStoredQuote() {
+        Quote stored = quote(LocalDateTime.now().plusHours(1));
+        when(quoteRepository.findById(QUOTE_ID)).thenReturn(Optional.of(stored));
+        PrintCalculationResponse response = PrintCalculationResponse.builder().quoteId(QUOTE_ID).build();
+
+        assertSame(stored, quoteService.record(key, request, response));
+        verify(quoteRepository, never()).save(any());
+    }
+
+    @Test
+    void findsSlicingResultOfValidQuote() {
+        Quote quote = quote(LocalDateTime.now().plusHours(1));
+        when(quoteRepository.findFirstByModelHashAndParametersHashAndExpiresAtAfterOrderByCreatedAtDesc(
+                eq(key.getModelHash()), eq(key.getParametersHash()), any()))
+                .thenReturn(Optional.of(quote));
+
+        SlicingResult result = quoteService.findResult(key).orElseThrow();
+
+        assertTrue(result.isSuccess());
+        assertEquals(QUOTE_ID, result.getQuoteId());
+        assertEquals(25.5, result.getFilamentWeightGrams());
+        assertEquals(120, result.getEstimatedPrintTimeMinutes());
+    }
+
+    @Test
+    void reusingQuoteExtendsItToFullValidity() {
+        // A quote about to expire, as when re-quoting at hour 71
+        Quote quote = quote(LocalDateTime.now().plusHours(1));
+        when(quoteRepository.findFirstByModelHashAndParametersHashAndExpiresAtAfterOrderByCreatedAtDesc(
+                any(), any(), any()))
+                .thenReturn(Optional.of(quote));
+
+        LocalDateTime before = LocalDateTime.now();
+        quoteService.findResult(key);
+
+        assertFalse(quote.getExpiresAt().isBefore(before.plusHours(72)));
+    }
+
+    @Test
+    void renewsCachedQuoteToFullValidity() {
+        when(quoteRepository.extendExpiry(eq(QUOTE_ID), any())).thenReturn(1);
+
+        LocalDateTime before = LocalDateTime.now();
+        assertTrue(quoteService.renew(QUOTE_ID));
+
+        verify(quoteRepository).extendExpiry(eq(QUOTE_ID),
+                argThat(expiresAt -> !expiresAt.isBefore(before.plusHours(72))));
+    }
+
+    @Test
+    void returnsEmptyWithoutMatchingQuote() {
+        when(quoteRepository.findFirstByModelHashAndParametersHashAndExpiresAtAfterOrderByCreatedAtDesc(
+                any(), any(), any()))
+                .thenReturn(Optional.empty());
+
+        assertTrue(quoteService.findResult(key).isEmpty());
+    }
+
+    @Test
+    void getValidQuoteRejectsUnknownAndExpiredQuotes() {
+        when(quoteRepository.findById(QUOTE_ID)).thenReturn(Optional.empty());
+        RuntimeException notFound = assertThrows(RuntimeException.class, () -> quoteService.getValidQuote(QUOTE_ID));
+        assertTrue(notFound.getMessage().contains("not found"));
+
+        when(quoteRepository.findById(QUOTE_ID)).thenReturn(Optional.of(quote(LocalDateTime.now().minusMinutes(1))));
+        assertThrows(IllegalArgumentException.class, () -> quoteService.getValidQuote(QUOTE_ID));
+
+        Quote valid = quote(LocalDateTime.now().plusHours(1));
+        when(quoteRepository.findById(QUOTE_ID)).thenReturn(Optional.of(valid));
+        assertSame(valid, quoteService.getValidQuote(QUOTE_ID));
+    }
+
+    private Quote quote(LocalDateTime expiresAt) {
+        Quote quote = new Quote();
+        quote.setId(QUOTE_ID);
+        quote.setModelHash(key.getModelHash());
+        quote.setParametersHash(key.getParametersHash());
+        quote.setFilamentWeightGrams(25.5);
+        quote.setPrintTimeMinutes(120);
+        quote.setEstimatedPrice(new BigDecimal("12.50"));
+        quote.setCurrency("USD");
+        quote.setCreatedAt(LocalDateTime.now().minusHours(1));
+        quote.setExpiresAt(expiresAt);
+        return quote;
+    }
+}
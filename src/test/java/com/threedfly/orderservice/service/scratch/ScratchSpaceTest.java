@@ -0,0 +1,93 @@
+package com.threedfly.orderservice.service.scratch;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScratchSpaceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private ScratchSpace scratchSpace;
+
+    @BeforeEach
+    void setUp() {
+        scratchSpace = new ScratchSpace(tempDir.toString(), 60, meterRegistry);
+    }
+
+    private static Path orphan(Path root, Duration age) throws IOException {
+        Path directory = Files.createDirectories(root.resolve(ScratchSpace.PREFIX + "orphan" + age.toMinutes()));
+        Files.writeString(directory.resolve("model.stl"), "solid");
+        Files.setLastModifiedTime(directory, FileTime.from(Instant.now().minus(age)));
+        return directory;
+    }
+
+    @Test
+    void createsSeparateDirectoriesAndDeletesThemRecursively() throws IOException {
+        Path first = scratchSpace.create();
+        Path second = scratchSpace.create();
+        Files.createDirectories(first.resolve("nested"));
+        Files.writeString(first.resolve("nested/model_output.gcode"), "G28\n");
+
+        assertNotEquals(first, second);
+        assertEquals(tempDir, first.getParent());
+        assertEquals(2, scratchSpace.getActiveCount());
+
+        scratchSpace.delete(first);
+
+        assertFalse(Files.exists(first));
+        assertTrue(Files.isDirectory(second));
+        assertEquals(1, scratchSpace.getActiveCount());
+    }
+
+    @Test
+    void refusesToDeleteOutsideScratchSpace() throws IOException {
+        Path other = Files.createDirectories(tempDir.resolve("keep"));
+
+        assertThrows(IllegalArgumentException.class, () -> scratchSpace.delete(other));
+        assertThrows(IllegalArgumentException.class, () -> scratchSpace.delete(tempDir));
+        assertTrue(Files.isDirectory(other));
+    }
+
+    @Test
+    void startupRemovesEveryLeftoverDirectory() throws IOException {
+        Path leftover = orphan(tempDir, Duration.ZERO);
+        Path unrelated = Files.createDirectories(tempDir.resolve("unrelated"));
+
+        scratchSpace.removeOrphans();
+
+        assertFalse(Files.exists(leftover));
+        assertTrue(Files.exists(unrelated));
+    }
+
+    @Test
+    void sweepRemovesOnlyOldUnownedDirectoriesAndMeasuresTheRest() throws IOException {
+        Path old = orphan(tempDir, Duration.ofHours(2));
+        Path recent = orphan(tempDir, Duration.ofMinutes(5));
+        Path owned = scratchSpace.create();
+        Files.write(owned.resolve("model.stl"), new byte[1000]);
+        Files.setLastModifiedTime(owned, FileTime.from(Instant.now().minus(Duration.ofHours(2))));
+
+        scratchSpace.sweep();
+
+        assertFalse(Files.exists(old));
+        assertTrue(Files.exists(recent));
+        assertTrue(Files.exists(owned));
+        assertEquals(1000 + "solid".length(), scratchSpace.getUsedBytes());
+        assertEquals(1000 + "solid".length(), meterRegistry.get("printing.scratch.used").gauge().value());
+        assertEquals(1, meterRegistry.get("printing.scratch.directories").gauge().value());
+    }
+}
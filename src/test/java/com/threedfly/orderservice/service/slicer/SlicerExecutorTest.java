@@ -0,0 +1,88 @@
+package com.threedfly.orderservice.service.slicer;
+
+import com.threedfly.orderservice.exception.SlicerBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlicerExecutorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlicerExecutor slicerExecutor;
+    private CountDownLatch release;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        slicerExecutor = new SlicerExecutor(1, 1, 7, meterRegistry);
+        release = new CountDownLatch(1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        slicerExecutor.shutdown();
+    }
+
+    @Test
+    void testExecute_ReturnsTaskResultAndRecordsTimings() throws Exception {
+        String result = slicerExecutor.execute(() -> "sliced", Duration.ofSeconds(5));
+
+        assertEquals("sliced", result);
+        assertEquals(1, meterRegistry.get("printing.slicer.run").timer().count());
+        assertEquals(1, meterRegistry.get("printing.slicer.queue.wait").timer().count());
+    }
+
+    @Test
+    void testSubmit_QueueFull_RejectsWithRetryAfter() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        slicerExecutor.submit(() -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        slicerExecutor.submit(() -> true); // occupies the single queue slot
+        assertEquals(1, slicerExecutor.getQueueDepth());
+
+        SlicerBusyException exception = assertThrows(SlicerBusyException.class,
+                () -> slicerExecutor.submit(() -> true));
+        assertEquals(7, exception.getRetryAfterSeconds());
+        assertEquals(1.0, meterRegistry.get("printing.slicer.rejected").counter().count());
+    }
+
+    @Test
+    void testAwait_DeadlineExceeded_CancelsQueuedJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        slicerExecutor.submit(() -> {
+            started.countDown();
+            return release.await(10, TimeUnit.SECONDS);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        Future<Boolean> queued = slicerExecutor.submit(() -> true);
+
+        assertThrows(TimeoutException.class, () -> slicerExecutor.await(queued, Duration.ofMillis(50)));
+        assertTrue(queued.isCancelled());
+        assertEquals(0, slicerExecutor.getQueueDepth());
+    }
+
+    @Test
+    void testConstructor_DefaultPoolSize_UsesAvailableCores() {
+        SlicerExecutor defaultExecutor = new SlicerExecutor(0, 4, 10, new SimpleMeterRegistry());
+        try {
+            assertEquals(Runtime.getRuntime().availableProcessors(), defaultExecutor.getPoolSize());
+        } finally {
+            defaultExecutor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.threedfly.orderservice.service.slicer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlicerOutputParserTest {
+
+    private final PrusaSlicerOutputParser prusa = new PrusaSlicerOutputParser();
+    private final BambuSlicerOutputParser bambu = new BambuSlicerOutputParser();
+
+    @Test
+    void prusaParsesWeightAndNormalModeTime() {
+        SlicerOutputSummary summary = prusa.parse("""
+                Slicing model...
+                ; filament used [mm] = 5123.45
+                ; total filament used for wipe tower [g] = 0.50
+                ; total filament used [g] = 15.28
+                ; estimated printing time (silent mode) = 1h 30m 2s
+                ; estimated printing time (normal mode) = 1h 23m 45s
+                """);
+
+        assertEquals(15.28, summary.getFilamentWeightGrams(), 1e-9);
+        assertEquals(3600 + 23 * 60 + 45, summary.getPrintTimeSeconds());
+        assertEquals(84, summary.getPrintTimeMinutes());
+        assertTrue(summary.isComplete());
+    }
+
+    @Test
+    void prusaParsesLegacyWeightAndRoundsSeconds() {
+        SlicerOutputSummary summary = prusa.parse("""
+                filament used = 1234.5mm
+                filament used = 0.67g
+                ; estimated printing time (normal mode) = 5m 33s
+                """);
+
+        assertEquals(0.67, summary.getFilamentWeightGrams(), 1e-9);
+        assertEquals(6, summary.getPrintTimeMinutes());
+    }
+
+    @Test
+    void bambuParsesHeaderStyleSummary() {
+        SlicerOutputSummary summary = bambu.parse("""
+                [info] slicing plate 1
+                ; model printing time: 20m 7s; total estimated time: 26m 53s
+                ; total filament weight [g] : 5.23
+                """);
+
+        assertEquals(5.23, summary.getFilamentWeightGrams(), 1e-9);
+        assertEquals(26 * 60 + 53, summary.getPrintTimeSeconds());
+    }
+
+    @Test
+    void firstValueWinsAndLinesAfterCompletionAreIgnored() {
+        SlicerOutputSummary summary = new SlicerOutputSummary();
+        List.of("; total filament used [g] = 2.00",
+                "; estimated printing time (normal mode) = 2d 1h",
+                "; total filament used [g] = 9.99")
+                .forEach(prusa.lineConsumer(summary));
+
+        assertEquals(2.0, summary.getFilamentWeightGrams(), 1e-9);
+        assertEquals(2 * 86_400 + 3_600, summary.getPrintTimeSeconds());
+    }
+
+    @Test
+    void unrelatedOutputLeavesSummaryEmpty() {
+        SlicerOutputSummary summary = prusa.parse("Exporting G-code\nDone.\n");
+
+        assertFalse(summary.hasFilamentWeight());
+        assertFalse(summary.hasPrintTime());
+        assertEquals(0, summary.getPrintTimeMinutes());
+    }
+}
@@ -39,7 +39,15 @@ class SlicerServiceFactoryTest {
         when(bambuSlicerService.getSlicerName()).thenReturn("bambu");
 
         List<SlicerService> services = Arrays.asList(prusaSlicerService, bambuSlicerService);
-        factory = new SlicerServiceFactory(services);
+        List<SlicerOutputParser> parsers = List.of(new PrusaSlicerOutputParser(), new BambuSlicerOutputParser());
+        factory = new SlicerServiceFactory(services, parsers);
+    }
+
+    @Test
+    void testGetOutputParser_ReturnsParserForType() {
+        assertInstanceOf(PrusaSlicerOutputParser.class, factory.getOutputParser("prusa"));
+        assertInstanceOf(BambuSlicerOutputParser.class, factory.getOutputParser("bambu"));
+        assertThrows(IllegalArgumentException.class, () -> factory.getOutputParser("cura"));
     }
 
     @Test
@@ -103,7 +111,7 @@ class SlicerServiceFactoryTest {
 
     @Test
     void testGetSlicer_NoSlicersAvailable_ThrowsException() {
-        SlicerServiceFactory emptyFactory = new SlicerServiceFactory(Collections.emptyList());
+        SlicerServiceFactory emptyFactory = new SlicerServiceFactory(Collections.emptyList(), Collections.emptyList());
 
         IllegalArgumentException exception = assertThrows(
                 IllegalArgumentException.class,
@@ -0,0 +1,189 @@
+package com.threedfly.orderservice.service.slicer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SlicingCoalescerTest {
+
+    private static final Duration WAIT = Duration.ofSeconds(5);
+
+    private SimpleMeterRegistry meterRegistry;
+    private SlicerExecutor slicerExecutor;
+    private SlicingCoalescer coalescer;
+    private CountDownLatch release;
+    private CountDownLatch started;
+    private AtomicInteger runs;
+    private AtomicBoolean interrupted;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        slicerExecutor = new SlicerExecutor(2, 4, 10, meterRegistry);
+        coalescer = new SlicingCoalescer(slicerExecutor, true, meterRegistry);
+        release = new CountDownLatch(1);
+        started = new CountDownLatch(1);
+        runs = new AtomicInteger();
+        interrupted = new AtomicBoolean();
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        slicerExecutor.shutdown();
+    }
+
+    private String slowSlice(String result) {
+        runs.incrementAndGet();
+        started.countDown();
+        try {
+            release.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            interrupted.set(true);
+            Thread.currentThread().interrupt();
+            return "interrupted";
+        }
+        return result;
+    }
+
+    @Test
+    void identicalRequestsShareOneRun() throws Exception {
+        SlicingCoalescer.Flight<String> first = coalescer.join("model+params", () -> slowSlice("gcode"));
+        SlicingCoalescer.Flight<String> second = coalescer.join("model+params", () -> slowSlice("other"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        release.countDown();
+
+        assertEquals("gcode", first.await(WAIT));
+        assertEquals("gcode", second.await(WAIT));
+        assertTrue(first.isLeader());
+        assertFalse(second.isLeader());
+        assertEquals(1, runs.get());
+        assertEquals(1.0, meterRegistry.counter("printing.slicing.coalescing.requests", "result", "joined").count());
+    }
+
+    @Test
+    void differentKeysRunSeparately() throws Exception {
+        release.countDown();
+
+        SlicingCoalescer.Flight<String> first = coalescer.join("a", () -> slowSlice("a"));
+        SlicingCoalescer.Flight<String> second = coalescer.join("b", () -> slowSlice("b"));
+
+        assertEquals("a", first.await(WAIT));
+        assertEquals("b", second.await(WAIT));
+        assertTrue(second.isLeader());
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void waiterTimeoutDoesNotCancelRunOthersWaitFor() throws Exception {
+        SlicingCoalescer.Flight<String> impatient = coalescer.join("key", () -> slowSlice("gcode"));
+        SlicingCoalescer.Flight<String> patient = coalescer.join("key", () -> slowSlice("other"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        assertThrows(TimeoutException.class, () -> impatient.await(Duration.ofMillis(50)));
+        release.countDown();
+
+        assertEquals("gcode", patient.await(WAIT));
+        assertFalse(interrupted.get());
+    }
+
+    @Test
+    void lastWaiterLeavingCancelsRun() throws Exception {
+        SlicingCoalescer.Flight<String> only = coalescer.join("key", () -> slowSlice("gcode"));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        CountDownLatch done = new CountDownLatch(1);
+        AtomicBoolean interruptedBeforeCleanup = new AtomicBoolean();
+        only.whenDone(() -> {
+            interruptedBeforeCleanup.set(interrupted.get());
+            done.countDown();
+        });
+
+        assertThrows(TimeoutException.class, () -> only.await(Duration.ofMillis(50)));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        // The cleanup only ran once the interrupted job had returned
+        assertTrue(interruptedBeforeCleanup.get());
+        assertEquals(0, coalescer.getInFlightCount());
+    }
+
+    @Test
+    void queuedRunCancelledBeforeStartingReleasesCleanupAtOnce() throws Exception {
+        // Both workers busy, so the next run waits in the queue
+        SlicingCoalescer.Flight<String> busy1 = coalescer.join("busy1", () -> slowSlice("1"));
+        SlicingCoalescer.Flight<String> busy2 = coalescer.join("busy2", () -> slowSlice("2"));
+        SlicingCoalescer.Flight<String> queued = coalescer.join("queued", () -> slowSlice("queued"));
+        CountDownLatch done = new CountDownLatch(1);
+        queued.whenDone(done::countDown);
+
+        assertThrows(TimeoutException.class, () -> queued.await(Duration.ofMillis(50)));
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        release.countDown();
+        assertEquals("1", busy1.await(WAIT));
+        assertEquals("2", busy2.await(WAIT));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void followUpCompletesRunWithoutHoldingSlicerThread() throws Exception {
+        release.countDown();
+        CompletableFuture<String> retimed1 = new CompletableFuture<>();
+        CompletableFuture<String> retimed2 = new CompletableFuture<>();
+        SlicingCoalescer.Flight<String> first = coalescer.join("a", () -> slowSlice("a"),
+                sliced -> retimed1.thenApply(suffix -> sliced + suffix));
+        SlicingCoalescer.Flight<String> second = coalescer.join("b", () -> slowSlice("b"),
+                sliced -> retimed2.thenApply(suffix -> sliced + suffix));
+        CountDownLatch done = new CountDownLatch(1);
+        first.whenDone(done::countDown);
+
+        // Both pool threads are free again while the follow-ups are pending
+        SlicingCoalescer.Flight<String> third = coalescer.join("c", () -> slowSlice("c"));
+        assertEquals("c", third.await(WAIT));
+        assertFalse(done.await(50, TimeUnit.MILLISECONDS));
+
+        retimed1.complete("+retimed");
+        retimed2.complete("+retimed");
+
+        assertEquals("a+retimed", first.await(WAIT));
+        assertEquals("b+retimed", second.await(WAIT));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void requestAfterCompletionStartsNewRun() throws Exception {
+        release.countDown();
+        SlicingCoalescer.Flight<String> first = coalescer.join("key", () -> slowSlice("first"));
+        assertEquals("first", first.await(WAIT));
+
+        SlicingCoalescer.Flight<String> second = coalescer.join("key", () -> slowSlice("second"));
+
+        assertTrue(second.isLeader());
+        assertEquals("second", second.await(WAIT));
+        assertEquals(2, runs.get());
+    }
+
+    @Test
+    void disabledCoalescingAlwaysStartsNewRun() throws Exception {
+        coalescer = new SlicingCoalescer(slicerExecutor, false, meterRegistry);
+        release.countDown();
+
+        SlicingCoalescer.Flight<String> first = coalescer.join("key", () -> slowSlice("first"));
+        SlicingCoalescer.Flight<String> second = coalescer.join("key", () -> slowSlice("second"));
+
+        assertEquals("first", first.await(WAIT));
+        assertEquals("second", second.await(WAIT));
+        assertTrue(second.isLeader());
+    }
+}
@@ -27,16 +27,19 @@ fi
 if [ "$SUPPORT_ENABLED" = true ]; then
     # With supports: more material and time
     FILAMENT_USED="15.50"
+    FILAMENT_VOLUME="12.50"
     PRINT_TIME="1h 45m"
 else
     # Without supports: less material and time
     FILAMENT_USED="12.34"
+    FILAMENT_VOLUME="9.95"
     PRINT_TIME="1h 23m"
 fi
 
 # Create mock gcode output with typical slicer comments
 cat > "$OUTPUT_FILE" <<EOF
 ; generated by Mock Slicer 2.0.0
+; filament used [cm3] = $FILAMENT_VOLUME
 ; total filament used [g] = $FILAMENT_USED
 ; estimated printing time (normal mode) = $PRINT_TIME
 ;